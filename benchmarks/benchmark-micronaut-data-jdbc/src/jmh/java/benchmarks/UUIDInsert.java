@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks;
+
+import example.LogEntry;
+import example.LogEntryRepository;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the insert throughput of random and time-ordered UUID primary keys. The table is filled first, so that the
+ * inserts of random keys touch pages all over the index.
+ */
+@State(Scope.Benchmark)
+public class UUIDInsert {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    String generation;
+
+    ApplicationContext applicationContext;
+    LogEntryRepository logEntryRepository;
+
+    @Setup
+    public void prepare() {
+        this.applicationContext = ApplicationContext.build()
+                .packages("example")
+                .properties(Collections.singletonMap("micronaut.data.uuid.generation", generation))
+                .start();
+        this.logEntryRepository = applicationContext.getBean(LogEntryRepository.class);
+        for (int i = 0; i < 1000; i++) {
+            logEntryRepository.saveAll(newEntries());
+        }
+    }
+
+    @TearDown
+    public void cleanup() {
+        logEntryRepository.deleteAll();
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void measureInsert() {
+        logEntryRepository.saveAll(newEntries());
+    }
+
+    private static List<LogEntry> newEntries() {
+        List<LogEntry> entries = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            entries.add(new LogEntry("Entry " + i));
+        }
+        return entries;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + UUIDInsert.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(4)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -214,7 +214,8 @@ class PageSpec extends Specification {
         slice.offset == 0
         slice.pageNumber == 0
         slice.size == 10
-        slice.content
+        slice.content.size() == 10
+        slice.hasNext()
         page.content
 
         when:"The next page is retrieved"
@@ -20,6 +20,7 @@ import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.naming.Named;
 import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.runtime.config.DataSettings;
 import io.micronaut.data.runtime.config.SchemaGenerate;
 
 import java.util.ArrayList;
@@ -38,10 +39,38 @@ public class DataJdbcConfiguration implements Named {
      */
     public static final String PREFIX = "datasources";
 
+    /**
+     * The default maximum number of concurrent reactive calls.
+     */
+    public static final int DEFAULT_REACTIVE_MAX_CONCURRENCY = 10;
+
+    /**
+     * The default number of entities bound to a single batch statement.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The default number of identities allocated with one database round trip.
+     */
+    public static final int DEFAULT_ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * The default table holding the high values of the {@link IdAllocation#TABLE} allocation.
+     */
+    public static final String DEFAULT_ID_ALLOCATION_TABLE = "micronaut_data_id_allocation";
+
     private SchemaGenerate schemaGenerate = SchemaGenerate.NONE;
     private boolean batchGenerate = false;
     private Dialect dialect = Dialect.ANSI;
     private List<String> packages = new ArrayList<>(3);
+    private int reactiveMaxConcurrency = DEFAULT_REACTIVE_MAX_CONCURRENCY;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private boolean identityMapEnabled = false;
+    private boolean dirtyTrackingEnabled = false;
+    private boolean inListArraysEnabled = false;
+    private IdAllocation idAllocation = IdAllocation.NONE;
+    private int idAllocationSize = DEFAULT_ID_ALLOCATION_SIZE;
+    private String idAllocationTable = DEFAULT_ID_ALLOCATION_TABLE;
     private final String name;
 
     /**
@@ -116,9 +145,208 @@ public class DataJdbcConfiguration implements Named {
         this.dialect = dialect;
     }
 
+    /**
+     * @return The maximum number of blocking calls the reactive operations execute concurrently.
+     * @since 3.3
+     */
+    public int getReactiveMaxConcurrency() {
+        return reactiveMaxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of blocking calls the reactive operations execute concurrently. Should match the size of the
+     * connection pool. Defaults to {@value #DEFAULT_REACTIVE_MAX_CONCURRENCY}.
+     *
+     * @param reactiveMaxConcurrency The maximum concurrency
+     * @since 3.3
+     */
+    public void setReactiveMaxConcurrency(int reactiveMaxConcurrency) {
+        if (reactiveMaxConcurrency > 0) {
+            this.reactiveMaxConcurrency = reactiveMaxConcurrency;
+        }
+    }
+
+    /**
+     * @return The maximum number of entities bound to a single batch statement.
+     * @since 3.3
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of entities bound to a single batch statement. Batch operations are split into
+     * statements of this size that are executed one after the other, consuming the entities one chunk at a time.
+     * Can be overridden per repository method with the {@link DataSettings#BATCH_SIZE_HINT} query hint.
+     * Defaults to {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize The batch size
+     * @since 3.3
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize > 0) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * @return Whether the entities loaded and written in a transaction are kept in a transaction scoped identity map.
+     * @since 3.3
+     */
+    public boolean isIdentityMapEnabled() {
+        return identityMapEnabled;
+    }
+
+    /**
+     * Sets whether the entities loaded and written in a transaction are kept in a transaction scoped identity map.
+     * Lookups by id are then served from memory and joined entities with the same id share one instance. The identity
+     * map is dropped when the transaction completes. Defaults to {@code false}.
+     *
+     * @param identityMapEnabled True if enabled
+     * @since 3.3
+     */
+    public void setIdentityMapEnabled(boolean identityMapEnabled) {
+        this.identityMapEnabled = identityMapEnabled;
+    }
+
+    /**
+     * @return Whether only the modified columns of the loaded entities are updated.
+     * @since 3.3
+     */
+    public boolean isDirtyTrackingEnabled() {
+        return dirtyTrackingEnabled;
+    }
+
+    /**
+     * Sets whether a snapshot of the column values of the loaded entities is recorded, so that an entity update sets
+     * only the modified columns and the update of an unmodified entity is skipped. Entities with a version property are
+     * always fully updated. Defaults to {@code false}.
+     *
+     * @param dirtyTrackingEnabled True if enabled
+     * @since 3.3
+     */
+    public void setDirtyTrackingEnabled(boolean dirtyTrackingEnabled) {
+        this.dirtyTrackingEnabled = dirtyTrackingEnabled;
+    }
+
+    /**
+     * @return Whether the values of {@code IN} expressions are bound as a single array.
+     * @since 3.3
+     */
+    public boolean isInListArraysEnabled() {
+        return inListArraysEnabled;
+    }
+
+    /**
+     * Sets whether the values of {@code IN} expressions are bound as a single array compared with {@code = ANY(?)}
+     * on the dialects supporting it, H2 and Postgres. The SQL statement then stays the same for any number of values
+     * and the values don't count against the parameter limit of the driver. Only values of a numeric or string type
+     * are bound as an array. Defaults to {@code false}.
+     *
+     * @param inListArraysEnabled True if enabled
+     * @since 3.3
+     */
+    public void setInListArraysEnabled(boolean inListArraysEnabled) {
+        this.inListArraysEnabled = inListArraysEnabled;
+    }
+
+    /**
+     * @return How the generated identities are allocated.
+     * @since 3.3
+     */
+    @NonNull
+    public IdAllocation getIdAllocation() {
+        return idAllocation;
+    }
+
+    /**
+     * Sets how the generated numeric identities of the entities are allocated. When allocated by the client, the
+     * identities are assigned before the insert in ranges of {@link #getIdAllocationSize()} values, so that the inserts
+     * can be batched on every dialect and the generated keys don't have to be read back. The identities generated by
+     * identity columns that reject explicit values, the {@code IDENTITY} strategy and the {@code AUTO} strategy of
+     * Postgres and SQL Server, are always generated by the database. Defaults to {@link IdAllocation#NONE}.
+     *
+     * @param idAllocation The identity allocation
+     * @since 3.3
+     */
+    public void setIdAllocation(@NonNull IdAllocation idAllocation) {
+        if (idAllocation != null) {
+            this.idAllocation = idAllocation;
+        }
+    }
+
+    /**
+     * @return The number of identities allocated with one database round trip.
+     * @since 3.3
+     */
+    public int getIdAllocationSize() {
+        return idAllocationSize;
+    }
+
+    /**
+     * Sets the number of identities allocated with one database round trip. Defaults to
+     * {@value #DEFAULT_ID_ALLOCATION_SIZE}.
+     *
+     * @param idAllocationSize The allocation size
+     * @since 3.3
+     */
+    public void setIdAllocationSize(int idAllocationSize) {
+        if (idAllocationSize > 0) {
+            this.idAllocationSize = idAllocationSize;
+        }
+    }
+
+    /**
+     * @return The table holding the high values of the {@link IdAllocation#TABLE} allocation.
+     * @since 3.3
+     */
+    @NonNull
+    public String getIdAllocationTable() {
+        return idAllocationTable;
+    }
+
+    /**
+     * Sets the table holding the high values of the {@link IdAllocation#TABLE} allocation. The table must have a
+     * {@code sequence_name} string primary key column and a {@code next_hi} numeric column. Defaults to
+     * {@value #DEFAULT_ID_ALLOCATION_TABLE}.
+     *
+     * @param idAllocationTable The table name
+     * @since 3.3
+     */
+    public void setIdAllocationTable(@NonNull String idAllocationTable) {
+        if (idAllocationTable != null) {
+            this.idAllocationTable = idAllocationTable;
+        }
+    }
+
     @NonNull
     @Override
     public String getName() {
         return name;
     }
+
+    /**
+     * How the generated identities are allocated.
+     *
+     * @since 3.3
+     */
+    public enum IdAllocation {
+        /**
+         * The identities are generated by the database and read back after the insert.
+         */
+        NONE,
+        /**
+         * Ranges of identities are allocated from the sequence of the entity, pooled by the client. The sequence must be
+         * incremented by the allocation size, its next value {@code v} reserves the identities {@code [v, v + size)}, so
+         * the inserts reading the sequence directly don't collide with the allocated identities. Only applies to the
+         * identities generated by a sequence, not supported by the dialects without sequences.
+         */
+        SEQUENCE,
+        /**
+         * Ranges of identities are allocated with a high value stored in a table, for the dialects without sequences.
+         * The first high value is placed above the greatest identity of the entity table. The high value is updated with
+         * an extra connection of the data source, held while the connection of the current transaction is.
+         */
+        TABLE
+    }
 }
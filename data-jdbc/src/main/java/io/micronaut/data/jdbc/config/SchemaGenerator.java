@@ -93,7 +93,10 @@ public class SchemaGenerator {
                     DataSource dataSource = DelegatingDataSource.unwrapDataSource(beanLocator.getBean(DataSource.class, Qualifiers.byName(name)));
                     try {
                         try (Connection connection = dataSource.getConnection()) {
-                            SqlQueryBuilder builder = new SqlQueryBuilder(dialect);
+                            // The sequences of the allocated identities are incremented by the size of the allocated ranges
+                            int sequenceIncrement = configuration.getIdAllocation() == DataJdbcConfiguration.IdAllocation.SEQUENCE
+                                    ? configuration.getIdAllocationSize() : 1;
+                            SqlQueryBuilder builder = new SqlQueryBuilder(dialect, sequenceIncrement);
                             if (dialect.allowBatch() && configuration.isBatchGenerate()) {
                                 switch (schemaGenerate) {
                                     case CREATE_DROP:
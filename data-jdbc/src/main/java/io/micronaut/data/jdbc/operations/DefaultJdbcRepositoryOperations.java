@@ -28,9 +28,12 @@ import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Relation;
 import io.micronaut.data.event.EntityEventContext;
 import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.intercept.annotation.DataMethod;
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration;
 import io.micronaut.data.jdbc.convert.JdbcConversionContext;
 import io.micronaut.data.jdbc.mapper.ColumnIndexResultSetReader;
 import io.micronaut.data.jdbc.mapper.ColumnNameResultSetReader;
@@ -70,6 +73,8 @@ import io.micronaut.data.runtime.mapper.DTOMapper;
 import io.micronaut.data.runtime.mapper.ResultConsumer;
 import io.micronaut.data.runtime.mapper.ResultReader;
 import io.micronaut.data.runtime.mapper.TypeMapper;
+import io.micronaut.data.runtime.jfr.BatchExecutionEvent;
+import io.micronaut.data.runtime.jfr.QueryEvents;
 import io.micronaut.data.runtime.mapper.sql.SqlDTOMapper;
 import io.micronaut.data.runtime.mapper.sql.SqlResultEntityTypeMapper;
 import io.micronaut.data.runtime.mapper.sql.SqlTypeMapper;
@@ -77,12 +82,21 @@ import io.micronaut.data.runtime.operations.ExecutorAsyncOperations;
 import io.micronaut.data.runtime.operations.ExecutorReactiveOperations;
 import io.micronaut.data.runtime.operations.internal.AbstractSqlRepositoryOperations;
 import io.micronaut.data.runtime.operations.internal.DBOperation;
+import io.micronaut.data.runtime.operations.internal.EntityIdentityMap;
+import io.micronaut.data.runtime.operations.internal.EntitySnapshots;
 import io.micronaut.data.runtime.operations.internal.OpContext;
 import io.micronaut.data.runtime.operations.internal.StoredQuerySqlOperation;
 import io.micronaut.data.runtime.operations.internal.StoredSqlOperation;
 import io.micronaut.data.runtime.support.AbstractConversionContext;
+import io.micronaut.data.runtime.support.SlowQueryLog;
 import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.TransactionStatus;
+import io.micronaut.transaction.jdbc.DelegatingDataSource;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import io.micronaut.transaction.support.TransactionSynchronizationManager;
 import jakarta.inject.Named;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,6 +115,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -109,6 +124,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.StringJoiner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -136,7 +152,11 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
     private static final Logger LOG = LoggerFactory.getLogger(DefaultJdbcRepositoryOperations.class);
     private final TransactionOperations<Connection> transactionOperations;
     private final DataSource dataSource;
+    private final DataJdbcConfiguration jdbcConfiguration;
+    private final EntitySnapshots entitySnapshots;
+    private final JdbcIdAllocator idAllocator;
     private ExecutorAsyncOperations asyncOperations;
+    private ExecutorReactiveOperations reactiveOperations;
     private ExecutorService executorService;
 
     /**
@@ -179,6 +199,11 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         this.dataSource = dataSource;
         this.transactionOperations = transactionOperations;
         this.executorService = executorService;
+        this.jdbcConfiguration = beanContext.findBean(DataJdbcConfiguration.class, Qualifiers.byName(dataSourceName))
+                .orElseGet(() -> new DataJdbcConfiguration(dataSourceName));
+        this.entitySnapshots = jdbcConfiguration.isDirtyTrackingEnabled() ? new EntitySnapshots() : null;
+        this.idAllocator = jdbcConfiguration.getIdAllocation() != DataJdbcConfiguration.IdAllocation.NONE
+                ? new JdbcIdAllocator(jdbcConfiguration, dataSource) : null;
     }
 
     @NonNull
@@ -357,6 +382,33 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         return new JdbcConversionContextImpl(connection);
     }
 
+    @Override
+    protected boolean isArrayExpandedParameters(Dialect dialect) {
+        return jdbcConfiguration.isInListArraysEnabled() && (dialect == Dialect.H2 || dialect == Dialect.POSTGRES);
+    }
+
+    @Override
+    protected String explain(Dialect dialect, String explainQuery, List<SlowQueryLog.BoundValue> values) throws SQLException {
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection();
+             PreparedStatement ps = connection.prepareStatement(explainQuery)) {
+            for (SlowQueryLog.BoundValue value : values) {
+                setStatementParameter(ps, value.getIndex(), value.getDataType(), value.getValue(), dialect);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                int columnCount = rs.getMetaData().getColumnCount();
+                StringJoiner plan = new StringJoiner(System.lineSeparator());
+                while (rs.next()) {
+                    StringJoiner row = new StringJoiner(" | ");
+                    for (int i = 1; i <= columnCount; i++) {
+                        row.add(String.valueOf(rs.getObject(i)));
+                    }
+                    plan.add(row.toString());
+                }
+                return plan.toString();
+            }
+        }
+    }
+
     @Override
     protected AutoCloseable autoCloseable(PreparedStatement preparedStatement) {
         return preparedStatement;
@@ -397,17 +449,50 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
     @NonNull
     @Override
     public ReactiveRepositoryOperations reactive() {
-        return new ExecutorReactiveOperations(async(), conversionService);
+        ExecutorReactiveOperations reactiveOperations = this.reactiveOperations;
+        if (reactiveOperations == null) {
+            synchronized (this) { // double check
+                reactiveOperations = this.reactiveOperations;
+                if (reactiveOperations == null) {
+                    reactiveOperations = new ExecutorReactiveOperations(
+                            this,
+                            transactionOperations,
+                            jdbcConfiguration.getReactiveMaxConcurrency(),
+                            "jdbc-reactive-" + jdbcConfiguration.getName(),
+                            conversionService
+                    );
+                    this.reactiveOperations = reactiveOperations;
+                }
+            }
+        }
+        return reactiveOperations;
     }
 
     @Nullable
     @Override
     public <T, R> R findOne(@NonNull PreparedQuery<T, R> preparedQuery) {
         return transactionOperations.executeRead(status -> {
-            Connection connection = status.getConnection();
             RuntimePersistentEntity<T> persistentEntity = getEntity(preparedQuery.getRootEntity());
-            try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, true)) {
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            if (identityMap != null) {
+                Object id = EntityIdentityMap.findLookupId(preparedQuery);
+                if (id != null) {
+                    R entity = identityMap.get(getEntity(preparedQuery.getResultType()), id);
+                    if (entity != null) {
+                        if (QUERY_LOG.isDebugEnabled()) {
+                            QUERY_LOG.debug("Found entity [{}] with id [{}] in the transaction identity map", persistentEntity.getName(), id);
+                        }
+                        return entity;
+                    }
+                }
+            }
+            Connection connection = status.getConnection();
+            QueryEvents events = startQueryEvents(preparedQuery);
+            try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, true, events)) {
                 try (ResultSet rs = ps.executeQuery()) {
+                    if (events != null) {
+                        events.executed();
+                    }
                     Class<R> resultType = preparedQuery.getResultType();
                     if (preparedQuery.getResultDataType() == DataType.ENTITY) {
                         RuntimePersistentEntity<R> resultPersistentEntity = getEntity(resultType);
@@ -425,7 +510,9 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                                         return o;
                                     }
                                 },
-                                conversionService);
+                                conversionService,
+                                identityMap,
+                                entitySnapshots);
                         SqlResultEntityTypeMapper.PushingMapper<ResultSet, R> oneMapper = mapper.readOneWithJoins();
                         if (rs.next()) {
                             oneMapper.processRow(rs);
@@ -433,7 +520,10 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                         while (!joinFetchPaths.isEmpty() && rs.next()) {
                             oneMapper.processRow(rs);
                         }
-                        R result = oneMapper.getResult();
+                        R result = QueryEvents.row(events, oneMapper.getResult());
+                        if (identityMap != null && preparedQuery.getRootEntity().equals(resultType)) {
+                            identityMap.put(resultPersistentEntity, result);
+                        }
                         if (preparedQuery.hasResultConsumer()) {
                             preparedQuery.getParameterInRole(SqlResultConsumer.ROLE, SqlResultConsumer.class)
                                     .ifPresent(consumer -> consumer.accept(result, newMappingContext(rs)));
@@ -446,21 +536,25 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                                     columnNameResultSetReader,
                                     jsonCodec,
                                     conversionService);
-                            return introspectedDataMapper.map(rs, resultType);
+                            return QueryEvents.row(events, introspectedDataMapper.map(rs, resultType));
                         } else {
                             Object v = columnIndexResultSetReader.readDynamic(rs, 1, preparedQuery.getResultDataType());
                             if (v == null) {
                                 return null;
                             } else if (resultType.isInstance(v)) {
-                                return (R) v;
+                                return QueryEvents.row(events, (R) v);
                             } else {
-                                return columnIndexResultSetReader.convertRequired(v, resultType);
+                                return QueryEvents.row(events, columnIndexResultSetReader.convertRequired(v, resultType));
                             }
                         }
                     }
                 }
             } catch (SQLException e) {
                 throw new DataAccessException("Error executing SQL Query: " + e.getMessage(), e);
+            } finally {
+                if (events != null) {
+                    events.finish();
+                }
             }
             return null;
         });
@@ -471,9 +565,21 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         return transactionOperations.executeRead(status -> {
             try {
                 Connection connection = status.getConnection();
-                try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, true)) {
+                QueryEvents events = startQueryEvents(preparedQuery);
+                try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, true, events)) {
                     try (ResultSet rs = ps.executeQuery()) {
-                        return rs.next();
+                        if (events != null) {
+                            events.executed();
+                        }
+                        boolean exists = rs.next();
+                        if (exists && events != null) {
+                            events.row();
+                        }
+                        return exists;
+                    }
+                } finally {
+                    if (events != null) {
+                        events.finish();
                     }
                 }
             } catch (SQLException e) {
@@ -485,17 +591,21 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
     @NonNull
     @Override
     public <T, R> Stream<R> findStream(@NonNull PreparedQuery<T, R> preparedQuery) {
-        return findStream(preparedQuery, transactionOperations.getConnection());
+        return findStream(preparedQuery, transactionOperations.getConnection(), null);
     }
 
-    private <T, R> Stream<R> findStream(@NonNull PreparedQuery<T, R> preparedQuery, Connection connection) {
+    private <T, R> Stream<R> findStream(@NonNull PreparedQuery<T, R> preparedQuery, Connection connection, @Nullable EntityIdentityMap identityMap) {
         Class<R> resultType = preparedQuery.getResultType();
         AtomicBoolean finished = new AtomicBoolean();
+        QueryEvents events = startQueryEvents(preparedQuery);
 
         PreparedStatement ps;
         try {
-            ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, false);
+            ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, false, false, events);
         } catch (Exception e) {
+            if (events != null) {
+                events.finish();
+            }
             throw new DataAccessException("SQL Error preparing Query: " + e.getMessage(), e);
         }
 
@@ -504,6 +614,9 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         try {
             openedRs = ps.executeQuery();
             rs = openedRs;
+            if (events != null) {
+                events.executed();
+            }
 
             boolean dtoProjection = preparedQuery.isDtoProjection();
             boolean isEntity = preparedQuery.getResultDataType() == DataType.ENTITY;
@@ -534,7 +647,9 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                                     return o;
                                 }
                             },
-                            conversionService);
+                            conversionService,
+                            identityMap,
+                            entitySnapshots);
                     boolean onlySingleEndedJoins = isOnlySingleEndedJoins(getEntity(preparedQuery.getRootEntity()), joinFetchPaths);
                     // Cannot stream ResultSet for "many" joined query
                     if (!onlySingleEndedJoins) {
@@ -543,9 +658,15 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                             while (rs.next()) {
                                 manyMapper.processRow(rs);
                             }
-                            return manyMapper.getResult().stream();
+                            List<R> results = manyMapper.getResult();
+                            if (events != null) {
+                                for (int i = 0; i < results.size(); i++) {
+                                    events.row();
+                                }
+                            }
+                            return results.stream();
                         } finally {
-                            closeResultSet(ps, rs, finished);
+                            closeResultSet(ps, rs, finished, events);
                         }
                     } else {
                         mapper = entityTypeMapper;
@@ -564,9 +685,12 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                             if (sqlMappingConsumer != null) {
                                 sqlMappingConsumer.accept(rs, o);
                             }
+                            if (events != null) {
+                                events.row();
+                            }
                             action.accept(o);
                         } else {
-                            closeResultSet(ps, rs, finished);
+                            closeResultSet(ps, rs, finished, events);
                         }
                         return hasNext;
                     }
@@ -582,6 +706,9 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                         try {
                             boolean hasNext = rs.next();
                             if (hasNext) {
+                                if (events != null) {
+                                    events.row();
+                                }
                                 Object v = columnIndexResultSetReader
                                         .readDynamic(rs, 1, preparedQuery.getResultDataType());
                                 if (resultType.isInstance(v)) {
@@ -594,7 +721,7 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                                     }
                                 }
                             } else {
-                                closeResultSet(ps, rs, finished);
+                                closeResultSet(ps, rs, finished, events);
                             }
                             return hasNext;
                         } catch (SQLException e) {
@@ -605,16 +732,19 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             }
 
             return StreamSupport.stream(spliterator, false).onClose(() -> {
-                closeResultSet(ps, rs, finished);
+                closeResultSet(ps, rs, finished, events);
             });
         } catch (Exception e) {
-            closeResultSet(ps, openedRs, finished);
+            closeResultSet(ps, openedRs, finished, events);
             throw new DataAccessException("SQL Error executing Query: " + e.getMessage(), e);
         }
     }
 
-    private void closeResultSet(PreparedStatement ps, ResultSet rs, AtomicBoolean finished) {
+    private void closeResultSet(PreparedStatement ps, ResultSet rs, AtomicBoolean finished, @Nullable QueryEvents events) {
         if (finished.compareAndSet(false, true)) {
+            if (events != null) {
+                events.finish();
+            }
             try {
                 if (rs != null) {
                     rs.close();
@@ -633,7 +763,16 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
     public <T, R> Iterable<R> findAll(@NonNull PreparedQuery<T, R> preparedQuery) {
         return transactionOperations.executeRead(status -> {
             Connection connection = status.getConnection();
-            return findStream(preparedQuery, connection).collect(Collectors.toList());
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            List<R> results = findStream(preparedQuery, connection, identityMap).collect(Collectors.toList());
+            if (identityMap != null && preparedQuery.getResultDataType() == DataType.ENTITY
+                    && !preparedQuery.isDtoProjection() && preparedQuery.getRootEntity().equals(preparedQuery.getResultType())) {
+                RuntimePersistentEntity<R> persistentEntity = getEntity(preparedQuery.getResultType());
+                for (R result : results) {
+                    identityMap.put(persistentEntity, result);
+                }
+            }
+            return results;
         });
     }
 
@@ -643,8 +782,16 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         return transactionOperations.executeWrite(status -> {
             try {
                 Connection connection = status.getConnection();
-                try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, true, false)) {
+                EntityIdentityMap identityMap = findIdentityMap(status);
+                if (identityMap != null) {
+                    identityMap.clear(getEntity(preparedQuery.getRootEntity()));
+                }
+                QueryEvents events = startQueryEvents(preparedQuery);
+                try (PreparedStatement ps = prepareStatement(connection, connection::prepareStatement, preparedQuery, true, false, events)) {
                     int result = ps.executeUpdate();
+                    if (events != null) {
+                        events.finishUpdate(result);
+                    }
                     if (QUERY_LOG.isTraceEnabled()) {
                         QUERY_LOG.trace("Update operation updated {} records", result);
                     }
@@ -669,11 +816,42 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(operation.getRepositoryType(), DEFAULT_SQL_BUILDER);
             Dialect dialect = queryBuilder.dialect();
             RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            String[] setDelete = resolveEntitySetDelete(operation.getAnnotationMetadata(), operation.getRepositoryType(), persistentEntity, operation.getStoredQuery());
+            if (setDelete != null) {
+                int[] rowsUpdated = new int[1];
+                int chunkSize = Math.min(resolveBatchSize(operation.getStoredQuery(), jdbcConfiguration.getBatchSize()), dialect.getMaxInListSize());
+                forEachChunk(operation, chunkSize, chunk -> {
+                    if (identityMap != null) {
+                        for (T entity : chunk) {
+                            identityMap.remove(persistentEntity, entity);
+                        }
+                    }
+                    JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, chunk);
+                    op.deleteInSet(status.getConnection(), queryBuilder, setDelete);
+                    rowsUpdated[0] += op.rowsUpdated;
+                });
+                return rowsUpdated[0];
+            }
             if (isSupportsBatchDelete(persistentEntity, dialect)) {
-                JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(getEntity(operation.getRootEntity()), operation);
                 StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
-                deleteInBatch(status.getConnection(), op, dbOperation);
-                return op.rowsUpdated;
+                int[] rowsUpdated = new int[1];
+                forEachChunk(operation, resolveBatchSize(operation.getStoredQuery(), jdbcConfiguration.getBatchSize()), chunk -> {
+                    if (identityMap != null) {
+                        for (T entity : chunk) {
+                            identityMap.remove(persistentEntity, entity);
+                        }
+                    }
+                    JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, chunk);
+                    deleteInBatch(status.getConnection(), op, dbOperation);
+                    rowsUpdated[0] += op.rowsUpdated;
+                });
+                return rowsUpdated[0];
+            }
+            if (identityMap != null) {
+                for (T entity : operation) {
+                    identityMap.remove(persistentEntity, entity);
+                }
             }
             return sum(
                     operation.split().stream()
@@ -694,6 +872,10 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             JdbcEntityOperations<T> op = new JdbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
             StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
             deleteOne(status.getConnection(), op, dbOperation);
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            if (identityMap != null) {
+                identityMap.remove(getEntity(operation.getRootEntity()), operation.getEntity());
+            }
             return op;
         }).rowsUpdated;
     }
@@ -707,8 +889,17 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
         StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
         return transactionOperations.executeWrite(status -> {
-            JdbcEntityOperations<T> op = new JdbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
-            updateOne(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
+            RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+            JdbcEntityOperations<T> op = new JdbcEntityOperations<>(persistentEntity, operation.getEntity());
+            DBOperation entityUpdate = resolveModifiedUpdate(annotationMetadata, repositoryType, persistentEntity, op.entity, dbOperation);
+            if (entityUpdate != null) {
+                updateOne(status.getConnection(), annotationMetadata, repositoryType, entityUpdate, Collections.emptyList(), persisted, op);
+                recordSnapshots(persistentEntity, Collections.singletonList(op.entity));
+            }
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            if (identityMap != null) {
+                identityMap.put(persistentEntity, op.entity);
+            }
             return op;
         }).entity;
     }
@@ -723,6 +914,10 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
             final RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
             StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
+            if (entitySnapshots != null && EntitySnapshots.isTracked(persistentEntity)) {
+                List<T> entities = updateModified(status, operation, persistentEntity, dbOperation, isSupportsBatchUpdate(persistentEntity, queryBuilder.dialect()));
+                return putAll(status, persistentEntity, entities);
+            }
             if (!isSupportsBatchUpdate(persistentEntity, queryBuilder.dialect())) {
                 return operation.split()
                         .stream()
@@ -731,11 +926,15 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                             updateOne(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
                             return op.entity;
                         })
-                        .collect(Collectors.toList());
+                        .collect(Collectors.collectingAndThen(Collectors.toList(), entities -> putAll(status, persistentEntity, entities)));
             }
-            JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, operation);
-            updateInBatch(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
-            return op.getEntities();
+            List<T> results = new ArrayList<>();
+            forEachChunk(operation, resolveBatchSize(operation.getStoredQuery(), jdbcConfiguration.getBatchSize()), chunk -> {
+                JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, chunk);
+                updateInBatch(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
+                results.addAll(op.getEntities());
+            });
+            return putAll(status, persistentEntity, results);
         });
     }
 
@@ -745,10 +944,22 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         final AnnotationMetadata annotationMetadata = operation.getAnnotationMetadata();
         final Class<?> repositoryType = operation.getRepositoryType();
         SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
-        StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
+        final RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+        final boolean idAllocated = isIdAllocated(annotationMetadata, persistentEntity, queryBuilder.dialect());
+        DBOperation dbOperation = idAllocated
+                ? resolveEntityInsertWithIdentity(annotationMetadata, repositoryType, operation.getRootEntity(), persistentEntity)
+                : new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
         return transactionOperations.executeWrite((status) -> {
-            JdbcEntityOperations<T> op = new JdbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
+            JdbcEntityOperations<T> op = new JdbcEntityOperations<>(persistentEntity, operation.getEntity());
+            if (idAllocated) {
+                op.allocateId(status.getConnection(), queryBuilder);
+            }
             persistOne(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), new HashSet<>(5), op);
+            recordSnapshots(getEntity(operation.getRootEntity()), Collections.singletonList(op.entity));
+            EntityIdentityMap identityMap = findIdentityMap(status);
+            if (identityMap != null) {
+                identityMap.put(getEntity(operation.getRootEntity()), op.entity);
+            }
             return op;
         }).entity;
     }
@@ -788,10 +999,14 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             final Class<?> repositoryType = operation.getRepositoryType();
             SqlQueryBuilder sqlQueryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
             final Dialect dialect = sqlQueryBuilder.dialect();
-            StoredSqlOperation dbOperation = new StoredQuerySqlOperation(sqlQueryBuilder, operation.getStoredQuery());
             final RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+            final boolean idAllocated = isIdAllocated(annotationMetadata, persistentEntity, dialect);
+            DBOperation dbOperation = idAllocated
+                    ? resolveEntityInsertWithIdentity(annotationMetadata, repositoryType, operation.getRootEntity(), persistentEntity)
+                    : new StoredQuerySqlOperation(sqlQueryBuilder, operation.getStoredQuery());
             final HashSet<Object> persisted = new HashSet<>(5);
-            if (!isSupportsBatchInsert(persistentEntity, sqlQueryBuilder.dialect())) {
+            // The allocated ids don't have to be read back, so the inserts can be batched on every dialect
+            if (!idAllocated && !isSupportsBatchInsert(persistentEntity, dialect)) {
                 return operation.split().stream()
                         .map(persistOp -> {
                             JdbcEntityOperations<T> op = new JdbcEntityOperations<>(persistentEntity, persistOp.getEntity());
@@ -805,30 +1020,204 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
                                     op);
                             return op.entity;
                         })
-                        .collect(Collectors.toList());
+                        .collect(Collectors.collectingAndThen(Collectors.toList(), entities -> putAll(status, persistentEntity, recordSnapshots(persistentEntity, entities))));
             } else {
-                JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, operation);
-                persistInBatch(
-                        status.getConnection(),
-                        operation.getAnnotationMetadata(),
-                        operation.getRepositoryType(),
-                        dbOperation,
-                        Collections.emptyList(),
-                        persisted,
-                        op
-                );
-                return op.getEntities();
+                List<T> results = new ArrayList<>();
+                forEachChunk(operation, resolveBatchSize(operation.getStoredQuery(), jdbcConfiguration.getBatchSize()), chunk -> {
+                    JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, chunk);
+                    if (idAllocated) {
+                        op.allocateIds(status.getConnection(), sqlQueryBuilder);
+                    }
+                    persistInBatch(
+                            status.getConnection(),
+                            operation.getAnnotationMetadata(),
+                            operation.getRepositoryType(),
+                            dbOperation,
+                            Collections.emptyList(),
+                            persisted,
+                            op
+                    );
+                    results.addAll(op.getEntities());
+                });
+                return putAll(status, persistentEntity, recordSnapshots(persistentEntity, results));
             }
 
         });
     }
 
+    /**
+     * Whether the ids of the inserted entities are allocated by {@link JdbcIdAllocator} instead of being generated by
+     * the database. Custom inserts are executed as declared.
+     *
+     * @param annotationMetadata The repository method annotation metadata
+     * @param persistentEntity   The persistent entity
+     * @param dialect            The dialect
+     * @return True if they are
+     */
+    private boolean isIdAllocated(AnnotationMetadata annotationMetadata, RuntimePersistentEntity<?> persistentEntity, Dialect dialect) {
+        return idAllocator != null && idAllocator.isAllocated(persistentEntity, dialect)
+                && !annotationMetadata.stringValue(Query.class, DataMethod.META_MEMBER_RAW_QUERY).isPresent();
+    }
+
+    /**
+     * Finds the identity map bound to the transaction, creating it if necessary. Operations that begin a new
+     * transaction of their own do not use the identity map, because it would be discarded once they complete.
+     *
+     * @param status The transaction status
+     * @return The identity map or null if disabled or there is no outer transaction
+     */
+    @Nullable
+    private EntityIdentityMap findIdentityMap(TransactionStatus<Connection> status) {
+        if (!jdbcConfiguration.isIdentityMapEnabled()
+                || status.isNewTransaction()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Connection connection = status.getConnection();
+        TransactionIdentityMap transactionIdentityMap = (TransactionIdentityMap) TransactionSynchronizationManager.getResource(connection);
+        if (transactionIdentityMap == null) {
+            transactionIdentityMap = new TransactionIdentityMap(connection);
+            TransactionSynchronizationManager.bindResource(connection, transactionIdentityMap);
+            TransactionSynchronizationManager.registerSynchronization(transactionIdentityMap);
+        }
+        return transactionIdentityMap.identityMap;
+    }
+
+    private <T> List<T> putAll(TransactionStatus<Connection> status, RuntimePersistentEntity<T> persistentEntity, List<T> entities) {
+        EntityIdentityMap identityMap = findIdentityMap(status);
+        if (identityMap != null) {
+            for (T entity : entities) {
+                identityMap.put(persistentEntity, entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Resolves the update of the entity instance. If dirty tracking is enabled only the modified columns are updated.
+     *
+     * @return The update or null if the entity isn't modified
+     */
+    @Nullable
+    private <T> DBOperation resolveModifiedUpdate(AnnotationMetadata annotationMetadata,
+                                                  Class<?> repositoryType,
+                                                  RuntimePersistentEntity<T> persistentEntity,
+                                                  T entity,
+                                                  DBOperation entityUpdate) {
+        if (entitySnapshots == null) {
+            return entityUpdate;
+        }
+        DBOperation dirtyUpdate = resolveEntityDirtyUpdate(annotationMetadata, repositoryType, persistentEntity, entity, entitySnapshots, entityUpdate);
+        if (dirtyUpdate == null && QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Skipping the update of unmodified entity [{}]", persistentEntity.getName());
+        }
+        return dirtyUpdate;
+    }
+
+    /**
+     * Updates only the modified entities, batching the entities with the same modified properties together.
+     *
+     * @return The entities in the order of the operation
+     */
+    private <T> List<T> updateModified(TransactionStatus<Connection> status,
+                                       UpdateBatchOperation<T> operation,
+                                       RuntimePersistentEntity<T> persistentEntity,
+                                       DBOperation entityUpdate,
+                                       boolean supportsBatchUpdate) {
+        final AnnotationMetadata annotationMetadata = operation.getAnnotationMetadata();
+        final Class<?> repositoryType = operation.getRepositoryType();
+        final Set<Object> persisted = new HashSet<>(10);
+        final int batchSize = resolveBatchSize(operation.getStoredQuery(), jdbcConfiguration.getBatchSize());
+        List<T> entities = CollectionUtils.iterableToList(operation);
+        Map<DBOperation, List<Integer>> updates = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            DBOperation update = resolveModifiedUpdate(annotationMetadata, repositoryType, persistentEntity, entities.get(i), entityUpdate);
+            if (update != null) {
+                updates.computeIfAbsent(update, u -> new ArrayList<>()).add(i);
+            }
+        }
+        List<T> results = new ArrayList<>(entities);
+        List<T> updated = new ArrayList<>(entities.size());
+        for (Map.Entry<DBOperation, List<Integer>> e : updates.entrySet()) {
+            List<Integer> indexes = e.getValue();
+            if (supportsBatchUpdate) {
+                int[] position = new int[1];
+                forEachChunk(indexes, batchSize, chunk -> {
+                    List<T> batch = new ArrayList<>(chunk.size());
+                    for (Integer index : chunk) {
+                        batch.add(entities.get(index));
+                    }
+                    JdbcEntitiesOperations<T> op = new JdbcEntitiesOperations<>(persistentEntity, batch);
+                    updateInBatch(status.getConnection(), annotationMetadata, repositoryType, e.getKey(), Collections.emptyList(), persisted, op);
+                    for (T result : op.getEntities()) {
+                        results.set(indexes.get(position[0]++), result);
+                        updated.add(result);
+                    }
+                });
+            } else {
+                for (Integer index : indexes) {
+                    JdbcEntityOperations<T> op = new JdbcEntityOperations<>(persistentEntity, entities.get(index));
+                    updateOne(status.getConnection(), annotationMetadata, repositoryType, e.getKey(), Collections.emptyList(), persisted, op);
+                    results.set(index, op.entity);
+                    updated.add(op.entity);
+                }
+            }
+        }
+        recordSnapshots(persistentEntity, updated);
+        return results;
+    }
+
+    /**
+     * Passes the entities to the consumer in chunks of the batch size. The entities are consumed lazily, so only one
+     * chunk is bound to a statement at a time.
+     */
+    private <T> void forEachChunk(Iterable<T> entities, int batchSize, Consumer<List<T>> consumer) {
+        List<T> chunk = new ArrayList<>(Math.min(batchSize, 1000));
+        for (T entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == batchSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(Math.min(batchSize, 1000));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+
+    /**
+     * Records the snapshots of the written entities. The snapshots are removed if the transaction doesn't commit.
+     *
+     * @return The entities
+     */
+    private <T> List<T> recordSnapshots(RuntimePersistentEntity<T> persistentEntity, List<T> entities) {
+        if (entitySnapshots == null || entities.isEmpty() || !EntitySnapshots.isTracked(persistentEntity)) {
+            return entities;
+        }
+        entitySnapshots.recordAll(persistentEntity, entities);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(@NonNull Status status) {
+                    if (status != Status.COMMITTED) {
+                        entities.forEach(entitySnapshots::remove);
+                    }
+                }
+            });
+        }
+        return entities;
+    }
+
     @Override
     @PreDestroy
     public void close() {
         if (executorService != null) {
             executorService.shutdown();
         }
+        if (reactiveOperations != null) {
+            reactiveOperations.close();
+        }
     }
 
     @NonNull
@@ -1071,6 +1460,13 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         protected void veto(Predicate<T> predicate) {
             throw new IllegalStateException("Not supported");
         }
+
+        private void allocateId(Connection connection, SqlQueryBuilder queryBuilder) {
+            BeanProperty<T, Object> property = (BeanProperty<T, Object>) persistentEntity.getIdentity().getProperty();
+            if (property.get(entity) == null) {
+                entity = updateEntityId(property, entity, idAllocator.allocate(connection, queryBuilder, persistentEntity));
+            }
+        }
     }
 
     private final class JdbcEntitiesOperations<T> extends EntitiesOperations<T> {
@@ -1189,12 +1585,21 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
 
         @Override
         protected void executeUpdate(PreparedStatement stmt) throws SQLException {
-            rowsUpdated = Arrays.stream(stmt.executeBatch()).sum();
+            rowsUpdated = Arrays.stream(executeBatch(stmt)).sum();
+        }
+
+        private int[] executeBatch(PreparedStatement stmt) throws SQLException {
+            BatchExecutionEvent event = FlightRecorderSupport.isAvailable() ? BatchExecutionEvent.start(persistentEntity.getName()) : null;
+            int[] updateCounts = stmt.executeBatch();
+            if (event != null) {
+                event.finish(updateCounts.length);
+            }
+            return updateCounts;
         }
 
         @Override
         protected void executeUpdate(PreparedStatement stmt, DBOperation2<Integer, Integer, SQLException> fn) throws SQLException {
-            rowsUpdated = Arrays.stream(stmt.executeBatch()).sum();
+            rowsUpdated = Arrays.stream(executeBatch(stmt)).sum();
             int expected = (int) entities.stream().filter(d -> !d.vetoed).count();
             fn.process(expected, rowsUpdated);
         }
@@ -1202,7 +1607,7 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         @Override
         protected void executeUpdateSetGeneratedId(PreparedStatement stmt) throws SQLException {
             RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
-            rowsUpdated = Arrays.stream(stmt.executeBatch()).sum();
+            rowsUpdated = Arrays.stream(executeBatch(stmt)).sum();
             List<Object> ids = new ArrayList<>();
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 while (generatedKeys.next()) {
@@ -1227,6 +1632,46 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
             return entities.stream().map(d -> d.entity).collect(Collectors.toList());
         }
 
+        private void allocateIds(Connection connection, SqlQueryBuilder queryBuilder) {
+            BeanProperty<T, Object> property = (BeanProperty<T, Object>) persistentEntity.getIdentity().getProperty();
+            for (Data d : entities) {
+                if (property.get(d.entity) == null) {
+                    d.entity = updateEntityId(property, d.entity, idAllocator.allocate(connection, queryBuilder, persistentEntity));
+                }
+            }
+        }
+
+        /**
+         * Deletes the entities with a single statement selecting them by their ids, see
+         * {@link #resolveEntitySetDelete(AnnotationMetadata, Class, RuntimePersistentEntity, io.micronaut.data.model.runtime.StoredQuery)}.
+         * The remove events are triggered as for a batch delete.
+         *
+         * @param connection   The connection
+         * @param queryBuilder The query builder
+         * @param queryParts   The parts of the delete
+         */
+        private void deleteInSet(Connection connection, SqlQueryBuilder queryBuilder, String[] queryParts) {
+            if (triggerPreRemove()) {
+                // operation vetoed
+                return;
+            }
+            List<T> deleted = entities.stream().filter(d -> !d.vetoed).map(d -> d.entity).collect(Collectors.toList());
+            String query = buildEntitySetDelete(queryBuilder, persistentEntity, queryParts, deleted.size());
+            if (QUERY_LOG.isDebugEnabled()) {
+                QUERY_LOG.debug("Executing SQL DELETE: {}", query);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(query)) {
+                setEntityIdParameters(connection, ps, persistentEntity, deleted, queryBuilder.dialect());
+                rowsUpdated = ps.executeUpdate();
+                if (QUERY_LOG.isTraceEnabled()) {
+                    QUERY_LOG.trace("Delete operation deleted {} records", rowsUpdated);
+                }
+            } catch (SQLException e) {
+                throw new DataAccessException("Error executing SQL DELETE: " + e.getMessage(), e);
+            }
+            triggerPostRemove();
+        }
+
         class Data {
             T entity;
             Map<QueryParameterBinding, Object> previousValues;
@@ -1234,6 +1679,24 @@ public final class DefaultJdbcRepositoryOperations extends AbstractSqlRepository
         }
     }
 
+    /**
+     * The identity map bound to the connection of the current transaction, dropped once the transaction completes.
+     */
+    private static final class TransactionIdentityMap implements TransactionSynchronization {
+        private final Connection connection;
+        private final EntityIdentityMap identityMap = new EntityIdentityMap();
+
+        private TransactionIdentityMap(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void afterCompletion(@NonNull Status status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(connection);
+            identityMap.clear();
+        }
+    }
+
     private static final class RuntimePersistentPropertyJdbcCC extends JdbcConversionContextImpl implements RuntimePersistentPropertyConversionContext {
 
         private final RuntimePersistentProperty<?> property;
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.operations;
+
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.Embedded;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.model.query.builder.sql.SqlQueryBuilder;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+import io.micronaut.data.runtime.config.DataSettings;
+import io.micronaut.transaction.jdbc.DelegatingDataSource;
+import org.slf4j.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates the generated numeric identities of the entities on the client, in ranges of
+ * {@link DataJdbcConfiguration#getIdAllocationSize()} values fetched with a single database round trip. The values of
+ * a range are handed out without locking.
+ *
+ * <p>The {@link DataJdbcConfiguration.IdAllocation#SEQUENCE} allocation only applies to the identities generated by a
+ * sequence: the {@code SEQUENCE} strategy and the {@code AUTO} strategy of Oracle. It reads the next value {@code v} of
+ * the sequence of the entity and uses the values {@code [v, v + size)}, the sequence must be incremented by the
+ * allocation size, which is verified in the catalog once per sequence. The inserts reading a value of the sequence
+ * directly, for example the cascaded and the custom inserts, take the first value of a range of their own, so they
+ * don't collide with the allocated ones. The schema generator creates the sequences with the allocation size as
+ * increment. The dialects without sequences are rejected.</p>
+ *
+ * <p>The {@link DataJdbcConfiguration.IdAllocation#TABLE} allocation increments the high value {@code hi} of the sequence
+ * stored in the allocation table and uses the values {@code [hi * size + 1, (hi + 1) * size]}. The first high value of
+ * a sequence is placed above the greatest identity of the entity table, the identities generated by the database
+ * afterwards, for example by other writers, are not accounted for. The high value is updated with a connection of its
+ * own, borrowed from the data source while the connection of the current transaction is held, so that it is not reused
+ * if the current transaction is rolled back. The pool must have room for it, each connection fetching a new range
+ * needs a second one for the duration of the update.</p>
+ *
+ * @since 3.3
+ */
+@Internal
+final class JdbcIdAllocator {
+
+    private static final Logger QUERY_LOG = DataSettings.QUERY_LOG;
+    private static final IdRange EXHAUSTED = new IdRange(0, 0);
+
+    private final DataJdbcConfiguration.IdAllocation allocation;
+    private final int allocationSize;
+    private final String selectHi;
+    private final String insertHi;
+    private final String updateHi;
+    private final DataSource dataSource;
+    private final Map<String, AtomicReference<IdRange>> ranges = new ConcurrentHashMap<>(10);
+    private final Map<RuntimePersistentEntity<?>, Map<Dialect, Boolean>> allocated = new ConcurrentHashMap<>(10);
+    private final Set<String> verifiedSequences = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Default constructor.
+     *
+     * @param configuration The configuration
+     * @param dataSource    The data source
+     */
+    JdbcIdAllocator(@NonNull DataJdbcConfiguration configuration, @NonNull DataSource dataSource) {
+        this.allocation = configuration.getIdAllocation();
+        this.allocationSize = configuration.getIdAllocationSize();
+        String table = configuration.getIdAllocationTable();
+        this.selectHi = "SELECT next_hi FROM " + table + " WHERE sequence_name = ?";
+        this.insertHi = "INSERT INTO " + table + " (sequence_name, next_hi) VALUES (?, ?)";
+        this.updateHi = "UPDATE " + table + " SET next_hi = ? WHERE sequence_name = ? AND next_hi = ?";
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+    }
+
+    /**
+     * Whether the identities of the entity are allocated. Only the generated identities of a numeric type are allocated.
+     * The sequence allocation only allocates the identities generated by a sequence, the table allocation all of them
+     * except the identity columns that reject explicit values: the {@code IDENTITY} strategy and the {@code AUTO}
+     * strategy of Postgres and SQL Server. The result is computed once per entity and dialect.
+     *
+     * @param persistentEntity The persistent entity
+     * @param dialect          The dialect
+     * @return True if they are
+     * @throws ConfigurationException if the identities should be allocated from a sequence on a dialect without sequences
+     */
+    boolean isAllocated(@NonNull RuntimePersistentEntity<?> persistentEntity, @NonNull Dialect dialect) {
+        if (allocation == DataJdbcConfiguration.IdAllocation.NONE) {
+            return false;
+        }
+        return allocated.computeIfAbsent(persistentEntity, entity -> new ConcurrentHashMap<>(2))
+                .computeIfAbsent(dialect, d -> resolveAllocated(persistentEntity, d));
+    }
+
+    private boolean resolveAllocated(RuntimePersistentEntity<?> persistentEntity, Dialect dialect) {
+        RuntimePersistentProperty<?> identity = persistentEntity.getIdentity();
+        if (identity == null || identity instanceof Embedded || !identity.isGenerated()) {
+            return false;
+        }
+        DataType dataType = identity.getDataType();
+        if (dataType != DataType.LONG && dataType != DataType.INTEGER) {
+            return false;
+        }
+        GeneratedValue.Type type = identity.getAnnotationMetadata()
+                .enumValue(GeneratedValue.class, GeneratedValue.Type.class)
+                .orElse(GeneratedValue.Type.AUTO);
+        if (allocation == DataJdbcConfiguration.IdAllocation.SEQUENCE) {
+            // Only the identities that have a sequence, Oracle is the only dialect generating AUTO identities with one
+            boolean sequence = type == GeneratedValue.Type.SEQUENCE || type == GeneratedValue.Type.AUTO && dialect == Dialect.ORACLE;
+            if (sequence && !supportsSequences(dialect)) {
+                throw new ConfigurationException("Cannot allocate the identities of entity [" + persistentEntity.getName()
+                        + "] from a sequence, dialect " + dialect + " has no sequences. Use the TABLE id allocation instead.");
+            }
+            return sequence;
+        }
+        if (type == GeneratedValue.Type.AUTO) {
+            return dialect != Dialect.POSTGRES && dialect != Dialect.SQL_SERVER;
+        }
+        return type == GeneratedValue.Type.SEQUENCE;
+    }
+
+    private static boolean supportsSequences(Dialect dialect) {
+        switch (dialect) {
+            case ORACLE:
+            case POSTGRES:
+            case SQL_SERVER:
+            case H2:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Allocates the next identity of the entity.
+     *
+     * @param connection       The connection of the current transaction
+     * @param queryBuilder     The query builder
+     * @param persistentEntity The persistent entity
+     * @return The identity
+     */
+    long allocate(@NonNull Connection connection, @NonNull SqlQueryBuilder queryBuilder, @NonNull RuntimePersistentEntity<?> persistentEntity) {
+        String sequenceName = queryBuilder.getSequenceName(persistentEntity);
+        AtomicReference<IdRange> current = ranges.computeIfAbsent(sequenceName, name -> new AtomicReference<>(EXHAUSTED));
+        IdRange range = current.get();
+        long id = range.next();
+        if (id != -1) {
+            return id;
+        }
+        IdRange newRange = fetchRange(connection, queryBuilder, persistentEntity, sequenceName);
+        id = newRange.next();
+        // If another thread has installed a range meanwhile the rest of this one is skipped
+        current.compareAndSet(range, newRange);
+        return id;
+    }
+
+    private IdRange fetchRange(Connection connection, SqlQueryBuilder queryBuilder, RuntimePersistentEntity<?> persistentEntity, String sequenceName) {
+        try {
+            long first;
+            if (allocation == DataJdbcConfiguration.IdAllocation.SEQUENCE) {
+                if (!verifiedSequences.contains(sequenceName)) {
+                    verifyIncrement(connection, queryBuilder, persistentEntity, sequenceName);
+                    verifiedSequences.add(sequenceName);
+                }
+                first = selectValue(connection, queryBuilder.buildSelectNextSequenceValue(persistentEntity));
+            } else {
+                first = incrementHi(sequenceName, queryBuilder.buildSelectMaxIdentity(persistentEntity)) * allocationSize + 1;
+            }
+            return new IdRange(first, first + allocationSize);
+        } catch (SQLException | IllegalStateException e) {
+            throw new DataAccessException("Error allocating the identities of entity [" + persistentEntity.getName() + "]: " + e.getMessage(), e);
+        }
+    }
+
+    private void verifyIncrement(Connection connection, SqlQueryBuilder queryBuilder, RuntimePersistentEntity<?> persistentEntity, String sequenceName) throws SQLException {
+        String query = queryBuilder.buildSelectSequenceIncrement();
+        if (QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Executing SQL query: {}", query);
+        }
+        Long increment;
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, sequenceName);
+            try (ResultSet rs = ps.executeQuery()) {
+                increment = rs.next() ? rs.getLong(1) : null;
+            }
+        }
+        if (increment == null || increment != allocationSize) {
+            throw new ConfigurationException("Cannot allocate the identities of entity [" + persistentEntity.getName()
+                    + "] from sequence [" + sequenceName + "], its increment " + (increment == null ? "was not found in the catalog" : "is " + increment)
+                    + ". The sequence must be incremented by the id allocation size: " + allocationSize);
+        }
+    }
+
+    private long selectValue(Connection connection, String query) throws SQLException {
+        if (QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Executing SQL query: {}", query);
+        }
+        try (PreparedStatement ps = connection.prepareStatement(query); ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("The query didn't return a value: " + query);
+            }
+            // The maximum of an empty table is null, read as 0
+            return rs.getLong(1);
+        }
+    }
+
+    private long incrementHi(String sequenceName, String selectMaxIdentity) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            boolean insertFailed = false;
+            while (true) {
+                Long hi = selectHi(connection, sequenceName);
+                if (hi == null) {
+                    if (insertFailed) {
+                        throw new SQLException("Cannot insert the high value of sequence: " + sequenceName);
+                    }
+                    // The first high value is placed above the identities already stored in the table
+                    long firstHi = (selectValue(connection, selectMaxIdentity) + allocationSize - 1) / allocationSize;
+                    try {
+                        execute(connection, insertHi, sequenceName, firstHi + 1, null);
+                        return firstHi;
+                    } catch (SQLException e) {
+                        // Inserted concurrently
+                        insertFailed = true;
+                    }
+                } else if (execute(connection, updateHi, sequenceName, hi + 1, hi) == 1) {
+                    return hi;
+                }
+            }
+        }
+    }
+
+    private Long selectHi(Connection connection, String sequenceName) throws SQLException {
+        if (QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Executing SQL query: {}", selectHi);
+        }
+        try (PreparedStatement ps = connection.prepareStatement(selectHi)) {
+            ps.setString(1, sequenceName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private int execute(Connection connection, String query, String sequenceName, long hi, Long previousHi) throws SQLException {
+        if (QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Executing SQL query: {}", query);
+        }
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            if (previousHi == null) {
+                ps.setString(1, sequenceName);
+                ps.setLong(2, hi);
+            } else {
+                ps.setLong(1, hi);
+                ps.setString(2, sequenceName);
+                ps.setLong(3, previousHi);
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * A range of allocated identities.
+     */
+    private static final class IdRange {
+
+        private final AtomicLong next;
+        private final long end;
+
+        IdRange(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+
+        long next() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.operations;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.runtime.sharding.ShardFunction;
+import io.micronaut.data.runtime.sharding.ShardedRepositoryOperations;
+import io.micronaut.data.runtime.sharding.ShardingConfiguration;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Named;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * JDBC repository operations sharded across the data sources of a {@link ShardingConfiguration}. A repository uses them
+ * by naming the shard group:
+ *
+ * <pre>
+ * &#64;JdbcRepository(dialect = Dialect.POSTGRES)
+ * &#64;Repository("orders")
+ * interface OrderRepository extends CrudRepository&lt;Order, Long&gt; {
+ * }
+ * </pre>
+ *
+ * <p>The operations are not bound to a single data source and don't implement the connection level operations of
+ * {@link JdbcRepositoryOperations}, they are available on the operations of a shard returned by
+ * {@link #getShard(Object)}. The JDBC repositories are backed by the sharded operations as
+ * {@link io.micronaut.data.operations.RoutingRepositoryOperations} routing to JDBC operations.</p>
+ *
+ * @since 3.3
+ */
+@EachBean(ShardingConfiguration.class)
+public class ShardedJdbcRepositoryOperations extends ShardedRepositoryOperations {
+
+    /**
+     * @param configuration   The sharding configuration
+     * @param beanLocator     The bean locator
+     * @param executorService The executor running the queries on all the shards
+     */
+    ShardedJdbcRepositoryOperations(ShardingConfiguration configuration,
+                                    BeanLocator beanLocator,
+                                    @Named("io") @Nullable ExecutorService executorService) {
+        super(
+                findShards(configuration, beanLocator),
+                beanLocator.findBean(ShardFunction.class, Qualifiers.byName(configuration.getName())).orElseGet(ShardFunction::hash),
+                executorService
+        );
+    }
+
+    @NonNull
+    @Override
+    public JdbcRepositoryOperations getShard(@NonNull Object shardKey) {
+        return (JdbcRepositoryOperations) super.getShard(shardKey);
+    }
+
+    private static List<JdbcRepositoryOperations> findShards(ShardingConfiguration configuration, BeanLocator beanLocator) {
+        List<String> dataSources = configuration.getDataSources();
+        if (dataSources.isEmpty()) {
+            throw new ConfigurationException("No data sources configured for the shard group: " + configuration.getName());
+        }
+        List<JdbcRepositoryOperations> shards = new ArrayList<>(dataSources.size());
+        for (String dataSource : dataSources) {
+            if (dataSource.equals(configuration.getName())) {
+                throw new ConfigurationException("Shard group " + configuration.getName() + " cannot use a data source with the same name");
+            }
+            shards.add(beanLocator.getBean(DefaultJdbcRepositoryOperations.class, Qualifiers.byName(dataSource)));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.stream.IntStream
+
+class H2BatchSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.batch-size": "3"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test batch size is configurable"() {
+        expect:
+        context.getBean(DataJdbcConfiguration).batchSize == 3
+    }
+
+    void "test save all is split into chunks"() {
+        when:
+        List<Person> people = personRepository.saveAll((1..10).collect { new Person(name: "Person $it", age: it) })
+
+        then:
+        people.size() == 10
+        people*.id.every { it != null }
+        people*.id.toSet().size() == 10
+        people*.name == (1..10).collect { "Person $it".toString() }
+        personRepository.count() == 10
+    }
+
+    void "test save all consumes a stream once"() {
+        given:
+        Iterator<Person> source = IntStream.rangeClosed(1, 8).mapToObj { new Person(name: "Person $it", age: it) }.iterator()
+        Iterable<Person> people = new Iterable<Person>() {
+            boolean consumed
+
+            @Override
+            Iterator<Person> iterator() {
+                assert !consumed
+                consumed = true
+                return source
+            }
+        }
+
+        when:
+        List<Person> saved = personRepository.saveAll(people)
+
+        then:
+        saved.size() == 8
+        personRepository.count() == 8
+    }
+
+    void "test update and delete all are split into chunks"() {
+        given:
+        List<Person> people = personRepository.saveAll((1..7).collect { new Person(name: "Person $it") })
+
+        when:
+        people.each { it.name = it.name.toUpperCase() }
+        personRepository.updateAll(people)
+
+        then:
+        personRepository.findAll()*.name.every { it.startsWith("PERSON") }
+
+        when:
+        personRepository.deleteAll(people.subList(0, 5))
+
+        then:
+        personRepository.count() == 2
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.sql.Connection
+import java.time.Duration
+
+@IgnoreIf({ !jvm.isJava11Compatible() })
+class H2ConnectionHoldSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + [
+            "datasources.default.idle-time-threshold": "200ms",
+            "datasources.default.statement-threshold": "5"
+    ])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test short transactions are not reported"() {
+        when:
+        List<RecordedEvent> events = record {
+            transactionManager.executeWrite {
+                personRepository.save(new Person(name: "Fred", age: 30))
+                personRepository.count()
+            }
+        }
+
+        then:
+        events.isEmpty()
+    }
+
+    void "test transactions idle between statements are reported"() {
+        when:
+        List<RecordedEvent> events = record {
+            transactionManager.executeWrite {
+                personRepository.save(new Person(name: "Fred", age: 30))
+                sleep(300)
+                personRepository.count()
+            }
+        }
+
+        then:
+        events.size() == 1
+        events[0].getString("dataSource") == "default"
+        events[0].getInt("statementCount") == 2
+        events[0].getDuration("maxIdleTime") >= Duration.ofMillis(300)
+        events[0].getDuration("holdTime") >= events[0].getDuration("maxIdleTime")
+    }
+
+    void "test transactions executing too many statements are reported"() {
+        when:
+        List<RecordedEvent> events = record {
+            transactionManager.executeWrite {
+                (1..6).each { personRepository.save(new Person(name: "Person $it", age: it)) }
+            }
+        }
+
+        then:
+        events.size() == 1
+        events[0].getInt("statementCount") == 6
+    }
+
+    private static List<RecordedEvent> record(Closure<?> closure) {
+        Path file = Files.createTempFile("micronaut-data", ".jfr")
+        try {
+            Recording recording = new Recording()
+            recording.enable("io.micronaut.data.ConnectionHold")
+            recording.start()
+            closure.call()
+            recording.stop()
+            recording.dump(file)
+            recording.close()
+            return RecordingFile.readAllEvents(file)
+        } finally {
+            Files.deleteIfExists(file)
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.sql.Connection
+
+class H2DirtyTrackingSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.dirty-tracking-enabled": "true"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test only the modified columns are updated"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+        Person loaded = personRepository.findById(fred.id).get()
+
+        when:"the name is changed behind the loaded entity and the age is modified"
+        personRepository.updatePerson(fred.id, "Frederick")
+        loaded.age = 31
+        personRepository.update(loaded)
+        Person updated = personRepository.findById(fred.id).get()
+
+        then:"the name is not overwritten"
+        updated.name == "Frederick"
+        updated.age == 31
+    }
+
+    void "test unmodified entities are not updated"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+        Person loaded = personRepository.findById(fred.id).get()
+
+        when:
+        personRepository.updatePerson(fred.id, "Frederick")
+        personRepository.update(loaded)
+
+        then:
+        personRepository.findById(fred.id).get().name == "Frederick"
+    }
+
+    void "test update all with different modified columns"() {
+        given:
+        personRepository.saveAll([new Person(name: "A", age: 1), new Person(name: "B", age: 2), new Person(name: "C", age: 3)])
+        List<Person> people = personRepository.findAll().toList().sort { it.name }
+
+        when:
+        people[0].age = 10
+        people[1].name = "Bob"
+        people[2].age = 30
+        List<Person> updated = personRepository.updateAll(people).toList()
+
+        then:"the entities are returned in order"
+        updated*.name == ["A", "Bob", "C"]
+        personRepository.findAll().toList().sort { it.age }.collect { [it.name, it.age] } == [["Bob", 2], ["A", 10], ["C", 30]]
+    }
+
+    void "test the snapshot of a rolled back update is discarded"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+        Person loaded = personRepository.findById(fred.id).get()
+
+        when:
+        transactionManager.executeWrite { status ->
+            loaded.name = "Changed"
+            personRepository.update(loaded)
+            status.setRollbackOnly()
+        }
+        personRepository.update(loaded)
+
+        then:"the update after the rollback writes the name again"
+        personRepository.findById(fred.id).get().name == "Changed"
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.runtime.loader.CoalescingLoader
+import io.micronaut.data.tck.entities.Person
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.atomic.AtomicInteger
+
+class H2FindAllByIdSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties)
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @AutoCleanup("shutdown")
+    @Shared
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test find all by id"() {
+        given:
+        def people = personRepository.saveAll((1..5).collect { new Person(name: "Person $it", age: it) }).toList()
+
+        expect:
+        personRepository.findAllById([people[0].id, people[2].id, people[2].id, -1L])*.name.sort() == ["Person 1", "Person 3"]
+        personRepository.findAllById([]).toList().isEmpty()
+    }
+
+    void "test find all by id splits the ids in chunks"() {
+        given:
+        int size = Dialect.H2.maxInListSize + 5
+        def ids = personRepository.saveAll((1..size).collect { new Person(name: "Person $it", age: 1) }).collect { it.id }
+
+        when:
+        def found = personRepository.findAllById(ids + ids.take(10)).toList()
+
+        then:
+        found.size() == size
+        found*.id.toSet() == ids.toSet()
+    }
+
+    void "test concurrent lookups are coalesced"() {
+        given:
+        def people = personRepository.saveAll((1..5).collect { new Person(name: "Person $it", age: it) }).toList()
+        AtomicInteger batches = new AtomicInteger()
+        CoalescingLoader<Long, Person> loader = new CoalescingLoader<Long, Person>(
+                { List<Long> ids ->
+                    batches.incrementAndGet()
+                    Flux.fromIterable(personRepository.findAllById(ids))
+                },
+                CoalescingLoader.idExtractor(Person),
+                Duration.ofMillis(50),
+                100,
+                scheduler
+        )
+
+        when:
+        List<CompletableFuture<Person>> futures = people.collect { loader.load(it.id) } + [loader.load(people[0].id), loader.load(-1L)]
+
+        then:
+        futures.collect { it.get() }*.name == ["Person 1", "Person 2", "Person 3", "Person 4", "Person 5", "Person 1", null]
+        batches.get() == 1
+    }
+
+    void "test lookups are loaded once the batch is full"() {
+        given:
+        def people = personRepository.saveAll((1..4).collect { new Person(name: "Person $it", age: it) }).toList()
+        CoalescingLoader<Long, Person> loader = CoalescingLoader.of(personRepository, Person, Duration.ofHours(1), 2, scheduler)
+
+        expect:
+        people.collect { loader.load(it.id) }.collect { it.get() }*.name == ["Person 1", "Person 2", "Person 3", "Person 4"]
+        loader.loadReactive(people[0].id).zipWith(loader.loadReactive(-1L).defaultIfEmpty(new Person(name: "none")))
+                .map { it.t1.name + it.t2.name }.block() == "Person 1none"
+    }
+}
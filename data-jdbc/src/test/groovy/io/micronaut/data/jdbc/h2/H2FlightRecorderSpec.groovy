@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.sql.Connection
+
+@IgnoreIf({ !jvm.isJava11Compatible() })
+class H2FlightRecorderSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties)
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test repository, query, mapping, batch and transaction events are recorded"() {
+        when:
+        List<RecordedEvent> events = record {
+            transactionManager.executeWrite {
+                personRepository.saveAll([new Person(name: "Fred", age: 30), new Person(name: "Bob", age: 40)])
+            }
+            personRepository.findByNameLike("%")
+        }
+
+        then:
+        def repositoryEvents = events.findAll { it.eventType.name == "io.micronaut.data.RepositoryMethod" }
+        repositoryEvents*.getString("method").containsAll(["saveAll", "findByNameLike"])
+        repositoryEvents.every { it.getString("repository") != null && it.getString("resultType") == "SYNCHRONOUS" }
+
+        def queryEvent = events.find { it.eventType.name == "io.micronaut.data.QueryExecution" && it.getString("method") == "findByNameLike" }
+        queryEvent.getLong("rowCount") == 2
+        queryEvent.getString("fingerprint") == Integer.toHexString(queryEvent.getString("query").hashCode())
+
+        def mappingEvent = events.find { it.eventType.name == "io.micronaut.data.ResultMapping" }
+        mappingEvent.getString("resultType") == Person.name
+        mappingEvent.getLong("rowCount") == 2
+
+        events.find { it.eventType.name == "io.micronaut.data.BatchExecution" }?.getLong("batchSize") == 2
+        events.any { it.eventType.name == "io.micronaut.data.TransactionBegin" && !it.getBoolean("readOnly") }
+        events.any { it.eventType.name == "io.micronaut.data.TransactionCommit" }
+    }
+
+    void "test rolled back transactions are recorded"() {
+        when:
+        List<RecordedEvent> events = record {
+            transactionManager.executeWrite { status ->
+                personRepository.save(new Person(name: "Fred", age: 30))
+                status.setRollbackOnly()
+            }
+        }
+
+        then:
+        events.any { it.eventType.name == "io.micronaut.data.TransactionRollback" }
+        !events.any { it.eventType.name == "io.micronaut.data.TransactionCommit" }
+    }
+
+    private static List<RecordedEvent> record(Closure<?> closure) {
+        Path file = Files.createTempFile("micronaut-data", ".jfr")
+        try {
+            Recording recording = new Recording()
+            ["RepositoryMethod", "QueryExecution", "ResultMapping", "BatchExecution",
+             "TransactionBegin", "TransactionCommit", "TransactionRollback"].each {
+                recording.enable("io.micronaut.data." + it)
+            }
+            recording.start()
+            closure.call()
+            recording.stop()
+            recording.dump(file)
+            recording.close()
+            return RecordingFile.readAllEvents(file)
+        } finally {
+            Files.deleteIfExists(file)
+        }
+    }
+}
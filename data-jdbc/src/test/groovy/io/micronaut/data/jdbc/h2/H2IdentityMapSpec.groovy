@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.model.Pageable
+import io.micronaut.data.tck.entities.Author
+import io.micronaut.data.tck.entities.Book
+import io.micronaut.data.tck.entities.Meal
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.sql.Connection
+
+class H2IdentityMapSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.identity-map-enabled": "true"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    H2BookRepository bookRepository = context.getBean(H2BookRepository)
+
+    @Shared
+    H2AuthorRepository authorRepository = context.getBean(H2AuthorRepository)
+
+    @Shared
+    H2MealRepository mealRepository = context.getBean(H2MealRepository)
+
+    @Shared
+    SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+
+    def cleanup() {
+        bookRepository.deleteAll()
+        authorRepository.deleteAll()
+        personRepository.deleteAll()
+        mealRepository.deleteAll()
+    }
+
+    void "test lookups by id are served from the identity map in a transaction"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+
+        expect:"the instances are not shared outside of a transaction"
+        !personRepository.findById(fred.id).get().is(personRepository.findById(fred.id).get())
+
+        when:
+        def result = transactionManager.executeWrite {
+            Person saved = personRepository.save(new Person(name: "Bob", age: 40))
+            Person loaded = personRepository.findById(fred.id).get()
+            [saved.is(personRepository.findById(saved.id).get()), loaded.is(personRepository.findById(fred.id).get())]
+        }
+
+        then:
+        result == [true, true]
+    }
+
+    void "test lookups by id taking a lock are not served from the identity map"() {
+        given:
+        Meal meal = mealRepository.save(new Meal(100))
+
+        when:
+        def result = transactionManager.executeWrite {
+            Meal loaded = mealRepository.findById(meal.mid).get()
+            Meal locked = mealRepository.findByIdForUpdate(meal.mid)
+            [loaded.is(mealRepository.findById(meal.mid).get()), locked.is(loaded), locked.currentBloodGlucose]
+        }
+
+        then:"the locking query is executed"
+        result == [true, false, 100]
+    }
+
+    void "test deleted and bulk updated entities are evicted"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+
+        when:
+        def result = transactionManager.executeWrite {
+            personRepository.findById(fred.id).get()
+            personRepository.updatePerson(fred.id, "Frederick")
+            String name = personRepository.findById(fred.id).get().name
+            personRepository.delete(personRepository.findById(fred.id).get())
+            [name, personRepository.findById(fred.id).isPresent()]
+        }
+
+        then:
+        result == ["Frederick", false]
+    }
+
+    void "test the identity map is discarded on rollback"() {
+        given:
+        Person fred = personRepository.save(new Person(name: "Fred", age: 30))
+
+        when:
+        transactionManager.executeWrite { status ->
+            Person loaded = personRepository.findById(fred.id).get()
+            loaded.name = "Changed"
+            personRepository.update(loaded)
+            status.setRollbackOnly()
+        }
+
+        then:
+        transactionManager.executeWrite { personRepository.findById(fred.id).get().name } == "Fred"
+    }
+
+    void "test joined entities with the same id share one instance"() {
+        given:
+        Author author = authorRepository.save(new Author(name: "Stephen King"))
+        bookRepository.saveAll((1..3).collect { new Book(title: "Book $it", totalPages: 100, author: author) })
+
+        when:
+        List<Book> books = transactionManager.executeRead {
+            bookRepository.findAll(Pageable.from(0, 10)).content
+        }
+
+        then:
+        books.size() == 3
+        books*.author*.name.toSet() == ["Stephen King"] as Set
+        books.every { it.author.is(books[0].author) }
+    }
+}
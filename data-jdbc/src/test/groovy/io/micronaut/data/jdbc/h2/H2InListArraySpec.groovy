@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2InListArraySpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.in-list-arrays-enabled": "true"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test in list arrays are configurable"() {
+        expect:
+        context.getBean(DataJdbcConfiguration).inListArraysEnabled
+    }
+
+    void "test the values of an in expression are bound as an array"() {
+        given:
+        def people = personRepository.saveAll((1..5).collect { new Person(name: "Person $it", age: it) }).toList()
+
+        expect:
+        personRepository.findAllById([people[0].id, people[2].id, people[2].id, -1L])*.name.sort() == ["Person 1", "Person 3"]
+        personRepository.findAllById(people*.id).size() == 5
+        personRepository.findAllById([]).toList().isEmpty()
+    }
+
+    void "test delete all binds the ids as an array"() {
+        given:
+        def people = personRepository.saveAll((1..5).collect { new Person(name: "Person $it", age: it) }).toList()
+
+        when:
+        personRepository.deleteAll(people.take(3))
+
+        then:
+        personRepository.findAll()*.name.sort() == ["Person 4", "Person 5"]
+    }
+}
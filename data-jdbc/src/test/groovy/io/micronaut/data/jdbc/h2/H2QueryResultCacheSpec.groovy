@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.runtime.cache.QueryResultCache
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.sql.Connection
+
+class H2QueryResultCacheSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties)
+
+    @Shared
+    H2CachedPersonRepository personRepository = context.getBean(H2CachedPersonRepository)
+
+    @Shared
+    QueryResultCache cache = context.getBean(QueryResultCache)
+
+    def setup() {
+        personRepository.saveAll([new Person(name: "Fred", age: 30), new Person(name: "Bob", age: 40)])
+    }
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test repeated finder invocations are served from the cache"() {
+        when:
+        long hits = cache.hitCount
+        def first = personRepository.findByAgeGreaterThan(20)
+        def second = personRepository.findByAgeGreaterThan(20)
+
+        then:
+        first*.name.toSet() == ["Fred", "Bob"] as Set
+        second*.name.toSet() == ["Fred", "Bob"] as Set
+        cache.hitCount == hits + 1
+
+        when:"a different parameter value is used"
+        def other = personRepository.findByAgeGreaterThan(35)
+
+        then:
+        other*.name == ["Bob"]
+        cache.hitCount == hits + 1
+    }
+
+    void "test saving an entity invalidates cached results"() {
+        given:
+        personRepository.findByAgeGreaterThan(20)
+
+        when:
+        personRepository.save(new Person(name: "Joe", age: 50))
+        long hits = cache.hitCount
+
+        then:
+        personRepository.findByAgeGreaterThan(20)*.name.toSet() == ["Fred", "Bob", "Joe"] as Set
+        cache.hitCount == hits
+    }
+
+    void "test update and delete queries invalidate cached results"() {
+        given:
+        Person fred = personRepository.findByName("Fred").get()
+        personRepository.findByAgeGreaterThan(35)
+
+        when:
+        personRepository.updateAge(fred.id, 45)
+
+        then:
+        personRepository.findByAgeGreaterThan(35)*.name.toSet() == ["Fred", "Bob"] as Set
+
+        when:
+        personRepository.deleteAll()
+
+        then:
+        personRepository.findByAgeGreaterThan(35).isEmpty()
+        !personRepository.findByName("Fred").isPresent()
+    }
+
+    void "test cached results expire"() {
+        given:
+        personRepository.findByName("Fred")
+
+        when:
+        long hits = cache.hitCount
+        personRepository.findByName("Fred")
+
+        then:
+        cache.hitCount == hits + 1
+
+        and:"a lookup misses the cache once the cached result expired"
+        new PollingConditions(timeout: 10, delay: 0.2).eventually {
+            long misses = cache.missCount
+            assert personRepository.findByName("Fred").isPresent()
+            assert cache.missCount == misses + 1
+        }
+    }
+
+    void "test the cache is bypassed in read-write transactions"() {
+        given:
+        SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+        personRepository.findByAgeGreaterThan(20)
+
+        when:
+        long hits = cache.hitCount
+        def result = transactionManager.executeWrite {
+            personRepository.save(new Person(name: "Joe", age: 50))
+            personRepository.findByAgeGreaterThan(20)
+        }
+
+        then:
+        result*.name.toSet() == ["Fred", "Bob", "Joe"] as Set
+        cache.hitCount == hits
+
+        when:
+        personRepository.findByAgeGreaterThan(20)
+
+        then:
+        personRepository.findByAgeGreaterThan(20).size() == 3
+        cache.hitCount == hits + 1
+    }
+}
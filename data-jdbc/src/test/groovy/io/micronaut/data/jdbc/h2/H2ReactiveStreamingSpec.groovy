@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration
+import io.micronaut.data.tck.entities.Person
+import io.reactivex.Flowable
+import io.reactivex.subscribers.TestSubscriber
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class H2ReactiveStreamingSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.reactive-max-concurrency": "2"])
+
+    @Shared
+    H2ReactivePersonRepository personRepository = context.getBean(H2ReactivePersonRepository)
+
+    def setup() {
+        personRepository.saveAll((1..10).collect { new Person(name: "Person $it") }).toList().blockingGet()
+    }
+
+    def cleanup() {
+        personRepository.deleteAll().blockingGet()
+    }
+
+    void "test max concurrency is configurable"() {
+        expect:
+        context.getBean(DataJdbcConfiguration).reactiveMaxConcurrency == 2
+    }
+
+    void "test results are emitted according to demand"() {
+        when:
+        TestSubscriber<Person> subscriber = personRepository.findAll().test(3)
+
+        then:
+        subscriber.awaitCount(3)
+        subscriber.valueCount() == 3
+        !subscriber.isTerminated()
+
+        when:
+        subscriber.requestMore(Long.MAX_VALUE)
+        subscriber.await()
+
+        then:
+        subscriber.assertComplete()
+        subscriber.valueCount() == 10
+    }
+
+    void "test the stream completes when the demand equals the number of rows"() {
+        when:
+        TestSubscriber<Person> subscriber = personRepository.findAll().test(10)
+
+        then:
+        subscriber.await(5, TimeUnit.SECONDS)
+        subscriber.assertComplete()
+        subscriber.valueCount() == 10
+        personRepository.count().blockingGet() == 10
+    }
+
+    void "test cancelled streams release the connection"() {
+        when:
+        (1..5).each {
+            personRepository.findAll().take(2).toList().blockingGet()
+        }
+
+        then:
+        personRepository.findAll().toList().blockingGet().size() == 10
+        personRepository.count().blockingGet() == 10
+    }
+
+    void "test concurrent streams"() {
+        when:
+        def results = Flowable.range(0, 8)
+                .flatMap({ personRepository.findAll().toList().toFlowable() })
+                .toList()
+                .blockingGet()
+
+        then:
+        results.size() == 8
+        results.every { it.size() == 10 }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.exceptions.DataAccessException
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.SynchronousTransactionManager
+import io.micronaut.transaction.TransactionDefinition
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.sql.Connection
+
+class H2RepeatedQueryDetectionSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + [
+            "micronaut.data.repeated-query-detection.mode"     : "fail",
+            "micronaut.data.repeated-query-detection.threshold": "3"
+    ])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    SynchronousTransactionManager<Connection> transactionManager = context.getBean(SynchronousTransactionManager)
+
+    def setupSpec() {
+        personRepository.saveAll((1..5).collect { new Person(name: "Person $it", age: 20 + it) })
+    }
+
+    def cleanupSpec() {
+        personRepository.deleteAll()
+    }
+
+    void "test a query repeated in a transaction fails"() {
+        when:
+        transactionManager.executeRead {
+            (1..5).collect { personRepository.findByName("Person $it") }
+        }
+
+        then:
+        def e = thrown(DataAccessException)
+        e.message.contains("more than 3 times")
+        e.message.contains("H2PersonRepository.findByName")
+        e.message.contains("called from " + H2RepeatedQueryDetectionSpec.name)
+    }
+
+    void "test queries below the threshold or outside of a transaction are not reported"() {
+        when:
+        def inTransaction = transactionManager.executeRead {
+            (1..3).collect { personRepository.findByName("Person $it") }
+        }
+        def withoutTransaction = (1..5).collect { personRepository.findByName("Person $it") }
+
+        then:
+        inTransaction*.name == ["Person 1", "Person 2", "Person 3"]
+        withoutTransaction.size() == 5
+    }
+
+    void "test the counts are reset for every transaction"() {
+        when:
+        def names = (1..2).collect {
+            transactionManager.executeRead {
+                (1..3).collect { personRepository.findByName("Person $it").name }
+            }
+        }
+
+        then:
+        names.flatten().size() == 6
+    }
+
+    void "test the queries of a suspending inner transaction are counted separately"() {
+        when:
+        def names = transactionManager.executeRead {
+            def outer = (1..2).collect { personRepository.findByName("Person $it").name }
+            def inner = transactionManager.execute(TransactionDefinition.of(TransactionDefinition.Propagation.REQUIRES_NEW)) {
+                (3..5).collect { personRepository.findByName("Person $it").name }
+            }
+            outer + inner + personRepository.findByName("Person 1").name
+        }
+
+        then:
+        names == ["Person 1", "Person 2", "Person 3", "Person 4", "Person 5", "Person 1"]
+    }
+}
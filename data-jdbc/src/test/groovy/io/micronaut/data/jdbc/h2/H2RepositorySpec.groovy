@@ -16,6 +16,7 @@
 package io.micronaut.data.jdbc.h2
 
 import groovy.transform.Memoized
+import io.micronaut.data.tck.entities.Meal
 import io.micronaut.data.tck.repositories.AuthorRepository
 import io.micronaut.data.tck.repositories.BasicTypesRepository
 import io.micronaut.data.tck.repositories.BookDtoRepository
@@ -204,6 +205,22 @@ class H2RepositorySpec extends AbstractRepositorySpec implements H2TestPropertyP
             pr.is(context.getBean(H2PersonRepository))
     }
 
+    void "test claim a batch with a lock clause following the pagination"() {
+        given:
+        mealRepo.saveAll([new Meal(30), new Meal(10), new Meal(20), new Meal(200)])
+
+        when:
+        def claimed = transactionManager.get().executeWrite {
+            mealRepo.findTop2ByCurrentBloodGlucoseLessThanOrderByCurrentBloodGlucoseForUpdate(100)
+        }
+
+        then:
+        claimed*.currentBloodGlucose == [10, 20]
+
+        cleanup:
+        cleanupMeals()
+    }
+
     void "test manual joining on many ended association"() {
         given:
         saveSampleBooks()
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.ConfigurationException
+import io.micronaut.data.annotation.GeneratedValue
+import io.micronaut.data.annotation.Id
+import io.micronaut.data.annotation.MappedEntity
+import io.micronaut.data.jdbc.annotation.JdbcRepository
+import io.micronaut.data.jdbc.config.DataJdbcConfiguration
+import io.micronaut.data.jdbc.operations.JdbcIdAllocator
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.model.runtime.RuntimePersistentEntity
+import io.micronaut.data.repository.CrudRepository
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.jdbc.DelegatingDataSource
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class H2SequenceIdAllocationSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + [
+            "datasources.default.id-allocation"     : "SEQUENCE",
+            "datasources.default.id-allocation-size": "5"
+    ])
+
+    @Shared
+    SequenceTicketRepository ticketRepository = context.getBean(SequenceTicketRepository)
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    def cleanup() {
+        ticketRepository.deleteAll()
+        personRepository.deleteAll()
+    }
+
+    void "test id allocation is configurable"() {
+        given:
+        DataJdbcConfiguration configuration = context.getBean(DataJdbcConfiguration)
+
+        expect:
+        configuration.idAllocation == DataJdbcConfiguration.IdAllocation.SEQUENCE
+        configuration.idAllocationSize == 5
+    }
+
+    void "test the generated sequence is incremented by the allocation size"() {
+        expect:
+        query("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'sequence_ticket_seq'") == 5
+    }
+
+    void "test the ids are allocated in ranges of the sequence"() {
+        when:
+        SequenceTicket first = ticketRepository.save(new SequenceTicket(name: "First"))
+        List<SequenceTicket> tickets = ticketRepository.saveAll((1..12).collect { new SequenceTicket(name: "Ticket $it") }).toList()
+
+        then:
+        (first.id - 1) % 5 == 0
+        tickets*.id == (first.id + 1..first.id + 12).toList()
+        ticketRepository.findById(first.id).get().name == "First"
+        ticketRepository.findAllById(tickets*.id).size() == 12
+    }
+
+    void "test the values read from the sequence directly don't collide with the allocated ids"() {
+        when:
+        List<Long> allocated = ticketRepository.saveAll((1..3).collect { new SequenceTicket(name: "Ticket $it") })*.id
+        execute('INSERT INTO "sequence_ticket" ("id", "name") VALUES (NEXT VALUE FOR "sequence_ticket_seq", \'Direct\')')
+        allocated += ticketRepository.saveAll((4..12).collect { new SequenceTicket(name: "Ticket $it") })*.id
+        long direct = query('SELECT "id" FROM "sequence_ticket" WHERE "name" = \'Direct\'')
+
+        then:
+        allocated.toSet().size() == 12
+        !allocated.contains(direct)
+        ticketRepository.count() == 13
+    }
+
+    void "test the ids without a sequence are generated by the database"() {
+        when:
+        Person person = personRepository.save(new Person(name: "Fred", age: 30))
+
+        then:
+        person.id != null
+        personRepository.findById(person.id).get().name == "Fred"
+    }
+
+    void "test only the ids with a sequence are allocated"() {
+        given:
+        JdbcIdAllocator allocator = new JdbcIdAllocator(context.getBean(DataJdbcConfiguration), context.getBean(DataSource))
+
+        expect:
+        allocator.isAllocated(new RuntimePersistentEntity<>(SequenceTicket), Dialect.H2)
+        !allocator.isAllocated(new RuntimePersistentEntity<>(Person), Dialect.H2)
+        allocator.isAllocated(new RuntimePersistentEntity<>(Person), Dialect.ORACLE)
+    }
+
+    void "test the sequence allocation is rejected on dialects without sequences"() {
+        given:
+        JdbcIdAllocator allocator = new JdbcIdAllocator(context.getBean(DataJdbcConfiguration), context.getBean(DataSource))
+
+        when:
+        allocator.isAllocated(new RuntimePersistentEntity<>(SequenceTicket), Dialect.MYSQL)
+
+        then:
+        def e = thrown(ConfigurationException)
+        e.message.contains("dialect MYSQL has no sequences")
+    }
+
+    void "test the ids allocated concurrently are unique"() {
+        given:
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        List<Long> ids = executor.invokeAll((1..8).collect { thread ->
+            (Callable<List<Long>>) {
+                (1..10).collect { ticketRepository.save(new SequenceTicket(name: "Ticket $thread-$it")).id }
+            }
+        })*.get().flatten()
+
+        then:
+        ids.toSet().size() == 80
+        ticketRepository.count() == 80
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    private void execute(String sql) {
+        DelegatingDataSource.unwrapDataSource(context.getBean(DataSource)).connection.withCloseable {
+            it.createStatement().withCloseable { it.execute(sql) }
+        }
+    }
+
+    private long query(String sql) {
+        DelegatingDataSource.unwrapDataSource(context.getBean(DataSource)).connection.withCloseable {
+            it.createStatement().withCloseable {
+                it.executeQuery(sql).withCloseable { rs ->
+                    rs.next()
+                    rs.getLong(1)
+                }
+            }
+        }
+    }
+}
+
+@MappedEntity
+class SequenceTicket {
+    @Id
+    @GeneratedValue(GeneratedValue.Type.SEQUENCE)
+    Long id
+    String name
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+interface SequenceTicketRepository extends CrudRepository<SequenceTicket, Long> {
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.tck.entities.DomainEvents
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2SetDeleteSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["datasources.default.batch-size": "4"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    @Shared
+    H2DomainEventsRepository eventsRepository = context.getBean(H2DomainEventsRepository)
+
+    def cleanup() {
+        personRepository.deleteAll()
+        eventsRepository.deleteAll()
+    }
+
+    void "test delete all deletes the entities by their ids in chunks"() {
+        given:
+        List<Person> people = personRepository.saveAll((1..10).collect { new Person(name: "Person $it", age: it) })
+
+        when:
+        personRepository.deleteAll(people.subList(0, 9))
+
+        then:
+        personRepository.findAll()*.name == ["Person 10"]
+    }
+
+    void "test delete all triggers the remove events"() {
+        given:
+        List<DomainEvents> events = eventsRepository.saveAll((1..6).collect { new DomainEvents(name: "Event $it") })
+
+        when:
+        eventsRepository.deleteAll(events)
+
+        then:
+        eventsRepository.count() == 0
+        events.every { it.preRemove == 1 && it.postRemove == 1 }
+    }
+}
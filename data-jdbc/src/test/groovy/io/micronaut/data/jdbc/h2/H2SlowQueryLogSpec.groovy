@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.annotation.Query
+import io.micronaut.data.jdbc.annotation.JdbcRepository
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.repository.GenericRepository
+import io.micronaut.data.runtime.config.DataConfiguration
+import io.micronaut.data.runtime.support.SlowQueryLog
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+
+class H2SlowQueryLogSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties)
+
+    @Shared
+    RecordingSlowQueryLog slowQueryLog = new RecordingSlowQueryLog()
+
+    @Shared
+    H2PersonRepository personRepository
+
+    @Shared
+    H2TokenPersonRepository tokenPersonRepository
+
+    def setupSpec() {
+        // Registered before the repository operations are created
+        context.registerSingleton(SlowQueryLog, slowQueryLog)
+        personRepository = context.getBean(H2PersonRepository)
+        tokenPersonRepository = context.getBean(H2TokenPersonRepository)
+        personRepository.save(new Person(name: "Fred", age: 30))
+    }
+
+    def cleanupSpec() {
+        personRepository.deleteAll()
+    }
+
+    void "test the parameters of raw queries are redacted by argument name"() {
+        when:
+        slowQueryLog.messages.clear()
+        List<Person> people = tokenPersonRepository.findByNameAndToken("Fred", 12345)
+
+        then:
+        people*.name == ["Fred"]
+        slowQueryLog.messages.size() == 1
+        slowQueryLog.messages[0].contains("name=Fred")
+        slowQueryLog.messages[0].contains("token=****")
+        !slowQueryLog.messages[0].contains("12345")
+    }
+
+    static class RecordingSlowQueryLog extends SlowQueryLog {
+        final List<String> messages = Collections.synchronizedList([])
+
+        RecordingSlowQueryLog() {
+            super(configuration(), null)
+        }
+
+        private static DataConfiguration.SlowQueryLogConfiguration configuration() {
+            def configuration = new DataConfiguration.SlowQueryLogConfiguration()
+            configuration.threshold = Duration.ofNanos(1)
+            return configuration
+        }
+
+        @Override
+        protected void log(String message) {
+            messages.add(message)
+        }
+    }
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+interface H2TokenPersonRepository extends GenericRepository<Person, Long> {
+
+    @Query("SELECT * FROM person WHERE name = :name AND age <> :token")
+    List<Person> findByNameAndToken(String name, int token)
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.tck.entities.Person
+import io.micronaut.transaction.jdbc.DelegatingDataSource
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.sql.DataSource
+
+class H2TableIdAllocationSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + [
+            "datasources.default.id-allocation"     : "TABLE",
+            "datasources.default.id-allocation-size": "10"
+    ])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    def setupSpec() {
+        execute("CREATE TABLE IF NOT EXISTS micronaut_data_id_allocation (sequence_name VARCHAR(255) PRIMARY KEY, next_hi BIGINT NOT NULL)")
+    }
+
+    def cleanupSpec() {
+        execute("DROP TABLE IF EXISTS micronaut_data_id_allocation")
+    }
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test the ids are allocated with the high value of the table"() {
+        when:
+        List<Person> people = personRepository.saveAll((1..25).collect { new Person(name: "Person $it", age: it) }).toList()
+
+        then:
+        people*.id == (1L..25L).toList()
+        personRepository.findAllById(people*.id).size() == 25
+        query("SELECT next_hi FROM micronaut_data_id_allocation WHERE sequence_name = 'person_seq'") == 3
+    }
+
+    void "test the first high value is placed above the existing ids"() {
+        given:
+        execute("DELETE FROM micronaut_data_id_allocation")
+        execute("INSERT INTO person (id, name, age, enabled) VALUES (37, 'Existing', 40, TRUE)")
+
+        when:
+        List<Person> people = personRepository.saveAll((1..3).collect { new Person(name: "Person $it", age: it) }).toList()
+
+        then:
+        people*.id == [41L, 42L, 43L]
+        personRepository.count() == 4
+        query("SELECT next_hi FROM micronaut_data_id_allocation WHERE sequence_name = 'person_seq'") == 5
+    }
+
+    private void execute(String sql) {
+        DelegatingDataSource.unwrapDataSource(context.getBean(DataSource)).connection.withCloseable {
+            it.createStatement().withCloseable { it.execute(sql) }
+        }
+    }
+
+    private long query(String sql) {
+        DelegatingDataSource.unwrapDataSource(context.getBean(DataSource)).connection.withCloseable {
+            it.createStatement().withCloseable {
+                it.executeQuery(sql).withCloseable { rs ->
+                    rs.next()
+                    rs.getLong(1)
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2.bulkhead
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.annotation.Id
+import io.micronaut.data.annotation.MappedEntity
+import io.micronaut.data.annotation.Query
+import io.micronaut.data.annotation.RepositoryDataSource
+import io.micronaut.data.exceptions.BulkheadRejectedException
+import io.micronaut.data.jdbc.annotation.JdbcRepository
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.repository.CrudRepository
+import io.micronaut.data.runtime.bulkhead.Bulkhead
+import io.micronaut.data.runtime.bulkhead.BulkheadRegistry
+import io.micronaut.data.runtime.bulkhead.RepositoryBulkhead
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class H2BulkheadSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(
+            dataSourceProperties("default") + dataSourceProperties("reporting") + [
+                    "micronaut.data.bulkheads.reporting.max-concurrent-statements": 1,
+                    "micronaut.data.bulkheads.reporting.max-queue-size"           : 1,
+                    "micronaut.data.bulkheads.reporting.max-wait-time"            : "200ms"
+            ]
+    )
+
+    @Shared
+    EntryRepository entryRepository = context.getBean(EntryRepository)
+
+    @Shared
+    ReportingEntryRepository reportingRepository = context.getBean(ReportingEntryRepository)
+
+    @Shared
+    RepositoryBulkhead bulkhead = context.getBean(BulkheadRegistry).getBulkhead("reporting")
+
+    static Map<String, Object> dataSourceProperties(String name) {
+        [
+                ("datasources." + name + ".url")            : "jdbc:h2:mem:bulkhead_" + name + ";DB_CLOSE_ON_EXIT=FALSE",
+                ("datasources." + name + ".username")       : "",
+                ("datasources." + name + ".password")       : "",
+                ("datasources." + name + ".schema-generate"): "CREATE_DROP",
+                ("datasources." + name + ".dialect")        : "H2",
+                ("datasources." + name + ".packages")       : "io.micronaut.data.jdbc.h2.bulkhead"
+        ]
+    }
+
+    def cleanup() {
+        entryRepository.deleteAll()
+        reportingRepository.deleteAll()
+    }
+
+    void "test the methods are executed against the data source of the bulkhead"() {
+        when:
+        entryRepository.saveAll([new ReportEntry(id: 1, amount: 10), new ReportEntry(id: 2, amount: 20)])
+        reportingRepository.save(new ReportEntry(id: 3, amount: 30))
+
+        then:
+        entryRepository.count() == 2
+        reportingRepository.count() == 1
+        reportingRepository.findAll()*.id == [3L]
+    }
+
+    void "test a method is executed against the data source of the repository data source annotation"() {
+        when:
+        entryRepository.save(new ReportEntry(id: 1, amount: 10))
+        reportingRepository.save(new ReportEntry(id: 2, amount: 20))
+
+        then:
+        entryRepository.findByAmount(20) == null
+        entryRepository.findReportingByAmount(20).id == 2L
+        entryRepository.findReportingByAmount(10) == null
+    }
+
+    void "test the permits are released"() {
+        given:
+        long acquired = bulkhead.acquiredCount
+
+        when:
+        reportingRepository.count()
+        reportingRepository.findAll()
+
+        then:
+        bulkhead.acquiredCount == acquired + 2
+        bulkhead.activeCount == 0
+    }
+
+    void "test a method waits for a permit"() {
+        given:
+        long waited = bulkhead.waitedCount
+        bulkhead.acquireBlocking()
+
+        when:
+        def count = CompletableFuture.supplyAsync(() -> reportingRepository.count())
+        while (bulkhead.queueLength == 0) {
+            Thread.sleep(5)
+        }
+
+        then:
+        !count.isDone()
+
+        when:
+        bulkhead.release()
+
+        then:
+        count.get(5, TimeUnit.SECONDS) == 0
+        bulkhead.waitedCount == waited + 1
+        bulkhead.activeCount == 0
+    }
+
+    void "test a method is rejected once the maximum wait time elapses"() {
+        given:
+        long rejected = bulkhead.rejectedCount
+        bulkhead.acquireBlocking()
+
+        when:
+        reportingRepository.count()
+
+        then:
+        def e = thrown(BulkheadRejectedException)
+        e.message.contains("Timed out")
+        bulkhead.rejectedCount == rejected + 1
+        bulkhead.queueLength == 0
+
+        cleanup:
+        bulkhead.release()
+    }
+
+    void "test a method is rejected when the queue is full"() {
+        given:
+        bulkhead.acquireBlocking()
+        def queued = bulkhead.acquire()
+
+        when:
+        reportingRepository.count()
+
+        then:
+        def e = thrown(BulkheadRejectedException)
+        e.message.contains("is full")
+
+        cleanup:
+        queued.cancel(false)
+        bulkhead.release()
+    }
+}
+
+@MappedEntity
+class ReportEntry {
+    @Id
+    Long id
+    Integer amount
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+interface EntryRepository extends CrudRepository<ReportEntry, Long> {
+
+    ReportEntry findByAmount(Integer amount)
+
+    @RepositoryDataSource("reporting")
+    @Query("SELECT * FROM report_entry WHERE amount = :amount")
+    ReportEntry findReportingByAmount(Integer amount)
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+@Bulkhead(value = "reporting", dataSource = "reporting")
+interface ReportingEntryRepository extends CrudRepository<ReportEntry, Long> {
+}
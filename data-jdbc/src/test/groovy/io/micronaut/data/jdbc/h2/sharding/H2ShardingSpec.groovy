@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.jdbc.h2.sharding
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.data.annotation.Id
+import io.micronaut.data.annotation.MappedEntity
+import io.micronaut.data.annotation.Repository
+import io.micronaut.data.annotation.ShardKey
+import io.micronaut.data.exceptions.DataAccessException
+import io.micronaut.data.jdbc.annotation.JdbcRepository
+import io.micronaut.data.jdbc.operations.JdbcRepositoryOperations
+import io.micronaut.data.jdbc.operations.ShardedJdbcRepositoryOperations
+import io.micronaut.data.model.Page
+import io.micronaut.data.model.Pageable
+import io.micronaut.data.model.Sort
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.repository.CrudRepository
+import io.micronaut.data.runtime.sharding.ShardFunction
+import io.micronaut.inject.qualifiers.Qualifiers
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2ShardingSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(
+            shardProperties("shard1") + shardProperties("shard2") +
+                    ["micronaut.data.sharding.orders.data-sources": ["shard1", "shard2"]]
+    )
+
+    @Shared
+    ShardedOrderRepository orderRepository = context.getBean(ShardedOrderRepository)
+
+    @Shared
+    FirstShardOrderRepository firstShardRepository = context.getBean(FirstShardOrderRepository)
+
+    @Shared
+    SecondShardOrderRepository secondShardRepository = context.getBean(SecondShardOrderRepository)
+
+    static Map<String, Object> shardProperties(String name) {
+        [
+                ("datasources." + name + ".url")            : "jdbc:h2:mem:" + name + ";DB_CLOSE_ON_EXIT=FALSE",
+                ("datasources." + name + ".username")       : "",
+                ("datasources." + name + ".password")       : "",
+                ("datasources." + name + ".schema-generate"): "CREATE_DROP",
+                ("datasources." + name + ".dialect")        : "H2",
+                ("datasources." + name + ".packages")       : "io.micronaut.data.jdbc.h2.sharding"
+        ]
+    }
+
+    def setup() {
+        orderRepository.saveAll([
+                new ShardedOrder(id: 1, customer: "Alice", amount: 50),
+                new ShardedOrder(id: 2, customer: "Bob", amount: 20),
+                new ShardedOrder(id: 3, customer: "Alice", amount: 10),
+                new ShardedOrder(id: 4, customer: "Oscar", amount: 40),
+                new ShardedOrder(id: 5, customer: "Tom", amount: 30),
+                new ShardedOrder(id: 6, customer: "Zoe", amount: 60)
+        ])
+    }
+
+    def cleanup() {
+        orderRepository.deleteAll()
+    }
+
+    void "test the entities are routed by their shard key"() {
+        expect:
+        firstShardRepository.findAll()*.customer.toSet() == ["Alice", "Bob"] as Set
+        secondShardRepository.findAll()*.customer.toSet() == ["Oscar", "Tom", "Zoe"] as Set
+
+        when:
+        ShardedOrder order = orderRepository.findByCustomer("Tom")[0]
+        order.amount = 35
+        orderRepository.update(order)
+        orderRepository.delete(orderRepository.findById(4L).get())
+
+        then:
+        secondShardRepository.findById(5L).get().amount == 35
+        !orderRepository.findById(4L).isPresent()
+        secondShardRepository.count() == 2
+    }
+
+    void "test the queries on the shard key are executed on a single shard"() {
+        given:
+        secondShardRepository.save(new ShardedOrder(id: 7, customer: "Alice", amount: 70))
+
+        expect:"the misplaced order of the second shard is not found"
+        orderRepository.findByCustomer("Alice")*.id.sort() == [1L, 3L]
+        orderRepository.countByCustomer("Alice") == 2
+        orderRepository.findByCustomerAndAmountGreaterThan("Alice", 5)*.id.sort() == [1L, 3L]
+        orderRepository.countByCustomerOrAmount("Alice", 70) == 3
+    }
+
+    void "test the repositories are backed by the JDBC operations of the shards"() {
+        given:
+        ShardedJdbcRepositoryOperations operations = context.getBean(ShardedJdbcRepositoryOperations, Qualifiers.byName("orders"))
+
+        expect:
+        !(operations instanceof JdbcRepositoryOperations)
+        operations.routedOperations.every { it instanceof JdbcRepositoryOperations }
+        operations.getShard("Tom").is(context.getBean(JdbcRepositoryOperations, Qualifiers.byName("shard2")))
+    }
+
+    void "test the results of the shards are merged"() {
+        expect:
+        orderRepository.count() == 6
+        orderRepository.findAll()*.id.sort() == [1L, 2L, 3L, 4L, 5L, 6L]
+        orderRepository.findByAmountGreaterThan(25)*.id.sort() == [1L, 4L, 5L, 6L]
+        orderRepository.findTop3ByAmountGreaterThanOrderByAmountDesc(0)*.amount == [60, 50, 40]
+        orderRepository.findAll(Sort.of(Sort.Order.asc("amount")))*.amount == [10, 20, 30, 40, 50, 60]
+    }
+
+    void "test the single results of the shards are reduced by the order by clause"() {
+        expect:
+        orderRepository.findFirstOrderByAmountDesc().amount == 60
+        orderRepository.findFirstOrderByAmountAsc().amount == 10
+        orderRepository.findFirstByAmountLessThanOrderByAmountDesc(45).customer == "Oscar"
+        orderRepository.findFirstByAmountLessThanOrderByAmountDesc(5) == null
+    }
+
+    void "test the aggregates of several shards are rejected"() {
+        when:
+        orderRepository.findMaxAmount()
+
+        then:
+        def e = thrown(DataAccessException)
+        e.message.contains("cannot be merged")
+
+        when:
+        orderRepository.findSumAmount()
+
+        then:
+        e = thrown(DataAccessException)
+        e.message.contains("cannot be merged")
+
+        expect:"the aggregate of the only shard with results"
+        orderRepository.findMaxAmountByAmountLessThan(25) == 20
+    }
+
+    void "test the update changing the shard key is rejected"() {
+        given:
+        ShardedOrder order = orderRepository.findById(2L).get()
+        order.customer = "Walter"
+
+        when:
+        orderRepository.update(order)
+
+        then:
+        def e = thrown(DataAccessException)
+        e.message.contains("shard key customer was changed")
+        firstShardRepository.findById(2L).get().customer == "Bob"
+        !secondShardRepository.findById(2L).isPresent()
+
+        when:"the shard key is unchanged"
+        order = orderRepository.findById(2L).get()
+        order.amount = 25
+        orderRepository.update(order)
+
+        then:
+        firstShardRepository.findById(2L).get().amount == 25
+    }
+
+    void "test pages are merged across the shards"() {
+        when:
+        Page<ShardedOrder> page = orderRepository.findByAmountGreaterThan(15, Pageable.from(1, 2, Sort.of(Sort.Order.desc("amount"))))
+
+        then:
+        page.totalSize == 5
+        page.totalPages == 3
+        page.content*.amount == [40, 30]
+
+        when:
+        page = orderRepository.findAll(Pageable.from(2, 2, Sort.of(Sort.Order.asc("customer"), Sort.Order.asc("id"))))
+
+        then:
+        page.totalSize == 6
+        page.content*.customer == ["Tom", "Zoe"]
+    }
+}
+
+@Singleton
+@Named("orders")
+class CustomerShardFunction implements ShardFunction {
+
+    @Override
+    int shard(Object shardKey, int shardCount) {
+        return shardKey.toString() < "M" ? 0 : 1
+    }
+}
+
+@MappedEntity
+class ShardedOrder {
+    @Id
+    Long id
+    @ShardKey
+    String customer
+    int amount
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+@Repository("orders")
+interface ShardedOrderRepository extends CrudRepository<ShardedOrder, Long> {
+
+    List<ShardedOrder> findByCustomer(String customer)
+
+    long countByCustomer(String customer)
+
+    List<ShardedOrder> findByCustomerAndAmountGreaterThan(String customer, int amount)
+
+    long countByCustomerOrAmount(String customer, int amount)
+
+    List<ShardedOrder> findByAmountGreaterThan(int amount)
+
+    Page<ShardedOrder> findByAmountGreaterThan(int amount, Pageable pageable)
+
+    List<ShardedOrder> findTop3ByAmountGreaterThanOrderByAmountDesc(int amount)
+
+    List<ShardedOrder> findAll(Sort sort)
+
+    ShardedOrder findFirstOrderByAmountDesc()
+
+    ShardedOrder findFirstOrderByAmountAsc()
+
+    @Nullable
+    ShardedOrder findFirstByAmountLessThanOrderByAmountDesc(int amount)
+
+    Integer findMaxAmount()
+
+    Long findSumAmount()
+
+    Integer findMaxAmountByAmountLessThan(int amount)
+
+    Page<ShardedOrder> findAll(Pageable pageable)
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+@Repository("shard1")
+interface FirstShardOrderRepository extends CrudRepository<ShardedOrder, Long> {
+}
+
+@JdbcRepository(dialect = Dialect.H2)
+@Repository("shard2")
+interface SecondShardOrderRepository extends CrudRepository<ShardedOrder, Long> {
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the results of a repository finder method in-process. Intended for read-mostly
+ * queries such as lookups against reference tables.
+ *
+ * <p>Results are keyed by the repository method and the bound parameter values. Any insert, update or delete
+ * performed through the repository operations on an entity type the query reads (the root entity and all
+ * join fetched associations) invalidates the cached results.</p>
+ *
+ * <p>Note that cached entities are shared between callers and should not be modified.</p>
+ *
+ * @since 3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Documented
+@Inherited
+public @interface CacheableQuery {
+
+    /**
+     * The time after which a cached result expires, for example {@code 10m}. If not specified the
+     * {@code micronaut.data.query-cache.expire-after-write} setting is used.
+     *
+     * @return The expiry duration
+     */
+    String expireAfterWrite() default "";
+
+    /**
+     * Additional entity types whose modification invalidates the cached results. Useful for native
+     * queries reading tables that are not part of the root entity or its join paths.
+     *
+     * @return The entity types
+     */
+    Class<?>[] invalidatedBy() default {};
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Selects how the values of an auto-populated {@link java.util.UUID} property are generated, overriding the
+ * {@code micronaut.data.uuid.generation} setting.
+ *
+ * @since 3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD})
+@Documented
+public @interface UUIDGeneration {
+
+    /**
+     * @return The generation type
+     */
+    Type value();
+
+    /**
+     * The type of generation.
+     */
+    enum Type {
+        /**
+         * Random values, see {@link java.util.UUID#randomUUID()}.
+         */
+        RANDOM,
+        /**
+         * Time-ordered version 7 values, with the time in milliseconds in the most significant bits. The values
+         * generated by one application are increasing, so that they are appended to the indexes instead of inserted at
+         * random positions.
+         */
+        TIME_ORDERED
+    }
+}
@@ -29,13 +29,17 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.beans.BeanIntrospection;
 import io.micronaut.core.beans.BeanIntrospector;
 import io.micronaut.core.util.KotlinUtils;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.RepositoryConfiguration;
+import io.micronaut.data.annotation.RepositoryDataSource;
 import io.micronaut.data.exceptions.DataAccessException;
 import io.micronaut.data.intercept.annotation.DataMethod;
 import io.micronaut.data.operations.PrimaryRepositoryOperations;
 import io.micronaut.data.operations.RepositoryOperations;
+import io.micronaut.data.operations.RoutingRepositoryOperations;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
 import jakarta.inject.Singleton;
 
 import java.util.Map;
@@ -74,7 +78,9 @@ public final class DataIntroductionAdvice implements MethodInterceptor<Object, O
         if (dataInterceptor != null) {
             return intercept(context, dataInterceptor, key);
         }
-        String dataSourceName = context.stringValue(Repository.class).orElse(null);
+        String dataSourceName = context.stringValue(RepositoryDataSource.class)
+                .filter(StringUtils::isNotEmpty)
+                .orElseGet(() -> context.stringValue(Repository.class).orElse(null));
         Class<?> operationsType = context.classValue(RepositoryConfiguration.class, "operations")
                 .orElse(PrimaryRepositoryOperations.class);
         Class<?> interceptorType = context
@@ -110,6 +116,8 @@ public final class DataIntroductionAdvice implements MethodInterceptor<Object, O
                              DataInterceptor<Object, Object> dataInterceptor,
                              RepositoryMethodKey key) {
         InterceptedMethod interceptedMethod = InterceptedMethod.of(context);
+        RepositoryMethodEvent event = FlightRecorderSupport.isAvailable()
+                ? RepositoryMethodEvent.start(context, interceptedMethod.resultType()) : null;
         try {
             Object result = dataInterceptor.intercept(key, context);
             switch (interceptedMethod.resultType()) {
@@ -142,6 +150,10 @@ public final class DataIntroductionAdvice implements MethodInterceptor<Object, O
             }
         } catch (Exception e) {
             return interceptedMethod.handleException(e);
+        } finally {
+            if (event != null) {
+                event.commit();
+            }
         }
     }
 
@@ -164,7 +176,10 @@ public final class DataIntroductionAdvice implements MethodInterceptor<Object, O
                 datastore = (RepositoryOperations) beanLocator.getBean(operationsType);
             }
         } catch (NoSuchBeanException e) {
-            throw new ConfigurationException("No backing RepositoryOperations configured for repository. Check your configuration and try again", e);
+            datastore = findRoutingOperations(dataSourceName, operationsType);
+            if (datastore == null) {
+                throw new ConfigurationException("No backing RepositoryOperations configured for repository. Check your configuration and try again", e);
+            }
         }
         BeanIntrospection<Object> introspection = BeanIntrospector.SHARED.findIntrospections(ref -> interceptorType.isAssignableFrom(ref.getBeanType())).stream().findFirst().orElseThrow(() ->
                 new DataAccessException("No Data interceptor found for type: " + interceptorType)
@@ -177,4 +192,26 @@ public final class DataIntroductionAdvice implements MethodInterceptor<Object, O
         return interceptor;
     }
 
+    /**
+     * Finds the routing operations of the given name, they back the repositories whose operations type all their routed
+     * operations are of.
+     */
+    @Nullable
+    private RepositoryOperations findRoutingOperations(@Nullable String name, @NonNull Class<?> operationsType) {
+        if (name == null) {
+            return null;
+        }
+        RoutingRepositoryOperations routingOperations = beanLocator.findBean(RoutingRepositoryOperations.class, Qualifiers.byName(name))
+                .orElse(null);
+        if (routingOperations == null) {
+            return null;
+        }
+        for (RepositoryOperations routedOperations : routingOperations.getRoutedOperations()) {
+            if (!operationsType.isInstance(routedOperations)) {
+                throw new ConfigurationException("Repository operations [" + name + "] route to operations of type "
+                        + routedOperations.getClass().getName() + " which the repository cannot use, the repository requires: " + operationsType.getName());
+            }
+        }
+        return routingOperations;
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.intercept;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a repository method is invoked. The duration of the methods returning a publisher or a completion stage
+ * only covers the invocation, not the completion of the result.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.RepositoryMethod")
+@Label("Repository Method")
+@Description("A repository method is invoked")
+@Category({FlightRecorderSupport.CATEGORY, "Repository"})
+public final class RepositoryMethodEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Result Type")
+    String resultType;
+
+    /**
+     * Starts the event if it is enabled.
+     *
+     * @param context    The method invocation context
+     * @param resultType The type of result of the method
+     * @return The started event or null if it is not enabled
+     */
+    @Nullable
+    static RepositoryMethodEvent start(@NonNull MethodInvocationContext<?, ?> context, @NonNull Enum<?> resultType) {
+        if (!Type.EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        RepositoryMethodEvent event = new RepositoryMethodEvent();
+        event.repository = context.getDeclaringType().getName();
+        event.method = context.getMethodName();
+        event.resultType = resultType.name();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * The type of the event, resolved once instead of allocating an event for every invocation to check whether it is
+     * enabled.
+     */
+    private static final class Type {
+        static final EventType EVENT_TYPE = EventType.getEventType(RepositoryMethodEvent.class);
+    }
+}
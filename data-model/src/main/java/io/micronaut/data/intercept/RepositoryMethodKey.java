@@ -18,8 +18,6 @@ package io.micronaut.data.intercept;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.inject.ExecutableMethod;
 
-import java.util.Objects;
-
 /**
  * Key used to cache results for repository method invocations.
  *
@@ -40,7 +38,7 @@ public final class RepositoryMethodKey {
     public RepositoryMethodKey(Object repository, ExecutableMethod method) {
         this.repository = repository;
         this.method = method;
-        this.hashCode = Objects.hash(repository, method);
+        this.hashCode = 31 * repository.hashCode() + method.hashCode();
     }
 
     @Override
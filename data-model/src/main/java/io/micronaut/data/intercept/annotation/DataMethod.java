@@ -134,6 +134,43 @@ public @interface DataMethod {
      */
     String META_MEMBER_OPTIMISTIC_LOCK = "optimisticLock";
 
+    /**
+     * Whether the query loads a single entity by its identity only.
+     *
+     * @since 3.3
+     */
+    String META_MEMBER_ID_LOOKUP = "idLookup";
+
+    /**
+     * The pessimistic lock taken by the query, a {@link io.micronaut.data.model.query.LockMode}.
+     *
+     * @since 3.3
+     */
+    String META_MEMBER_LOCK_MODE = "lockMode";
+
+    /**
+     * The property paths of the order by clause of the query.
+     *
+     * @since 3.3
+     */
+    String META_MEMBER_SORT = "sort";
+
+    /**
+     * The directions of the order by clause of the query, the names of {@link io.micronaut.data.model.Sort.Order.Direction}
+     * in the order of the {@link #META_MEMBER_SORT} property paths.
+     *
+     * @since 3.3
+     */
+    String META_MEMBER_SORT_DIRECTIONS = META_MEMBER_SORT + "Directions";
+
+    /**
+     * The property paths restricted to the value of a parameter by an equality predicate that all the results of the
+     * query satisfy: a predicate of the top-level conjunction of the criteria.
+     *
+     * @since 3.3
+     */
+    String META_MEMBER_EQUALS_PROPERTY_PATHS = "equalsPropertyPaths";
+
     /**
      * The query builder to use.
      */
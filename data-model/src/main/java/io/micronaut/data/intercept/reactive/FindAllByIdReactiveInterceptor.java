@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.intercept.reactive;
+
+import io.micronaut.data.intercept.DataInterceptor;
+
+/**
+ * An interceptor that finds all the entities for a collection of IDs and emits them reactively. The IDs are queried
+ * in chunks sized to the parameter limits of the database.
+ *
+ * @param <T> The declaring type
+ * @param <R> The result type
+ * @since 3.3
+ */
+public interface FindAllByIdReactiveInterceptor<T, R> extends DataInterceptor<T, R> {
+}
@@ -62,6 +62,11 @@ class DefaultPage<T> extends DefaultSlice<T> implements Page<T> {
         return totalSize;
     }
 
+    @Override
+    public boolean hasNext() {
+        return Page.super.hasNext();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
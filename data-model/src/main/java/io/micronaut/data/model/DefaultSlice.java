@@ -18,6 +18,7 @@ package io.micronaut.data.model;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.annotation.Creator;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.core.annotation.ReflectiveAccess;
@@ -40,12 +41,25 @@ class DefaultSlice<T> implements Slice<T> {
 
     private final List<T> content;
     private final Pageable pageable;
+    @Nullable
+    private final Boolean hasNext;
 
     /**
      * Default constructor.
      * @param content The content
      * @param pageable The pageable
      */
+    DefaultSlice(List<T> content, Pageable pageable) {
+        this(content, pageable, null);
+    }
+
+    /**
+     * Constructor recording whether a slice follows.
+     * @param content The content
+     * @param pageable The pageable
+     * @param hasNext Whether a slice follows or null if it is unknown
+     * @since 3.3
+     */
     @ReflectiveAccess
     @JsonCreator
     @Creator
@@ -53,10 +67,14 @@ class DefaultSlice<T> implements Slice<T> {
             @JsonProperty("content")
             List<T> content,
             @JsonProperty("pageable")
-            Pageable pageable) {
+            Pageable pageable,
+            @JsonProperty("hasNext")
+            @Nullable
+            Boolean hasNext) {
         ArgumentUtils.requireNonNull("pageable", pageable);
         this.content = CollectionUtils.isEmpty(content) ? Collections.emptyList() : content;
         this.pageable = pageable;
+        this.hasNext = hasNext;
     }
 
     @NonNull
@@ -73,6 +91,11 @@ class DefaultSlice<T> implements Slice<T> {
         return pageable;
     }
 
+    @Override
+    public boolean hasNext() {
+        return hasNext != null ? hasNext : Slice.super.hasNext();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -83,12 +106,13 @@ class DefaultSlice<T> implements Slice<T> {
         }
         DefaultSlice<?> that = (DefaultSlice<?>) o;
         return Objects.equals(content, that.content) &&
-                Objects.equals(pageable, that.pageable);
+                Objects.equals(pageable, that.pageable) &&
+                hasNext() == that.hasNext();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(content, pageable);
+        return Objects.hash(content, pageable, hasNext());
     }
 
     @Override
@@ -96,6 +120,7 @@ class DefaultSlice<T> implements Slice<T> {
         return "DefaultSlice{" +
                 "content=" + content +
                 ", pageable=" + pageable +
+                ", hasNext=" + hasNext() +
                 '}';
     }
 }
@@ -59,6 +59,15 @@ public interface Page<T> extends Slice<T> {
         return size == 0 ? 1 : (int) Math.ceil((double) getTotalSize() / (double) size);
     }
 
+    /**
+     * @return Whether a page follows this one according to the total size
+     */
+    @Override
+    default boolean hasNext() {
+        int size = getSize();
+        return size > 0 && getOffset() + getNumberOfElements() < getTotalSize();
+    }
+
     /**
      * Maps the content with the given function.
      *
@@ -17,6 +17,7 @@ package io.micronaut.data.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.ReflectiveAccess;
@@ -94,6 +95,20 @@ public interface Slice<T> extends Iterable<T> {
         return getContent().isEmpty();
     }
 
+    /**
+     * Whether a slice follows this one. The slices returned by the repository methods fetch one element more than
+     * the size of the slice to know it without counting the elements. The other slices assume that a full slice is
+     * followed by another one.
+     *
+     * @return True if there is a next slice
+     * @since 3.3
+     */
+    @JsonProperty("hasNext")
+    default boolean hasNext() {
+        int size = getSize();
+        return size > 0 && getNumberOfElements() >= size;
+    }
+
     /**
      * @return The sort
      */
@@ -124,7 +139,7 @@ public interface Slice<T> extends Iterable<T> {
      */
     default @NonNull <T2> Slice<T2> map(Function<T, T2> function) {
         List<T2> content = getContent().stream().map(function).collect(Collectors.toList());
-        return new DefaultSlice<>(content, getPageable());
+        return new DefaultSlice<>(content, getPageable(), hasNext());
     }
 
     /**
@@ -138,4 +153,18 @@ public interface Slice<T> extends Iterable<T> {
     static @NonNull <T2> Slice<T2> of(@NonNull List<T2> content, @NonNull Pageable pageable) {
         return new DefaultSlice<>(content, pageable);
     }
+
+    /**
+     * Creates a slice from the given content and pageable.
+     * @param content The content
+     * @param pageable The pageable
+     * @param hasNext Whether a slice follows this one
+     * @param <T2> The generic type
+     * @return The slice
+     * @since 3.3
+     */
+    @ReflectiveAccess
+    static @NonNull <T2> Slice<T2> of(@NonNull List<T2> content, @NonNull Pageable pageable, boolean hasNext) {
+        return new DefaultSlice<>(content, pageable, hasNext);
+    }
 }
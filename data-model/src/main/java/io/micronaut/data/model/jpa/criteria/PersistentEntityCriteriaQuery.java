@@ -18,7 +18,9 @@ package io.micronaut.data.model.jpa.criteria;
 import io.micronaut.core.annotation.Experimental;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.model.PersistentEntity;
+import io.micronaut.data.model.query.LockMode;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Order;
@@ -61,6 +63,19 @@ public interface PersistentEntityCriteriaQuery<T> extends CriteriaQuery<T> {
         return this;
     }
 
+    /**
+     * Locks the selected entities with the given lock mode.
+     *
+     * @param lockMode The lock mode or null to not lock the entities
+     * @return The query
+     * @since 3.3
+     */
+    @Internal
+    @NonNull
+    default PersistentEntityCriteriaQuery<T> lock(@Nullable LockMode lockMode) {
+        return forUpdate(lockMode != null);
+    }
+
     @Override
     @NonNull
     PersistentEntityCriteriaQuery<T> select(@NonNull Selection<? extends T> selection);
@@ -15,6 +15,7 @@
  */
 package io.micronaut.data.model.jpa.criteria.impl;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Join;
 import io.micronaut.data.model.PersistentEntity;
 import io.micronaut.data.model.Sort;
@@ -25,10 +26,12 @@ import io.micronaut.data.model.jpa.criteria.PersistentPropertyPath;
 import io.micronaut.data.model.jpa.criteria.impl.predicate.ConjunctionPredicate;
 import io.micronaut.data.model.jpa.criteria.impl.predicate.DisjunctionPredicate;
 import io.micronaut.data.model.jpa.criteria.impl.predicate.PersistentPropertyBinaryPredicate;
+import io.micronaut.data.model.jpa.criteria.impl.predicate.PersistentPropertyInValuesPredicate;
 import io.micronaut.data.model.jpa.criteria.impl.query.QueryModelPredicateVisitor;
 import io.micronaut.data.model.jpa.criteria.impl.query.QueryModelSelectionVisitor;
 import io.micronaut.data.model.jpa.criteria.impl.selection.CompoundSelection;
 import io.micronaut.data.model.jpa.criteria.impl.util.Joiner;
+import io.micronaut.data.model.query.LockMode;
 import io.micronaut.data.model.query.QueryModel;
 import io.micronaut.data.model.query.builder.QueryBuilder;
 import io.micronaut.data.model.query.builder.QueryResult;
@@ -71,7 +74,7 @@ public abstract class AbstractPersistentEntityCriteriaQuery<T> implements Persis
     protected List<Order> orders;
     protected int max = -1;
     protected int offset = 0;
-    protected boolean forUpdate;
+    protected LockMode lockMode;
     protected boolean distinct;
 
     @Override
@@ -122,8 +125,8 @@ public abstract class AbstractPersistentEntityCriteriaQuery<T> implements Persis
 
         qm.max(max);
         qm.offset(offset);
-        if (forUpdate) {
-            qm.forUpdate();
+        if (lockMode != null) {
+            qm.lock(lockMode);
         }
         return qm;
     }
@@ -142,7 +145,13 @@ public abstract class AbstractPersistentEntityCriteriaQuery<T> implements Persis
 
     @Override
     public PersistentEntityCriteriaQuery<T> forUpdate(boolean forUpdate) {
-        this.forUpdate = forUpdate;
+        this.lockMode = forUpdate ? LockMode.FOR_UPDATE : null;
+        return this;
+    }
+
+    @Override
+    public PersistentEntityCriteriaQuery<T> lock(LockMode lockMode) {
+        this.lockMode = lockMode;
         return this;
     }
 
@@ -298,10 +307,44 @@ public abstract class AbstractPersistentEntityCriteriaQuery<T> implements Persis
         return predicate;
     }
 
+    /**
+     * @return The lock taken on the selected rows or null
+     * @since 3.3
+     */
+    @Nullable
+    public final LockMode getLockMode() {
+        return lockMode;
+    }
+
     public final boolean hasOnlyIdRestriction() {
         return isOnlyIdRestriction(predicate);
     }
 
+    /**
+     * Whether the query only restricts the identity to a list of values without any ordering or limits.
+     * Such a query can be executed in chunks of identity values.
+     *
+     * @return True if the query is an unordered and unlimited identity {@code IN} restriction
+     * @since 3.3
+     */
+    public final boolean hasOnlyIdInRestriction() {
+        return max == -1 && offset == 0 && (orders == null || orders.isEmpty()) && isOnlyIdInRestriction(predicate);
+    }
+
+    private boolean isOnlyIdInRestriction(Expression<?> predicate) {
+        if (predicate instanceof PersistentPropertyInValuesPredicate) {
+            PersistentPropertyInValuesPredicate<?> pp = (PersistentPropertyInValuesPredicate<?>) predicate;
+            return pp.getValues().size() == 1 && pp.getProperty() == pp.getProperty().getOwner().getIdentity();
+        }
+        if (predicate instanceof ConjunctionPredicate) {
+            ConjunctionPredicate conjunctionPredicate = (ConjunctionPredicate) predicate;
+            if (conjunctionPredicate.getPredicates().size() == 1) {
+                return isOnlyIdInRestriction(conjunctionPredicate.getPredicates().iterator().next());
+            }
+        }
+        return false;
+    }
+
     private boolean isOnlyIdRestriction(Expression<?> predicate) {
         if (predicate instanceof PersistentPropertyBinaryPredicate) {
             PersistentPropertyBinaryPredicate<?> pp = (PersistentPropertyBinaryPredicate<?>) predicate;
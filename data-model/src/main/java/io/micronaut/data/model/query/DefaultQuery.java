@@ -40,7 +40,7 @@ public class DefaultQuery implements QueryModel {
     private int max = -1;
     private long offset = 0;
     private Sort sort = Sort.unsorted();
-    private boolean forUpdate;
+    private LockMode lockMode;
 
     /**
      * Default constructor.
@@ -240,12 +240,23 @@ public class DefaultQuery implements QueryModel {
 
     @Override
     public void forUpdate() {
-        forUpdate = true;
+        lockMode = LockMode.FOR_UPDATE;
     }
 
     @Override
     public boolean isForUpdate() {
-        return forUpdate;
+        return lockMode != null;
+    }
+
+    @Override
+    public void lock(@NonNull LockMode lockMode) {
+        ArgumentUtils.requireNonNull("lockMode", lockMode);
+        this.lockMode = lockMode;
+    }
+
+    @Override
+    public LockMode getLockMode() {
+        return lockMode;
     }
 
     /**
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.model.query;
+
+/**
+ * The pessimistic lock taken on the rows selected by a query.
+ *
+ * @see QueryModel#lock(LockMode)
+ * @since 3.3
+ */
+public enum LockMode {
+    /**
+     * Locks the rows for update, waiting for the locks held by other transactions.
+     */
+    FOR_UPDATE,
+    /**
+     * Locks the rows for update, failing immediately if any of them is locked by another transaction.
+     */
+    FOR_UPDATE_NOWAIT,
+    /**
+     * Locks the rows for update, skipping the rows locked by other transactions. Allows concurrent consumers to claim
+     * distinct batches of a work queue table.
+     */
+    FOR_UPDATE_SKIP_LOCKED,
+    /**
+     * Takes a shared lock on the rows, preventing their modification by other transactions but not their shared locking.
+     */
+    FOR_SHARE
+}
@@ -395,6 +395,30 @@ public interface QueryModel extends Criteria {
      */
     boolean isForUpdate();
 
+    /**
+     * Lock the selected entities with the given lock mode.
+     *
+     * @param lockMode The lock mode
+     * @since 3.3
+     */
+    default void lock(@NonNull LockMode lockMode) {
+        if (lockMode != LockMode.FOR_UPDATE) {
+            throw new UnsupportedOperationException("Lock mode " + lockMode + " is not supported by " + getClass().getSimpleName());
+        }
+        forUpdate();
+    }
+
+    /**
+     * The lock taken on the selected entities.
+     *
+     * @return The lock mode or null if the entities are not locked
+     * @since 3.3
+     */
+    @Nullable
+    default LockMode getLockMode() {
+        return isForUpdate() ? LockMode.FOR_UPDATE : null;
+    }
+
     /**
      * Represents a criterion to be used in a criteria query.
      */
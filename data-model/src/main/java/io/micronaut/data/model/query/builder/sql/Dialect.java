@@ -28,42 +28,45 @@ public enum Dialect {
     /**
      * H2 database.
      */
-    H2(true, false, true),
+    H2(true, false, true, 10000),
     /**
      * MySQL 5.5 or above.
      */
-    MYSQL(true, true, false),
+    MYSQL(true, true, false, 10000),
     /**
      * Postgres 9.5 or later.
      */
-    POSTGRES(true, false, true),
+    POSTGRES(true, false, true, 10000),
     /**
      * SQL server 2012 or above.
      */
-    SQL_SERVER(false, false, false),
+    SQL_SERVER(false, false, false, 2000),
     /**
      * Oracle 12c or above.
      */
-    ORACLE(true, true, false),
+    ORACLE(true, true, false, 1000),
     /**
      * Ansi compliant SQL.
      */
-    ANSI(true, false, true);
+    ANSI(true, false, true, 1000);
 
     private final boolean supportsBatch;
     private final boolean stringUUID;
     private final boolean supportsArrays;
+    private final int maxInListSize;
 
     /**
      * Allows customization of batch support.
      * @param supportsBatch If batch is supported
      * @param stringUUID Does the dialect require a string UUID
      * @param supportsArrays Does the dialect supports arrays
+     * @param maxInListSize The maximum number of values bound to a single {@code IN} expression
      */
-    Dialect(boolean supportsBatch, boolean stringUUID, boolean supportsArrays) {
+    Dialect(boolean supportsBatch, boolean stringUUID, boolean supportsArrays, int maxInListSize) {
         this.supportsBatch = supportsBatch;
         this.stringUUID = stringUUID;
         this.supportsArrays = supportsArrays;
+        this.maxInListSize = maxInListSize;
     }
 
     /**
@@ -82,6 +85,16 @@ public enum Dialect {
         return supportsArrays;
     }
 
+    /**
+     * The maximum number of values bound to a single {@code IN} expression. Larger lists are split into several
+     * queries, for example Oracle doesn't allow more than 1000 values and SQL Server more than 2100 parameters.
+     * @return The maximum size of an {@code IN} list
+     * @since 3.3
+     */
+    public final int getMaxInListSize() {
+        return maxInListSize;
+    }
+
     /**
      * Returns compatible dialect dataype.
      * @param type the type
@@ -16,6 +16,7 @@
 package io.micronaut.data.model.query.builder.sql;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Creator;
@@ -43,6 +44,7 @@ import io.micronaut.data.model.PersistentProperty;
 import io.micronaut.data.model.PersistentPropertyPath;
 import io.micronaut.data.model.naming.NamingStrategy;
 import io.micronaut.data.model.query.JoinPath;
+import io.micronaut.data.model.query.LockMode;
 import io.micronaut.data.model.query.QueryModel;
 import io.micronaut.data.model.query.builder.AbstractSqlLikeQueryBuilder;
 import io.micronaut.data.model.query.builder.QueryBuilder;
@@ -100,10 +102,25 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
     private static final String INSERT_INTO = "INSERT INTO ";
     private static final String JDBC_REPO_ANNOTATION = "io.micronaut.data.jdbc.annotation.JdbcRepository";
     private static final String STANDARD_FOR_UPDATE_CLAUSE = " FOR UPDATE";
+    private static final String STANDARD_FOR_UPDATE_NOWAIT_CLAUSE = " FOR UPDATE NOWAIT";
+    private static final String STANDARD_FOR_UPDATE_SKIP_LOCKED_CLAUSE = " FOR UPDATE SKIP LOCKED";
+    private static final String STANDARD_FOR_SHARE_CLAUSE = " FOR SHARE";
+    private static final String MYSQL_FOR_SHARE_CLAUSE = " LOCK IN SHARE MODE";
     private static final String SQL_SERVER_FOR_UPDATE_CLAUSE = " WITH (UPDLOCK, ROWLOCK)";
+    private static final String SQL_SERVER_FOR_UPDATE_NOWAIT_CLAUSE = " WITH (UPDLOCK, ROWLOCK, NOWAIT)";
+    private static final String SQL_SERVER_FOR_UPDATE_SKIP_LOCKED_CLAUSE = " WITH (UPDLOCK, ROWLOCK, READPAST)";
+    private static final String SQL_SERVER_FOR_SHARE_CLAUSE = " WITH (HOLDLOCK, ROWLOCK)";
+    private static final String[] END_OF_QUERY_LOCK_CLAUSES = {
+            STANDARD_FOR_UPDATE_SKIP_LOCKED_CLAUSE,
+            STANDARD_FOR_UPDATE_NOWAIT_CLAUSE,
+            STANDARD_FOR_UPDATE_CLAUSE,
+            STANDARD_FOR_SHARE_CLAUSE,
+            MYSQL_FOR_SHARE_CLAUSE
+    };
 
     private final Dialect dialect;
     private final Map<Dialect, DialectConfig> perDialectConfig = new HashMap<>(3);
+    private int sequenceIncrement = 1;
     private Pattern positionalParameterPattern;
 
 
@@ -160,6 +177,19 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
         this.dialect = dialect;
     }
 
+    /**
+     * @param dialect           The dialect
+     * @param sequenceIncrement The increment of the sequences created by {@link #buildCreateTableStatements(PersistentEntity)}
+     * @since 3.3
+     */
+    public SqlQueryBuilder(Dialect dialect, int sequenceIncrement) {
+        this(dialect);
+        if (sequenceIncrement < 1) {
+            throw new IllegalArgumentException("The sequence increment must be positive: " + sequenceIncrement);
+        }
+        this.sequenceIncrement = sequenceIncrement;
+    }
+
     /**
      * @return The dialect being used by the builder.
      */
@@ -495,10 +525,9 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
                 createSequenceStmt += " MINVALUE 1 START WITH 1";
                 if (dialect == Dialect.ORACLE) {
                     createSequenceStmt += " NOCACHE NOCYCLE";
-                } else {
-                    if (isSqlServer) {
-                        createSequenceStmt += " INCREMENT BY 1";
-                    }
+                }
+                if (isSqlServer || sequenceIncrement > 1) {
+                    createSequenceStmt += " INCREMENT BY " + sequenceIncrement;
                 }
                 createStatements.add(createSequenceStmt);
             }
@@ -672,6 +701,9 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
                         } else {
                             column += " NOT NULL";
                         }
+                    } else if (type == SEQUENCE) {
+                        // The value is read from the sequence by the insert
+                        column += " NOT NULL";
                     } else {
                         column += " AUTO_INCREMENT";
                     }
@@ -889,6 +921,103 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
     @NonNull
     @Override
     public QueryResult buildInsert(AnnotationMetadata repositoryMetadata, PersistentEntity entity) {
+        return buildInsert(entity, false);
+    }
+
+    /**
+     * Builds an insert that binds the identity of the entity even if it is generated. Used for identities that are
+     * allocated by the client before the insert instead of being generated by the database.
+     *
+     * @param repositoryMetadata The repository annotation metadata
+     * @param entity             The entity
+     * @return The insert
+     * @since 3.3
+     */
+    @NonNull
+    public QueryResult buildInsertWithIdentity(AnnotationMetadata repositoryMetadata, PersistentEntity entity) {
+        return buildInsert(entity, true);
+    }
+
+    /**
+     * Builds the query selecting the next value of the sequence of the generated identity of the entity.
+     *
+     * @param entity The entity
+     * @return The query
+     * @since 3.3
+     */
+    @NonNull
+    public String buildSelectNextSequenceValue(PersistentEntity entity) {
+        final String sequenceName = getSequenceName(entity);
+        switch (dialect) {
+            case ORACLE:
+                return "SELECT " + quote(sequenceName) + ".nextval FROM DUAL";
+            case POSTGRES:
+                return "SELECT nextval('" + sequenceName + "')";
+            case SQL_SERVER:
+            case H2:
+                return "SELECT NEXT VALUE FOR " + quote(sequenceName);
+            default:
+                throw new IllegalStateException("Cannot select a sequence value for dialect: " + dialect);
+        }
+    }
+
+    /**
+     * Builds the query selecting the increment of a sequence from the catalog, the unescaped sequence name is bound to the
+     * single parameter of the query.
+     *
+     * @return The query
+     * @since 3.3
+     */
+    @NonNull
+    public String buildSelectSequenceIncrement() {
+        switch (dialect) {
+            case ORACLE:
+                return "SELECT increment_by FROM user_sequences WHERE sequence_name = ?";
+            case POSTGRES:
+                return "SELECT increment_by FROM pg_sequences WHERE sequencename = ?";
+            case SQL_SERVER:
+                return "SELECT CAST(increment AS BIGINT) FROM sys.sequences WHERE name = ?";
+            case H2:
+                return "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?";
+            default:
+                throw new IllegalStateException("Cannot select a sequence increment for dialect: " + dialect);
+        }
+    }
+
+    /**
+     * Resolves the unescaped name of the sequence of the generated identity of the entity.
+     *
+     * @param entity The entity
+     * @return The sequence name
+     * @since 3.3
+     */
+    @NonNull
+    public String getSequenceName(PersistentEntity entity) {
+        PersistentProperty identity = entity.getIdentity();
+        if (identity == null) {
+            throw new IllegalArgumentException("Entity does not have an identity: " + entity.getName());
+        }
+        return resolveSequenceName(identity, getUnescapedTableName(entity));
+    }
+
+    /**
+     * Builds the query selecting the greatest value of the identity of the entity.
+     *
+     * @param entity The entity
+     * @return The query
+     * @since 3.3
+     */
+    @NonNull
+    public String buildSelectMaxIdentity(PersistentEntity entity) {
+        PersistentProperty identity = entity.getIdentity();
+        if (identity == null) {
+            throw new IllegalArgumentException("Entity does not have an identity: " + entity.getName());
+        }
+        String columnName = getColumnName(identity);
+        return "SELECT MAX(" + (shouldEscape(entity) ? quote(columnName) : columnName) + ") FROM " + getTableName(entity);
+    }
+
+    private QueryResult buildInsert(PersistentEntity entity, boolean bindIdentity) {
         boolean escape = shouldEscape(entity);
         final String unescapedTableName = getUnescapedTableName(entity);
 
@@ -964,7 +1093,7 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
         if (identity != null) {
             traversePersistentProperties(identity, (associations, property) -> {
                 boolean isSequence = false;
-                if (isNotForeign(associations)) {
+                if (!bindIdentity && isNotForeign(associations)) {
                     Optional<AnnotationValue<GeneratedValue>> generated = property.findAnnotation(GeneratedValue.class);
                     if (generated.isPresent()) {
                         GeneratedValue.Type idGeneratorType = generated
@@ -1044,6 +1173,7 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
             case POSTGRES:
                 return "nextval('" + sequenceName + "')";
             case SQL_SERVER:
+            case H2:
                 return "NEXT VALUE FOR " + quote(sequenceName);
             default:
                 throw new IllegalStateException("Cannot generate a sequence for dialect: " + dialect);
@@ -1602,9 +1732,81 @@ public class SqlQueryBuilder extends AbstractSqlLikeQueryBuilder implements Quer
             boolean isSqlServer = Dialect.SQL_SERVER.equals(dialect);
             if (isSqlServer && queryPosition.equals(QueryPosition.AFTER_TABLE_NAME) ||
                     !isSqlServer && queryPosition.equals(QueryPosition.END_OF_QUERY)) {
-                queryBuilder.append(isSqlServer ? SQL_SERVER_FOR_UPDATE_CLAUSE : STANDARD_FOR_UPDATE_CLAUSE);
+                LockMode lockMode = query.getLockMode();
+                queryBuilder.append(buildLockClause(lockMode == null ? LockMode.FOR_UPDATE : lockMode));
+            }
+        }
+    }
+
+    /**
+     * Builds the clause locking the selected rows in the given mode for the current dialect. SQL Server uses table
+     * hints. H2 only supports {@code FOR UPDATE}, the stronger lock also taken for {@link LockMode#FOR_SHARE}, and
+     * rejects the modes that don't wait for the locked rows, like Oracle rejects {@link LockMode#FOR_SHARE}.
+     *
+     * @param lockMode The lock mode
+     * @return The lock clause
+     */
+    private String buildLockClause(LockMode lockMode) {
+        switch (dialect) {
+            case SQL_SERVER:
+                switch (lockMode) {
+                    case FOR_UPDATE_NOWAIT:
+                        return SQL_SERVER_FOR_UPDATE_NOWAIT_CLAUSE;
+                    case FOR_UPDATE_SKIP_LOCKED:
+                        return SQL_SERVER_FOR_UPDATE_SKIP_LOCKED_CLAUSE;
+                    case FOR_SHARE:
+                        return SQL_SERVER_FOR_SHARE_CLAUSE;
+                    default:
+                        return SQL_SERVER_FOR_UPDATE_CLAUSE;
+                }
+            case H2:
+                if (lockMode == LockMode.FOR_UPDATE_NOWAIT || lockMode == LockMode.FOR_UPDATE_SKIP_LOCKED) {
+                    throw new IllegalStateException("Lock mode " + lockMode + " is not supported by dialect: " + dialect);
+                }
+                return STANDARD_FOR_UPDATE_CLAUSE;
+            case ORACLE:
+                if (lockMode == LockMode.FOR_SHARE) {
+                    throw new IllegalStateException("Lock mode " + lockMode + " is not supported by dialect: " + dialect);
+                }
+                break;
+            case MYSQL:
+                if (lockMode == LockMode.FOR_SHARE) {
+                    return MYSQL_FOR_SHARE_CLAUSE;
+                }
+                break;
+            default:
+                break;
+        }
+        switch (lockMode) {
+            case FOR_UPDATE_NOWAIT:
+                return STANDARD_FOR_UPDATE_NOWAIT_CLAUSE;
+            case FOR_UPDATE_SKIP_LOCKED:
+                return STANDARD_FOR_UPDATE_SKIP_LOCKED_CLAUSE;
+            case FOR_SHARE:
+                return STANDARD_FOR_SHARE_CLAUSE;
+            default:
+                return STANDARD_FOR_UPDATE_CLAUSE;
+        }
+    }
+
+    /**
+     * Finds the lock clause ending the given query. The order by and pagination clauses added to the query at runtime
+     * have to precede it.
+     *
+     * @param query The query
+     * @return The lock clause or null if the query doesn't end with one
+     * @since 3.3
+     */
+    @Nullable
+    public String findTrailingLockClause(@NonNull String query) {
+        if (dialect != Dialect.SQL_SERVER) {
+            for (String lockClause : END_OF_QUERY_LOCK_CLAUSES) {
+                if (query.endsWith(lockClause)) {
+                    return lockClause;
+                }
             }
         }
+        return null;
     }
 
     @Override
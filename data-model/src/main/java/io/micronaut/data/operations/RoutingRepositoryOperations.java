@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.operations;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Repository operations routing each operation to one of several other operations, for example to the shard storing an
+ * entity. A repository whose {@link io.micronaut.data.annotation.Repository} value names routing operations is backed by
+ * them when all the routed operations are of the operations type of the repository, the routing operations themselves
+ * don't have to implement the API specific to a data source.
+ *
+ * @since 3.3
+ */
+public interface RoutingRepositoryOperations extends RepositoryOperations {
+
+    /**
+     * @return The operations the operations are routed to
+     */
+    @NonNull
+    List<? extends RepositoryOperations> getRoutedOperations();
+}
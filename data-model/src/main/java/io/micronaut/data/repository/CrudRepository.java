@@ -105,6 +105,17 @@ public interface CrudRepository<E, ID> extends GenericRepository<E, ID> {
      */
     @NonNull Iterable<E> findAll();
 
+    /**
+     * Returns all instances of the type with the given IDs. Large collections of IDs are queried in chunks
+     * sized to the limits of the database dialect.
+     *
+     * @param ids must not be {@literal null}.
+     * @return the found entities, in no particular order
+     * @throws javax.validation.ConstraintViolationException if the ids are {@literal null}.
+     * @since 3.3
+     */
+    @NonNull Iterable<E> findAllById(@NotNull @NonNull Iterable<ID> ids);
+
     /**
      * Returns the number of entities available.
      *
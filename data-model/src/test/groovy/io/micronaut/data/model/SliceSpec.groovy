@@ -29,4 +29,26 @@ class SliceSpec extends Specification {
         newSlice.content == [2,3,4,5,6]
         newSlice.size == 5
     }
+
+    void "test whether a next slice follows"() {
+        expect:
+        Slice.of([1, 2, 3], Pageable.from(0, 3), false).hasNext() == false
+        Slice.of([1, 2], Pageable.from(0, 3), true).hasNext()
+        Slice.of([1, 2, 3], Pageable.from(0, 3)).hasNext()
+        !Slice.of([1, 2], Pageable.from(0, 3)).hasNext()
+        !Slice.of([1, 2], Pageable.UNPAGED).hasNext()
+        Page.of([1, 2, 3], Pageable.from(0, 3), 7).hasNext()
+        !Page.of([1], Pageable.from(2, 3), 7).hasNext()
+    }
+
+    void "test mapping a slice keeps whether a next slice follows"() {
+        def slice = Slice.of([1, 2, 3], Pageable.from(0, 3), false)
+
+        when:
+        Slice newSlice = slice.map({ i -> i + 1 })
+
+        then:
+        newSlice.content == [2, 3, 4]
+        !newSlice.hasNext()
+    }
 }
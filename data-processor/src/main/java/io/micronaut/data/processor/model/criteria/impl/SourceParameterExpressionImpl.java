@@ -70,6 +70,14 @@ public final class SourceParameterExpressionImpl extends ParameterExpressionImpl
         throw notSupportedOperation();
     }
 
+    /**
+     * @return The method parameter element
+     * @since 3.3
+     */
+    public ParameterElement getParameterElement() {
+        return parameterElement;
+    }
+
     public void setUpdate(boolean update) {
         isUpdate = update;
     }
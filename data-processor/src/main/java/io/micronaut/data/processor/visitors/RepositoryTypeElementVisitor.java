@@ -359,6 +359,21 @@ public class RepositoryTypeElementVisitor implements TypeElementVisitor<Reposito
             if (methodInfo.isOptimisticLock()) {
                 annotationBuilder.member(DataMethod.META_MEMBER_OPTIMISTIC_LOCK, true);
             }
+            if (methodInfo.isIdLookup()) {
+                annotationBuilder.member(DataMethod.META_MEMBER_ID_LOOKUP, true);
+            }
+            if (methodInfo.getLockMode() != null) {
+                annotationBuilder.member(DataMethod.META_MEMBER_LOCK_MODE, methodInfo.getLockMode());
+            }
+            List<Sort.Order> orders = methodInfo.getSort().getOrderBy();
+            if (!orders.isEmpty()) {
+                annotationBuilder.member(DataMethod.META_MEMBER_SORT, orders.stream().map(Sort.Order::getProperty).toArray(String[]::new));
+                annotationBuilder.member(DataMethod.META_MEMBER_SORT_DIRECTIONS, orders.stream().map(order -> order.getDirection().name()).toArray(String[]::new));
+            }
+            List<String> equalsPropertyPaths = methodInfo.getEqualsPropertyPaths();
+            if (!equalsPropertyPaths.isEmpty()) {
+                annotationBuilder.member(DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS, equalsPropertyPaths.toArray(new String[0]));
+            }
 
             TypedElement resultType = methodInfo.getResultType();
             if (resultType != null) {
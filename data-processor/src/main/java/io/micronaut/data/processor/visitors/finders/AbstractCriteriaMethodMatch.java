@@ -30,6 +30,7 @@ import io.micronaut.data.annotation.TypeRole;
 import io.micronaut.data.annotation.Where;
 import io.micronaut.data.intercept.DataInterceptor;
 import io.micronaut.data.model.Association;
+import io.micronaut.data.model.Embedded;
 import io.micronaut.data.model.PersistentEntity;
 import io.micronaut.data.model.PersistentProperty;
 import io.micronaut.data.model.PersistentPropertyPath;
@@ -39,7 +40,11 @@ import io.micronaut.data.model.jpa.criteria.PersistentEntityCriteriaUpdate;
 import io.micronaut.data.model.jpa.criteria.PersistentEntityFrom;
 import io.micronaut.data.model.jpa.criteria.PersistentEntityRoot;
 import io.micronaut.data.model.jpa.criteria.impl.CriteriaUtils;
+import io.micronaut.data.model.query.BindingParameter;
+import io.micronaut.data.model.query.LockMode;
+import io.micronaut.data.model.query.QueryModel;
 import io.micronaut.data.processor.model.SourcePersistentProperty;
+import io.micronaut.data.processor.model.criteria.impl.SourceParameterExpressionImpl;
 import io.micronaut.data.processor.model.criteria.SourcePersistentEntityCriteriaBuilder;
 import io.micronaut.data.processor.visitors.AnnotationMetadataHierarchy;
 import io.micronaut.data.processor.visitors.MatchFailedException;
@@ -71,7 +76,7 @@ import java.util.regex.Pattern;
 @Experimental
 public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.MethodMatch {
 
-    private static final Pattern FOR_UPDATE_PATTERN = Pattern.compile("(.*)ForUpdate$");
+    private static final Pattern FOR_UPDATE_PATTERN = Pattern.compile("(.*)(ForUpdateSkipLocked|ForUpdateNoWait|ForUpdate|ForShare)$");
 
     private static final String OPERATOR_OR = "Or";
     private static final String OPERATOR_AND = "And";
@@ -462,15 +467,19 @@ public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.Metho
 
         Expression prop = getProperty(root, propertyName);
 
-        Predicate predicate = restriction.find(root,
+        ParameterExpression[] params = provideParams(parameters,
+                restriction.getRequiredParameters(),
+                restriction.getName(),
                 cb,
-                prop,
-                provideParams(parameters,
-                        restriction.getRequiredParameters(),
-                        restriction.getName(),
-                        cb,
-                        prop
-                ).toArray(new ParameterExpression[0]));
+                prop
+        ).toArray(new ParameterExpression[0]);
+        Predicate predicate;
+        if (isIdentityEqualToIterable(root, prop, restriction, params)) {
+            // findAllById(Iterable<ID> ids)
+            predicate = Restrictions.findPropertyRestriction("In").find(root, cb, prop, params);
+        } else {
+            predicate = restriction.find(root, cb, prop, params);
+        }
 
         if (negation) {
             predicate = predicate.not();
@@ -478,6 +487,25 @@ public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.Metho
         return predicate;
     }
 
+    private <T> boolean isIdentityEqualToIterable(PersistentEntityRoot<T> root,
+                                                  Expression<?> property,
+                                                  Restrictions.PropertyRestriction<?> restriction,
+                                                  ParameterExpression<?>[] params) {
+        if (!(restriction instanceof Restrictions.PropertyEqual) || params.length != 1 || !(params[0] instanceof SourceParameterExpressionImpl)) {
+            return false;
+        }
+        PersistentEntity entity = root.getPersistentEntity();
+        if (!entity.hasIdentity() || entity.getIdentity() instanceof Embedded
+                || !(property instanceof io.micronaut.data.model.jpa.criteria.PersistentPropertyPath)) {
+            return false;
+        }
+        if (((io.micronaut.data.model.jpa.criteria.PersistentPropertyPath<?>) property).getProperty() != entity.getIdentity()) {
+            return false;
+        }
+        ParameterElement parameterElement = ((SourceParameterExpressionImpl) params[0]).getParameterElement();
+        return parameterElement != null && parameterElement.getGenericType().isAssignable(Iterable.class);
+    }
+
     private <T> Predicate getRestriction(PersistentEntityRoot<T> root,
                                          SourcePersistentEntityCriteriaBuilder cb,
                                          Iterator<ParameterElement> parameters,
@@ -548,7 +576,8 @@ public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.Metho
     }
 
     /**
-     * Matches for update definitions in the query sequence.
+     * Matches for update definitions in the query sequence: {@code ForUpdate}, {@code ForUpdateNoWait},
+     * {@code ForUpdateSkipLocked} and {@code ForShare}.
      *
      * @param querySequence The query sequence
      * @param query         The query
@@ -558,7 +587,19 @@ public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.Metho
     protected <T> String applyForUpdate(String querySequence, PersistentEntityCriteriaQuery<T> query) {
         Matcher matcher = FOR_UPDATE_PATTERN.matcher(querySequence);
         if (matcher.matches()) {
-            query.forUpdate(true);
+            switch (matcher.group(2)) {
+                case "ForUpdateSkipLocked":
+                    query.lock(LockMode.FOR_UPDATE_SKIP_LOCKED);
+                    break;
+                case "ForUpdateNoWait":
+                    query.lock(LockMode.FOR_UPDATE_NOWAIT);
+                    break;
+                case "ForShare":
+                    query.lock(LockMode.FOR_SHARE);
+                    break;
+                default:
+                    query.forUpdate(true);
+            }
             return matcher.group(1);
         }
         return querySequence;
@@ -658,4 +699,41 @@ public abstract class AbstractCriteriaMethodMatch implements MethodMatcher.Metho
         return !repositoryHasWhere && !entityHasWhere;
     }
 
+    /**
+     * Collects the property paths restricted to the value of a parameter by an equality predicate of the top-level
+     * conjunction of the query criteria, the values that all the results of the query have.
+     *
+     * @param queryModel The query model
+     * @return The property paths
+     * @since 3.3
+     */
+    @NonNull
+    protected final List<String> findEqualsPropertyPaths(@NonNull QueryModel queryModel) {
+        QueryModel.Junction criteria = queryModel.getCriteria();
+        if (!(criteria instanceof QueryModel.Conjunction)) {
+            return Collections.emptyList();
+        }
+        List<String> propertyPaths = new ArrayList<>();
+        collectEqualsPropertyPaths(queryModel.getPersistentEntity(), criteria, propertyPaths);
+        return propertyPaths;
+    }
+
+    private void collectEqualsPropertyPaths(PersistentEntity entity, QueryModel.Junction conjunction, List<String> propertyPaths) {
+        for (QueryModel.Criterion criterion : conjunction.getCriteria()) {
+            if (criterion instanceof QueryModel.Conjunction) {
+                collectEqualsPropertyPaths(entity, (QueryModel.Junction) criterion, propertyPaths);
+            } else if (criterion instanceof QueryModel.IdEquals) {
+                PersistentProperty identity = entity.getIdentity();
+                if (identity != null && ((QueryModel.IdEquals) criterion).getValue() instanceof BindingParameter) {
+                    propertyPaths.add(identity.getName());
+                }
+            } else if (criterion instanceof QueryModel.Equals) {
+                QueryModel.Equals equals = (QueryModel.Equals) criterion;
+                if (!equals.isIgnoreCase() && equals.getValue() instanceof BindingParameter) {
+                    propertyPaths.add(equals.getProperty());
+                }
+            }
+        }
+    }
+
 }
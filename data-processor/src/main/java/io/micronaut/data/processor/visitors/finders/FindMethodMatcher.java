@@ -21,20 +21,26 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.data.annotation.TypeRole;
 import io.micronaut.data.intercept.DataInterceptor;
+import io.micronaut.data.intercept.FindAllByIdInterceptor;
+import io.micronaut.data.intercept.FindAllInterceptor;
 import io.micronaut.data.intercept.FindByIdInterceptor;
 import io.micronaut.data.intercept.FindOneInterceptor;
 import io.micronaut.data.intercept.async.FindByIdAsyncInterceptor;
 import io.micronaut.data.intercept.async.FindOneAsyncInterceptor;
+import io.micronaut.data.intercept.reactive.FindAllByIdReactiveInterceptor;
+import io.micronaut.data.intercept.reactive.FindAllReactiveInterceptor;
 import io.micronaut.data.intercept.reactive.FindByIdReactiveInterceptor;
 import io.micronaut.data.intercept.reactive.FindOneReactiveInterceptor;
 import io.micronaut.data.model.jpa.criteria.PersistentEntityCriteriaQuery;
 import io.micronaut.data.model.jpa.criteria.PersistentEntityRoot;
 import io.micronaut.data.model.jpa.criteria.impl.AbstractPersistentEntityCriteriaQuery;
+import io.micronaut.data.model.query.LockMode;
 import io.micronaut.data.processor.model.criteria.SourcePersistentEntityCriteriaBuilder;
 import io.micronaut.data.processor.visitors.MatchContext;
 import io.micronaut.data.processor.visitors.MethodMatchContext;
 import io.micronaut.data.processor.visitors.finders.criteria.QueryCriteriaMethodMatch;
 import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.TypedElement;
 
 import java.util.AbstractMap;
 import java.util.Map;
@@ -58,6 +64,8 @@ public final class FindMethodMatcher extends AbstractPatternMethodMatcher {
             return new QueryCriteriaMethodMatch(matcher) {
 
                 boolean hasIdMatch;
+                boolean hasIdInMatch;
+                LockMode lockMode;
 
                 @Override
                 protected <T> void apply(MethodMatchContext matchContext,
@@ -67,9 +75,24 @@ public final class FindMethodMatcher extends AbstractPatternMethodMatcher {
                     super.apply(matchContext, root, query, cb);
                     if (query instanceof AbstractPersistentEntityCriteriaQuery) {
                         hasIdMatch = ((AbstractPersistentEntityCriteriaQuery<T>) query).hasOnlyIdRestriction();
+                        hasIdInMatch = ((AbstractPersistentEntityCriteriaQuery<T>) query).hasOnlyIdInRestriction();
+                        lockMode = ((AbstractPersistentEntityCriteriaQuery<T>) query).getLockMode();
                     }
                 }
 
+                @Override
+                protected MethodMatchInfo build(MethodMatchContext matchContext) {
+                    MethodMatchInfo methodMatchInfo = super.build(matchContext);
+                    TypedElement resultType = methodMatchInfo.getResultType();
+                    // A locking query has to be executed, it cannot be served from loaded entities
+                    return methodMatchInfo.lockMode(lockMode).idLookup(hasIdMatch
+                            && lockMode == null
+                            && !methodMatchInfo.isDto()
+                            && resultType != null
+                            && resultType.getName().equals(matchContext.getRootEntity().getName())
+                            && hasNoWhereDeclaration(matchContext));
+                }
+
                 @Override
                 protected Map.Entry<ClassElement, Class<? extends DataInterceptor>> resolveReturnTypeAndInterceptor(MethodMatchContext matchContext) {
                     Map.Entry<ClassElement, Class<? extends DataInterceptor>> e = super.resolveReturnTypeAndInterceptor(matchContext);
@@ -83,6 +106,12 @@ public final class FindMethodMatcher extends AbstractPatternMethodMatcher {
                         } else if (interceptorType == FindOneReactiveInterceptor.class) {
                             interceptorType = FindByIdReactiveInterceptor.class;
                         }
+                    } else if (isFindAllByIdQuery(matchContext, queryResultType)) {
+                        if (interceptorType == FindAllInterceptor.class) {
+                            interceptorType = FindAllByIdInterceptor.class;
+                        } else if (interceptorType == FindAllReactiveInterceptor.class) {
+                            interceptorType = FindAllByIdReactiveInterceptor.class;
+                        }
                     }
                     return new AbstractMap.SimpleEntry<>(queryResultType, interceptorType);
                 }
@@ -90,11 +119,18 @@ public final class FindMethodMatcher extends AbstractPatternMethodMatcher {
                 private boolean isFindByIdQuery(@NonNull MethodMatchContext matchContext,
                                                 @NonNull ClassElement queryResultType) {
                     return hasIdMatch
+                            && lockMode == null
                             && matchContext.supportsImplicitQueries()
                             && queryResultType.getName().equals(matchContext.getRootEntity().getName())
                             && hasNoWhereDeclaration(matchContext);
                 }
 
+                private boolean isFindAllByIdQuery(@NonNull MethodMatchContext matchContext,
+                                                   @NonNull ClassElement queryResultType) {
+                    return hasIdInMatch
+                            && queryResultType.getName().equals(matchContext.getRootEntity().getName());
+                }
+
             };
         }
         return null;
@@ -15,13 +15,17 @@
  */
 package io.micronaut.data.processor.visitors.finders;
 
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.data.model.query.LockMode;
 import io.micronaut.data.model.query.builder.QueryResult;
 import io.micronaut.inject.ast.ClassElement;
 import io.micronaut.inject.ast.TypedElement;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -41,6 +45,10 @@ public final class MethodMatchInfo {
     private Map<String, String> parameterRoles = new HashMap<>(2);
     private boolean dto;
     private boolean optimisticLock;
+    private boolean idLookup;
+    private LockMode lockMode;
+    private Sort sort = Sort.unsorted();
+    private List<String> equalsPropertyPaths = Collections.emptyList();
 
     private QueryResult queryResult;
     private QueryResult countQueryResult;
@@ -83,6 +91,50 @@ public final class MethodMatchInfo {
         this.optimisticLock = optimisticLock;
     }
 
+    /**
+     * Whether the query loads a single entity by its identity only.
+     *
+     * @return True if it is
+     * @since 3.3
+     */
+    public boolean isIdLookup() {
+        return idLookup;
+    }
+
+    /**
+     * The pessimistic lock taken by the query.
+     *
+     * @return The lock mode or null
+     * @since 3.3
+     */
+    @Nullable
+    public LockMode getLockMode() {
+        return lockMode;
+    }
+
+    /**
+     * The order by clause of the query.
+     *
+     * @return The sort
+     * @since 3.3
+     */
+    @NonNull
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * The property paths restricted to the value of a parameter by an equality predicate of the top-level conjunction
+     * of the query criteria.
+     *
+     * @return The property paths
+     * @since 3.3
+     */
+    @NonNull
+    public List<String> getEqualsPropertyPaths() {
+        return equalsPropertyPaths;
+    }
+
     /**
      * Adds a parameter role. This indicates that a parameter is involved
      * somehow in the query.
@@ -147,6 +199,26 @@ public final class MethodMatchInfo {
         return this;
     }
 
+    public MethodMatchInfo idLookup(boolean idLookup) {
+        this.idLookup = idLookup;
+        return this;
+    }
+
+    public MethodMatchInfo lockMode(@Nullable LockMode lockMode) {
+        this.lockMode = lockMode;
+        return this;
+    }
+
+    public MethodMatchInfo sort(@NonNull Sort sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    public MethodMatchInfo equalsPropertyPaths(@NonNull List<String> equalsPropertyPaths) {
+        this.equalsPropertyPaths = equalsPropertyPaths;
+        return this;
+    }
+
     public ClassElement getInterceptor() {
         return interceptor;
     }
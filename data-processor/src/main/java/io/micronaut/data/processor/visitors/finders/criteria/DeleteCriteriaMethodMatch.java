@@ -106,6 +106,7 @@ public class DeleteCriteriaMethodMatch extends AbstractCriteriaMethodMatch {
                 getInterceptorElement(matchContext, interceptorType)
         )
                 .optimisticLock(optimisticLock)
+                .equalsPropertyPaths(findEqualsPropertyPaths(queryModel))
                 .queryResult(queryResult);
     }
 
@@ -250,6 +250,8 @@ public class QueryCriteriaMethodMatch extends AbstractCriteriaMethodMatch {
         )
                 .dto(isDto)
                 .optimisticLock(optimisticLock)
+                .sort(queryModel.getSort())
+                .equalsPropertyPaths(findEqualsPropertyPaths(queryModel))
                 .queryResult(queryResult)
                 .countQueryResult(countQueryResult);
     }
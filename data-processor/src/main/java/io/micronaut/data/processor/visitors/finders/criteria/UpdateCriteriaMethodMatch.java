@@ -136,6 +136,7 @@ public class UpdateCriteriaMethodMatch extends AbstractCriteriaMethodMatch {
                 getInterceptorElement(matchContext, interceptorType)
         )
                 .optimisticLock(optimisticLock)
+                .equalsPropertyPaths(findEqualsPropertyPaths(queryModel))
                 .queryResult(queryResult);
     }
 
@@ -26,6 +26,7 @@ import io.micronaut.data.model.entities.Person
 import io.micronaut.data.model.entities.PersonAssignedId
 import io.micronaut.data.model.naming.NamingStrategies
 import io.micronaut.data.model.naming.NamingStrategy
+import io.micronaut.data.model.query.LockMode
 import io.micronaut.data.model.query.QueryModel
 import io.micronaut.data.model.query.QueryParameter
 import io.micronaut.data.model.query.builder.sql.Dialect
@@ -511,6 +512,61 @@ interface MyRepository {
             insertResult.parameters.equals('1': 'name', '2': 'age', '3': "enabled", '4': 'publicId', '5': "version")
     }
 
+    @Unroll
+    void "test encode lock mode #lockMode for #dialect"() {
+        given:
+        QueryModel q = QueryModel.from(PersistentEntity.of(Book))
+        q.lock(lockMode)
+        QueryBuilder encoder = new SqlQueryBuilder(dialect)
+
+        expect:
+        encoder.buildQuery(q).query.endsWith(clause)
+
+        where:
+        dialect            | lockMode                        | clause
+        Dialect.H2         | LockMode.FOR_UPDATE             | 'book_ FOR UPDATE'
+        Dialect.H2         | LockMode.FOR_SHARE              | 'book_ FOR UPDATE'
+        Dialect.MYSQL      | LockMode.FOR_UPDATE             | 'book_ FOR UPDATE'
+        Dialect.MYSQL      | LockMode.FOR_UPDATE_NOWAIT      | 'book_ FOR UPDATE NOWAIT'
+        Dialect.MYSQL      | LockMode.FOR_UPDATE_SKIP_LOCKED | 'book_ FOR UPDATE SKIP LOCKED'
+        Dialect.MYSQL      | LockMode.FOR_SHARE              | 'book_ LOCK IN SHARE MODE'
+        Dialect.POSTGRES   | LockMode.FOR_UPDATE             | 'book_ FOR UPDATE'
+        Dialect.POSTGRES   | LockMode.FOR_UPDATE_NOWAIT      | 'book_ FOR UPDATE NOWAIT'
+        Dialect.POSTGRES   | LockMode.FOR_UPDATE_SKIP_LOCKED | 'book_ FOR UPDATE SKIP LOCKED'
+        Dialect.POSTGRES   | LockMode.FOR_SHARE              | 'book_ FOR SHARE'
+        Dialect.ORACLE     | LockMode.FOR_UPDATE             | 'book_ FOR UPDATE'
+        Dialect.ORACLE     | LockMode.FOR_UPDATE_NOWAIT      | 'book_ FOR UPDATE NOWAIT'
+        Dialect.ORACLE     | LockMode.FOR_UPDATE_SKIP_LOCKED | 'book_ FOR UPDATE SKIP LOCKED'
+        Dialect.ANSI       | LockMode.FOR_UPDATE             | 'book_ FOR UPDATE'
+        Dialect.ANSI       | LockMode.FOR_UPDATE_NOWAIT      | 'book_ FOR UPDATE NOWAIT'
+        Dialect.ANSI       | LockMode.FOR_UPDATE_SKIP_LOCKED | 'book_ FOR UPDATE SKIP LOCKED'
+        Dialect.ANSI       | LockMode.FOR_SHARE              | 'book_ FOR SHARE'
+        Dialect.SQL_SERVER | LockMode.FOR_UPDATE             | 'book_ WITH (UPDLOCK, ROWLOCK)'
+        Dialect.SQL_SERVER | LockMode.FOR_UPDATE_NOWAIT      | 'book_ WITH (UPDLOCK, ROWLOCK, NOWAIT)'
+        Dialect.SQL_SERVER | LockMode.FOR_UPDATE_SKIP_LOCKED | 'book_ WITH (UPDLOCK, ROWLOCK, READPAST)'
+        Dialect.SQL_SERVER | LockMode.FOR_SHARE              | 'book_ WITH (HOLDLOCK, ROWLOCK)'
+    }
+
+    @Unroll
+    void "test lock mode #lockMode is rejected for #dialect"() {
+        given:
+        QueryModel q = QueryModel.from(PersistentEntity.of(Book))
+        q.lock(lockMode)
+
+        when:
+        new SqlQueryBuilder(dialect).buildQuery(q)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "Lock mode $lockMode is not supported by dialect: $dialect"
+
+        where:
+        dialect        | lockMode
+        Dialect.H2     | LockMode.FOR_UPDATE_NOWAIT
+        Dialect.H2     | LockMode.FOR_UPDATE_SKIP_LOCKED
+        Dialect.ORACLE | LockMode.FOR_SHARE
+    }
+
     @Shared
     Map<Class, RuntimePersistentEntity> entities = [:]
 
@@ -19,6 +19,7 @@ package io.micronaut.data.processor.sql
 import io.micronaut.data.intercept.annotation.DataMethod
 import io.micronaut.data.model.DataType
 import io.micronaut.data.model.Pageable
+import io.micronaut.data.model.query.LockMode
 import io.micronaut.data.processor.visitors.AbstractDataSpec
 import spock.lang.Issue
 import spock.lang.Unroll
@@ -303,4 +304,72 @@ interface UserRoleRepository extends GenericRepository<UserRole, UserRoleId> {
             getDataTypes(method) == [DataType.LONG]
     }
 
+    void "test identity lookups are marked"() {
+        given:
+            def repository = buildRepository('test.BookRepository', """
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.tck.entities.Book;
+
+@JdbcRepository(dialect= Dialect.MYSQL)
+interface BookRepository extends CrudRepository<Book, Long> {
+
+    Book findByIdGreaterThan(Long id);
+
+    Book findByIdAndTitle(Long id, String title);
+
+    String findTitleById(Long id);
+
+    Book findByIdForUpdate(Long id);
+
+    Book findByIdForUpdateSkipLocked(Long id);
+}
+""")
+
+        expect:
+            repository.getRequiredMethod("findById", Long).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            !repository.getRequiredMethod("findByIdGreaterThan", Long).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            !repository.getRequiredMethod("findByIdAndTitle", Long, String).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            !repository.getRequiredMethod("findTitleById", Long).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            !repository.getRequiredMethod("findByIdForUpdate", Long).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            !repository.getRequiredMethod("findByIdForUpdateSkipLocked", Long).isTrue(DataMethod, DataMethod.META_MEMBER_ID_LOOKUP)
+            repository.getRequiredMethod("findByIdForUpdateSkipLocked", Long).enumValue(DataMethod, DataMethod.META_MEMBER_LOCK_MODE, LockMode).get() == LockMode.FOR_UPDATE_SKIP_LOCKED
+    }
+
+    void "test the order by and the equality restrictions are recorded"() {
+        given:
+            def repository = buildRepository('test.BookRepository', """
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.tck.entities.Book;
+
+@JdbcRepository(dialect= Dialect.MYSQL)
+interface BookRepository extends CrudRepository<Book, Long> {
+
+    List<Book> findByTitleAndPagesGreaterThanOrderByPagesDesc(String title, int pages);
+
+    List<Book> findByTitleOrPages(String title, int pages);
+
+    long countByTitleAndPages(String title, int pages);
+
+    void deleteByTitle(String title);
+}
+""")
+            def sorted = repository.getRequiredMethod("findByTitleAndPagesGreaterThanOrderByPagesDesc", String, int.class)
+            def disjunction = repository.getRequiredMethod("findByTitleOrPages", String, int.class)
+
+        expect:
+            sorted.stringValues(DataMethod, DataMethod.META_MEMBER_SORT) == ["pages"] as String[]
+            sorted.stringValues(DataMethod, DataMethod.META_MEMBER_SORT_DIRECTIONS) == ["DESC"] as String[]
+            sorted.stringValues(DataMethod, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS) == ["title"] as String[]
+            disjunction.stringValues(DataMethod, DataMethod.META_MEMBER_SORT).length == 0
+            disjunction.stringValues(DataMethod, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS).length == 0
+            repository.getRequiredMethod("countByTitleAndPages", String, int.class)
+                    .stringValues(DataMethod, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS) == ["title", "pages"] as String[]
+            repository.getRequiredMethod("deleteByTitle", String)
+                    .stringValues(DataMethod, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS) == ["title"] as String[]
+            repository.getRequiredMethod("findById", Long)
+                    .stringValues(DataMethod, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS) == ["id"] as String[]
+    }
+
 }
@@ -88,6 +88,56 @@ class Test {
 CREATE TABLE "TEST" ("ID" NUMBER(19) NOT NULL PRIMARY KEY,"JSON" CLOB NOT NULL)'''
     }
 
+    @Unroll
+    void "test build create table with a sequence incremented by the allocation size for dialect #dialect"() {
+        given:
+        def entity = buildJpaEntity('test.Test', '''
+@Entity
+class Test {
+
+    @javax.persistence.Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    private String name;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
+''')
+        SqlQueryBuilder builder = new SqlQueryBuilder(dialect, 50)
+        def sql = builder.buildBatchCreateTableStatement(entity)
+
+        expect:
+        sql == statement
+
+        where:
+        dialect          | statement
+        Dialect.H2       | 'CREATE SEQUENCE `test_seq` MINVALUE 1 START WITH 1 INCREMENT BY 50\nCREATE TABLE `test` (`id` BIGINT NOT NULL PRIMARY KEY,`name` VARCHAR(255) NOT NULL);'
+        Dialect.POSTGRES | 'CREATE SEQUENCE "test_seq" MINVALUE 1 START WITH 1 INCREMENT BY 50\nCREATE TABLE "test" ("id" BIGINT PRIMARY KEY NOT NULL,"name" VARCHAR(255) NOT NULL);'
+    }
+
+    void "test the sequence increment must be positive"() {
+        when:
+        new SqlQueryBuilder(Dialect.H2, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     void "test custom column definition"() {
         given:
         def entity = buildJpaEntity('test.Test', '''
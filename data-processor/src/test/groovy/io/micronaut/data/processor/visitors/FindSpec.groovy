@@ -17,6 +17,7 @@ package io.micronaut.data.processor.visitors
 
 
 import io.micronaut.data.annotation.Query
+import io.micronaut.data.intercept.FindAllByIdInterceptor
 import io.micronaut.data.intercept.FindAllInterceptor
 import io.micronaut.data.intercept.FindByIdInterceptor
 import io.micronaut.data.intercept.FindOneInterceptor
@@ -272,6 +273,8 @@ interface MyInterface extends GenericRepository<Person, Long> {
     Person findById(Long id);
     
     Iterable<Person> findByIds(Iterable<Long> ids);
+
+    Iterable<Person> findAllById(Iterable<Long> ids);
 }
 """)
         def alias = new JpaQueryBuilder().getAliasName(PersistentEntity.of(Person))
@@ -282,6 +285,7 @@ interface MyInterface extends GenericRepository<Person, Long> {
         def findMethod2 = beanDefinition.getRequiredMethod("find", Long, String)
         def findMethod3 = beanDefinition.getRequiredMethod("findById", Long)
         def findByIds = beanDefinition.getRequiredMethod("findByIds", Iterable.class)
+        def findAllById = beanDefinition.getRequiredMethod("findAllById", Iterable.class)
 
         def findAnn = findMethod.synthesize(DataMethod)
         def findAnn2 = findMethod2.synthesize(DataMethod)
@@ -292,8 +296,10 @@ interface MyInterface extends GenericRepository<Person, Long> {
         findAnn.interceptor() == FindByIdInterceptor
         findAnn3.interceptor() == FindByIdInterceptor
         findAnn2.interceptor() == FindOneInterceptor
-        findByIdsAnn.interceptor() == FindAllInterceptor
+        findByIdsAnn.interceptor() == FindAllByIdInterceptor
         findByIds.synthesize(Query).value() == "SELECT $alias FROM io.micronaut.data.model.entities.Person AS $alias WHERE (${alias}.id IN (:p1))"
+        findAllById.synthesize(DataMethod).interceptor() == FindAllByIdInterceptor
+        findAllById.synthesize(Query).value() == "SELECT $alias FROM io.micronaut.data.model.entities.Person AS $alias WHERE (${alias}.id IN (:p1))"
     }
 
     String playerTeamModel() {
@@ -518,6 +524,38 @@ interface TestRepository extends CrudRepository<Book, Long> {
         List       | 'findTop10ForUpdate'                       | ''
     }
 
+    void "test find with lock mode #methodName for #dialect"() {
+        given:
+        def repository = buildRepository('test.TestRepository', """
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.tck.entities.Book;
+
+@JdbcRepository(dialect= Dialect.$dialect)
+@io.micronaut.context.annotation.Executable
+interface TestRepository extends CrudRepository<Book, Long> {
+
+    List<Book> $methodName(String title);
+}
+""")
+        expect:
+        repository.findPossibleMethods(methodName).findFirst().get()
+                .stringValue(Query).get().contains(clause)
+
+        where:
+        dialect      | methodName                                | clause
+        'POSTGRES'   | 'findTop100ByTitleForUpdateSkipLocked'    | ' FOR UPDATE SKIP LOCKED'
+        'POSTGRES'   | 'findAllByTitleForUpdateNoWait'           | ' FOR UPDATE NOWAIT'
+        'POSTGRES'   | 'findAllByTitleForShare'                  | ' FOR SHARE'
+        'MYSQL'      | 'findTop100ByTitleForUpdateSkipLocked'    | ' FOR UPDATE SKIP LOCKED'
+        'MYSQL'      | 'findAllByTitleForShare'                  | ' LOCK IN SHARE MODE'
+        'ORACLE'     | 'findAllByTitleForUpdateNoWait'           | ' FOR UPDATE NOWAIT'
+        'H2'         | 'findAllByTitleForShare'                  | ' FOR UPDATE'
+        'SQL_SERVER' | 'findTop100ByTitleForUpdateSkipLocked'    | ' WITH (UPDLOCK, ROWLOCK, READPAST)'
+        'SQL_SERVER' | 'findAllByTitleForUpdateNoWait'           | ' WITH (UPDLOCK, ROWLOCK, NOWAIT)'
+        'SQL_SERVER' | 'findAllByTitleForShare'                  | ' WITH (HOLDLOCK, ROWLOCK)'
+    }
+
     void "test find for update jpa"() {
         when:
         buildRepository('test.TestRepository', """
@@ -18,13 +18,16 @@ package io.micronaut.data.r2dbc.config;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.naming.Named;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.r2dbc.operations.R2dbcOperations;
+import io.micronaut.data.runtime.config.DataSettings;
 import io.micronaut.data.runtime.config.SchemaGenerate;
 import io.micronaut.r2dbc.BasicR2dbcProperties;
 import io.r2dbc.spi.ConnectionFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,10 +40,30 @@ import java.util.List;
 @EachProperty(value = BasicR2dbcProperties.PREFIX, primary = "default")
 public class DataR2dbcConfiguration implements Named {
 
+    /**
+     * The default number of entities bound to a single batch statement.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The default maximum number of statements recorded by the prepared statement cache.
+     */
+    public static final int DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 256;
+
     private SchemaGenerate schemaGenerate = SchemaGenerate.NONE;
     private boolean batchGenerate = false;
     private Dialect dialect = Dialect.ANSI;
     private List<String> packages = new ArrayList<>(3);
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private boolean preparedStatementCacheEnabled = false;
+    private int preparedStatementCacheSize = DEFAULT_PREPARED_STATEMENT_CACHE_SIZE;
+    private boolean autoCommitReads = false;
+    private boolean identityMapEnabled = false;
+    private boolean dirtyTrackingEnabled = false;
+    private boolean inListArraysEnabled = false;
+    private Duration holdTimeThreshold;
+    private Duration idleTimeThreshold;
+    private int statementThreshold;
     private final String name;
     private final ConnectionFactory connectionFactory;
     private final R2dbcOperations r2dbcOperations;
@@ -140,6 +163,212 @@ public class DataR2dbcConfiguration implements Named {
         this.dialect = dialect;
     }
 
+    /**
+     * @return The maximum number of entities bound to a single batch statement.
+     * @since 3.3
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of entities bound to a single batch statement. Batch operations are split into
+     * statements of this size that are executed one after the other. Can be overridden per repository method with the
+     * {@link DataSettings#BATCH_SIZE_HINT} query hint. Defaults to {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize The batch size
+     * @since 3.3
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize > 0) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * @return Whether the prepared statement cache integration is enabled.
+     * @since 3.3
+     */
+    public boolean isPreparedStatementCacheEnabled() {
+        return preparedStatementCacheEnabled;
+    }
+
+    /**
+     * Sets whether the prepared statement cache integration is enabled. When enabled the generated SQL is kept stable,
+     * the values of {@code IN} expressions are padded to the next power of two, and the statements are tracked to
+     * expose cache hit metrics. The driver has to cache the prepared statements itself, for example r2dbc-postgres with the
+     * {@code preparedStatementCacheQueries} option.
+     *
+     * @param preparedStatementCacheEnabled True if enabled
+     * @since 3.3
+     */
+    public void setPreparedStatementCacheEnabled(boolean preparedStatementCacheEnabled) {
+        this.preparedStatementCacheEnabled = preparedStatementCacheEnabled;
+    }
+
+    /**
+     * @return The maximum number of statements recorded by the prepared statement cache.
+     * @since 3.3
+     */
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of statements recorded by the prepared statement cache.
+     * Defaults to {@value #DEFAULT_PREPARED_STATEMENT_CACHE_SIZE}.
+     *
+     * @param preparedStatementCacheSize The cache size
+     * @since 3.3
+     */
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        if (preparedStatementCacheSize > 0) {
+            this.preparedStatementCacheSize = preparedStatementCacheSize;
+        }
+    }
+
+    /**
+     * @return Whether reads outside of a transaction are executed on an auto-commit connection.
+     * @since 3.3
+     */
+    public boolean isAutoCommitReads() {
+        return autoCommitReads;
+    }
+
+    /**
+     * Sets whether repository reads that are not part of an existing transaction and don't declare a transaction
+     * definition are executed on an auto-commit connection, skipping the {@code BEGIN} and {@code COMMIT} round trips.
+     * Such reads don't see a consistent snapshot across their statements anymore. Reads declared with {@code SUPPORTS}
+     * propagation are always executed this way. Defaults to {@code false}.
+     *
+     * @param autoCommitReads True if enabled
+     * @since 3.3
+     */
+    public void setAutoCommitReads(boolean autoCommitReads) {
+        this.autoCommitReads = autoCommitReads;
+    }
+
+    /**
+     * @return Whether the entities loaded and written in a transaction are kept in a transaction scoped identity map.
+     * @since 3.3
+     */
+    public boolean isIdentityMapEnabled() {
+        return identityMapEnabled;
+    }
+
+    /**
+     * Sets whether the entities loaded and written in a transaction are kept in an identity map held by the transaction
+     * status in the Reactor context. Lookups by id are then served from memory and joined entities with the same id
+     * share one instance. Defaults to {@code false}.
+     *
+     * @param identityMapEnabled True if enabled
+     * @since 3.3
+     */
+    public void setIdentityMapEnabled(boolean identityMapEnabled) {
+        this.identityMapEnabled = identityMapEnabled;
+    }
+
+    /**
+     * @return Whether only the modified columns of the loaded entities are updated.
+     * @since 3.3
+     */
+    public boolean isDirtyTrackingEnabled() {
+        return dirtyTrackingEnabled;
+    }
+
+    /**
+     * Sets whether a snapshot of the column values of the loaded entities is recorded, so that an entity update sets
+     * only the modified columns and the update of an unmodified entity is skipped. Entities with a version property are
+     * always fully updated. Defaults to {@code false}.
+     *
+     * @param dirtyTrackingEnabled True if enabled
+     * @since 3.3
+     */
+    public void setDirtyTrackingEnabled(boolean dirtyTrackingEnabled) {
+        this.dirtyTrackingEnabled = dirtyTrackingEnabled;
+    }
+
+    /**
+     * @return Whether the values of {@code IN} expressions are bound as a single array.
+     * @since 3.3
+     */
+    public boolean isInListArraysEnabled() {
+        return inListArraysEnabled;
+    }
+
+    /**
+     * Sets whether the values of {@code IN} expressions are bound as a single array compared with {@code = ANY(?)}
+     * on the dialects supporting it, H2 and Postgres. The SQL statement then stays the same for any number of values
+     * and the values don't count against the parameter limit of the driver. Only values of a numeric or string type
+     * are bound as an array. Defaults to {@code false}.
+     *
+     * @param inListArraysEnabled True if enabled
+     * @since 3.3
+     */
+    public void setInListArraysEnabled(boolean inListArraysEnabled) {
+        this.inListArraysEnabled = inListArraysEnabled;
+    }
+
+    /**
+     * @return The time a transaction can hold its connection before it is reported.
+     * @since 3.3
+     */
+    @Nullable
+    public Duration getHoldTimeThreshold() {
+        return holdTimeThreshold;
+    }
+
+    /**
+     * Sets the time a transaction can hold its connection before it is reported as a warning and as a Java Flight
+     * Recorder event. Defaults to {@code null}, the hold time is not checked.
+     *
+     * @param holdTimeThreshold The threshold
+     * @since 3.3
+     */
+    public void setHoldTimeThreshold(@Nullable Duration holdTimeThreshold) {
+        this.holdTimeThreshold = holdTimeThreshold;
+    }
+
+    /**
+     * @return The time the connection of a transaction can stay idle between two statements before it is reported.
+     * @since 3.3
+     */
+    @Nullable
+    public Duration getIdleTimeThreshold() {
+        return idleTimeThreshold;
+    }
+
+    /**
+     * Sets the time the connection of a transaction can stay idle between the executions of two statements, or before
+     * the first and after the last one, before the transaction is reported. Defaults to {@code null}, the idle time is
+     * not checked.
+     *
+     * @param idleTimeThreshold The threshold
+     * @since 3.3
+     */
+    public void setIdleTimeThreshold(@Nullable Duration idleTimeThreshold) {
+        this.idleTimeThreshold = idleTimeThreshold;
+    }
+
+    /**
+     * @return The number of statements a transaction can execute before it is reported.
+     * @since 3.3
+     */
+    public int getStatementThreshold() {
+        return statementThreshold;
+    }
+
+    /**
+     * Sets the number of statements a transaction can execute before it is reported. Defaults to {@code 0}, the number
+     * of statements is not checked.
+     *
+     * @param statementThreshold The threshold
+     * @since 3.3
+     */
+    public void setStatementThreshold(int statementThreshold) {
+        this.statementThreshold = statementThreshold;
+    }
+
     @NonNull
     @Override
     public String getName() {
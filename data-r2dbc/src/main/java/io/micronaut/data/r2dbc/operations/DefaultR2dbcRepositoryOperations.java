@@ -29,6 +29,7 @@ import io.micronaut.core.beans.BeanProperty;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.data.annotation.Relation;
 import io.micronaut.data.event.EntityEventContext;
 import io.micronaut.data.exceptions.DataAccessException;
@@ -41,6 +42,7 @@ import io.micronaut.data.model.query.JoinPath;
 import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.model.query.builder.sql.SqlQueryBuilder;
 import io.micronaut.data.model.runtime.AttributeConverterRegistry;
+import io.micronaut.data.model.runtime.BatchOperation;
 import io.micronaut.data.model.runtime.DeleteBatchOperation;
 import io.micronaut.data.model.runtime.DeleteOperation;
 import io.micronaut.data.model.runtime.EntityOperation;
@@ -57,6 +59,7 @@ import io.micronaut.data.model.runtime.UpdateBatchOperation;
 import io.micronaut.data.model.runtime.UpdateOperation;
 import io.micronaut.data.operations.async.AsyncRepositoryOperations;
 import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.r2dbc.config.DataR2dbcConfiguration;
 import io.micronaut.data.r2dbc.convert.R2dbcConversionContext;
 import io.micronaut.data.r2dbc.mapper.ColumnIndexR2dbcResultReader;
 import io.micronaut.data.r2dbc.mapper.ColumnNameR2dbcResultReader;
@@ -65,6 +68,7 @@ import io.micronaut.data.runtime.convert.DataConversionService;
 import io.micronaut.data.runtime.convert.RuntimePersistentPropertyConversionContext;
 import io.micronaut.data.runtime.date.DateTimeProvider;
 import io.micronaut.data.runtime.event.DefaultEntityEventContext;
+import io.micronaut.data.runtime.jfr.QueryEvents;
 import io.micronaut.data.runtime.mapper.DTOMapper;
 import io.micronaut.data.runtime.mapper.TypeMapper;
 import io.micronaut.data.runtime.mapper.sql.SqlDTOMapper;
@@ -72,11 +76,15 @@ import io.micronaut.data.runtime.mapper.sql.SqlResultEntityTypeMapper;
 import io.micronaut.data.runtime.operations.AsyncFromReactiveAsyncRepositoryOperation;
 import io.micronaut.data.runtime.operations.internal.AbstractSqlRepositoryOperations;
 import io.micronaut.data.runtime.operations.internal.DBOperation;
+import io.micronaut.data.runtime.operations.internal.EntityIdentityMap;
+import io.micronaut.data.runtime.operations.internal.EntitySnapshots;
 import io.micronaut.data.runtime.operations.internal.OpContext;
 import io.micronaut.data.runtime.operations.internal.StoredQuerySqlOperation;
 import io.micronaut.data.runtime.operations.internal.StoredSqlOperation;
 import io.micronaut.data.runtime.support.AbstractConversionContext;
+import io.micronaut.data.runtime.support.SlowQueryLog;
 import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.transaction.TransactionDefinition;
 import io.micronaut.transaction.annotation.TransactionalAdvice;
 import io.micronaut.transaction.exceptions.NoTransactionException;
@@ -85,9 +93,13 @@ import io.micronaut.transaction.exceptions.TransactionUsageException;
 import io.micronaut.transaction.interceptor.DefaultTransactionAttribute;
 import io.micronaut.transaction.reactive.ReactiveTransactionOperations;
 import io.micronaut.transaction.reactive.ReactiveTransactionStatus;
+import io.micronaut.transaction.support.ConnectionHoldMonitor;
+import io.micronaut.transaction.support.ConnectionUsage;
+import io.r2dbc.spi.ColumnMetadata;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.Statement;
 import jakarta.inject.Named;
@@ -97,7 +109,6 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -105,13 +116,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -133,8 +147,13 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
     private final ConnectionFactory connectionFactory;
     private final ReactorReactiveRepositoryOperations reactiveOperations;
     private final String dataSourceName;
+    private final ApplicationContext applicationContext;
+    private final EntitySnapshots entitySnapshots = new EntitySnapshots();
     private ExecutorService executorService;
     private AsyncRepositoryOperations asyncRepositoryOperations;
+    private DataR2dbcConfiguration configuration;
+    private StatementCache statementCache;
+    private ConnectionHoldMonitor connectionHoldMonitor;
 
     /**
      * Default constructor.
@@ -174,6 +193,78 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         this.executorService = executorService;
         this.reactiveOperations = new DefaultR2dbcReactiveRepositoryOperations();
         this.dataSourceName = dataSourceName;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * The configuration is resolved lazily since it depends on this bean.
+     *
+     * @return The data source configuration
+     */
+    @NonNull
+    private DataR2dbcConfiguration getConfiguration() {
+        DataR2dbcConfiguration configuration = this.configuration;
+        if (configuration == null) {
+            configuration = applicationContext.findBean(DataR2dbcConfiguration.class, Qualifiers.byName(dataSourceName))
+                    .orElseGet(() -> new DataR2dbcConfiguration(dataSourceName, connectionFactory, this));
+            if (configuration.isPreparedStatementCacheEnabled()) {
+                this.statementCache = new StatementCache(configuration.getPreparedStatementCacheSize());
+            }
+            ConnectionHoldMonitor connectionHoldMonitor = new ConnectionHoldMonitor(
+                    dataSourceName,
+                    configuration.getHoldTimeThreshold(),
+                    configuration.getIdleTimeThreshold(),
+                    configuration.getStatementThreshold()
+            );
+            if (connectionHoldMonitor.isEnabled()) {
+                this.connectionHoldMonitor = connectionHoldMonitor;
+            }
+            this.configuration = configuration;
+        }
+        return configuration;
+    }
+
+    @NonNull
+    @Override
+    public Optional<StatementCache> getStatementCache() {
+        getConfiguration();
+        return Optional.ofNullable(statementCache);
+    }
+
+    @Override
+    protected boolean isPadExpandedParameters() {
+        return getConfiguration().isPreparedStatementCacheEnabled();
+    }
+
+    @Override
+    protected boolean isArrayExpandedParameters(Dialect dialect) {
+        return getConfiguration().isInListArraysEnabled() && (dialect == Dialect.H2 || dialect == Dialect.POSTGRES);
+    }
+
+    @Override
+    protected String explain(Dialect dialect, String explainQuery, List<SlowQueryLog.BoundValue> values) {
+        return Flux.usingWhen(connectionFactory.create(), connection -> {
+            Statement statement = connection.createStatement(explainQuery);
+            for (SlowQueryLog.BoundValue value : values) {
+                setStatementParameter(statement, value.getIndex(), value.getDataType(), value.getValue(), dialect);
+            }
+            return Flux.from(statement.execute()).flatMap(result -> result.map((row, metadata) -> {
+                StringJoiner columns = new StringJoiner(" | ");
+                for (ColumnMetadata column : metadata.getColumnMetadatas()) {
+                    columns.add(String.valueOf(row.get(column.getName())));
+                }
+                return columns.toString();
+            }));
+        }, Connection::close).collect(Collectors.joining(System.lineSeparator())).block();
+    }
+
+    private Statement createStatement(Connection connection, String sql) {
+        getConfiguration();
+        StatementCache statementCache = this.statementCache;
+        if (statementCache != null) {
+            sql = statementCache.resolve(sql);
+        }
+        return connection.createStatement(sql);
     }
 
     private <T> Mono<T> cascadeEntity(T en, RuntimePersistentEntity<T> persistentEntity,
@@ -382,7 +473,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
 
     @Override
     protected void prepareStatement(Connection connection, Dialect dialect, PersistentProperty identity, boolean hasGeneratedID, String insertSql, DBOperation1<Statement, RuntimeException> fn) {
-        Statement statement = connection.createStatement(insertSql);
+        Statement statement = createStatement(connection, insertSql);
         if (hasGeneratedID) {
             statement.returnGeneratedValues(identity.getPersistedName());
         }
@@ -500,11 +591,15 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                 if (propagationBehavior == TransactionDefinition.Propagation.MANDATORY) {
                     return Flux.error(new NoTransactionException("Expected an existing transaction, but none was found in the Reactive context."));
                 }
-                return withConnection(connection -> {
+                return withConnection(targetConnection -> {
                             if (LOG.isDebugEnabled()) {
                                 LOG.debug("Transaction Begin for DataSource: {}", dataSourceName);
                             }
-                            DefaultReactiveTransactionStatus status = new DefaultReactiveTransactionStatus(connection, true);
+                            boolean identityMapEnabled = getConfiguration().isIdentityMapEnabled();
+                            ConnectionHoldMonitor connectionHoldMonitor = this.connectionHoldMonitor;
+                            ConnectionUsage usage = connectionHoldMonitor != null ? connectionHoldMonitor.acquired(definition.getName()) : null;
+                            Connection connection = usage != null ? MonitoredConnection.wrap(targetConnection, usage) : targetConnection;
+                            DefaultReactiveTransactionStatus status = new DefaultReactiveTransactionStatus(connection, true, identityMapEnabled);
                             Mono<Boolean> resourceSupplier;
                             if (definition.getIsolationLevel() != TransactionDefinition.DEFAULT.getIsolationLevel()) {
                                 IsolationLevel isolationLevel = getIsolationLevel(definition);
@@ -538,6 +633,8 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                         if (LOG.isWarnEnabled()) {
                                             LOG.warn("Rolling back transaction on error: " + throwable.getMessage(), throwable);
                                         }
+                                        status.clearIdentityMap();
+                                        discardSnapshots(status);
                                         return Flux.from(connection.rollbackTransaction())
                                                 .hasElements()
                                                 .onErrorResume((rollbackError) -> {
@@ -548,7 +645,12 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                                 }).doFinally((sig) -> status.completed = true);
 
                                     },
-                                    (b) -> doCommit(status));
+                                    (b) -> doCommit(status))
+                                    .doFinally(signal -> {
+                                        if (usage != null) {
+                                            connectionHoldMonitor.released(usage);
+                                        }
+                                    });
                         }
                 );
             }
@@ -561,6 +663,8 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Rolling back transaction on DataSource {}.", dataSourceName);
             }
+            status.clearIdentityMap();
+            discardSnapshots(status);
             return Flux.from(status.getConnection().rollbackTransaction()).doFinally(sig -> status.completed = true);
         } else {
             if (LOG.isDebugEnabled()) {
@@ -572,6 +676,121 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         }
     }
 
+    @Nullable
+    private static EntityIdentityMap findIdentityMap(ReactiveTransactionStatus<Connection> status, boolean create) {
+        if (status instanceof DefaultReactiveTransactionStatus) {
+            return ((DefaultReactiveTransactionStatus) status).getIdentityMap(create);
+        }
+        return null;
+    }
+
+    private static <T> Flux<T> putAll(ReactiveTransactionStatus<Connection> status, RuntimePersistentEntity<T> persistentEntity, Publisher<T> entities) {
+        EntityIdentityMap identityMap = findIdentityMap(status, true);
+        if (identityMap == null) {
+            return Flux.from(entities);
+        }
+        return Flux.from(entities).doOnNext(entity -> identityMap.put(persistentEntity, entity));
+    }
+
+    @Nullable
+    private EntitySnapshots findEntitySnapshots() {
+        return getConfiguration().isDirtyTrackingEnabled() ? entitySnapshots : null;
+    }
+
+    /**
+     * Records the snapshots of the written entities. The snapshots are removed if the transaction is rolled back.
+     */
+    private <T> Flux<T> recordSnapshots(ReactiveTransactionStatus<Connection> status, RuntimePersistentEntity<T> persistentEntity, Publisher<T> entities) {
+        EntitySnapshots snapshots = findEntitySnapshots();
+        if (snapshots == null || !EntitySnapshots.isTracked(persistentEntity)) {
+            return Flux.from(entities);
+        }
+        return Flux.from(entities).doOnNext(entity -> {
+            snapshots.record(persistentEntity, entity);
+            if (status instanceof DefaultReactiveTransactionStatus) {
+                ((DefaultReactiveTransactionStatus) status).addWritten(entity);
+            }
+        });
+    }
+
+    private void discardSnapshots(DefaultReactiveTransactionStatus status) {
+        for (Object entity : status.removeWritten()) {
+            entitySnapshots.remove(entity);
+        }
+    }
+
+    /**
+     * Resolves the update of the entity instance. If dirty tracking is enabled only the modified columns are updated.
+     *
+     * @return The update or null if the entity isn't modified
+     */
+    @Nullable
+    private <T> DBOperation resolveModifiedUpdate(AnnotationMetadata annotationMetadata,
+                                                  Class<?> repositoryType,
+                                                  RuntimePersistentEntity<T> persistentEntity,
+                                                  T entity,
+                                                  DBOperation entityUpdate) {
+        EntitySnapshots snapshots = findEntitySnapshots();
+        if (snapshots == null) {
+            return entityUpdate;
+        }
+        DBOperation dirtyUpdate = resolveEntityDirtyUpdate(annotationMetadata, repositoryType, persistentEntity, entity, snapshots, entityUpdate);
+        if (dirtyUpdate == null && QUERY_LOG.isDebugEnabled()) {
+            QUERY_LOG.debug("Skipping the update of unmodified entity [{}]", persistentEntity.getName());
+        }
+        return dirtyUpdate;
+    }
+
+    /**
+     * Updates only the modified entities, batching the entities with the same modified properties together.
+     *
+     * @return The entities in the order of the operation
+     */
+    private <T> Flux<T> updateModified(ReactiveTransactionStatus<Connection> status,
+                                       UpdateBatchOperation<T> operation,
+                                       RuntimePersistentEntity<T> persistentEntity,
+                                       DBOperation entityUpdate,
+                                       boolean supportsBatchUpdate) {
+        final AnnotationMetadata annotationMetadata = operation.getAnnotationMetadata();
+        final Class<?> repositoryType = operation.getRepositoryType();
+        final Set<Object> persisted = new HashSet<>(10);
+        final int batchSize = resolveBatchSize(operation.getStoredQuery(), getConfiguration().getBatchSize());
+        List<T> entities = CollectionUtils.iterableToList(operation);
+        Map<DBOperation, List<Integer>> updates = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            DBOperation update = resolveModifiedUpdate(annotationMetadata, repositoryType, persistentEntity, entities.get(i), entityUpdate);
+            if (update != null) {
+                updates.computeIfAbsent(update, u -> new ArrayList<>()).add(i);
+            }
+        }
+        List<T> results = new ArrayList<>(entities);
+        List<Flux<T>> updated = new ArrayList<>(updates.size());
+        for (Map.Entry<DBOperation, List<Integer>> e : updates.entrySet()) {
+            List<Integer> indexes = e.getValue();
+            Flux<T> groupResults;
+            if (supportsBatchUpdate) {
+                List<T> batch = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    batch.add(entities.get(index));
+                }
+                R2dbcEntitiesOperations<T> op = new R2dbcEntitiesOperations<>(persistentEntity, batch, batchSize);
+                updateInBatch(status.getConnection(), annotationMetadata, repositoryType, e.getKey(), Collections.emptyList(), persisted, op);
+                groupResults = op.getEntities();
+            } else {
+                groupResults = concatMono(indexes.stream().map(index -> {
+                    R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, entities.get(index));
+                    updateOne(status.getConnection(), annotationMetadata, repositoryType, e.getKey(), Collections.emptyList(), persisted, op);
+                    return op.getEntity();
+                }));
+            }
+            updated.add(groupResults.index()
+                    .doOnNext(result -> results.set(indexes.get(result.getT1().intValue()), result.getT2()))
+                    .map(Tuple2::getT2));
+        }
+        return recordSnapshots(status, persistentEntity, Flux.concat(updated))
+                .thenMany(Flux.defer(() -> Flux.fromIterable(results)));
+    }
+
     private static <R> Mono<R> toSingleResult(Flux<R> flux) {
         return flux.collectList().flatMap(result -> {
             if (result.isEmpty()) {
@@ -584,18 +803,72 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         });
     }
 
+    private static Flux<Result> recordExecution(Publisher<? extends Result> results, @Nullable QueryEvents events) {
+        Flux<Result> flux = Flux.from(results);
+        return events != null ? flux.doOnNext(result -> events.executed()) : flux;
+    }
+
+    private static <R> Flux<R> recordRows(Flux<R> results, @Nullable QueryEvents events) {
+        return events != null ? results.doOnNext(result -> events.row()).doFinally(signal -> events.finish()) : results;
+    }
+
     /**
      * Represents the current reactive transaction status.
      */
     private static final class DefaultReactiveTransactionStatus implements ReactiveTransactionStatus<Connection> {
         private final Connection connection;
         private final boolean isNew;
+        private final boolean identityMapEnabled;
         private boolean rollbackOnly;
         private boolean completed;
+        private EntityIdentityMap identityMap;
+        private List<Object> written;
 
         public DefaultReactiveTransactionStatus(Connection connection, boolean isNew) {
+            this(connection, isNew, false);
+        }
+
+        public DefaultReactiveTransactionStatus(Connection connection, boolean isNew, boolean identityMapEnabled) {
             this.connection = connection;
             this.isNew = isNew;
+            this.identityMapEnabled = identityMapEnabled;
+        }
+
+        /**
+         * @param create Whether to create the identity map if it doesn't exist yet
+         * @return The identity map of the transaction or null if disabled
+         */
+        @Nullable
+        synchronized EntityIdentityMap getIdentityMap(boolean create) {
+            if (identityMap == null && create && identityMapEnabled) {
+                identityMap = new EntityIdentityMap();
+            }
+            return identityMap;
+        }
+
+        synchronized void clearIdentityMap() {
+            if (identityMap != null) {
+                identityMap.clear();
+            }
+        }
+
+        /**
+         * @param entity The entity written in the transaction with a recorded snapshot
+         */
+        synchronized void addWritten(Object entity) {
+            if (written == null) {
+                written = new ArrayList<>();
+            }
+            written.add(entity);
+        }
+
+        /**
+         * @return The entities written in the transaction with a recorded snapshot
+         */
+        synchronized List<Object> removeWritten() {
+            List<Object> entities = written == null ? Collections.emptyList() : written;
+            written = null;
+            return entities;
         }
 
         @Override
@@ -632,17 +905,19 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         @Override
         public <T> Mono<Boolean> exists(@NonNull PreparedQuery<T, Boolean> preparedQuery) {
             return Flux.from(withNewOrExistingTransaction(preparedQuery, false, status -> {
+                QueryEvents events = startQueryEvents(preparedQuery);
                 @SuppressWarnings("Convert2MethodRef") Statement statement = prepareStatement(
                         status.getConnection(),
-                        (sql) -> status.getConnection().createStatement(sql),
+                        (sql) -> createStatement(status.getConnection(), sql),
                         preparedQuery,
                         false,
-                        true
+                        true,
+                        events
                 );
-                return Flux.from(statement.execute())
+                return recordRows(recordExecution(statement.execute(), events)
                         .flatMap((r) ->
                                 Flux.from(r.map((row, metadata) -> true))
-                        );
+                        ), events);
             })).collectList().map(results -> !results.isEmpty()).defaultIfEmpty(false);
             // Read full Flux because some drivers doesn't properly handle `cancel`
         }
@@ -651,14 +926,29 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         @Override
         public <T, R> Mono<R> findOne(@NonNull PreparedQuery<T, R> preparedQuery) {
             return Flux.from(withNewOrExistingTransaction(preparedQuery, false, status -> {
+                EntityIdentityMap identityMap = findIdentityMap(status, true);
+                if (identityMap != null) {
+                    Object id = EntityIdentityMap.findLookupId(preparedQuery);
+                    if (id != null) {
+                        R entity = identityMap.get(getEntity(preparedQuery.getResultType()), id);
+                        if (entity != null) {
+                            if (QUERY_LOG.isDebugEnabled()) {
+                                QUERY_LOG.debug("Found entity [{}] with id [{}] in the transaction identity map", preparedQuery.getResultType().getName(), id);
+                            }
+                            return Mono.just(entity);
+                        }
+                    }
+                }
+                QueryEvents events = startQueryEvents(preparedQuery);
                 @SuppressWarnings("Convert2MethodRef") Statement statement = prepareStatement(
                         status.getConnection(),
-                        (sql) -> status.getConnection().createStatement(sql),
+                        (sql) -> createStatement(status.getConnection(), sql),
                         preparedQuery,
                         false,
-                        true
+                        true,
+                        events
                 );
-                return Flux.from(statement.execute())
+                return recordRows(recordExecution(statement.execute(), events)
                         .flatMap((r) -> {
                             if (preparedQuery.getResultDataType() == DataType.ENTITY) {
                                 Class<R> resultType = preparedQuery.getResultType();
@@ -675,12 +965,18 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                                 return o;
                                             }
                                         },
-                                        conversionService);
+                                        conversionService,
+                                        identityMap,
+                                        findEntitySnapshots());
                                 SqlResultEntityTypeMapper.PushingMapper<Row, R> rowsMapper = mapper.readOneWithJoins();
-                                return Flux.from(r.map((row, metadata) -> {
+                                Mono<R> result = Flux.from(r.map((row, metadata) -> {
                                     rowsMapper.processRow(row);
                                     return "";
                                 })).collectList().flatMap(ignore -> Mono.justOrEmpty(rowsMapper.getResult()));
+                                if (identityMap != null && preparedQuery.getRootEntity().equals(resultType)) {
+                                    return result.doOnNext(entity -> identityMap.put(persistentEntity, entity));
+                                }
+                                return result;
                             }
                             Class<R> resultType = preparedQuery.getResultType();
                             if (preparedQuery.isDtoProjection()) {
@@ -703,7 +999,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                     return Flux.just(columnIndexResultSetReader.convertRequired(v, resultType));
                                 }
                             })).flatMap(m -> m);
-                        });
+                        }), events);
             })).as(DefaultR2dbcRepositoryOperations::toSingleResult);
         }
 
@@ -711,17 +1007,20 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         @Override
         public <T, R> Flux<R> findAll(@NonNull PreparedQuery<T, R> preparedQuery) {
             return Flux.from(withNewOrExistingTransaction(preparedQuery, false, status -> {
+                QueryEvents events = startQueryEvents(preparedQuery);
                 @SuppressWarnings("Convert2MethodRef") Statement statement = prepareStatement(
                         status.getConnection(),
-                        (sql) -> status.getConnection().createStatement(sql),
+                        (sql) -> createStatement(status.getConnection(), sql),
                         preparedQuery,
                         false,
-                        false
+                        false,
+                        events
                 );
                 Class<R> resultType = preparedQuery.getResultType();
                 boolean dtoProjection = preparedQuery.isDtoProjection();
                 boolean isEntity = preparedQuery.getResultDataType() == DataType.ENTITY;
-                return Flux.from(statement.execute())
+                EntityIdentityMap identityMap = isEntity && !dtoProjection ? findIdentityMap(status, true) : null;
+                Flux<R> results = recordExecution(statement.execute(), events)
                         .flatMap(r -> {
                             if (isEntity || dtoProjection) {
                                 TypeMapper<Row, R> mapper;
@@ -747,7 +1046,9 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                                     return o;
                                                 }
                                             },
-                                            conversionService);
+                                            conversionService,
+                                            identityMap,
+                                            findEntitySnapshots());
                                     boolean onlySingleEndedJoins = isOnlySingleEndedJoins(getEntity(preparedQuery.getRootEntity()), joinFetchPaths);
                                     // Cannot stream ResultSet for "many" joined query
                                     if (!onlySingleEndedJoins) {
@@ -779,6 +1080,11 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                 })).flatMap(m -> m);
                             }
                         });
+                results = recordRows(results, events);
+                if (identityMap != null && preparedQuery.getRootEntity().equals(resultType)) {
+                    return putAll(status, getEntity(resultType), results);
+                }
+                return results;
             }));
         }
 
@@ -786,15 +1092,24 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         @Override
         public Mono<Number> executeUpdate(@NonNull PreparedQuery<?, Number> preparedQuery) {
             return Flux.from(withNewOrExistingTransaction(preparedQuery, true, status -> {
+                EntityIdentityMap identityMap = findIdentityMap(status, false);
+                if (identityMap != null) {
+                    identityMap.clear(getEntity(preparedQuery.getRootEntity()));
+                }
+                QueryEvents events = startQueryEvents(preparedQuery);
                 @SuppressWarnings("Convert2MethodRef") Statement statement = prepareStatement(
                         status.getConnection(),
-                        (sql) -> status.getConnection().createStatement(sql),
+                        (sql) -> createStatement(status.getConnection(), sql),
                         preparedQuery,
                         true,
-                        true
+                        true,
+                        events
                 );
                 return Flux.from(statement.execute())
                         .flatMap((result) -> Flux.from(result.getRowsUpdated()).flatMap(rowsUpdated -> {
+                            if (events != null) {
+                                events.finishUpdate(rowsUpdated);
+                            }
                             if (QUERY_LOG.isTraceEnabled()) {
                                 QUERY_LOG.trace("Update operation updated {} records", rowsUpdated);
                             }
@@ -827,7 +1142,12 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         public <T> Mono<Number> delete(@NonNull DeleteOperation<T> operation) {
             SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(operation.getRepositoryType(), DEFAULT_SQL_BUILDER);
             return Flux.<Number>from(withNewOrExistingTransaction(operation, true, status -> {
-                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
+                RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+                EntityIdentityMap identityMap = findIdentityMap(status, false);
+                if (identityMap != null) {
+                    identityMap.remove(persistentEntity, operation.getEntity());
+                }
+                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, operation.getEntity());
                 StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
                 deleteOne(status.getConnection(), op, dbOperation);
                 return op.getRowsUpdated();
@@ -845,7 +1165,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                 final RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
                 final HashSet<Object> persisted = new HashSet<>(5);
                 if (!isSupportsBatchInsert(persistentEntity, queryBuilder.dialect())) {
-                    return concatMono(
+                    return putAll(status, persistentEntity, recordSnapshots(status, persistentEntity, concatMono(
                             operation.split().stream()
                                     .map(persistOp -> {
                                         R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, persistOp.getEntity());
@@ -859,7 +1179,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                                                 op);
                                         return op.getEntity();
                                     })
-                    );
+                    )));
                 } else {
                     R2dbcEntitiesOperations<T> op = new R2dbcEntitiesOperations<>(persistentEntity, operation);
                     persistInBatch(
@@ -871,7 +1191,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                             persisted,
                             op
                     );
-                    return op.getEntities();
+                    return putAll(status, persistentEntity, recordSnapshots(status, persistentEntity, op.getEntities()));
                 }
             }));
         }
@@ -890,9 +1210,10 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
             final Set<Object> persisted = new HashSet<>(10);
             StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
             return Flux.from(withNewOrExistingTransaction(operation, true, status -> {
-                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
+                RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, operation.getEntity());
                 persistOne(status.getConnection(), annotationMetadata, operation.getRepositoryType(), dbOperation, Collections.emptyList(), persisted, op);
-                return op.getEntity();
+                return putAll(status, persistentEntity, recordSnapshots(status, persistentEntity, op.getEntity()));
             })).as(DefaultR2dbcRepositoryOperations::toSingleResult);
         }
 
@@ -905,9 +1226,14 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
             final Set<Object> persisted = new HashSet<>(10);
             final Class<?> repositoryType = operation.getRepositoryType();
             return Flux.from(withNewOrExistingTransaction(operation, true, status -> {
-                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(getEntity(operation.getRootEntity()), operation.getEntity());
-                updateOne(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
-                return op.getEntity();
+                RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+                DBOperation entityUpdate = resolveModifiedUpdate(annotationMetadata, repositoryType, persistentEntity, operation.getEntity(), dbOperation);
+                if (entityUpdate == null) {
+                    return putAll(status, persistentEntity, Mono.just(operation.getEntity()));
+                }
+                R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, operation.getEntity());
+                updateOne(status.getConnection(), annotationMetadata, repositoryType, entityUpdate, Collections.emptyList(), persisted, op);
+                return putAll(status, persistentEntity, recordSnapshots(status, persistentEntity, op.getEntity()));
             })).as(DefaultR2dbcRepositoryOperations::toSingleResult);
         }
 
@@ -981,15 +1307,68 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
             if (isWrite && definition.isReadOnly()) {
                 return Mono.error(new TransactionUsageException("Cannot perform write operation with read-only transaction"));
             }
+            if (!isWrite && isAutoCommitRead(definition)) {
+                return withExistingTransactionOrAutoCommit(definition, entityOperation);
+            }
             return withTransaction(definition, entityOperation);
         }
 
+        private boolean isAutoCommitRead(TransactionDefinition definition) {
+            if (definition.getPropagationBehavior() == TransactionDefinition.Propagation.SUPPORTS) {
+                return true;
+            }
+            return definition == TransactionDefinition.DEFAULT && getConfiguration().isAutoCommitReads();
+        }
+
+        private <R> Publisher<R> withExistingTransactionOrAutoCommit(
+                TransactionDefinition definition,
+                TransactionalCallback<Connection, R> entityOperation) {
+            return Flux.deferContextual(contextView -> {
+                if (contextView.hasKey(ReactiveTransactionStatus.STATUS)) {
+                    // join the existing transaction
+                    return withTransaction(definition, entityOperation);
+                }
+                return withConnection(targetConnection -> {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Executing read in auto-commit mode for DataSource: {}", dataSourceName);
+                    }
+                    // The monitor is created with the configuration
+                    getConfiguration();
+                    ConnectionHoldMonitor connectionHoldMonitor = DefaultR2dbcRepositoryOperations.this.connectionHoldMonitor;
+                    ConnectionUsage usage = connectionHoldMonitor != null ? connectionHoldMonitor.acquired(definition.getName()) : null;
+                    Connection connection = usage != null ? MonitoredConnection.wrap(targetConnection, usage) : targetConnection;
+                    Publisher<R> result;
+                    try {
+                        result = entityOperation.doInTransaction(new DefaultReactiveTransactionStatus(connection, false));
+                    } catch (Exception e) {
+                        result = Mono.error(new TransactionSystemException("Error invoking doInTransaction handler: " + e.getMessage(), e));
+                    }
+                    if (usage == null) {
+                        return result;
+                    }
+                    return Flux.from(result).doFinally(signal -> connectionHoldMonitor.released(usage));
+                });
+            });
+        }
+
         @NonNull
         @Override
         public <T> Mono<Number> deleteAll(DeleteBatchOperation<T> operation) {
             return Flux.<Number>from(withNewOrExistingTransaction(operation, true, status -> {
                 SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(operation.getRepositoryType(), DEFAULT_SQL_BUILDER);
                 RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
+                EntityIdentityMap identityMap = findIdentityMap(status, false);
+                if (identityMap != null) {
+                    for (T entity : operation) {
+                        identityMap.remove(persistentEntity, entity);
+                    }
+                }
+                String[] setDelete = resolveEntitySetDelete(operation.getAnnotationMetadata(), operation.getRepositoryType(), persistentEntity, operation.getStoredQuery());
+                if (setDelete != null) {
+                    R2dbcEntitiesOperations<T> op = new R2dbcEntitiesOperations<>(persistentEntity, operation);
+                    op.deleteInSet(status.getConnection(), queryBuilder, setDelete);
+                    return op.getRowsUpdated();
+                }
                 if (isSupportsBatchDelete(persistentEntity, queryBuilder.dialect())) {
                     R2dbcEntitiesOperations<T> op = new R2dbcEntitiesOperations<>(persistentEntity, operation);
                     StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
@@ -1018,19 +1397,22 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                 SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
                 final RuntimePersistentEntity<T> persistentEntity = getEntity(operation.getRootEntity());
                 StoredSqlOperation dbOperation = new StoredQuerySqlOperation(queryBuilder, operation.getStoredQuery());
+                if (findEntitySnapshots() != null && EntitySnapshots.isTracked(persistentEntity)) {
+                    return putAll(status, persistentEntity, updateModified(status, operation, persistentEntity, dbOperation, isSupportsBatchUpdate(persistentEntity, queryBuilder.dialect())));
+                }
                 if (!isSupportsBatchUpdate(persistentEntity, queryBuilder.dialect())) {
-                    return concatMono(
+                    return putAll(status, persistentEntity, concatMono(
                             operation.split().stream()
                                     .map(updateOp -> {
                                         R2dbcEntityOperations<T> op = new R2dbcEntityOperations<>(persistentEntity, updateOp.getEntity());
                                         updateOne(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
                                         return op.getEntity();
                                     })
-                    );
+                    ));
                 }
                 R2dbcEntitiesOperations<T> op = new R2dbcEntitiesOperations<>(persistentEntity, operation);
                 updateInBatch(status.getConnection(), annotationMetadata, repositoryType, dbOperation, Collections.emptyList(), persisted, op);
-                return op.getEntities();
+                return putAll(status, persistentEntity, op.getEntities());
 
             }));
         }
@@ -1130,7 +1512,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
                     return d;
                 });
             }
-            return connection.createStatement(sqlOperation.getQuery());
+            return createStatement(connection, sqlOperation.getQuery());
         }
 
         @Override
@@ -1248,20 +1630,30 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
 
     private final class R2dbcEntitiesOperations<T> extends EntitiesOperations<T> {
 
+        private final int batchSize;
         private Flux<Data> entities;
-        private Mono<Integer> rowsUpdated;
+        private OpContext<Connection, Statement> context;
+        private Connection connection;
+        private DBOperation dbOperation;
+
+        private R2dbcEntitiesOperations(RuntimePersistentEntity<T> persistentEntity, BatchOperation<T> operation) {
+            this(persistentEntity, operation, resolveBatchSize(operation.getStoredQuery(), getConfiguration().getBatchSize()));
+        }
 
         private R2dbcEntitiesOperations(RuntimePersistentEntity<T> persistentEntity, Iterable<T> entities) {
+            this(persistentEntity, entities, getConfiguration().getBatchSize());
+        }
+
+        private R2dbcEntitiesOperations(RuntimePersistentEntity<T> persistentEntity, Iterable<T> entities, int batchSize) {
             super(persistentEntity);
             Objects.requireNonNull(entities, "Entities cannot be null");
-            if (!entities.iterator().hasNext()) {
-                throw new IllegalStateException("Entities cannot be empty");
-            }
+            this.batchSize = batchSize;
+            // The entities are iterated only once, so that one-shot iterables can be persisted
             this.entities = Flux.fromIterable(entities).map(entity -> {
                 Data data = new Data();
                 data.entity = entity;
                 return data;
-            });
+            }).switchIfEmpty(Flux.defer(() -> Flux.error(new IllegalStateException("Entities cannot be empty"))));
         }
 
         @Override
@@ -1277,7 +1669,7 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
 
         @Override
         protected Statement prepare(Connection connection, DBOperation sqlOperation) throws RuntimeException {
-            return connection.createStatement(sqlOperation.getQuery());
+            return createStatement(connection, sqlOperation.getQuery());
         }
 
         @Override
@@ -1350,77 +1742,132 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
 
         @Override
         protected void setParameters(OpContext<Connection, Statement> context, Connection connection, Statement stmt, DBOperation dbOperation) {
-            entities = entities.map(d -> {
-                if (d.vetoed) {
-                    return d;
-                }
-                dbOperation.setParameters(context, connection, stmt, persistentEntity, d.entity, d.previousValues);
-                stmt.add();
-                return d;
-            });
+            // The parameters are bound per chunk when the statements are executed
+            this.context = context;
+            this.connection = connection;
+            this.dbOperation = dbOperation;
         }
 
         @Override
         protected void executeUpdate(Statement stmt) {
-            entities = entities.collectList()
-                    .flatMapMany(e -> {
-                        List<Data> notVetoedEntities = e.stream().filter(this::notVetoed).collect(Collectors.toList());
-                        if (notVetoedEntities.isEmpty()) {
-                            return Flux.fromIterable(e);
-                        }
-                        // Remove in the future: unneeded call "getRowsUpdated" is required for some drivers
-                        return Flux.from(stmt.execute()).flatMap(result -> Flux.from(result.getRowsUpdated())).thenMany(Flux.fromIterable(e));
-                    });
+            entities = executeInChunks(stmt, false, (chunk, statement) ->
+                    // Remove in the future: unneeded call "getRowsUpdated" is required for some drivers
+                    Flux.from(statement.execute()).flatMap(result -> Flux.from(result.getRowsUpdated())).then(Mono.just(chunk))
+            );
         }
 
         @Override
         protected void executeUpdate(Statement stmt, DBOperation2<Integer, Integer, RuntimeException> fn) {
-            Mono<Tuple2<List<Data>, Integer>> entitiesWithRowsUpdated = entities.collectList()
-                    .flatMap(e -> {
-                        List<Data> notVetoedEntities = e.stream().filter(this::notVetoed).collect(Collectors.toList());
-                        if (notVetoedEntities.isEmpty()) {
-                            return Mono.just(Tuples.of(e, 0));
-                        }
-                        return Flux.from(stmt.execute()).flatMap(result -> Flux.from(result.getRowsUpdated())).reduce(0, Integer::sum)
-                                .map(rowsUpdated -> {
-                                    fn.process(notVetoedEntities.size(), rowsUpdated);
-                                    return Tuples.of(e, rowsUpdated);
-                                });
-                    }).cache();
-            entities = entitiesWithRowsUpdated.flatMapMany(t -> Flux.fromIterable(t.getT1()));
-            rowsUpdated = entitiesWithRowsUpdated.map(Tuple2::getT2);
+            entities = executeInChunks(stmt, false, (chunk, statement) ->
+                    Flux.from(statement.execute()).flatMap(result -> Flux.from(result.getRowsUpdated())).reduce(0, Integer::sum)
+                            .map(rowsUpdated -> {
+                                fn.process((int) chunk.stream().filter(this::notVetoed).count(), rowsUpdated);
+                                // The rows of the whole chunk are accounted to its first element
+                                chunk.get(0).rowsUpdated = rowsUpdated;
+                                return chunk;
+                            })
+            );
         }
 
         @Override
         protected void executeUpdateSetGeneratedId(Statement stmt) {
-            entities = entities.collectList()
-                    .flatMapMany(e -> {
-                        List<Data> notVetoedEntities = e.stream().filter(this::notVetoed).collect(Collectors.toList());
-                        if (notVetoedEntities.isEmpty()) {
-                            return Flux.fromIterable(notVetoedEntities);
-                        }
-                        Mono<List<Object>> ids = Flux.from(stmt.execute())
-                                .flatMap(result ->
-                                        Flux.from(result.map((row, rowMetadata)
-                                                -> columnIndexResultSetReader.readDynamic(row, 0, persistentEntity.getIdentity().getDataType())))
-                                ).collectList();
-
-                        return ids.flatMapMany(idList -> {
-                            Iterator<Object> iterator = idList.iterator();
-                            ListIterator<Data> resultIterator = notVetoedEntities.listIterator();
-                            RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
-                            while (resultIterator.hasNext()) {
-                                Data d = resultIterator.next();
-                                if (!iterator.hasNext()) {
-                                    throw new DataAccessException("Failed to generate ID for entity: " + d.entity);
-                                } else {
-                                    Object id = iterator.next();
-                                    d.entity = updateEntityId((BeanProperty<T, Object>) identity.getProperty(), d.entity, id);
+            RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
+            entities = executeInChunks(stmt, true, (chunk, statement) ->
+                    Flux.from(statement.execute())
+                            .flatMap(result ->
+                                    Flux.from(result.map((row, rowMetadata)
+                                            -> columnIndexResultSetReader.readDynamic(row, 0, identity.getDataType())))
+                            ).collectList()
+                            .map(idList -> {
+                                Iterator<Object> iterator = idList.iterator();
+                                for (Data d : chunk) {
+                                    if (d.vetoed) {
+                                        continue;
+                                    }
+                                    if (!iterator.hasNext()) {
+                                        throw new DataAccessException("Failed to generate ID for entity: " + d.entity);
+                                    }
+                                    d.entity = updateEntityId((BeanProperty<T, Object>) identity.getProperty(), d.entity, iterator.next());
                                 }
+                                return chunk;
+                            })
+            );
+        }
+
+        /**
+         * Splits the entities into chunks of the configured batch size. Each chunk is bound to its own statement and
+         * the chunks are executed one after the other, so only a bounded number of entities is held in memory.
+         *
+         * @param preparedStatement     The statement prepared for the operation, used for the first chunk
+         * @param returnGeneratedValues Whether new statements should return the generated identity
+         * @param executor              Executes a chunk with its statement
+         * @return The entities
+         */
+        private Flux<Data> executeInChunks(Statement preparedStatement,
+                                           boolean returnGeneratedValues,
+                                           BiFunction<List<Data>, Statement, Mono<List<Data>>> executor) {
+            return entities.buffer(batchSize)
+                    .index()
+                    .concatMap(indexedChunk -> {
+                        List<Data> chunk = indexedChunk.getT2();
+                        if (chunk.stream().allMatch(d -> d.vetoed)) {
+                            return Flux.fromIterable(chunk);
+                        }
+                        Statement statement;
+                        if (indexedChunk.getT1() == 0) {
+                            statement = preparedStatement;
+                        } else {
+                            statement = createStatement(connection, dbOperation.getQuery());
+                            if (returnGeneratedValues) {
+                                statement.returnGeneratedValues(persistentEntity.getIdentity().getPersistedName());
                             }
-                            return Flux.fromIterable(e);
-                        });
-                    });
+                        }
+                        for (Data d : chunk) {
+                            if (d.vetoed) {
+                                continue;
+                            }
+                            dbOperation.setParameters(context, connection, statement, persistentEntity, d.entity, d.previousValues);
+                            statement.add();
+                        }
+                        return executor.apply(chunk, statement).flatMapIterable(Function.identity());
+                    }, 1);
+        }
+
+        /**
+         * Deletes the entities in chunks, each with a single statement selecting them by their ids, see
+         * {@link #resolveEntitySetDelete(AnnotationMetadata, Class, RuntimePersistentEntity, io.micronaut.data.model.runtime.StoredQuery)}.
+         * The remove events are triggered as for a batch delete.
+         *
+         * @param connection   The connection
+         * @param queryBuilder The query builder
+         * @param queryParts   The parts of the delete
+         */
+        private void deleteInSet(Connection connection, SqlQueryBuilder queryBuilder, String[] queryParts) {
+            Dialect dialect = queryBuilder.dialect();
+            triggerPreRemove();
+            entities = entities.buffer(Math.min(batchSize, dialect.getMaxInListSize()))
+                    .concatMap(chunk -> {
+                        List<T> deleted = chunk.stream().filter(this::notVetoed).map(d -> d.entity).collect(Collectors.toList());
+                        if (deleted.isEmpty()) {
+                            return Flux.fromIterable(chunk);
+                        }
+                        String query = buildEntitySetDelete(queryBuilder, persistentEntity, queryParts, deleted.size());
+                        if (QUERY_LOG.isDebugEnabled()) {
+                            QUERY_LOG.debug("Executing SQL DELETE: {}", query);
+                        }
+                        Statement statement = createStatement(connection, query);
+                        setEntityIdParameters(connection, statement, persistentEntity, deleted, dialect);
+                        return Flux.from(statement.execute()).flatMap(result -> Flux.from(result.getRowsUpdated())).reduce(0, Integer::sum)
+                                .flatMapIterable(rowsUpdated -> {
+                                    if (QUERY_LOG.isTraceEnabled()) {
+                                        QUERY_LOG.trace("Delete operation deleted {} records", rowsUpdated);
+                                    }
+                                    // The rows of the whole chunk are accounted to its first element
+                                    chunk.get(0).rowsUpdated = rowsUpdated;
+                                    return chunk;
+                                });
+                    }, 1);
+            triggerPostRemove();
         }
 
         private boolean notVetoed(Data data) {
@@ -1432,13 +1879,14 @@ final class DefaultR2dbcRepositoryOperations extends AbstractSqlRepositoryOperat
         }
 
         protected Mono<Integer> getRowsUpdated() {
-            // We need to trigger entities to execute post actions when getting just rows
-            return rowsUpdated.flatMap(rows -> entities.then(Mono.just(rows)));
+            // Consuming the entities also triggers the post actions
+            return entities.map(d -> d.rowsUpdated).reduce(0, Integer::sum);
         }
 
         class Data {
             T entity;
             Map<QueryParameterBinding, Object> previousValues;
+            int rowsUpdated;
             boolean vetoed = false;
         }
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.r2dbc.operations;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.transaction.support.ConnectionUsage;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Proxies an R2DBC {@link Connection} to record the statements executed with it in a {@link ConnectionUsage}. A
+ * statement is active from the subscription to its results until they complete, fail or are cancelled. All the other
+ * methods are delegated to the target connection.
+ *
+ * @since 3.3
+ */
+@Internal
+final class MonitoredConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final ConnectionUsage usage;
+
+    private MonitoredConnection(Connection target, ConnectionUsage usage) {
+        this.target = target;
+        this.usage = usage;
+    }
+
+    /**
+     * Wraps the connection.
+     *
+     * @param target The target connection
+     * @param usage  The usage to record the statements in
+     * @return The proxy
+     */
+    static Connection wrap(Connection target, ConnectionUsage usage) {
+        return (Connection) Proxy.newProxyInstance(
+                MonitoredConnection.class.getClassLoader(),
+                new Class[]{Connection.class},
+                new MonitoredConnection(target, usage)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        Object result = invokeTarget(target, method, args);
+        if (result instanceof Statement && method.getName().equals("createStatement")) {
+            return Proxy.newProxyInstance(
+                    MonitoredConnection.class.getClassLoader(),
+                    new Class[]{Statement.class},
+                    new MonitoredStatement((Statement) result)
+            );
+        }
+        return result;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Records the executions of a statement.
+     */
+    private final class MonitoredStatement implements InvocationHandler {
+
+        private final Statement target;
+
+        MonitoredStatement(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result == target) {
+                // Keep the fluent calls on the proxy
+                return proxy;
+            }
+            if (method.getName().equals("execute") && result instanceof Publisher) {
+                return Flux.from((Publisher<?>) result)
+                        .doOnSubscribe(subscription -> usage.statementStarted())
+                        .doFinally(signal -> usage.statementCompleted());
+            }
+            return result;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
 import org.reactivestreams.Publisher;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -53,4 +54,13 @@ public interface R2dbcOperations extends ReactiveTransactionOperations<Connectio
      * @return A publisher that emits the result type
      */
     @NonNull <T> Publisher<T> withConnection(@NonNull Function<Connection, Publisher<T>> handler);
+
+    /**
+     * Obtains the statement cache, which exposes the cache hit metrics.
+     * @return The statement cache if the prepared statement cache is enabled
+     * @since 3.3
+     */
+    default @NonNull Optional<StatementCache> getStatementCache() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.r2dbc.operations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the SQL statements issued by the R2DBC operations. Drivers like r2dbc-postgres cache prepared statements
+ * per connection keyed by the SQL, a statement already seen by this cache can therefore be executed without being parsed again.
+ * The hit and miss counts indicate how stable the generated SQL is.
+ *
+ * <p>The cache stops recording new statements once the maximum size is reached.</p>
+ *
+ * @since 3.3
+ */
+public final class StatementCache {
+
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxSize;
+
+    /**
+     * @param maxSize The maximum number of statements
+     */
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Resolves the SQL to its cached instance.
+     *
+     * @param sql The SQL
+     * @return The cached SQL
+     */
+    String resolve(String sql) {
+        String cached = statements.get(sql);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        if (statements.size() < maxSize) {
+            cached = statements.putIfAbsent(sql, sql);
+        }
+        return cached != null ? cached : sql;
+    }
+
+    /**
+     * @return The number of statements that were issued before.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of statements that were not issued before.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of cached statements.
+     */
+    public int getSize() {
+        return statements.size();
+    }
+
+    /**
+     * @return The maximum number of cached statements.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCache{hits=" + getHitCount() + ", misses=" + getMissCount() + ", size=" + getSize() + ", maxSize=" + maxSize + '}';
+    }
+}
@@ -0,0 +1,106 @@
+package io.micronaut.data.r2dbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.r2dbc.config.DataR2dbcConfiguration
+import io.micronaut.data.r2dbc.operations.R2dbcOperations
+import io.micronaut.data.tck.entities.Product
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class H2AutoCommitReadSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + [
+            "r2dbc.datasources.default.auto-commit-reads"  : "true",
+            "r2dbc.datasources.default.hold-time-threshold": "100ms"
+    ])
+
+    @Shared
+    H2ReactorProductRepository productRepository = context.getBean(H2ReactorProductRepository)
+
+    @Shared
+    R2dbcOperations operations = context.getBean(R2dbcOperations)
+
+    def cleanup() {
+        productRepository.deleteAll().block()
+    }
+
+    void "test auto-commit reads are opt-in"() {
+        expect:
+        context.getBean(DataR2dbcConfiguration).autoCommitReads
+        !new DataR2dbcConfiguration("other", null, null).autoCommitReads
+    }
+
+    void "test reads outside of a transaction"() {
+        given:
+        productRepository.save(new Product("Auto", BigDecimal.ONE)).block()
+
+        expect:
+        productRepository.findByName("Auto").block().name == "Auto"
+        productRepository.findAll().collectList().block().size() == 1
+        productRepository.existsById(productRepository.findByName("Auto").block().id).block()
+    }
+
+    void "test reads join an existing transaction"() {
+        when:
+        def found = Mono.from(operations.withTransaction(status ->
+                productRepository.save(new Product("Uncommitted", BigDecimal.TEN))
+                        .then(productRepository.findByName("Uncommitted"))
+                        .doOnNext(p -> status.setRollbackOnly())
+        )).block()
+
+        then: "the read sees the uncommitted row of the surrounding transaction"
+        found.name == "Uncommitted"
+
+        and: "the transaction was rolled back"
+        productRepository.findByName("Uncommitted").block() == null
+    }
+
+    @IgnoreIf({ !jvm.isJava11Compatible() })
+    void "test the connections of auto-commit reads are monitored"() {
+        given:
+        productRepository.saveAll((1..3).collect { new Product("Product $it", BigDecimal.ONE) }).collectList().block()
+
+        when: "the rows are consumed slowly, one at a time"
+        List<RecordedEvent> events = record {
+            Flux.from(productRepository.findAll())
+                    .limitRate(1)
+                    .concatMap({ Mono.delay(Duration.ofMillis(150)).thenReturn(it) }, 1)
+                    .collectList()
+                    .block()
+        }
+
+        then:
+        events.size() == 1
+        events[0].getString("dataSource") == "default"
+        events[0].getDuration("holdTime") >= Duration.ofMillis(100)
+    }
+
+    private static List<RecordedEvent> record(Closure<?> closure) {
+        Path file = Files.createTempFile("micronaut-data", ".jfr")
+        try {
+            Recording recording = new Recording()
+            recording.enable("io.micronaut.data.ConnectionHold")
+            recording.start()
+            closure.call()
+            recording.stop()
+            recording.dump(file)
+            recording.close()
+            return RecordingFile.readAllEvents(file)
+        } finally {
+            Files.deleteIfExists(file)
+        }
+    }
+}
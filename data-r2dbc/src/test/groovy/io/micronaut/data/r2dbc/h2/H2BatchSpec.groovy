@@ -0,0 +1,77 @@
+package io.micronaut.data.r2dbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.r2dbc.config.DataR2dbcConfiguration
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2BatchSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["r2dbc.datasources.default.batch-size": "3"])
+
+    @Shared
+    H2ReactivePersonRepository personRepository = context.getBean(H2ReactivePersonRepository)
+
+    def cleanup() {
+        personRepository.deleteAll().blockingGet()
+    }
+
+    void "test batch size is configurable"() {
+        expect:
+        context.getBean(DataR2dbcConfiguration).batchSize == 3
+    }
+
+    void "test save all is split into chunks"() {
+        when:
+        def people = personRepository.saveAll((1..10).collect { new Person(name: "Person $it", age: it) }).toList().blockingGet()
+
+        then:
+        people.size() == 10
+        people*.id.every { it != null }
+        people*.id.toSet().size() == 10
+        people*.name == (1..10).collect { "Person $it".toString() }
+        personRepository.count().blockingGet() == 10
+    }
+
+    void "test save all iterates the entities once"() {
+        given:
+        Iterator<Person> people = (1..5).collect { new Person(name: "Person $it") }.iterator()
+        int iterations = 0
+        Iterable<Person> oneShot = {
+            if (iterations++ > 0) {
+                throw new IllegalStateException("Already iterated")
+            }
+            people
+        } as Iterable<Person>
+
+        when:
+        def saved = personRepository.saveAll(oneShot).toList().blockingGet()
+
+        then:
+        saved.size() == 5
+        iterations == 1
+        personRepository.count().blockingGet() == 5
+    }
+
+    void "test update and delete all are split into chunks"() {
+        given:
+        def people = personRepository.saveAll((1..7).collect { new Person(name: "Person $it") }).toList().blockingGet()
+
+        when:
+        people.each { it.name = it.name.toUpperCase() }
+        personRepository.updateAll(people).toList().blockingGet()
+
+        then:
+        personRepository.findAll().toList().blockingGet()*.name.every { it.startsWith("PERSON") }
+
+        when:
+        personRepository.deleteAll(people.subList(0, 5)).blockingAwait()
+
+        then:
+        personRepository.count().blockingGet() == 2
+    }
+}
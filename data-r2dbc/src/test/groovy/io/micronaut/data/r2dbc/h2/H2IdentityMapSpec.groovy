@@ -0,0 +1,58 @@
+package io.micronaut.data.r2dbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.r2dbc.operations.R2dbcOperations
+import io.micronaut.data.tck.entities.Product
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2IdentityMapSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["r2dbc.datasources.default.identity-map-enabled": "true"])
+
+    @Shared
+    H2ReactorProductRepository productRepository = context.getBean(H2ReactorProductRepository)
+
+    @Shared
+    R2dbcOperations operations = context.getBean(R2dbcOperations)
+
+    def cleanup() {
+        productRepository.deleteAll().block()
+    }
+
+    void "test lookups by id are served from the identity map in a transaction"() {
+        given:
+        Product product = productRepository.save(new Product("Identity", BigDecimal.ONE)).block()
+
+        expect:"the instances are not shared outside of a transaction"
+        !productRepository.findById(product.id).block().is(productRepository.findById(product.id).block())
+
+        when:
+        def result = Mono.from(operations.withTransaction(status ->
+                productRepository.findById(product.id).flatMap(first ->
+                        productRepository.findById(product.id).map(second -> first.is(second)))
+        )).block()
+
+        then:
+        result
+    }
+
+    void "test deleted entities are evicted"() {
+        given:
+        Product product = productRepository.save(new Product("Deleted", BigDecimal.ONE)).block()
+
+        when:
+        def found = Mono.from(operations.withTransaction(status ->
+                productRepository.findById(product.id)
+                        .flatMap(p -> productRepository.delete(p))
+                        .then(productRepository.findById(product.id))
+        )).block()
+
+        then:
+        found == null
+    }
+}
@@ -0,0 +1,63 @@
+package io.micronaut.data.r2dbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.r2dbc.operations.R2dbcOperations
+import io.micronaut.data.r2dbc.operations.StatementCache
+import io.micronaut.data.tck.entities.Person
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class H2StatementCacheSpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ["r2dbc.datasources.default.prepared-statement-cache-enabled": "true"])
+
+    @Shared
+    H2PersonRepository personRepository = context.getBean(H2PersonRepository)
+
+    def setup() {
+        personRepository.saveAll((1..6).collect { new Person(name: "Person $it") })
+    }
+
+    def cleanup() {
+        personRepository.deleteAll()
+    }
+
+    void "test statement cache is exposed"() {
+        expect:
+        context.getBean(R2dbcOperations).statementCache.isPresent()
+    }
+
+    void "test expanded parameters produce the same statement"() {
+        given:
+        StatementCache cache = context.getBean(R2dbcOperations).statementCache.get()
+
+        when:
+        def result1 = personRepository.queryNames(["Person 1", "Person 2", "Person 3"], "x", [], ["Person 4"], "y")
+        long misses = cache.missCount
+        long hits = cache.hitCount
+        def result2 = personRepository.queryNames(["Person 1", "Person 2", "Person 3", "Person 5"], "x", [], ["Person 4"], "y")
+
+        then: "the padded query is reused"
+        result1*.name.sort() == ["Person 1", "Person 2", "Person 3", "Person 4"]
+        result2*.name.sort() == ["Person 1", "Person 2", "Person 3", "Person 4", "Person 5"]
+        cache.missCount == misses
+        cache.hitCount == hits + 1
+    }
+
+    void "test repeated finders hit the cache"() {
+        given:
+        StatementCache cache = context.getBean(R2dbcOperations).statementCache.get()
+
+        when:
+        personRepository.findByName("Person 1")
+        long hits = cache.hitCount
+        personRepository.findByName("Person 2")
+
+        then:
+        cache.hitCount == hits + 1
+        cache.size > 0
+    }
+}
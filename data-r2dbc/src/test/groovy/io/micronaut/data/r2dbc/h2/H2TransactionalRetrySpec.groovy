@@ -0,0 +1,88 @@
+package io.micronaut.data.r2dbc.h2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.data.exceptions.OptimisticLockException
+import io.micronaut.data.tck.entities.Product
+import io.micronaut.transaction.annotation.TransactionalRetry
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.transaction.Transactional
+
+class H2TransactionalRetrySpec extends Specification implements H2TestPropertyProvider {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties)
+
+    @Shared
+    H2ReactorProductRepository productRepository = context.getBean(H2ReactorProductRepository)
+
+    @Shared
+    RetryService retryService = context.getBean(RetryService)
+
+    def setup() {
+        retryService.invocations = 0
+    }
+
+    def cleanup() {
+        productRepository.deleteAll().block()
+    }
+
+    void "test a reactive transaction failing with a concurrent modification is retried"() {
+        when:
+        Product product = retryService.saveAndFail(2, new OptimisticLockException("Update failed")).block()
+
+        then:
+        product.name == "Retried"
+        retryService.invocations == 3
+        productRepository.count().block() == 1
+    }
+
+    void "test the failure of a reactive transaction is rethrown once the attempts are exhausted"() {
+        when:
+        retryService.saveAndFail(5, new OptimisticLockException("Update failed")).block()
+
+        then:
+        thrown(OptimisticLockException)
+        retryService.invocations == 3
+        productRepository.count().block() == 0
+    }
+
+    void "test a reactive failure that doesn't roll back the transaction is not retried"() {
+        when:
+        retryService.saveAndFailWithoutRollback(1, new OptimisticLockException("Update failed")).block()
+
+        then:
+        thrown(OptimisticLockException)
+        retryService.invocations == 1
+    }
+
+    @Singleton
+    static class RetryService {
+        @Inject H2ReactorProductRepository productRepository
+        int invocations
+
+        @Transactional
+        @TransactionalRetry(delay = "1ms", maxDelay = "5ms")
+        Mono<Product> saveAndFail(int failures, Exception failure) {
+            return save(failures, failure)
+        }
+
+        @Transactional(dontRollbackOn = OptimisticLockException)
+        @TransactionalRetry(delay = "1ms", maxDelay = "5ms")
+        Mono<Product> saveAndFailWithoutRollback(int failures, Exception failure) {
+            return save(failures, failure)
+        }
+
+        private Mono<Product> save(int failures, Exception failure) {
+            return productRepository.save(new Product("Retried", BigDecimal.ONE)).flatMap { Product product ->
+                invocations++ < failures ? Mono.<Product> error(failure) : Mono.just(product)
+            }
+        }
+    }
+}
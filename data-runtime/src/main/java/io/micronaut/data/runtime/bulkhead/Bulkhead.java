@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.bulkhead;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.AliasFor;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.data.annotation.RepositoryDataSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the number of concurrent executions of the methods of a repository, or of a single repository method, to
+ * the permits of the named {@link BulkheadConfiguration}. The invocations exceeding the limit are queued until a
+ * permit is released or the maximum wait time elapses.
+ *
+ * <p>Bulkheads isolate the queries of different kinds from each other, for example slow reporting queries can be
+ * limited to a fraction of the connection pool to leave connections available for the latency critical ones:</p>
+ *
+ * <pre>
+ * micronaut.data.bulkheads.reporting.max-concurrent-statements: 2
+ * micronaut.data.bulkheads.reporting.max-wait-time: 5s
+ * </pre>
+ *
+ * <p>The permit is held until the method returns, the returned {@link java.util.concurrent.CompletionStage}
+ * completes or the returned publisher terminates. The permit of a method returning a {@link java.util.stream.Stream}
+ * only covers the execution of the query.</p>
+ *
+ * @since 3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    /**
+     * @return The name of the bulkhead configuration
+     */
+    String value();
+
+    /**
+     * The name of the data source the methods are executed against instead of the data source of the repository,
+     * typically a data source of the same database with a dedicated connection pool. The data source must be of the
+     * same dialect, and the methods don't participate in the transactions of the repository data source.
+     *
+     * @return The data source name
+     * @see RepositoryDataSource
+     */
+    @AliasFor(annotation = RepositoryDataSource.class, member = "value")
+    String dataSource() default "";
+}
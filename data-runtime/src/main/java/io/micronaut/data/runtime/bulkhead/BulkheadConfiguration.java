@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.bulkhead;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.naming.Named;
+import io.micronaut.data.runtime.config.DataSettings;
+
+import java.time.Duration;
+
+/**
+ * Configures a {@link Bulkhead}.
+ *
+ * <pre>
+ * micronaut.data.bulkheads.reporting.max-concurrent-statements: 2
+ * micronaut.data.bulkheads.reporting.max-queue-size: 20
+ * micronaut.data.bulkheads.reporting.max-wait-time: 5s
+ * </pre>
+ *
+ * @since 3.3
+ */
+@EachProperty(BulkheadConfiguration.PREFIX)
+public class BulkheadConfiguration implements Named {
+
+    /**
+     * The prefix to use.
+     */
+    public static final String PREFIX = DataSettings.PREFIX + ".bulkheads";
+
+    /**
+     * The default number of concurrent executions.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_STATEMENTS = 10;
+
+    private final String name;
+    private int maxConcurrentStatements = DEFAULT_MAX_CONCURRENT_STATEMENTS;
+    private int maxQueueSize = -1;
+    private Duration maxWaitTime;
+
+    /**
+     * The configuration.
+     *
+     * @param name The name of the bulkhead
+     */
+    public BulkheadConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The maximum number of methods executing concurrently
+     */
+    public int getMaxConcurrentStatements() {
+        return maxConcurrentStatements;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_CONCURRENT_STATEMENTS}).
+     *
+     * @param maxConcurrentStatements The maximum number of methods executing concurrently
+     */
+    public void setMaxConcurrentStatements(int maxConcurrentStatements) {
+        this.maxConcurrentStatements = maxConcurrentStatements;
+    }
+
+    /**
+     * @return The maximum number of methods waiting for a permit, a negative value doesn't limit the queue
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Default value is unlimited.
+     *
+     * @param maxQueueSize The maximum number of methods waiting for a permit, a negative value doesn't limit the queue
+     */
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * @return The maximum time a method waits for a permit or null to wait indefinitely
+     */
+    @Nullable
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * Default value is to wait indefinitely.
+     *
+     * @param maxWaitTime The maximum time a method waits for a permit
+     */
+    public void setMaxWaitTime(@Nullable Duration maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+}
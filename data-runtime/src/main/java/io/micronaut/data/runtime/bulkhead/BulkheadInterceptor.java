@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.bulkhead;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptedMethod;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes the methods annotated with {@link Bulkhead} once a permit of the bulkhead is granted. The interceptor runs
+ * before the transaction interceptors, so that the waiting methods don't hold a connection.
+ *
+ * @since 3.3
+ */
+@Singleton
+@Internal
+public final class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final BulkheadRegistry registry;
+    private final Map<ExecutableMethod<?, ?>, RepositoryBulkhead> bulkheads = new ConcurrentHashMap<>(20);
+
+    /**
+     * Default constructor.
+     *
+     * @param registry The bulkhead registry
+     */
+    BulkheadInterceptor(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 20;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        RepositoryBulkhead bulkhead = bulkheads.computeIfAbsent(context.getExecutableMethod(), method ->
+                registry.getBulkhead(context.stringValue(Bulkhead.class)
+                        .orElseThrow(() -> new IllegalStateException("No bulkhead name specified for method: " + method))));
+        InterceptedMethod interceptedMethod = InterceptedMethod.of(context);
+        try {
+            switch (interceptedMethod.resultType()) {
+                case PUBLISHER:
+                    return interceptedMethod.handleResult(Flux.usingWhen(
+                            bulkhead.acquireReactive(),
+                            permit -> interceptedMethod.interceptResultAsPublisher(),
+                            permit -> Mono.fromRunnable(permit::release),
+                            (permit, throwable) -> Mono.fromRunnable(permit::release),
+                            permit -> Mono.fromRunnable(permit::release)
+                    ));
+                case COMPLETION_STAGE:
+                    CompletableFuture<Object> result = new CompletableFuture<>();
+                    bulkhead.acquire().whenComplete((ignore, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                            return;
+                        }
+                        CompletionStage<Object> completionStage;
+                        try {
+                            completionStage = interceptedMethod.interceptResultAsCompletionStage();
+                        } catch (Throwable e) {
+                            bulkhead.release();
+                            result.completeExceptionally(e);
+                            return;
+                        }
+                        completionStage.whenComplete((value, error) -> {
+                            bulkhead.release();
+                            if (error == null) {
+                                result.complete(value);
+                            } else {
+                                result.completeExceptionally(error);
+                            }
+                        });
+                    });
+                    return interceptedMethod.handleResult(result);
+                case SYNCHRONOUS:
+                    bulkhead.acquireBlocking();
+                    try {
+                        return context.proceed();
+                    } finally {
+                        bulkhead.release();
+                    }
+                default:
+                    return interceptedMethod.unsupported();
+            }
+        } catch (Exception e) {
+            return interceptedMethod.handleException(e);
+        }
+    }
+}
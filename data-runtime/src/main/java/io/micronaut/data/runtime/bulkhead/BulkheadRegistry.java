@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.bulkhead;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Holds the {@link RepositoryBulkhead} of every {@link BulkheadConfiguration}, for example to expose their wait
+ * times as metrics.
+ *
+ * @since 3.3
+ */
+@Singleton
+public final class BulkheadRegistry {
+
+    private final BeanLocator beanLocator;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, RepositoryBulkhead> bulkheads = new ConcurrentHashMap<>(5);
+
+    /**
+     * Default constructor.
+     *
+     * @param beanLocator The bean locator
+     * @param scheduler   The scheduler of the wait timeouts
+     */
+    BulkheadRegistry(BeanLocator beanLocator, @Named(TaskExecutors.SCHEDULED) ScheduledExecutorService scheduler) {
+        this.beanLocator = beanLocator;
+        this.scheduler = scheduler;
+        for (BulkheadConfiguration configuration : beanLocator.getBeansOfType(BulkheadConfiguration.class)) {
+            bulkheads.put(configuration.getName(), new RepositoryBulkhead(configuration, scheduler));
+        }
+    }
+
+    /**
+     * Finds the bulkhead of the given name.
+     *
+     * @param name The name of the bulkhead configuration
+     * @return The bulkhead
+     * @throws ConfigurationException If no bulkhead of the given name is configured
+     */
+    @NonNull
+    public RepositoryBulkhead getBulkhead(@NonNull String name) {
+        return bulkheads.computeIfAbsent(name, n -> {
+            BulkheadConfiguration configuration = beanLocator.findBean(BulkheadConfiguration.class, Qualifiers.byName(n))
+                    .orElseThrow(() -> new ConfigurationException("No bulkhead configured for name [" + n + "]. Configure it with the " + BulkheadConfiguration.PREFIX + "." + n + " properties"));
+            return new RepositoryBulkhead(configuration, scheduler);
+        });
+    }
+
+    /**
+     * @return The configured bulkheads
+     */
+    @NonNull
+    public Collection<RepositoryBulkhead> getBulkheads() {
+        return new ArrayList<>(bulkheads.values());
+    }
+}
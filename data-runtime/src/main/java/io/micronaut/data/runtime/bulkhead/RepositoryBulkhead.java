@@ -0,0 +1,303 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.bulkhead;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.exceptions.BulkheadRejectedException;
+import io.micronaut.data.runtime.jfr.BulkheadWaitEvent;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The permits of a {@link Bulkhead}. The permits are granted in the order they are requested, the waiting requests
+ * are rejected with a {@link BulkheadRejectedException} once the queue is full or the maximum wait time elapses.
+ *
+ * <p>The bulkhead records the time the methods waited for a permit and emits a {@link BulkheadWaitEvent} whenever a
+ * method had to wait.</p>
+ *
+ * @since 3.3
+ */
+public final class RepositoryBulkhead {
+
+    private final String name;
+    private final int maxConcurrentStatements;
+    private final int maxQueueSize;
+    @Nullable
+    private final Duration maxWaitTime;
+    private final ScheduledExecutorService scheduler;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder waitedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final AtomicLong longestWaitTime = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param configuration The configuration
+     * @param scheduler     The scheduler of the wait timeouts
+     */
+    public RepositoryBulkhead(@NonNull BulkheadConfiguration configuration, @NonNull ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(configuration, "Configuration cannot be null");
+        if (configuration.getMaxConcurrentStatements() <= 0) {
+            throw new IllegalArgumentException("The maximum concurrent statements of the bulkhead [" + configuration.getName() + "] must be greater than 0");
+        }
+        this.name = configuration.getName();
+        this.maxConcurrentStatements = configuration.getMaxConcurrentStatements();
+        this.maxQueueSize = configuration.getMaxQueueSize();
+        this.maxWaitTime = configuration.getMaxWaitTime();
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+        this.available = maxConcurrentStatements;
+    }
+
+    /**
+     * @return The name of the bulkhead
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The maximum number of methods executing concurrently
+     */
+    public int getMaxConcurrentStatements() {
+        return maxConcurrentStatements;
+    }
+
+    /**
+     * @return The number of permits currently held
+     */
+    public synchronized int getActiveCount() {
+        return maxConcurrentStatements - available;
+    }
+
+    /**
+     * @return The number of methods currently waiting for a permit
+     */
+    public synchronized int getQueueLength() {
+        return waiters.size();
+    }
+
+    /**
+     * @return The number of permits granted
+     */
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    /**
+     * @return The number of permits granted after waiting
+     */
+    public long getWaitedCount() {
+        return waitedCount.sum();
+    }
+
+    /**
+     * @return The number of methods rejected because the queue was full or the maximum wait time elapsed
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return The total time the granted permits were waited for
+     */
+    @NonNull
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitTime.sum());
+    }
+
+    /**
+     * @return The longest time a granted permit was waited for
+     */
+    @NonNull
+    public Duration getLongestWaitTime() {
+        return Duration.ofNanos(longestWaitTime.get());
+    }
+
+    /**
+     * Requests a permit. The returned future completes once the permit is granted, it must then be released with
+     * {@link #release()}. Cancelling the future withdraws the request.
+     *
+     * @return The future completed when the permit is granted
+     */
+    @NonNull
+    public CompletableFuture<Void> acquire() {
+        Waiter waiter;
+        synchronized (this) {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                acquiredCount.increment();
+                return CompletableFuture.completedFuture(null);
+            }
+            if (maxQueueSize >= 0 && waiters.size() >= maxQueueSize) {
+                waiter = null;
+            } else {
+                waiter = new Waiter();
+                waiters.add(waiter);
+            }
+        }
+        if (waiter == null) {
+            rejected(0);
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(new BulkheadRejectedException("The queue of the bulkhead [" + name + "] is full"));
+            return future;
+        }
+        CompletableFuture<Void> future = waiter.future;
+        if (maxWaitTime != null) {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (future.completeExceptionally(new BulkheadRejectedException("Timed out waiting " + maxWaitTime.toMillis() + "ms for a permit of the bulkhead [" + name + "]"))) {
+                    rejected(System.nanoTime() - waiter.start);
+                }
+            }, maxWaitTime.toNanos(), TimeUnit.NANOSECONDS);
+            future.whenComplete((ignore, throwable) -> timeout.cancel(false));
+        }
+        future.whenComplete((ignore, throwable) -> {
+            if (throwable != null) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Requests a permit and blocks the current thread until it is granted.
+     *
+     * @throws BulkheadRejectedException If the request is rejected
+     */
+    public void acquireBlocking() {
+        CompletableFuture<Void> future = acquire();
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new BulkheadRejectedException("Interrupted while waiting for a permit of the bulkhead [" + name + "]");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Requests a permit when subscribed, the request is withdrawn when the subscription is cancelled before the permit
+     * is granted.
+     *
+     * @return The publisher emitting the bulkhead once the permit is granted
+     */
+    @NonNull
+    public Mono<RepositoryBulkhead> acquireReactive() {
+        return Mono.create(sink -> {
+            CompletableFuture<Void> future = acquire();
+            sink.onCancel(() -> abandon(future));
+            future.whenComplete((ignore, throwable) -> {
+                if (throwable == null) {
+                    sink.success(this);
+                } else if (!(throwable instanceof CancellationException)) {
+                    sink.error(unwrap(throwable));
+                }
+            });
+        });
+    }
+
+    /**
+     * Releases a permit, granting it to the next waiting request if any.
+     */
+    public void release() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    if (available < maxConcurrentStatements) {
+                        available++;
+                    }
+                    return;
+                }
+            }
+            // The request might have been withdrawn or timed out meanwhile
+            if (next.future.complete(null)) {
+                waited(System.nanoTime() - next.start);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Withdraws a request, releasing the permit if it was granted meanwhile.
+     *
+     * @param future The future of the request
+     */
+    void abandon(CompletableFuture<Void> future) {
+        if (!future.cancel(false) && !future.isCompletedExceptionally()) {
+            release();
+        }
+    }
+
+    private void waited(long waitTime) {
+        acquiredCount.increment();
+        waitedCount.increment();
+        totalWaitTime.add(waitTime);
+        longestWaitTime.accumulateAndGet(waitTime, Math::max);
+        if (FlightRecorderSupport.isAvailable()) {
+            BulkheadWaitEvent.emit(name, waitTime, false);
+        }
+    }
+
+    private void rejected(long waitTime) {
+        rejectedCount.increment();
+        if (FlightRecorderSupport.isAvailable()) {
+            BulkheadWaitEvent.emit(name, waitTime, true);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        return new CompletionException(throwable);
+    }
+
+    /**
+     * A request waiting for a permit.
+     */
+    private static final class Waiter {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final long start = System.nanoTime();
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.cache;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.data.annotation.CacheableQuery;
+import io.micronaut.data.annotation.Join;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.annotation.event.PostPersist;
+import io.micronaut.data.annotation.event.PostRemove;
+import io.micronaut.data.annotation.event.PostUpdate;
+import io.micronaut.data.event.EntityEventContext;
+import io.micronaut.data.event.EntityEventListener;
+import io.micronaut.data.intercept.RepositoryMethodKey;
+import io.micronaut.data.intercept.annotation.DataMethod;
+import io.micronaut.data.model.Association;
+import io.micronaut.data.model.PersistentEntity;
+import io.micronaut.data.model.PersistentProperty;
+import io.micronaut.data.model.PersistentPropertyPath;
+import io.micronaut.data.model.query.JoinPath;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.StoredQuery;
+import io.micronaut.data.repository.GenericRepository;
+import io.micronaut.data.runtime.config.DataConfiguration;
+import io.micronaut.data.runtime.convert.DataConversionService;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import io.micronaut.transaction.support.TransactionSynchronizationManager;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of the results of repository methods annotated with {@link CacheableQuery}.
+ *
+ * <p>Every entity type has a generation counter that is incremented whenever an entity of that type is inserted,
+ * updated or deleted through the repository operations. A cached result records the generations of the entity types
+ * its query reads at the time the query was executed and is only returned while none of them changed.</p>
+ *
+ * <p>Only entity types read by at least one cacheable repository method publish invalidation events, so the cache
+ * adds no overhead to writes of other entities.</p>
+ *
+ * <p>The cache is bypassed inside read-write transactions, so results never include uncommitted changes. Entity types
+ * modified in a transaction are invalidated again once it completes.</p>
+ *
+ * @since 3.3
+ */
+@Singleton
+@Requires(property = DataConfiguration.QueryCacheConfiguration.ENABLED_PROPERTY, notEquals = StringUtils.FALSE)
+public class QueryResultCache implements EntityEventListener<Object> {
+
+    private static final List<Class<? extends Annotation>> SUPPORTED_EVENTS = Arrays.asList(PostPersist.class, PostUpdate.class, PostRemove.class);
+    private static final Object NULL_VALUE = new Object();
+
+    private final Map<CacheKey, CacheEntry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>(50);
+    private final Map<RepositoryMethodKey, MethodSettings> methodSettings = new ConcurrentHashMap<>(50);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final BeanContext beanContext;
+    private final DataConversionService<?> conversionService;
+    private final Duration defaultExpireAfterWrite;
+    private volatile Set<String> cachedEntityNames;
+
+    /**
+     * Default constructor.
+     *
+     * @param beanContext       The bean context
+     * @param configuration     The configuration
+     * @param conversionService The conversion service
+     */
+    public QueryResultCache(BeanContext beanContext,
+                            DataConfiguration.QueryCacheConfiguration configuration,
+                            DataConversionService<?> conversionService) {
+        this.beanContext = beanContext;
+        this.conversionService = conversionService;
+        this.defaultExpireAfterWrite = configuration.getExpireAfterWrite();
+        this.entries = new ConcurrentLinkedHashMap.Builder<CacheKey, CacheEntry>()
+                .maximumWeightedCapacity(configuration.getMaximumSize())
+                .build();
+    }
+
+    /**
+     * Whether the results of the given method invocation can be served from the cache.
+     *
+     * @param context The method invocation context
+     * @return True if the method is cacheable and no read-write transaction is active
+     */
+    public boolean isCacheable(@NonNull MethodInvocationContext<?, ?> context) {
+        if (!context.hasAnnotation(CacheableQuery.class)) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Returns the cached result of the given invocation or executes the loader and caches its result.
+     *
+     * @param methodKey The method key
+     * @param context   The method invocation context
+     * @param query     The query executed by the loader
+     * @param loader    The loader
+     * @param <V>       The result type
+     * @return The result
+     */
+    @Nullable
+    public <V> V get(@NonNull RepositoryMethodKey methodKey,
+                     @NonNull MethodInvocationContext<?, ?> context,
+                     @NonNull StoredQuery<?, ?> query,
+                     @NonNull Supplier<V> loader) {
+        CacheKey key = new CacheKey(methodKey, context.getParameterValues());
+        CacheEntry entry = entries.get(key);
+        if (entry != null && isValid(entry)) {
+            hitCount.increment();
+            return copyOf(entry.value);
+        }
+        missCount.increment();
+        MethodSettings settings = getMethodSettings(methodKey, context, query);
+        long[] snapshot = snapshot(settings.entities);
+        V value = loader.get();
+        Object cached = value;
+        if (value instanceof Collection) {
+            cached = new ArrayList<>((Collection<?>) value);
+        } else if (value == null) {
+            cached = NULL_VALUE;
+        }
+        entries.put(key, new CacheEntry(cached, settings, snapshot));
+        return value;
+    }
+
+    /**
+     * Returns a publisher emitting the cached result of the given invocation or subscribes to the loaded publisher
+     * and caches the emitted items once it completes.
+     *
+     * @param methodKey The method key
+     * @param context   The method invocation context
+     * @param query     The query executed by the loader
+     * @param loader    The loader
+     * @param <V>       The item type
+     * @return The publisher
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <V> Publisher<V> getPublisher(@NonNull RepositoryMethodKey methodKey,
+                                         @NonNull MethodInvocationContext<?, ?> context,
+                                         @NonNull StoredQuery<?, ?> query,
+                                         @NonNull Supplier<Publisher<V>> loader) {
+        CacheKey key = new CacheKey(methodKey, context.getParameterValues());
+        MethodSettings settings = getMethodSettings(methodKey, context, query);
+        return Flux.defer(() -> {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && isValid(entry)) {
+                hitCount.increment();
+                return Flux.fromIterable((List<V>) entry.value);
+            }
+            missCount.increment();
+            long[] snapshot = snapshot(settings.entities);
+            return Flux.from(loader.get())
+                    .collectList()
+                    .doOnNext(items -> entries.put(key, new CacheEntry(items, settings, snapshot)))
+                    .flatMapIterable(items -> items);
+        });
+    }
+
+    /**
+     * Invalidates all cached results reading the given entity type.
+     *
+     * @param entityType The entity type
+     */
+    public void invalidate(@NonNull Class<?> entityType) {
+        invalidate(entityType.getName());
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of cached results
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of invocations served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return The number of invocations that executed the query
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public boolean supports(RuntimePersistentEntity<Object> entity, Class<? extends Annotation> eventType) {
+        return SUPPORTED_EVENTS.contains(eventType) && getCachedEntityNames().contains(entity.getName());
+    }
+
+    @Override
+    public void postPersist(@NonNull EntityEventContext<Object> context) {
+        invalidate(context.getPersistentEntity().getName());
+    }
+
+    @Override
+    public void postUpdate(@NonNull EntityEventContext<Object> context) {
+        invalidate(context.getPersistentEntity().getName());
+    }
+
+    @Override
+    public void postRemove(@NonNull EntityEventContext<Object> context) {
+        invalidate(context.getPersistentEntity().getName());
+    }
+
+    private Set<String> getCachedEntityNames() {
+        Set<String> entityNames = cachedEntityNames;
+        if (entityNames == null) {
+            entityNames = new HashSet<>(10);
+            Collection<BeanDefinition<GenericRepository>> definitions = beanContext
+                    .getBeanDefinitions(GenericRepository.class, Qualifiers.byStereotype(Repository.class));
+            for (BeanDefinition<GenericRepository> definition : definitions) {
+                for (ExecutableMethod<GenericRepository, ?> method : definition.getExecutableMethods()) {
+                    if (method.hasAnnotation(CacheableQuery.class)) {
+                        collectEntityNames(method, entityNames);
+                    }
+                }
+            }
+            cachedEntityNames = entityNames;
+        }
+        return entityNames;
+    }
+
+    private void collectEntityNames(ExecutableMethod<?, ?> method, Set<String> entityNames) {
+        for (Class<?> type : method.classValues(CacheableQuery.class.getName(), "invalidatedBy")) {
+            entityNames.add(type.getName());
+        }
+        Class<?> rootEntity = method.classValue(DataMethod.class.getName(), DataMethod.META_MEMBER_ROOT_ENTITY).orElse(null);
+        if (rootEntity == null) {
+            return;
+        }
+        entityNames.add(rootEntity.getName());
+        List<AnnotationValue<Join>> joins = method.getAnnotationValuesByType(Join.class);
+        if (!joins.isEmpty()) {
+            PersistentEntity entity = PersistentEntity.of(rootEntity);
+            for (AnnotationValue<Join> join : joins) {
+                PersistentPropertyPath path = join.stringValue().map(entity::getPropertyPath).orElse(null);
+                if (path != null) {
+                    for (Association association : path.getAssociations()) {
+                        entityNames.add(association.getAssociatedEntity().getName());
+                    }
+                    PersistentProperty property = path.getProperty();
+                    if (property instanceof Association) {
+                        entityNames.add(((Association) property).getAssociatedEntity().getName());
+                    }
+                }
+            }
+        }
+    }
+
+    private void invalidate(String entityName) {
+        increment(entityName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+            if (pending == null) {
+                pending = new PendingInvalidations();
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.entityNames.add(entityName);
+        }
+    }
+
+    private void increment(String entityName) {
+        generations.computeIfAbsent(entityName, n -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long generation(String entityName) {
+        AtomicLong generation = generations.get(entityName);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private long[] snapshot(String[] entityNames) {
+        long[] snapshot = new long[entityNames.length];
+        for (int i = 0; i < entityNames.length; i++) {
+            snapshot[i] = generation(entityNames[i]);
+        }
+        return snapshot;
+    }
+
+    private boolean isValid(CacheEntry entry) {
+        if (entry.expiresAt != 0 && entry.expiresAt - System.nanoTime() <= 0) {
+            return false;
+        }
+        String[] entityNames = entry.settings.entities;
+        for (int i = 0; i < entityNames.length; i++) {
+            if (generation(entityNames[i]) != entry.generations[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V copyOf(Object value) {
+        if (value == NULL_VALUE) {
+            return null;
+        }
+        if (value instanceof Collection) {
+            return (V) new ArrayList<>((Collection<?>) value);
+        }
+        return (V) value;
+    }
+
+    private MethodSettings getMethodSettings(RepositoryMethodKey methodKey, MethodInvocationContext<?, ?> context, StoredQuery<?, ?> query) {
+        MethodSettings settings = methodSettings.get(methodKey);
+        if (settings == null) {
+            Set<String> entityNames = new LinkedHashSet<>(5);
+            entityNames.add(query.getRootEntity().getName());
+            for (JoinPath joinPath : query.getJoinFetchPaths()) {
+                for (Association association : joinPath.getAssociationPath()) {
+                    entityNames.add(association.getAssociatedEntity().getName());
+                }
+            }
+            AnnotationValue<CacheableQuery> annotation = context.getAnnotation(CacheableQuery.class);
+            Duration expireAfterWrite = defaultExpireAfterWrite;
+            if (annotation != null) {
+                for (Class<?> type : annotation.classValues("invalidatedBy")) {
+                    entityNames.add(type.getName());
+                }
+                String value = annotation.stringValue("expireAfterWrite").orElse(null);
+                if (StringUtils.isNotEmpty(value)) {
+                    expireAfterWrite = conversionService.convert(value, Duration.class)
+                            .orElseThrow(() -> new IllegalStateException("Invalid expireAfterWrite value [" + value + "] for method: " + context.getExecutableMethod()));
+                }
+            }
+            settings = new MethodSettings(entityNames.toArray(new String[0]), expireAfterWrite == null ? 0 : expireAfterWrite.toNanos());
+            methodSettings.put(methodKey, settings);
+        }
+        return settings;
+    }
+
+    /**
+     * Per method cache settings.
+     */
+    private static final class MethodSettings {
+        final String[] entities;
+        final long expireAfterWriteNanos;
+
+        MethodSettings(String[] entities, long expireAfterWriteNanos) {
+            this.entities = entities;
+            this.expireAfterWriteNanos = expireAfterWriteNanos;
+        }
+    }
+
+    /**
+     * A cached result.
+     */
+    private static final class CacheEntry {
+        final Object value;
+        final MethodSettings settings;
+        final long[] generations;
+        final long expiresAt;
+
+        CacheEntry(Object value, MethodSettings settings, long[] generations) {
+            this.value = value;
+            this.settings = settings;
+            this.generations = generations;
+            if (settings.expireAfterWriteNanos > 0) {
+                long expiresAt = System.nanoTime() + settings.expireAfterWriteNanos;
+                this.expiresAt = expiresAt == 0 ? 1 : expiresAt;
+            } else {
+                this.expiresAt = 0;
+            }
+        }
+    }
+
+    /**
+     * The cache key composed of the method and the bound parameter values.
+     */
+    private static final class CacheKey {
+        final RepositoryMethodKey methodKey;
+        final Object[] parameters;
+        final int hashCode;
+
+        CacheKey(RepositoryMethodKey methodKey, Object[] parameters) {
+            this.methodKey = methodKey;
+            this.parameters = parameters.clone();
+            this.hashCode = 31 * methodKey.hashCode() + Arrays.deepHashCode(this.parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return methodKey.equals(that.methodKey) && Arrays.deepEquals(parameters, that.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Invalidates the entity types modified in a transaction again once it completes, discarding results that were
+     * cached by concurrent readers before the changes became visible.
+     */
+    private final class PendingInvalidations implements TransactionSynchronization {
+        final Set<String> entityNames = new HashSet<>(5);
+
+        @Override
+        public void afterCompletion(@NonNull Status status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+            for (String entityName : entityNames) {
+                increment(entityName);
+            }
+        }
+    }
+}
@@ -16,7 +16,15 @@
 package io.micronaut.data.runtime.config;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.data.annotation.UUIDGeneration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -159,4 +167,275 @@ public class DataConfiguration implements DataSettings {
             }
         }
     }
+
+    /**
+     * Configuration for the query result cache.
+     *
+     * @since 3.3
+     */
+    @ConfigurationProperties(QueryCacheConfiguration.PREFIX)
+    public static class QueryCacheConfiguration {
+        public static final String PREFIX = "query-cache";
+        public static final String ENABLED_PROPERTY = DataSettings.PREFIX + "." + PREFIX + ".enabled";
+        public static final boolean DEFAULT_ENABLED = true;
+        public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+        private boolean enabled = DEFAULT_ENABLED;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration expireAfterWrite;
+
+        /**
+         * @return Whether the query result cache is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled Whether the query result cache is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The maximum number of cached query results
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Sets the maximum number of cached query results. Values less than or equal to zero are ignored.
+         * @param maximumSize The maximum size
+         */
+        public void setMaximumSize(long maximumSize) {
+            if (maximumSize > 0) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
+        /**
+         * @return The default time after which a cached result expires, or {@code null} if results only expire on invalidation
+         */
+        @Nullable
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        /**
+         * @param expireAfterWrite The default time after which a cached result expires
+         */
+        public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    /**
+     * Configuration for the generated UUIDs.
+     *
+     * @since 3.3
+     */
+    @ConfigurationProperties(UUIDConfiguration.PREFIX)
+    public static class UUIDConfiguration {
+        public static final String PREFIX = "uuid";
+        private UUIDGeneration.Type generation = UUIDGeneration.Type.RANDOM;
+
+        /**
+         * @return How the values of the auto-populated UUID properties are generated
+         */
+        @NonNull
+        public UUIDGeneration.Type getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Sets how the values of the auto-populated UUID properties without a {@link UUIDGeneration} annotation are
+         * generated. Defaults to {@link UUIDGeneration.Type#RANDOM}.
+         * @param generation The generation type
+         */
+        public void setGeneration(@NonNull UUIDGeneration.Type generation) {
+            if (generation != null) {
+                this.generation = generation;
+            }
+        }
+    }
+
+    /**
+     * Configuration for the detection of the same query executed repeatedly in one transaction.
+     *
+     * @since 3.3
+     */
+    @ConfigurationProperties(RepeatedQueryDetectionConfiguration.PREFIX)
+    public static class RepeatedQueryDetectionConfiguration {
+        public static final String PREFIX = "repeated-query-detection";
+        public static final String MODE_PROPERTY = DataSettings.PREFIX + "." + PREFIX + ".mode";
+        public static final int DEFAULT_THRESHOLD = 10;
+        public static final double DEFAULT_SAMPLE_RATE = 0.01;
+        private Mode mode = Mode.NONE;
+        private int threshold = DEFAULT_THRESHOLD;
+        private double sampleRate = DEFAULT_SAMPLE_RATE;
+
+        /**
+         * @return How repeated queries are reported
+         */
+        @NonNull
+        public Mode getMode() {
+            return mode;
+        }
+
+        /**
+         * Sets how repeated queries are reported. Defaults to {@link Mode#NONE}.
+         * @param mode The mode
+         */
+        public void setMode(@NonNull Mode mode) {
+            if (mode != null) {
+                this.mode = mode;
+            }
+        }
+
+        /**
+         * @return The number of executions of the same query in one transaction that is tolerated
+         */
+        public int getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * Sets the number of executions of the same query in one transaction that is tolerated before it is reported.
+         * Values less than or equal to zero are ignored.
+         * @param threshold The threshold
+         */
+        public void setThreshold(int threshold) {
+            if (threshold > 0) {
+                this.threshold = threshold;
+            }
+        }
+
+        /**
+         * @return The fraction of the transactions checked in the {@link Mode#SAMPLED} mode
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        /**
+         * Sets the fraction of the transactions checked in the {@link Mode#SAMPLED} mode. Values outside of the range
+         * {@code (0, 1]} are ignored.
+         * @param sampleRate The sample rate
+         */
+        public void setSampleRate(double sampleRate) {
+            if (sampleRate > 0 && sampleRate <= 1) {
+                this.sampleRate = sampleRate;
+            }
+        }
+
+        /**
+         * How repeated queries are reported.
+         */
+        public enum Mode {
+            /**
+             * Queries are not tracked.
+             */
+            NONE,
+            /**
+             * Every transaction is checked and repeated queries are logged.
+             */
+            LOG,
+            /**
+             * Every transaction is checked and a repeated query fails with a
+             * {@link io.micronaut.data.exceptions.DataAccessException}. Intended for tests.
+             */
+            FAIL,
+            /**
+             * A fraction of the transactions is checked and repeated queries are logged.
+             */
+            SAMPLED
+        }
+    }
+
+    /**
+     * Configuration for the log of the queries slower than a threshold.
+     *
+     * @since 3.3
+     */
+    @ConfigurationProperties(SlowQueryLogConfiguration.PREFIX)
+    public static class SlowQueryLogConfiguration {
+        public static final String PREFIX = "slow-query-log";
+        public static final String THRESHOLD_PROPERTY = DataSettings.PREFIX + "." + PREFIX + ".threshold";
+        public static final List<String> DEFAULT_REDACTED_PARAMETERS = Arrays.asList("password", "secret", "token");
+        public static final int DEFAULT_MAX_VALUE_LENGTH = 100;
+        private Duration threshold;
+        private List<String> redactedParameters = DEFAULT_REDACTED_PARAMETERS;
+        private int maxValueLength = DEFAULT_MAX_VALUE_LENGTH;
+        private boolean explainEnabled;
+
+        /**
+         * @return The execution time above which a query is logged, or {@code null} if no query is logged
+         */
+        @Nullable
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * Sets the execution time above which a query is logged. The time spans from the preparation of the statement
+         * to the read of the last result.
+         * @param threshold The threshold
+         */
+        public void setThreshold(@Nullable Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        /**
+         * @return The names of the parameters whose values are not logged
+         */
+        @NonNull
+        public List<String> getRedactedParameters() {
+            return redactedParameters;
+        }
+
+        /**
+         * Sets the names of the parameters whose values are not logged. A parameter is redacted if its name contains
+         * one of the names, ignoring the case. Defaults to {@code password}, {@code secret} and {@code token}.
+         * @param redactedParameters The parameter names
+         */
+        public void setRedactedParameters(@Nullable List<String> redactedParameters) {
+            this.redactedParameters = redactedParameters != null ? redactedParameters : Collections.emptyList();
+        }
+
+        /**
+         * @return The maximum number of characters logged for a parameter value
+         */
+        public int getMaxValueLength() {
+            return maxValueLength;
+        }
+
+        /**
+         * Sets the maximum number of characters logged for a parameter value, longer values are truncated. Values less
+         * than or equal to zero are ignored. Defaults to {@value #DEFAULT_MAX_VALUE_LENGTH}.
+         * @param maxValueLength The maximum length
+         */
+        public void setMaxValueLength(int maxValueLength) {
+            if (maxValueLength > 0) {
+                this.maxValueLength = maxValueLength;
+            }
+        }
+
+        /**
+         * @return Whether the execution plan of a slow query is logged
+         */
+        public boolean isExplainEnabled() {
+            return explainEnabled;
+        }
+
+        /**
+         * Sets whether the execution plan of a slow query is captured with the {@code EXPLAIN} statement of the
+         * dialect and logged with the query. The plan is captured asynchronously on a separate connection, only for
+         * the H2, Postgres and MySQL dialects. Defaults to {@code false}.
+         * @param explainEnabled Whether the execution plan is logged
+         */
+        public void setExplainEnabled(boolean explainEnabled) {
+            this.explainEnabled = explainEnabled;
+        }
+    }
 }
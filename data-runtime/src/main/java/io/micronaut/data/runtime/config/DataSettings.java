@@ -35,4 +35,12 @@ public interface DataSettings {
      * The logger that should be used to log queries.
      */
     Logger QUERY_LOG = LoggerFactory.getLogger("io.micronaut.data.query");
+
+    /**
+     * The name of the {@link io.micronaut.data.annotation.QueryHint} that sets the maximum number of entities bound to
+     * a single batch statement of a repository method, overriding the batch size of the data source.
+     *
+     * @since 3.3
+     */
+    String BATCH_SIZE_HINT = PREFIX + ".batch-size";
 }
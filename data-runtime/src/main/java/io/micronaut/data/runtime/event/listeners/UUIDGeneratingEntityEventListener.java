@@ -17,10 +17,14 @@ package io.micronaut.data.runtime.event.listeners;
 
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.data.annotation.UUIDGeneration;
 import io.micronaut.data.annotation.event.PrePersist;
 import io.micronaut.data.event.EntityEventContext;
 import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+import io.micronaut.data.runtime.config.DataConfiguration;
+import io.micronaut.data.runtime.support.TimeOrderedUUIDGenerator;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.util.Collections;
@@ -29,7 +33,7 @@ import java.util.UUID;
 import java.util.function.Predicate;
 
 /**
- * Supports generating UUIDs.
+ * Supports generating UUIDs. The values are random or time-ordered, see {@link UUIDGeneration}.
  *
  * @author graemerocher
  * @since 2.3.0
@@ -38,6 +42,27 @@ import java.util.function.Predicate;
 public class UUIDGeneratingEntityEventListener extends AutoPopulatedEntityEventListener {
     private static final Predicate<RuntimePersistentProperty<Object>> UUID_PREDICATE = p -> p.getType() == UUID.class;
 
+    private final UUIDGeneration.Type defaultGeneration;
+    private final TimeOrderedUUIDGenerator timeOrderedGenerator = new TimeOrderedUUIDGenerator();
+
+    /**
+     * Default constructor generating random UUIDs unless selected otherwise by the properties.
+     */
+    public UUIDGeneratingEntityEventListener() {
+        this.defaultGeneration = UUIDGeneration.Type.RANDOM;
+    }
+
+    /**
+     * Constructor with the configuration.
+     *
+     * @param configuration The UUID configuration
+     * @since 3.3
+     */
+    @Inject
+    public UUIDGeneratingEntityEventListener(DataConfiguration.UUIDConfiguration configuration) {
+        this.defaultGeneration = configuration.getGeneration();
+    }
+
     @NonNull
     @Override
     protected final List<Class<? extends Annotation>> getEventTypes() {
@@ -55,7 +80,10 @@ public class UUIDGeneratingEntityEventListener extends AutoPopulatedEntityEventL
         final RuntimePersistentProperty<Object>[] persistentProperties = getApplicableProperties(context.getPersistentEntity());
         for (RuntimePersistentProperty<Object> persistentProperty : persistentProperties) {
             final BeanProperty<Object, Object> property = (BeanProperty<Object, Object>) persistentProperty.getProperty();
-            context.setProperty(property, UUID.randomUUID());
+            UUIDGeneration.Type generation = persistentProperty.getAnnotationMetadata()
+                    .enumValue(UUIDGeneration.class, UUIDGeneration.Type.class)
+                    .orElse(defaultGeneration);
+            context.setProperty(property, generation == UUIDGeneration.Type.TIME_ORDERED ? timeOrderedGenerator.generate() : UUID.randomUUID());
         }
         return true;
     }
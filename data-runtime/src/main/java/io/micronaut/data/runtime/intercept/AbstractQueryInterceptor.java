@@ -16,14 +16,13 @@
 package io.micronaut.data.runtime.intercept;
 
 import io.micronaut.aop.MethodInvocationContext;
-import io.micronaut.context.annotation.Parameter;
+import io.micronaut.context.ApplicationContextProvider;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.beans.BeanIntrospection;
 import io.micronaut.core.beans.BeanWrapper;
-import io.micronaut.core.beans.exceptions.IntrospectionException;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.reflect.ClassUtils;
@@ -36,9 +35,9 @@ import io.micronaut.core.util.StringUtils;
 import io.micronaut.data.annotation.Join;
 import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.QueryHint;
+import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.RepositoryConfiguration;
 import io.micronaut.data.annotation.TypeRole;
-import io.micronaut.data.exceptions.DataAccessException;
 import io.micronaut.data.exceptions.EmptyResultException;
 import io.micronaut.data.intercept.DataInterceptor;
 import io.micronaut.data.intercept.RepositoryMethodKey;
@@ -49,8 +48,10 @@ import io.micronaut.data.model.DataType;
 import io.micronaut.data.model.Pageable;
 import io.micronaut.data.model.PersistentEntity;
 import io.micronaut.data.model.PersistentProperty;
+import io.micronaut.data.model.Slice;
 import io.micronaut.data.model.Sort;
 import io.micronaut.data.model.query.JoinPath;
+import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.model.query.builder.sql.SqlQueryBuilder;
 import io.micronaut.data.model.runtime.AbstractPreparedDataOperation;
 import io.micronaut.data.model.runtime.BatchOperation;
@@ -68,6 +69,8 @@ import io.micronaut.data.model.runtime.StoredQuery;
 import io.micronaut.data.model.runtime.UpdateBatchOperation;
 import io.micronaut.data.model.runtime.UpdateOperation;
 import io.micronaut.data.operations.RepositoryOperations;
+import io.micronaut.data.runtime.cache.QueryResultCache;
+import io.micronaut.data.runtime.operations.internal.AbstractRepositoryOperations;
 import io.micronaut.inject.ExecutableMethod;
 
 import java.lang.annotation.Annotation;
@@ -77,6 +80,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -84,6 +88,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.micronaut.data.intercept.annotation.DataMethod.META_MEMBER_PAGE_SIZE;
@@ -102,6 +107,7 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
     protected final RepositoryOperations operations;
     private final ConcurrentMap<RepositoryMethodKey, StoredQuery> countQueries = new ConcurrentHashMap<>(50);
     private final ConcurrentMap<RepositoryMethodKey, StoredQuery> queries = new ConcurrentHashMap<>(50);
+    private volatile Optional<QueryResultCache> queryResultCache;
 
     /**
      * Default constructor.
@@ -192,6 +198,123 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
         );
     }
 
+    /**
+     * Prepares the queries of a method restricting the identity to a collection of values. If the collection is larger than
+     * the maximum {@code IN} list size of the dialect the values are split into chunks, each chunk being bound to its own query.
+     * No query is returned for an empty collection.
+     *
+     * @param methodKey The method key
+     * @param context   The context
+     * @return The queries
+     * @since 3.3
+     */
+    @NonNull
+    protected final List<PreparedQuery<?, ?>> prepareChunkedQueries(RepositoryMethodKey methodKey, MethodInvocationContext<T, R> context) {
+        validateNullArguments(context);
+        StoredQuery<Object, Object> storedQuery = findStoreQuery(methodKey, context, null);
+        Pageable pageable = storedQuery.hasPageable() ? getPageable(context) : Pageable.UNPAGED;
+        PreparedQuery<?, ?> preparedQuery = new DefaultPreparedQuery<>(context, storedQuery, storedQuery.getQuery(), pageable, storedQuery.isDtoProjection());
+        int parameterIndex = -1;
+        for (QueryParameterBinding binding : storedQuery.getQueryBindings()) {
+            if (binding.isExpandable()) {
+                parameterIndex = binding.getParameterIndex();
+                break;
+            }
+        }
+        if (parameterIndex < 0 || !pageable.isUnpaged() || pageable.isSorted()) {
+            return Collections.singletonList(preparedQuery);
+        }
+        Object[] parameterValues = context.getParameterValues();
+        Object value = parameterValues[parameterIndex];
+        List<Object> ids;
+        if (value instanceof Collection) {
+            ids = new ArrayList<>((Collection<?>) value);
+        } else if (value instanceof Iterable) {
+            ids = new ArrayList<>();
+            for (Object id : (Iterable<?>) value) {
+                ids.add(id);
+            }
+        } else {
+            return Collections.singletonList(preparedQuery);
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int chunkSize = context.enumValue(Repository.class, "dialect", Dialect.class)
+                .orElse(Dialect.ANSI)
+                .getMaxInListSize();
+        if (ids.size() <= chunkSize) {
+            return Collections.singletonList(preparedQuery);
+        }
+        // avoid querying the same identity in several chunks
+        ids = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<PreparedQuery<?, ?>> chunks = new ArrayList<>(ids.size() / chunkSize + 1);
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            Object[] chunkParameterValues = parameterValues.clone();
+            chunkParameterValues[parameterIndex] = new ArrayList<>(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+            chunks.add(new DefaultPreparedQuery<>(context, storedQuery, storedQuery.getQuery(), pageable, storedQuery.isDtoProjection(), chunkParameterValues));
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the cached result of a method annotated with {@link io.micronaut.data.annotation.CacheableQuery}
+     * or executes the loader if the method isn't cacheable or no valid result is cached.
+     *
+     * @param methodKey The method key
+     * @param context   The context
+     * @param query     The query executed by the loader
+     * @param loader    The loader
+     * @param <V>       The result type
+     * @return The result
+     * @since 3.3
+     */
+    @Nullable
+    protected final <V> V findCached(RepositoryMethodKey methodKey,
+                                     MethodInvocationContext<T, R> context,
+                                     StoredQuery<?, ?> query,
+                                     Supplier<V> loader) {
+        QueryResultCache cache = getQueryResultCache().orElse(null);
+        if (cache == null || !cache.isCacheable(context)) {
+            return loader.get();
+        }
+        return cache.get(methodKey, context, query, loader);
+    }
+
+    /**
+     * Invalidates the cached query results reading the root entity of the given query.
+     * Called after executing update and delete queries.
+     *
+     * @param query The executed query
+     * @since 3.3
+     */
+    protected final void invalidateCachedQueries(StoredQuery<?, ?> query) {
+        QueryResultCache cache = getQueryResultCache().orElse(null);
+        if (cache != null) {
+            cache.invalidate(query.getRootEntity());
+        }
+    }
+
+    /**
+     * Resolves the query result cache. Only available for operations publishing entity events on every write.
+     *
+     * @return The query result cache
+     * @since 3.3
+     */
+    @NonNull
+    protected final Optional<QueryResultCache> getQueryResultCache() {
+        Optional<QueryResultCache> cache = queryResultCache;
+        if (cache == null) {
+            if (operations instanceof AbstractRepositoryOperations) {
+                cache = ((ApplicationContextProvider) operations).getApplicationContext().findBean(QueryResultCache.class);
+            } else {
+                cache = Optional.empty();
+            }
+            queryResultCache = cache;
+        }
+        return cache;
+    }
+
     private <E, RT> StoredQuery<E, RT> findStoreQuery(MethodInvocationContext<?, ?> context) {
         RepositoryMethodKey key = new RepositoryMethodKey(context.getTarget(), context.getExecutableMethod());
         return findStoreQuery(key, context, null);
@@ -440,56 +563,6 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
         return o;
     }
 
-    private <RT> Map buildParameterValues(MethodInvocationContext<T, R> context, StoredQuery<?, RT> storedQuery) {
-        Map<String, Object> parameterValueMap = context.getParameterValueMap();
-        Map<?, ?> parameterBinding = storedQuery.getParameterBinding();
-        Map parameterValues = new HashMap<>(parameterBinding.size());
-        for (Map.Entry entry : parameterBinding.entrySet()) {
-            Object name = entry.getKey();
-            String argument = (String) entry.getValue();
-            storeInParameterValues(context, storedQuery, parameterValueMap, name, argument, parameterValues);
-
-        }
-        return parameterValues;
-    }
-
-    private <RT> void storeInParameterValues(
-            MethodInvocationContext<T, R> context,
-            StoredQuery<?, RT> storedQuery,
-            Map<String, Object> namedValues,
-            Object index,
-            String argument,
-            Map parameterValues) {
-        if (namedValues.containsKey(argument)) {
-            parameterValues.put(index, namedValues.get(argument));
-        } else {
-            int i = argument.indexOf('.');
-            if (i > -1) {
-                String argumentName = argument.substring(0, i);
-                Object o = namedValues.get(argumentName);
-                if (o != null) {
-                    try {
-                        BeanWrapper<Object> wrapper = BeanWrapper.getWrapper(o);
-                        String prop = argument.substring(i + 1);
-                        Object val = wrapper.getRequiredProperty(prop, Object.class);
-                        parameterValues.put(index, val);
-                    } catch (IntrospectionException e) {
-                        throw new DataAccessException("Embedded value [" + o + "] should be annotated with introspected");
-                    }
-                }
-            } else {
-                for (Argument a : context.getArguments()) {
-                    String n = a.getAnnotationMetadata().stringValue(Parameter.class).orElse(a.getName());
-                    if (n.equals(argument)) {
-                        parameterValues.put(index, namedValues.get(a.getName()));
-                        return;
-                    }
-                }
-                throw new IllegalArgumentException("Missing query arguments: " + argument);
-            }
-        }
-    }
-
     /**
      * Instantiate the given entity for the given parameter values.
      *
@@ -590,6 +663,69 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
         return new DefaultPagedQuery<>(context.getExecutableMethod(), rootEntity, pageable);
     }
 
+    /**
+     * Prepares the query of a method returning a {@link Slice}. The query fetches one element more than the size of the
+     * slice to know whether a slice follows without counting the elements, see {@link #toSlice(List, Pageable)}.
+     *
+     * @param methodKey The method key
+     * @param context   The context
+     * @return The query
+     * @since 3.3
+     */
+    @NonNull
+    protected final PreparedQuery<?, ?> prepareSliceQuery(RepositoryMethodKey methodKey, MethodInvocationContext<T, R> context) {
+        validateNullArguments(context);
+        StoredQuery<Object, Object> storedQuery = findStoreQuery(methodKey, context, null);
+        Pageable pageable = storedQuery.hasPageable() ? lookahead(getPageable(context)) : Pageable.UNPAGED;
+        return new DefaultPreparedQuery<>(context, storedQuery, storedQuery.getQuery(), pageable, storedQuery.isDtoProjection());
+    }
+
+    /**
+     * Get the paged query of a method returning a {@link Slice}. The query fetches one element more than the size of
+     * the slice to know whether a slice follows without counting the elements, see {@link #toSlice(List, Pageable)}.
+     *
+     * @param context The context
+     * @param <E>     The entity type
+     * @return The paged query
+     * @since 3.3
+     */
+    @NonNull
+    protected <E> PagedQuery<E> getSlicePagedQuery(@NonNull MethodInvocationContext context) {
+        @SuppressWarnings("unchecked") Class<E> rootEntity = (Class<E>) getRequiredRootEntity(context);
+        return new DefaultPagedQuery<>(context.getExecutableMethod(), rootEntity, lookahead(getPageable(context)));
+    }
+
+    /**
+     * Creates the slice of the results of a query prepared by {@link #prepareSliceQuery(RepositoryMethodKey, MethodInvocationContext)}
+     * or {@link #getSlicePagedQuery(MethodInvocationContext)}, dropping the element fetched in excess.
+     *
+     * @param results  The results
+     * @param pageable The pageable of the query
+     * @param <E>      The element type
+     * @return The slice
+     * @since 3.3
+     */
+    @NonNull
+    protected static <E> Slice<E> toSlice(@NonNull List<E> results, @NonNull Pageable pageable) {
+        if (!(pageable instanceof LookaheadPageable)) {
+            return Slice.of(results, pageable);
+        }
+        Pageable requested = ((LookaheadPageable) pageable).pageable;
+        int size = requested.getSize();
+        if (results.size() > size) {
+            return Slice.of(new ArrayList<>(results.subList(0, size)), requested, true);
+        }
+        return Slice.of(results, requested, false);
+    }
+
+    private static Pageable lookahead(Pageable pageable) {
+        int size = pageable.getSize();
+        if (size <= 0 || size == Integer.MAX_VALUE) {
+            return pageable;
+        }
+        return new LookaheadPageable(pageable);
+    }
+
     /**
      * Get the insert batch operation for the given context.
      *
@@ -730,9 +866,11 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
     protected final void validateNullArguments(MethodInvocationContext<T, R> context) {
         Object[] parameterValues = context.getParameterValues();
         for (int i = 0; i < parameterValues.length; i++) {
-            Object o = parameterValues[i];
-            if (o == null && !context.getArguments()[i].isNullable()) {
-                throw new IllegalArgumentException("Argument [" + context.getArguments()[i].getName() + "] value is null and the method parameter is not declared as nullable");
+            if (parameterValues[i] == null) {
+                Argument<?> argument = context.getArguments()[i];
+                if (!argument.isNullable()) {
+                    throw new IllegalArgumentException("Argument [" + argument.getName() + "] value is null and the method parameter is not declared as nullable");
+                }
             }
         }
     }
@@ -974,6 +1112,39 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
 
     }
 
+    /**
+     * Requests one element more than the given pageable at the same offset.
+     */
+    private static final class LookaheadPageable implements Pageable {
+
+        private final Pageable pageable;
+
+        LookaheadPageable(Pageable pageable) {
+            this.pageable = pageable;
+        }
+
+        @Override
+        public int getNumber() {
+            return pageable.getNumber();
+        }
+
+        @Override
+        public int getSize() {
+            return pageable.getSize() + 1;
+        }
+
+        @Override
+        public long getOffset() {
+            return pageable.getOffset();
+        }
+
+        @NonNull
+        @Override
+        public Sort getSort() {
+            return pageable.getSort();
+        }
+    }
+
     /**
      * Default implementation of {@link PagedQuery}.
      *
@@ -1389,6 +1560,7 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
         private final String query;
         private final boolean dto;
         private final MethodInvocationContext<T, R> context;
+        private final Object[] parameterArray;
 
         /**
          * The default constructor.
@@ -1405,12 +1577,34 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
                 String finalQuery,
                 @NonNull Pageable pageable,
                 boolean dtoProjection) {
+            this(context, storedQuery, finalQuery, pageable, dtoProjection, null);
+        }
+
+        /**
+         * Constructor binding the given parameter values instead of the method arguments.
+         *
+         * @param context        The execution context
+         * @param storedQuery    The stored query
+         * @param finalQuery     The final query
+         * @param pageable       The pageable
+         * @param dtoProjection  Whether the prepared query is a dto projection
+         * @param parameterArray The parameter values or null to bind the method arguments
+         * @since 3.3
+         */
+        public DefaultPreparedQuery(
+                MethodInvocationContext<T, R> context,
+                StoredQuery<E, RT> storedQuery,
+                String finalQuery,
+                @NonNull Pageable pageable,
+                boolean dtoProjection,
+                @Nullable Object[] parameterArray) {
             super(context);
             this.context = context;
             this.query = finalQuery;
             this.storedQuery = storedQuery;
             this.pageable = pageable;
             this.dto = dtoProjection;
+            this.parameterArray = parameterArray;
         }
 
         @Override
@@ -1463,6 +1657,9 @@ public abstract class AbstractQueryInterceptor<T, R> implements DataInterceptor<
 
         @Override
         public Object[] getParameterArray() {
+            if (parameterArray != null) {
+                return parameterArray;
+            }
             return context.getParameterValues();
         }
 
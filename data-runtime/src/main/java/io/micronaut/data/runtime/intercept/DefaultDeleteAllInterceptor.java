@@ -49,6 +49,7 @@ public class DefaultDeleteAllInterceptor<T> extends AbstractQueryInterceptor<T,
         if (!deleteEntity.isPresent() && !deleteEntities.isPresent()) {
             PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
             Number result = operations.executeDelete(preparedQuery).orElse(0);
+            invalidateCachedQueries(preparedQuery);
             return convertIfNecessary(resultType, result);
         } else {
             Number result = operations.deleteAll(getDeleteBatchOperation(context, deleteEntities.get())).orElse(0);
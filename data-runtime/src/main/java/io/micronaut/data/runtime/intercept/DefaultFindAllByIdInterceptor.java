@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.intercept;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.data.intercept.FindAllByIdInterceptor;
+import io.micronaut.data.intercept.RepositoryMethodKey;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.operations.RepositoryOperations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The default implementation of {@link FindAllByIdInterceptor}.
+ *
+ * @param <T> The declaring type
+ * @param <R> The return generic type
+ * @since 3.3
+ */
+public class DefaultFindAllByIdInterceptor<T, R> extends AbstractQueryInterceptor<T, Iterable<R>> implements FindAllByIdInterceptor<T, R> {
+
+    /**
+     * Default constructor.
+     * @param datastore The operations
+     */
+    protected DefaultFindAllByIdInterceptor(RepositoryOperations datastore) {
+        super(datastore);
+    }
+
+    @Override
+    public Iterable<R> intercept(RepositoryMethodKey methodKey, MethodInvocationContext<T, Iterable<R>> context) {
+        Class<Iterable<R>> rt = context.getReturnType().getType();
+        List<PreparedQuery<?, ?>> queries = prepareChunkedQueries(methodKey, context);
+        Iterable<?> iterable;
+        if (queries.isEmpty()) {
+            iterable = Collections.emptyList();
+        } else if (queries.size() == 1) {
+            PreparedQuery<?, ?> preparedQuery = queries.get(0);
+            iterable = findCached(methodKey, context, preparedQuery, () -> operations.findAll(preparedQuery));
+        } else {
+            List<Object> results = new ArrayList<>();
+            for (PreparedQuery<?, ?> preparedQuery : queries) {
+                for (Object result : operations.findAll(preparedQuery)) {
+                    results.add(result);
+                }
+            }
+            iterable = results;
+        }
+        if (rt.isInstance(iterable)) {
+            return (Iterable<R>) iterable;
+        } else {
+            return operations.getConversionService().convert(
+                    iterable,
+                    context.getReturnType().asArgument()
+            ).orElse(Collections.emptyList());
+        }
+    }
+}
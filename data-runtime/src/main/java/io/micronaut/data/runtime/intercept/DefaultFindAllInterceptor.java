@@ -48,7 +48,7 @@ public class DefaultFindAllInterceptor<T, R> extends AbstractQueryInterceptor<T,
         Class<Iterable<R>> rt = context.getReturnType().getType();
         if (context.hasAnnotation(Query.class)) {
             PreparedQuery<?, ?> preparedQuery = prepareQuery(methodKey, context);
-            Iterable<?> iterable = operations.findAll(preparedQuery);
+            Iterable<?> iterable = findCached(methodKey, context, preparedQuery, () -> operations.findAll(preparedQuery));
             if (rt.isInstance(iterable)) {
                 return (Iterable<R>) iterable;
             } else {
@@ -42,7 +42,7 @@ public class DefaultFindOneInterceptor<T> extends AbstractQueryInterceptor<T, Ob
         PreparedQuery<?, ?> preparedQuery = prepareQuery(methodKey, context, null);
         return convertOne(
                 context,
-                operations.findOne(preparedQuery)
+                findCached(methodKey, context, preparedQuery, () -> operations.findOne(preparedQuery))
         );
     }
 
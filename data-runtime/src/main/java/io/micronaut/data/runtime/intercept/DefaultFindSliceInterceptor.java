@@ -50,15 +50,15 @@ public class DefaultFindSliceInterceptor<T, R> extends AbstractQueryInterceptor<
     @Override
     public R intercept(RepositoryMethodKey methodKey, MethodInvocationContext<T, R> context) {
         if (context.hasAnnotation(Query.class)) {
-            PreparedQuery<?, ?> preparedQuery = prepareQuery(methodKey, context);
+            PreparedQuery<?, ?> preparedQuery = prepareSliceQuery(methodKey, context);
             Pageable pageable = preparedQuery.getPageable();
             Iterable<R> iterable = (Iterable<R>) operations.findAll(preparedQuery);
-            Slice<R> slice = Slice.of(CollectionUtils.iterableToList(iterable), pageable);
+            Slice<R> slice = toSlice(CollectionUtils.iterableToList(iterable), pageable);
             return convertOrFail(context, slice);
         } else {
-            PagedQuery<Object> pagedQuery = getPagedQuery(context);
+            PagedQuery<Object> pagedQuery = getSlicePagedQuery(context);
             Iterable iterable = operations.findAll(pagedQuery);
-            Slice<R> slice = Slice.of(CollectionUtils.iterableToList(iterable), pagedQuery.getPageable());
+            Slice<R> slice = toSlice(CollectionUtils.iterableToList(iterable), pagedQuery.getPageable());
             return convertOrFail(context, slice);
         }
     }
@@ -44,6 +44,7 @@ public class DefaultUpdateInterceptor<T> extends AbstractQueryInterceptor<T, Obj
     public Object intercept(RepositoryMethodKey methodKey, MethodInvocationContext<T, Object> context) {
         PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
         Number number = operations.executeUpdate(preparedQuery).orElse(null);
+        invalidateCachedQueries(preparedQuery);
         final Argument<Object> returnType = context.getReturnType().asArgument();
         final Class<Object> type = ReflectionUtils.getWrapperType(returnType.getType());
         if (Number.class.isAssignableFrom(type)) {
@@ -50,7 +50,8 @@ public class DefaultDeleteAllAsyncInterceptor<T> extends AbstractAsyncIntercepto
         CompletionStage<Number> cs;
         if (!deleteEntity.isPresent() && !deleteEntities.isPresent()) {
             PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
-            cs = asyncDatastoreOperations.executeDelete(preparedQuery);
+            cs = asyncDatastoreOperations.executeDelete(preparedQuery)
+                    .whenComplete((n, throwable) -> invalidateCachedQueries(preparedQuery));
         } else {
             cs = asyncDatastoreOperations.deleteAll(getDeleteBatchOperation(context, deleteEntities.get()));
         }
@@ -51,17 +51,17 @@ public class DefaultFindSliceAsyncInterceptor<T> extends AbstractAsyncIntercepto
     @Override
     public CompletionStage<Slice<Object>> intercept(RepositoryMethodKey methodKey, MethodInvocationContext<T, CompletionStage<Slice<Object>>> context) {
         if (context.hasAnnotation(Query.class)) {
-            PreparedQuery<?, ?> preparedQuery = prepareQuery(methodKey, context);
+            PreparedQuery<?, ?> preparedQuery = prepareSliceQuery(methodKey, context);
             Pageable pageable = preparedQuery.getPageable();
             return asyncDatastoreOperations.findAll(preparedQuery)
                     .thenApply(objects ->
-                            Slice.of((List<Object>) CollectionUtils.iterableToList(objects), pageable)
+                            toSlice((List<Object>) CollectionUtils.iterableToList(objects), pageable)
                     );
 
         } else {
-            PagedQuery<Object> pagedQuery = getPagedQuery(context);
+            PagedQuery<Object> pagedQuery = getSlicePagedQuery(context);
             return asyncDatastoreOperations.findAll(pagedQuery).thenApply(objects ->
-                    Slice.of(CollectionUtils.iterableToList(objects), pagedQuery.getPageable())
+                    toSlice(CollectionUtils.iterableToList(objects), pagedQuery.getPageable())
             );
         }
     }
@@ -44,6 +44,7 @@ public class DefaultUpdateAsyncInterceptor<T> extends AbstractAsyncInterceptor<T
     public CompletionStage<Number> intercept(RepositoryMethodKey methodKey, MethodInvocationContext<T, CompletionStage<Number>> context) {
         PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
         return asyncDatastoreOperations.executeUpdate(preparedQuery)
+                .whenComplete((n, throwable) -> invalidateCachedQueries(preparedQuery))
                 .thenApply(n -> convertNumberToReturnType(context, n));
     }
 }
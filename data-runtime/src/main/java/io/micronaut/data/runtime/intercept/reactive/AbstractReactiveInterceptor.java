@@ -15,15 +15,21 @@
  */
 package io.micronaut.data.runtime.intercept.reactive;
 
+import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.intercept.RepositoryMethodKey;
+import io.micronaut.data.model.runtime.StoredQuery;
 import io.micronaut.data.operations.RepositoryOperations;
 import io.micronaut.data.operations.reactive.ReactiveCapableRepository;
 import io.micronaut.data.operations.reactive.ReactiveRepositoryOperations;
+import io.micronaut.data.runtime.cache.QueryResultCache;
 import io.micronaut.data.runtime.intercept.AbstractQueryInterceptor;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
+import java.util.function.Supplier;
+
 /**
  * Abstract reactive repository interceptor.
  *
@@ -60,4 +66,44 @@ public abstract class AbstractReactiveInterceptor<T, R> extends AbstractQueryInt
     protected Publisher<Integer> count(Publisher<R> publisher) {
         return Flux.from(publisher).count().map(Long::intValue);
     }
+
+    /**
+     * Returns a publisher of the cached result of a method annotated with
+     * {@link io.micronaut.data.annotation.CacheableQuery} or the loaded publisher if the method isn't cacheable.
+     *
+     * @param methodKey The method key
+     * @param context   The context
+     * @param query     The query executed by the loader
+     * @param loader    The loader
+     * @param <V>       The item type
+     * @return The publisher
+     * @since 3.3
+     */
+    protected final <V> Publisher<V> findCachedPublisher(RepositoryMethodKey methodKey,
+                                                         MethodInvocationContext<T, R> context,
+                                                         StoredQuery<?, ?> query,
+                                                         Supplier<Publisher<V>> loader) {
+        QueryResultCache cache = getQueryResultCache().orElse(null);
+        if (cache == null || !cache.isCacheable(context)) {
+            return loader.get();
+        }
+        return cache.getPublisher(methodKey, context, query, loader);
+    }
+
+    /**
+     * Decorates the publisher of an update or delete query to invalidate the cached query results reading
+     * the root entity once it terminates.
+     *
+     * @param query     The query
+     * @param publisher The publisher
+     * @param <V>       The item type
+     * @return The decorated publisher
+     * @since 3.3
+     */
+    protected final <V> Publisher<V> invalidatingCachedQueries(StoredQuery<?, ?> query, Publisher<V> publisher) {
+        if (!getQueryResultCache().isPresent()) {
+            return publisher;
+        }
+        return Flux.from(publisher).doFinally(signalType -> invalidateCachedQueries(query));
+    }
 }
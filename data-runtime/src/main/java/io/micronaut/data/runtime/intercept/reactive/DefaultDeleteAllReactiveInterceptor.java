@@ -51,7 +51,7 @@ public class DefaultDeleteAllReactiveInterceptor extends AbstractReactiveInterce
         Publisher publisher;
         if (!deleteEntity.isPresent() && !deleteEntities.isPresent()) {
             PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
-            publisher = reactiveOperations.executeDelete(preparedQuery);
+            publisher = invalidatingCachedQueries(preparedQuery, reactiveOperations.executeDelete(preparedQuery));
         } else {
             publisher = reactiveOperations.deleteAll(getDeleteBatchOperation(context, deleteEntities.get()));
         }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.intercept.reactive;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.data.intercept.RepositoryMethodKey;
+import io.micronaut.data.intercept.reactive.FindAllByIdReactiveInterceptor;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.operations.RepositoryOperations;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Default implementation of {@link FindAllByIdReactiveInterceptor}.
+ *
+ * @since 3.3
+ */
+public class DefaultFindAllByIdReactiveInterceptor extends AbstractReactiveInterceptor<Object, Object>
+        implements FindAllByIdReactiveInterceptor<Object, Object> {
+    /**
+     * Default constructor.
+     *
+     * @param operations The operations
+     */
+    protected DefaultFindAllByIdReactiveInterceptor(@NonNull RepositoryOperations operations) {
+        super(operations);
+    }
+
+    @Override
+    public Object intercept(RepositoryMethodKey methodKey, MethodInvocationContext<Object, Object> context) {
+        List<PreparedQuery<?, ?>> queries = prepareChunkedQueries(methodKey, context);
+        Publisher<?> publisher;
+        if (queries.isEmpty()) {
+            publisher = Flux.empty();
+        } else if (queries.size() == 1) {
+            PreparedQuery<?, ?> preparedQuery = queries.get(0);
+            publisher = findCachedPublisher(methodKey, context, preparedQuery, () -> reactiveOperations.findAll(preparedQuery));
+        } else {
+            publisher = Flux.fromIterable(queries).concatMap(preparedQuery -> Flux.<Object>from(reactiveOperations.findAll(preparedQuery)));
+        }
+        return Publishers.convertPublisher(publisher, context.getReturnType().getType());
+    }
+}
@@ -46,8 +46,7 @@ public class DefaultFindAllReactiveInterceptor extends AbstractReactiveIntercept
         Publisher<?> publisher;
         if (context.hasAnnotation(Query.class)) {
             PreparedQuery<?, ?> preparedQuery = prepareQuery(methodKey, context);
-            publisher = reactiveOperations.findAll(preparedQuery);
-
+            publisher = findCachedPublisher(methodKey, context, preparedQuery, () -> reactiveOperations.findAll(preparedQuery));
         } else {
             publisher = reactiveOperations.findAll(getPagedQuery(context));
         }
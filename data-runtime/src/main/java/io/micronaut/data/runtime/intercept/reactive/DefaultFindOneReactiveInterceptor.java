@@ -43,7 +43,7 @@ public class DefaultFindOneReactiveInterceptor extends AbstractReactiveIntercept
     @Override
     public Object intercept(RepositoryMethodKey methodKey, MethodInvocationContext<Object, Object> context) {
         PreparedQuery<Object, Object> preparedQuery = (PreparedQuery<Object, Object>) prepareQuery(methodKey, context);
-        Publisher<Object> publisher = reactiveOperations.findOptional(preparedQuery);
+        Publisher<Object> publisher = findCachedPublisher(methodKey, context, preparedQuery, () -> reactiveOperations.findOptional(preparedQuery));
         return Publishers.convertPublisher(publisher, context.getReturnType().getType());
     }
 }
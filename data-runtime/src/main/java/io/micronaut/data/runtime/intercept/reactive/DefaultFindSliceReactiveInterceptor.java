@@ -48,18 +48,18 @@ public class DefaultFindSliceReactiveInterceptor extends AbstractReactiveInterce
     @Override
     public Object intercept(RepositoryMethodKey methodKey, MethodInvocationContext<Object, Object> context) {
         if (context.hasAnnotation(Query.class)) {
-            PreparedQuery<Object, Object> preparedQuery = (PreparedQuery<Object, Object>) prepareQuery(methodKey, context);
+            PreparedQuery<Object, Object> preparedQuery = (PreparedQuery<Object, Object>) prepareSliceQuery(methodKey, context);
             Pageable pageable = preparedQuery.getPageable();
 
             Mono<Slice<Object>> publisher = Flux.from(reactiveOperations.findAll(preparedQuery))
-                    .collectList().map(objects -> Slice.of(objects, pageable));
+                    .collectList().map(objects -> toSlice(objects, pageable));
             return Publishers.convertPublisher(publisher, context.getReturnType().getType());
 
         } else {
-            PagedQuery<Object> pagedQuery = getPagedQuery(context);
+            PagedQuery<Object> pagedQuery = getSlicePagedQuery(context);
             Mono<? extends Slice<?>> result = Flux.from(reactiveOperations.findAll(pagedQuery))
                     .collectList().map(objects ->
-                            Slice.of(objects, pagedQuery.getPageable())
+                            toSlice(objects, pagedQuery.getPageable())
                     );
             return Publishers.convertPublisher(result, context.getReturnType().getType());
         }
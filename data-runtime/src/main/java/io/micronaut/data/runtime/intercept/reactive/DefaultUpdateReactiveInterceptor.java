@@ -46,7 +46,7 @@ public class DefaultUpdateReactiveInterceptor extends AbstractReactiveIntercepto
     public Object intercept(RepositoryMethodKey methodKey, MethodInvocationContext<Object, Object> context) {
         PreparedQuery<?, Number> preparedQuery = (PreparedQuery<?, Number>) prepareQuery(methodKey, context);
         ReturnType<Object> returnType = context.getReturnType();
-        Publisher<Number> publisher = reactiveOperations.executeUpdate(preparedQuery);
+        Publisher<Number> publisher = invalidatingCachedQueries(preparedQuery, reactiveOperations.executeUpdate(preparedQuery));
         return Publishers.convertPublisher(publisher, returnType.getType());
     }
 }
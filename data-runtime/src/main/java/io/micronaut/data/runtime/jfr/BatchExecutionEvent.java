@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a batch of entity inserts, updates or deletes is executed.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.BatchExecution")
+@Label("Batch Execution")
+@Description("A batch of statements is executed")
+@Category({FlightRecorderSupport.CATEGORY, "Query"})
+public final class BatchExecutionEvent extends Event {
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Batch Size")
+    long batchSize;
+
+    /**
+     * Starts the event if it is enabled.
+     *
+     * @param entity The entity name
+     * @return The started event or null if it is not enabled
+     */
+    @Nullable
+    public static BatchExecutionEvent start(@NonNull String entity) {
+        BatchExecutionEvent event = new BatchExecutionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.entity = entity;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event.
+     *
+     * @param batchSize The number of statements in the batch
+     */
+    public void finish(int batchSize) {
+        this.batchSize = batchSize;
+        commit();
+    }
+}
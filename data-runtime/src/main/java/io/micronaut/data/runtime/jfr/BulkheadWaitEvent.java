@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted when a repository method waited for a permit of a {@link io.micronaut.data.runtime.bulkhead.Bulkhead}.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.BulkheadWait")
+@Label("Bulkhead Wait")
+@Description("A repository method waited for a permit of a bulkhead")
+@Category({FlightRecorderSupport.CATEGORY, "Query"})
+public final class BulkheadWaitEvent extends Event {
+
+    @Label("Bulkhead")
+    String bulkhead;
+
+    @Label("Wait Time")
+    @Timespan
+    long waitTime;
+
+    @Label("Rejected")
+    boolean rejected;
+
+    /**
+     * Emits the event if it is enabled.
+     *
+     * @param bulkhead The bulkhead name
+     * @param waitTime The time waited in nanoseconds
+     * @param rejected Whether the method was rejected
+     */
+    public static void emit(@NonNull String bulkhead, long waitTime, boolean rejected) {
+        BulkheadWaitEvent event = new BulkheadWaitEvent();
+        if (event.isEnabled()) {
+            event.bulkhead = bulkhead;
+            event.waitTime = waitTime;
+            event.rejected = rejected;
+            event.commit();
+        }
+    }
+}
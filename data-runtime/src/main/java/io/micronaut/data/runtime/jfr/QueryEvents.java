@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.runtime.support.SlowQueryLog;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.EventType;
+
+/**
+ * Records the {@link QueryExecutionEvent} and the {@link ResultMappingEvent} of a query, and times it for the
+ * {@link SlowQueryLog}. Instances are only created while at least one of the events is enabled or the query is timed,
+ * so the callers hold {@code null} when no recording is running.
+ *
+ * @since 3.3
+ */
+@Internal
+public final class QueryEvents {
+
+    @Nullable
+    private final QueryExecutionEvent queryEvent;
+    @Nullable
+    private final ResultMappingEvent mappingEvent;
+    private final String resultType;
+    @Nullable
+    private final SlowQueryLog.Trace trace;
+    private long rowCount;
+    private boolean executed;
+    private boolean finished;
+
+    private QueryEvents(@Nullable QueryExecutionEvent queryEvent, @Nullable ResultMappingEvent mappingEvent, String resultType,
+                        @Nullable SlowQueryLog.Trace trace) {
+        this.queryEvent = queryEvent;
+        this.mappingEvent = mappingEvent;
+        this.resultType = resultType;
+        this.trace = trace;
+    }
+
+    /**
+     * Starts recording the execution of the given query.
+     *
+     * @param preparedQuery The prepared query
+     * @return The events or null if none is enabled
+     */
+    @Nullable
+    public static QueryEvents start(@NonNull PreparedQuery<?, ?> preparedQuery) {
+        return start(preparedQuery, null);
+    }
+
+    /**
+     * Starts recording the execution of the given query.
+     *
+     * @param preparedQuery The prepared query
+     * @param trace         The slow query log trace or null if the query is not timed
+     * @return The events or null if none is enabled and the query is not timed
+     */
+    @Nullable
+    public static QueryEvents start(@NonNull PreparedQuery<?, ?> preparedQuery, @Nullable SlowQueryLog.Trace trace) {
+        String resultType = preparedQuery.getResultType().getName();
+        if (!FlightRecorderSupport.isAvailable()) {
+            return trace != null ? new QueryEvents(null, null, resultType, trace) : null;
+        }
+        boolean queryEnabled = EventTypes.QUERY_EXECUTION.isEnabled();
+        boolean mappingEnabled = EventTypes.RESULT_MAPPING.isEnabled();
+        if (!queryEnabled && !mappingEnabled) {
+            return trace != null ? new QueryEvents(null, null, resultType, trace) : null;
+        }
+        QueryExecutionEvent queryEvent = null;
+        if (queryEnabled) {
+            queryEvent = new QueryExecutionEvent();
+            queryEvent.repository = preparedQuery.getRepositoryType().getName();
+            queryEvent.method = preparedQuery.getName();
+            queryEvent.query = preparedQuery.getQuery();
+            queryEvent.fingerprint = fingerprint(queryEvent.query);
+            queryEvent.begin();
+        }
+        return new QueryEvents(queryEvent, mappingEnabled ? new ResultMappingEvent() : null, resultType, trace);
+    }
+
+    /**
+     * @return Whether the values bound to the statement have to be recorded with {@link #bound(int, DataType, Object)}
+     */
+    public boolean isRecordingValues() {
+        return trace != null && trace.isRecordingValues();
+    }
+
+    /**
+     * Records a value bound to the statement.
+     *
+     * @param index    The index of the parameter
+     * @param dataType The data type
+     * @param value    The value
+     */
+    public void bound(int index, @NonNull DataType dataType, @Nullable Object value) {
+        if (trace != null) {
+            trace.bound(index, dataType, value);
+        }
+    }
+
+    /**
+     * Marks the statement as prepared and its parameters as bound.
+     *
+     * @param query The executed query
+     */
+    public void prepared(@NonNull String query) {
+        if (trace != null) {
+            trace.prepared(query);
+        }
+    }
+
+    /**
+     * Marks the query as executed: stops the timing of the execution and starts the timing of the result mapping.
+     */
+    public void executed() {
+        executed = true;
+        if (trace != null) {
+            trace.executed();
+        }
+        if (queryEvent != null) {
+            queryEvent.end();
+        }
+        if (mappingEvent != null) {
+            mappingEvent.resultType = resultType;
+            mappingEvent.begin();
+        }
+    }
+
+    /**
+     * Counts a result read.
+     */
+    public void row() {
+        rowCount++;
+    }
+
+    /**
+     * Counts a result if it is not null.
+     *
+     * @param events The events or null if none is enabled
+     * @param result The result
+     * @param <R>    The result type
+     * @return The result
+     */
+    @Nullable
+    public static <R> R row(@Nullable QueryEvents events, @Nullable R result) {
+        if (events != null && result != null) {
+            events.rowCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Commits the events of a query that read results. The result mapping is only recorded if the query was executed.
+     * Subsequent invocations have no effect.
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (mappingEvent != null && executed) {
+            mappingEvent.rowCount = rowCount;
+            mappingEvent.commit();
+        }
+        if (queryEvent != null) {
+            queryEvent.rowCount = rowCount;
+            queryEvent.commit();
+        }
+        if (trace != null) {
+            trace.finish(rowCount);
+        }
+    }
+
+    /**
+     * Commits the event of a query that updated rows. No result mapping is recorded.
+     *
+     * @param updatedRows The number of rows updated
+     */
+    public void finishUpdate(long updatedRows) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (queryEvent != null) {
+            queryEvent.rowCount = updatedRows;
+            queryEvent.commit();
+        }
+        if (trace != null) {
+            trace.executed();
+            trace.finish(updatedRows);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a query string.
+     *
+     * @param query The query
+     * @return The fingerprint
+     */
+    @NonNull
+    static String fingerprint(@NonNull String query) {
+        return Integer.toHexString(query.hashCode());
+    }
+
+    /**
+     * The types of the events, resolved once instead of allocating the events of every query to check whether they are
+     * enabled. Only loaded if the flight recorder is available.
+     */
+    private static final class EventTypes {
+        static final EventType QUERY_EXECUTION = EventType.getEventType(QueryExecutionEvent.class);
+        static final EventType RESULT_MAPPING = EventType.getEventType(ResultMappingEvent.class);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a query is prepared and executed. The duration covers preparing the statement, binding the parameters
+ * and executing it, but not reading the results, which is covered by a {@link ResultMappingEvent}.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.QueryExecution")
+@Label("Query Execution")
+@Description("A query is prepared and executed")
+@Category({FlightRecorderSupport.CATEGORY, "Query"})
+public final class QueryExecutionEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Query")
+    String query;
+
+    @Label("Fingerprint")
+    @Description("Identifies the queries with the same shape, the parameter values are not part of the query")
+    String fingerprint;
+
+    @Label("Row Count")
+    @Description("The number of results read or the number of rows updated")
+    long rowCount;
+}
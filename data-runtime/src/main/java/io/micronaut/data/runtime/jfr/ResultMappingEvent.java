@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when the results of a query are read and mapped. For results that are streamed the duration includes the
+ * time spent by the caller consuming the stream.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.ResultMapping")
+@Label("Result Mapping")
+@Description("The results of a query are read and mapped")
+@Category({FlightRecorderSupport.CATEGORY, "Query"})
+@StackTrace(false)
+public final class ResultMappingEvent extends Event {
+
+    @Label("Result Type")
+    String resultType;
+
+    @Label("Row Count")
+    long rowCount;
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.loader;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+import io.micronaut.data.repository.CrudRepository;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent lookups of entities by ID into batched queries, in the style of a DataLoader.
+ *
+ * <p>The lookups arriving within the configured window are merged into a single call of the batch loader, typically
+ * {@link CrudRepository#findAllById(Iterable)}, and the results are dispatched back to the individual callers.
+ * A window of zero merges the lookups issued before the scheduler runs the next task, for example the lookups of the
+ * same reactive pipeline stage. A batch is loaded immediately once it reaches the maximum batch size.</p>
+ *
+ * <p>The lookups of the same ID within a batch share the same result. The loader doesn't cache anything across
+ * batches.</p>
+ *
+ * @param <ID> The ID type
+ * @param <E>  The entity type
+ * @since 3.3
+ */
+public final class CoalescingLoader<ID, E> {
+
+    private final Function<List<ID>, Publisher<E>> batchLoader;
+    private final Function<E, ID> idExtractor;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+    private Map<ID, CompletableFuture<E>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledLoad;
+
+    /**
+     * Default constructor.
+     *
+     * @param batchLoader  The function loading the entities of a batch of IDs
+     * @param idExtractor  The function returning the ID of a loaded entity
+     * @param window       The time to wait for further lookups before loading a batch
+     * @param maxBatchSize The maximum number of IDs loaded in a single batch
+     * @param scheduler    The scheduler
+     */
+    public CoalescingLoader(@NonNull Function<List<ID>, Publisher<E>> batchLoader,
+                            @NonNull Function<E, ID> idExtractor,
+                            @NonNull Duration window,
+                            int maxBatchSize,
+                            @NonNull ScheduledExecutorService scheduler) {
+        this.batchLoader = Objects.requireNonNull(batchLoader, "Batch loader cannot be null");
+        this.idExtractor = Objects.requireNonNull(idExtractor, "ID extractor cannot be null");
+        this.windowNanos = Objects.requireNonNull(window, "Window cannot be null").toNanos();
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The maximum batch size must be greater than 0");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+    }
+
+    /**
+     * Creates a loader for a blocking repository. The batches are loaded with {@link CrudRepository#findAllById(Iterable)}
+     * on a thread that is allowed to block.
+     *
+     * @param repository   The repository
+     * @param entityType   The entity type
+     * @param window       The time to wait for further lookups before loading a batch
+     * @param maxBatchSize The maximum number of IDs loaded in a single batch
+     * @param scheduler    The scheduler
+     * @param <ID>         The ID type
+     * @param <E>          The entity type
+     * @return The loader
+     */
+    @NonNull
+    public static <ID, E> CoalescingLoader<ID, E> of(@NonNull CrudRepository<E, ID> repository,
+                                                    @NonNull Class<E> entityType,
+                                                    @NonNull Duration window,
+                                                    int maxBatchSize,
+                                                    @NonNull ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(repository, "Repository cannot be null");
+        return new CoalescingLoader<>(
+                ids -> Mono.fromCallable(() -> repository.findAllById(ids))
+                        .flatMapMany(Flux::fromIterable)
+                        .subscribeOn(Schedulers.boundedElastic()),
+                idExtractor(entityType),
+                window,
+                maxBatchSize,
+                scheduler
+        );
+    }
+
+    /**
+     * Creates a function returning the identity of the given entity type.
+     *
+     * @param entityType The entity type
+     * @param <ID>       The ID type
+     * @param <E>        The entity type
+     * @return The function
+     */
+    @NonNull
+    public static <ID, E> Function<E, ID> idExtractor(@NonNull Class<E> entityType) {
+        RuntimePersistentProperty<E> identity = new RuntimePersistentEntity<>(entityType).getIdentity();
+        if (identity == null) {
+            throw new IllegalArgumentException("Entity " + entityType.getName() + " has no identity");
+        }
+        //noinspection unchecked
+        return entity -> (ID) identity.getProperty().get(entity);
+    }
+
+    /**
+     * Loads the entity with the given ID. The future completes with {@code null} if no entity exists.
+     *
+     * @param id The ID
+     * @return The future entity
+     */
+    @NonNull
+    public CompletableFuture<E> load(@NonNull ID id) {
+        Objects.requireNonNull(id, "ID cannot be null");
+        CompletableFuture<E> future;
+        boolean loadNow = false;
+        synchronized (lock) {
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(id, future);
+                if (pending.size() >= maxBatchSize) {
+                    loadNow = true;
+                    if (scheduledLoad != null) {
+                        scheduledLoad.cancel(false);
+                    }
+                } else if (scheduledLoad == null) {
+                    scheduledLoad = scheduler.schedule(this::loadBatch, windowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (loadNow) {
+            loadBatch();
+        }
+        return future;
+    }
+
+    /**
+     * Loads the entity with the given ID reactively. The publisher is empty if no entity exists.
+     *
+     * @param id The ID
+     * @return The entity publisher
+     */
+    @NonNull
+    public Mono<E> loadReactive(@NonNull ID id) {
+        return Mono.fromFuture(() -> load(id));
+    }
+
+    private void loadBatch() {
+        Map<ID, CompletableFuture<E>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            scheduledLoad = null;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ID> ids = new ArrayList<>(batch.keySet());
+        Publisher<E> publisher;
+        try {
+            publisher = batchLoader.apply(ids);
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        Flux.from(publisher).collectList().subscribe(entities -> {
+            for (E entity : entities) {
+                CompletableFuture<E> future = batch.remove(idExtractor.apply(entity));
+                if (future != null) {
+                    future.complete(entity);
+                }
+            }
+            batch.values().forEach(future -> future.complete(null));
+        }, error -> batch.values().forEach(future -> future.completeExceptionally(error)));
+    }
+}
@@ -45,6 +45,8 @@ import io.micronaut.data.model.runtime.RuntimePersistentProperty;
 import io.micronaut.data.model.runtime.convert.AttributeConverter;
 import io.micronaut.data.runtime.convert.DataConversionService;
 import io.micronaut.data.runtime.mapper.ResultReader;
+import io.micronaut.data.runtime.operations.internal.EntityIdentityMap;
+import io.micronaut.data.runtime.operations.internal.EntitySnapshots;
 import io.micronaut.http.codec.MediaTypeCodec;
 
 import javax.validation.constraints.NotNull;
@@ -54,6 +56,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -79,6 +82,10 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
     private final MediaTypeCodec jsonCodec;
     private final DataConversionService<?> conversionService;
     private final BiFunction<RuntimePersistentEntity<Object>, Object, Object> eventListener;
+    private final EntityIdentityMap identityMap;
+    private final EntitySnapshots snapshots;
+    private final Set<Object> loaded;
+    private final Set<Object> postLoaded;
     private boolean callNext = true;
 
     /**
@@ -95,7 +102,7 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
             @NonNull RuntimePersistentEntity<R> entity,
             @NonNull ResultReader<RS, String> resultReader,
             @Nullable MediaTypeCodec jsonCodec, DataConversionService<?> conversionService) {
-        this(entity, resultReader, Collections.emptySet(), prefix, jsonCodec, conversionService, null);
+        this(entity, resultReader, Collections.emptySet(), prefix, jsonCodec, conversionService, null, null, null);
     }
 
     /**
@@ -112,7 +119,7 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
             @NonNull ResultReader<RS, String> resultReader,
             @Nullable Set<JoinPath> joinPaths,
             @Nullable MediaTypeCodec jsonCodec, DataConversionService<?> conversionService) {
-        this(entity, resultReader, joinPaths, null, jsonCodec, conversionService, null);
+        this(entity, resultReader, joinPaths, null, jsonCodec, conversionService, null, null, null);
     }
 
     /**
@@ -131,7 +138,34 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
             @Nullable Set<JoinPath> joinPaths,
             @Nullable MediaTypeCodec jsonCodec,
             @Nullable BiFunction<RuntimePersistentEntity<Object>, Object, Object> loadListener, DataConversionService<?> conversionService) {
-        this(entity, resultReader, joinPaths, null, jsonCodec, conversionService, loadListener);
+        this(entity, resultReader, joinPaths, null, jsonCodec, conversionService, loadListener, null, null);
+    }
+
+    /**
+     * Constructor used to customize the join paths, to share the joined entities through an identity map and to record
+     * the snapshots of the loaded entities. Single-ended joined entities found in the identity map are reused and the
+     * ones read are added to it, so joined entities with the same id are materialized only once.
+     *
+     * @param entity            The entity
+     * @param resultReader      The result reader
+     * @param joinPaths         The join paths
+     * @param jsonCodec         The JSON codec
+     * @param loadListener      The event listener
+     * @param conversionService The conversion service
+     * @param identityMap       The identity map
+     * @param snapshots         The entity snapshots
+     * @since 3.3
+     */
+    public SqlResultEntityTypeMapper(
+            @NonNull RuntimePersistentEntity<R> entity,
+            @NonNull ResultReader<RS, String> resultReader,
+            @Nullable Set<JoinPath> joinPaths,
+            @Nullable MediaTypeCodec jsonCodec,
+            @Nullable BiFunction<RuntimePersistentEntity<Object>, Object, Object> loadListener,
+            DataConversionService<?> conversionService,
+            @Nullable EntityIdentityMap identityMap,
+            @Nullable EntitySnapshots snapshots) {
+        this(entity, resultReader, joinPaths, null, jsonCodec, conversionService, loadListener, identityMap, snapshots);
     }
 
     /**
@@ -141,6 +175,8 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
      * @param resultReader      The result reader
      * @param joinPaths         The join paths
      * @param conversionService The conversion service
+     * @param identityMap       The identity map
+     * @param snapshots         The entity snapshots
      */
     private SqlResultEntityTypeMapper(
             @NonNull RuntimePersistentEntity<R> entity,
@@ -148,7 +184,9 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
             @Nullable Set<JoinPath> joinPaths,
             String startingPrefix,
             @Nullable MediaTypeCodec jsonCodec,
-            DataConversionService<?> conversionService, @Nullable BiFunction<RuntimePersistentEntity<Object>, Object, Object> eventListener) {
+            DataConversionService<?> conversionService, @Nullable BiFunction<RuntimePersistentEntity<Object>, Object, Object> eventListener,
+            @Nullable EntityIdentityMap identityMap,
+            @Nullable EntitySnapshots snapshots) {
         this.conversionService = conversionService;
         ArgumentUtils.requireNonNull("entity", entity);
         ArgumentUtils.requireNonNull("resultReader", resultReader);
@@ -156,6 +194,7 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
         this.jsonCodec = jsonCodec;
         this.resultReader = resultReader;
         this.eventListener = eventListener;
+        this.snapshots = snapshots;
         if (CollectionUtils.isNotEmpty(joinPaths)) {
             this.joinPaths = new HashMap<>(joinPaths.size());
             for (JoinPath joinPath : joinPaths) {
@@ -165,6 +204,14 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
             this.joinPaths = Collections.emptyMap();
         }
         this.startingPrefix = startingPrefix;
+        this.identityMap = this.joinPaths.isEmpty() ? null : identityMap;
+        if (this.identityMap != null) {
+            this.loaded = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.postLoaded = Collections.newSetFromMap(new IdentityHashMap<>());
+        } else {
+            this.loaded = null;
+            this.postLoaded = null;
+        }
     }
 
     @Override
@@ -375,7 +422,9 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
                     }
                 }
             }
-            triggerPostLoad(ctx.persistentEntity, instance);
+            if (postLoaded == null || postLoaded.add(instance)) {
+                triggerPostLoad(ctx.persistentEntity, instance);
+            }
         }
         return instance;
     }
@@ -432,7 +481,7 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
                                         if (joinCtx.jp == null || resolvedId == null && !entityAssociation.isForeignKey()) {
                                             args[i] = buildIdOnlyEntity(rs, ctx.path(entityAssociation), resolvedId);
                                         } else {
-                                            args[i] = readEntity(rs, joinCtx, null, resolvedId);
+                                            args[i] = readJoinedEntity(rs, joinCtx, null, resolvedId);
                                         }
                                     } else if (entityAssociation.getProperty().isReadOnly()) {
                                         // For constructor-only properties (records) always set empty collection and replace later
@@ -545,7 +594,7 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
                             }
                             if (joinCtx.jp != null) {
                                 if (entityAssociation.getKind().isSingleEnded()) {
-                                    Object associatedEntity = readEntity(rs, joinCtx, entity, associatedId);
+                                    Object associatedEntity = readJoinedEntity(rs, joinCtx, entity, associatedId);
                                     entity = setProperty(property, entity, associatedEntity);
                                 } else {
                                     MappingContext<K> associatedCtx = joinCtx.copy();
@@ -576,6 +625,38 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
         }
     }
 
+    @Nullable
+    private <K> K readJoinedEntity(RS rs, MappingContext<K> joinCtx, @Nullable Object parent, @Nullable Object associatedId) {
+        if (identityMap == null || associatedId == null || hasNestedJoins(joinCtx.jp)) {
+            return readEntity(rs, joinCtx, parent, associatedId);
+        }
+        RuntimePersistentEntity<K> associatedEntity = joinCtx.persistentEntity;
+        K existing = identityMap.get(associatedEntity, associatedId);
+        if (existing != null) {
+            if (!loaded.contains(existing)) {
+                // Loaded by a previous operation, the post load event was already triggered
+                postLoaded.add(existing);
+            }
+            return existing;
+        }
+        K instance = readEntity(rs, joinCtx, parent, associatedId);
+        if (instance != null) {
+            loaded.add(instance);
+            identityMap.put(associatedEntity, associatedId, instance);
+        }
+        return instance;
+    }
+
+    private boolean hasNestedJoins(JoinPath joinPath) {
+        String prefix = joinPath.getPath() + ".";
+        for (String path : joinPaths.keySet()) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private <K> Object readProperty(RS rs, MappingContext<K> ctx, RuntimePersistentProperty<K> prop) {
         String columnName = ctx.namingStrategy.mappedName(ctx.embeddedPath, prop);
         if (ctx.prefix != null && ctx.prefix.length() != 0) {
@@ -596,6 +677,9 @@ public final class SqlResultEntityTypeMapper<RS, R> implements SqlTypeMapper<RS,
         } else {
             finalEntity = entity;
         }
+        if (snapshots != null) {
+            snapshots.record((RuntimePersistentEntity<K>) persistentEntity, finalEntity);
+        }
         return finalEntity;
     }
 
@@ -33,11 +33,21 @@ import io.micronaut.data.model.runtime.UpdateOperation;
 import io.micronaut.data.operations.RepositoryOperations;
 import io.micronaut.data.operations.reactive.ReactiveRepositoryOperations;
 import io.micronaut.data.runtime.convert.DataConversionService;
+import io.micronaut.transaction.SynchronousTransactionManager;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.TransactionStatus;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * An implementation of {@link ReactiveRepositoryOperations} that delegates to a blocking operations and specified {@link Executor}.
@@ -45,14 +55,26 @@ import java.util.concurrent.Executor;
  *
  * <p>If a backing implementation provides a reactive API then the backing implementation should not use this class and instead directly implement the {@link ReactiveRepositoryOperations} interface.</p>
  *
+ * <p>When created with a maximum concurrency the blocking calls are executed on a bounded scheduler, so that no more calls than
+ * available connections are in flight, and {@link #findAll(PreparedQuery)} streams the results according to the downstream demand
+ * instead of loading the complete result into memory. Such an instance should be closed once it is no longer used.</p>
+ *
  * @see ReactiveRepositoryOperations
  * @author graemerocher
  * @since 1.0.0
  */
-public class ExecutorReactiveOperations implements ReactiveRepositoryOperations {
+public class ExecutorReactiveOperations implements ReactiveRepositoryOperations, AutoCloseable {
+
+    private static final int MAX_STREAM_CHUNK_SIZE = 256;
 
     private final ExecutorAsyncOperations asyncOperations;
     private final ConversionService<?> dataConversionService;
+    @Nullable
+    private final RepositoryOperations datastore;
+    @Nullable
+    private final TransactionOperations<?> transactionOperations;
+    @Nullable
+    private final Scheduler scheduler;
 
     /**
      * Default constructor.
@@ -97,6 +119,37 @@ public class ExecutorReactiveOperations implements ReactiveRepositoryOperations
         this.asyncOperations = asyncOperations;
         // Backwards compatibility should be removed in the next version
         this.dataConversionService = dataConversionService == null ? ConversionService.SHARED : dataConversionService;
+        this.datastore = null;
+        this.transactionOperations = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * Constructor that limits the number of concurrently executing blocking calls.
+     *
+     * @param datastore             The target operations
+     * @param transactionOperations The transaction operations used to keep a read transaction open while streaming, can be null
+     * @param maxConcurrency        The maximum number of concurrent blocking calls, usually the size of the connection pool
+     * @param name                  The name used for the worker threads
+     * @param dataConversionService The data conversion service
+     * @since 3.3
+     */
+    public ExecutorReactiveOperations(@NonNull RepositoryOperations datastore,
+                                      @Nullable TransactionOperations<?> transactionOperations,
+                                      int maxConcurrency,
+                                      @NonNull String name,
+                                      DataConversionService<?> dataConversionService) {
+        ArgumentUtils.requireNonNull("datastore", datastore);
+        ArgumentUtils.requireNonNull("name", name);
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be greater than zero: " + maxConcurrency);
+        }
+        Scheduler scheduler = Schedulers.newBoundedElastic(maxConcurrency, Integer.MAX_VALUE, name, 60, true);
+        this.asyncOperations = new ExecutorAsyncOperations(datastore, scheduler::schedule);
+        this.dataConversionService = dataConversionService == null ? ConversionService.SHARED : dataConversionService;
+        this.datastore = datastore;
+        this.transactionOperations = transactionOperations;
+        this.scheduler = scheduler;
     }
 
     @NonNull
@@ -174,6 +227,15 @@ public class ExecutorReactiveOperations implements ReactiveRepositoryOperations
     @NonNull
     @Override
     public <T, R> Publisher<R> findAll(@NonNull PreparedQuery<T, R> preparedQuery) {
+        if (scheduler != null && datastore != null) {
+            RepositoryOperations datastore = this.datastore;
+            return Flux.create(sink -> {
+                StreamEmitter<R> emitter = new StreamEmitter<>(sink, () -> datastore.findStream(preparedQuery));
+                sink.onRequest(emitter::request);
+                sink.onDispose(emitter::cancel);
+                scheduler.schedule(emitter);
+            });
+        }
         return Flux.from(Publishers.fromCompletableFuture(() ->
                 asyncOperations.findAll(preparedQuery)
         )).flatMap(Flux::fromIterable);
@@ -233,6 +295,13 @@ public class ExecutorReactiveOperations implements ReactiveRepositoryOperations
         ), number -> convertNumberArgumentIfNecessary(number, operation.getResultArgument()));
     }
 
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
     /**
      * Convert a number argument if necessary.
      * @param number The number
@@ -255,4 +324,105 @@ public class ExecutorReactiveOperations implements ReactiveRepositoryOperations
             return number;
         }
     }
+
+    /**
+     * Emits a blocking stream on a single worker thread. The stream and the transaction around it are
+     * opened, iterated and closed by the same thread, so thread bound resources like the connection stay valid.
+     * Rows are only read once they are requested.
+     *
+     * @param <R> The result type
+     */
+    private final class StreamEmitter<R> implements Runnable {
+
+        private final FluxSink<R> sink;
+        private final Supplier<Stream<R>> streamSupplier;
+        private long demand;
+        private boolean cancelled;
+
+        private StreamEmitter(FluxSink<R> sink, Supplier<Stream<R>> streamSupplier) {
+            this.sink = sink;
+            this.streamSupplier = streamSupplier;
+        }
+
+        synchronized void request(long n) {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            notifyAll();
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        private synchronized long awaitDemand() throws InterruptedException {
+            while (demand == 0 && !cancelled) {
+                wait();
+            }
+            return cancelled ? 0 : Math.min(demand, MAX_STREAM_CHUNK_SIZE);
+        }
+
+        private synchronized void produced(long n) {
+            if (demand != Long.MAX_VALUE) {
+                demand -= n;
+            }
+        }
+
+        @Override
+        public void run() {
+            SynchronousTransactionManager<?> transactionManager = transactionOperations instanceof SynchronousTransactionManager
+                    ? (SynchronousTransactionManager<?>) transactionOperations : null;
+            TransactionStatus<?> status = null;
+            try {
+                if (transactionManager != null) {
+                    status = transactionManager.getTransaction(TransactionDefinition.READ_ONLY);
+                }
+                boolean completed = false;
+                try (Stream<R> stream = streamSupplier.get()) {
+                    Iterator<R> iterator = stream.iterator();
+                    long chunk;
+                    while ((chunk = awaitDemand()) > 0) {
+                        long emitted = 0;
+                        while (emitted < chunk && iterator.hasNext()) {
+                            sink.next(iterator.next());
+                            emitted++;
+                        }
+                        produced(emitted);
+                        // Checked after every chunk, the rows can end exactly with the demand
+                        if (!iterator.hasNext()) {
+                            completed = true;
+                            break;
+                        }
+                    }
+                }
+                if (status != null) {
+                    commit(transactionManager, status);
+                }
+                if (completed) {
+                    sink.complete();
+                }
+            } catch (Throwable e) {
+                if (status != null && !status.isCompleted()) {
+                    rollback(transactionManager, status);
+                }
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                sink.error(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <C> void commit(SynchronousTransactionManager<C> transactionManager, TransactionStatus<?> status) {
+            transactionManager.commit((TransactionStatus<C>) status);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <C> void rollback(SynchronousTransactionManager<C> transactionManager, TransactionStatus<?> status) {
+            try {
+                transactionManager.rollback((TransactionStatus<C>) status);
+            } catch (Exception e) {
+                // the original exception is propagated
+            }
+        }
+    }
 }
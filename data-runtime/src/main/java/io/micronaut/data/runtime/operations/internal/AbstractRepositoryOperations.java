@@ -266,7 +266,8 @@ public abstract class AbstractRepositoryOperations<Cnt, PS, Exc extends Exceptio
             Set<Object> persisted,
             EntityOperations<T> op) {
         try {
-            boolean hasGeneratedID = op.persistentEntity.getIdentity() != null && op.persistentEntity.getIdentity().isGenerated();
+            boolean hasGeneratedID = op.persistentEntity.getIdentity() != null && op.persistentEntity.getIdentity().isGenerated()
+                    && !sqlOperation.isIdentityAssigned();
             if (QUERY_LOG.isDebugEnabled()) {
                 QUERY_LOG.debug("Executing SQL Insert: {}", sqlOperation.getQuery());
             }
@@ -310,7 +311,8 @@ public abstract class AbstractRepositoryOperations<Cnt, PS, Exc extends Exceptio
             List<Association> associations,
             Set<Object> persisted,
             EntitiesOperations<T> op) {
-        boolean hasGeneratedID = op.persistentEntity.getIdentity() != null && op.persistentEntity.getIdentity().isGenerated();
+        boolean hasGeneratedID = op.persistentEntity.getIdentity() != null && op.persistentEntity.getIdentity().isGenerated()
+                && !sqlOperation.isIdentityAssigned();
         try {
             boolean allVetoed = op.triggerPrePersist();
             if (allVetoed) {
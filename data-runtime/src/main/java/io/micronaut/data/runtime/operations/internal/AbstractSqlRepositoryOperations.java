@@ -20,12 +20,18 @@ import io.micronaut.context.BeanContext;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.type.Argument;
 import io.micronaut.data.annotation.AutoPopulated;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.TypeRole;
 import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.intercept.annotation.DataMethod;
 import io.micronaut.data.model.Association;
 import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.Embedded;
 import io.micronaut.data.model.PersistentProperty;
 import io.micronaut.data.model.query.QueryModel;
 import io.micronaut.data.model.query.QueryParameter;
@@ -34,27 +40,35 @@ import io.micronaut.data.model.query.builder.sql.Dialect;
 import io.micronaut.data.model.query.builder.sql.SqlQueryBuilder;
 import io.micronaut.data.model.runtime.AttributeConverterRegistry;
 import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.model.runtime.QueryParameterBinding;
 import io.micronaut.data.model.runtime.RuntimeAssociation;
 import io.micronaut.data.model.runtime.RuntimeEntityRegistry;
 import io.micronaut.data.model.runtime.RuntimePersistentEntity;
 import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+import io.micronaut.data.model.runtime.StoredQuery;
 import io.micronaut.data.repository.GenericRepository;
 import io.micronaut.data.runtime.config.DataSettings;
 import io.micronaut.data.runtime.convert.DataConversionService;
 import io.micronaut.data.runtime.date.DateTimeProvider;
+import io.micronaut.data.runtime.jfr.QueryEvents;
 import io.micronaut.data.runtime.mapper.QueryStatement;
 import io.micronaut.data.runtime.mapper.ResultReader;
+import io.micronaut.data.runtime.support.RepeatedQueryDetector;
+import io.micronaut.data.runtime.support.SlowQueryLog;
 import io.micronaut.http.codec.MediaTypeCodec;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import org.slf4j.Logger;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -84,8 +98,15 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
     protected final QueryStatement<PS, Integer> preparedStatementWriter;
     protected final Map<Class, SqlQueryBuilder> queryBuilders = new HashMap<>(10);
     private final Map<QueryKey, DBOperation> entityInserts = new ConcurrentHashMap<>(10);
+    private final Map<QueryKey, DBOperation> entityIdentityInserts = new ConcurrentHashMap<>(10);
     private final Map<QueryKey, DBOperation> entityUpdates = new ConcurrentHashMap<>(10);
+    private final Map<QueryKey, Map<BitSet, DBOperation>> entityPartialUpdates = new ConcurrentHashMap<>(10);
+    private final Map<QueryKey, Optional<String[]>> entitySetDeletes = new ConcurrentHashMap<>(10);
     private final Map<Association, String> associationInserts = new ConcurrentHashMap<>(10);
+    @Nullable
+    private final RepeatedQueryDetector repeatedQueryDetector;
+    @Nullable
+    private final SlowQueryLog slowQueryLog;
 
     /**
      * Default constructor.
@@ -116,6 +137,12 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
         this.columnNameResultSetReader = columnNameResultSetReader;
         this.columnIndexResultSetReader = columnIndexResultSetReader;
         this.preparedStatementWriter = preparedStatementWriter;
+        this.repeatedQueryDetector = beanContext.findBean(RepeatedQueryDetector.class)
+                .filter(RepeatedQueryDetector::isEnabled)
+                .orElse(null);
+        this.slowQueryLog = beanContext.findBean(SlowQueryLog.class)
+                .filter(SlowQueryLog::isEnabled)
+                .orElse(null);
         Collection<BeanDefinition<GenericRepository>> beanDefinitions = beanContext
                 .getBeanDefinitions(GenericRepository.class, Qualifiers.byStereotype(Repository.class));
         for (BeanDefinition<GenericRepository> beanDefinition : beanDefinitions) {
@@ -146,10 +173,35 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
             @NonNull PreparedQuery<T, R> preparedQuery,
             boolean isUpdate,
             boolean isSingleResult) throws Exc {
+        return prepareStatement(connection, statementFunction, preparedQuery, isUpdate, isSingleResult, null);
+    }
+
+    /**
+     * Prepare a statement for execution and record its query and bound values in the query events.
+     *
+     * @param connection        The connection
+     * @param statementFunction The statement function
+     * @param preparedQuery     The prepared query
+     * @param isUpdate          Is this an update
+     * @param isSingleResult    Is it a single result
+     * @param events            The events of the query, see {@link #startQueryEvents(PreparedQuery)}
+     * @param <T>               The query declaring type
+     * @param <R>               The query result type
+     * @return The prepared statement
+     * @since 3.3
+     */
+    protected <T, R> PS prepareStatement(
+            Cnt connection,
+            StatementSupplier<PS> statementFunction,
+            @NonNull PreparedQuery<T, R> preparedQuery,
+            boolean isUpdate,
+            boolean isSingleResult,
+            @Nullable QueryEvents events) throws Exc {
         SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(preparedQuery.getRepositoryType(), DEFAULT_SQL_BUILDER);
         RuntimePersistentEntity<T> persistentEntity = getEntity(preparedQuery.getRootEntity());
 
-        PreparedQueryDBOperation pqSqlOperation = new PreparedQueryDBOperation(preparedQuery, queryBuilder);
+        PreparedQueryDBOperation pqSqlOperation = new PreparedQueryDBOperation(preparedQuery, queryBuilder, isPadExpandedParameters(),
+                isArrayExpandedParameters(queryBuilder.dialect()));
         pqSqlOperation.checkForParameterToBeExpanded(persistentEntity, null);
         if (!isUpdate) {
             pqSqlOperation.attachPageable(preparedQuery.getPageable(), isSingleResult, persistentEntity, queryBuilder);
@@ -159,17 +211,81 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
         if (QUERY_LOG.isDebugEnabled()) {
             QUERY_LOG.debug("Executing Query: {}", query);
         }
+        if (repeatedQueryDetector != null) {
+            repeatedQueryDetector.record(preparedQuery);
+        }
         final PS ps;
         try {
             ps = statementFunction.create(query);
         } catch (Exception e) {
             throw new DataAccessException("Unable to prepare query [" + query + "]: " + e.getMessage(), e);
         }
-        pqSqlOperation.setParameters(this, connection, ps, persistentEntity, null, null);
+        OpContext<Cnt, PS> context = events != null && events.isRecordingValues() ? new ValueRecordingContext(events) : this;
+        pqSqlOperation.setParameters(context, connection, ps, persistentEntity, null, null);
+        if (events != null) {
+            events.prepared(query);
+        }
 
         return ps;
     }
 
+    /**
+     * Starts recording the execution of a query for the Flight Recorder events and the slow query log.
+     *
+     * @param preparedQuery The prepared query
+     * @return The events or null if none is enabled and the query is not timed
+     * @since 3.3
+     */
+    @Nullable
+    protected QueryEvents startQueryEvents(@NonNull PreparedQuery<?, ?> preparedQuery) {
+        SlowQueryLog.Trace trace = null;
+        if (slowQueryLog != null) {
+            Dialect dialect = queryBuilders.getOrDefault(preparedQuery.getRepositoryType(), DEFAULT_SQL_BUILDER).dialect();
+            trace = slowQueryLog.start(preparedQuery, dialect, (explainQuery, values) -> explain(dialect, explainQuery, values));
+        }
+        return QueryEvents.start(preparedQuery, trace);
+    }
+
+    /**
+     * Captures the execution plan of a slow query on a separate connection. Invoked on the I/O executor.
+     *
+     * @param dialect      The dialect
+     * @param explainQuery The {@code EXPLAIN} statement
+     * @param values       The values to bind with {@link #setStatementParameter(Object, int, DataType, Object, Dialect)}
+     * @return The plan or null if it cannot be captured
+     * @throws Exception if the statement fails
+     * @since 3.3
+     */
+    @Nullable
+    protected String explain(@NonNull Dialect dialect, @NonNull String explainQuery, @NonNull List<SlowQueryLog.BoundValue> values) throws Exception {
+        return null;
+    }
+
+    /**
+     * Whether the values of expanded parameters, like the values of an {@code IN} expression, should be padded to the next
+     * power of two. Padding keeps the number of distinct SQL statements low, so drivers caching prepared statements by their SQL
+     * can reuse them.
+     *
+     * @return True if the values should be padded
+     * @since 3.3
+     */
+    protected boolean isPadExpandedParameters() {
+        return false;
+    }
+
+    /**
+     * Whether the values of an {@code IN} expression are bound as a single array compared with {@code = ANY(?)}, instead
+     * of a parameter per value. The SQL statement then stays the same for any number of values and the values don't
+     * count against the parameter limit of the driver. Only used for values of a type that maps to an SQL array.
+     *
+     * @param dialect The dialect
+     * @return True if the values should be bound as an array
+     * @since 3.3
+     */
+    protected boolean isArrayExpandedParameters(Dialect dialect) {
+        return false;
+    }
+
     /**
      * Set the parameter value on the given statement.
      *
@@ -244,6 +360,32 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
         });
     }
 
+    /**
+     * Resolves an insert for the given entity that binds its generated identity, for identities allocated by the client
+     * before the insert.
+     *
+     * @param annotationMetadata The repository annotation metadata
+     * @param repositoryType     The repository type
+     * @param rootEntity         The root entity
+     * @param persistentEntity   The persistent entity
+     * @return The insert
+     * @since 3.3
+     */
+    protected @NonNull
+    DBOperation resolveEntityInsertWithIdentity(
+            AnnotationMetadata annotationMetadata,
+            Class<?> repositoryType,
+            @NonNull Class<?> rootEntity,
+            @NonNull RuntimePersistentEntity<?> persistentEntity) {
+
+        return entityIdentityInserts.computeIfAbsent(new QueryKey(repositoryType, rootEntity), (queryKey) -> {
+            final SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
+            final QueryResult queryResult = queryBuilder.buildInsertWithIdentity(annotationMetadata, persistentEntity);
+
+            return new QueryResultSqlOperation(queryBuilder, queryResult, true);
+        });
+    }
+
     /**
      * Builds a join table insert.
      *
@@ -311,6 +453,253 @@ public abstract class AbstractSqlRepositoryOperations<Cnt, RS, PS, Exc extends E
         });
     }
 
+    /**
+     * Resolves the maximum number of entities bound to a single batch statement of an operation.
+     *
+     * @param storedQuery      The stored query of the operation
+     * @param defaultBatchSize The batch size of the data source
+     * @return The batch size set by the {@link DataSettings#BATCH_SIZE_HINT} query hint or the default batch size
+     */
+    protected int resolveBatchSize(@Nullable StoredQuery<?, ?> storedQuery, int defaultBatchSize) {
+        if (storedQuery == null) {
+            return defaultBatchSize;
+        }
+        Object hint = storedQuery.getQueryHints().get(DataSettings.BATCH_SIZE_HINT);
+        if (hint == null) {
+            return defaultBatchSize;
+        }
+        return conversionService.convert(hint, Integer.class)
+                .filter(batchSize -> batchSize > 0)
+                .orElse(defaultBatchSize);
+    }
+
+    /**
+     * Resolves the update of an entity instance that sets only the columns modified since its snapshot was recorded.
+     * The updates are cached per entity and set of modified properties.
+     *
+     * @param annotationMetadata The repository method annotation metadata
+     * @param repositoryType     The repository type
+     * @param persistentEntity   The persistent entity
+     * @param entity             The entity instance
+     * @param snapshots          The entity snapshots
+     * @param entityUpdate       The update of all the columns
+     * @param <T>                The entity type
+     * @return The partial update, the given update if the entity doesn't have a snapshot or the update is a custom
+     * query, or null if the entity isn't modified
+     */
+    @Nullable
+    protected <T> DBOperation resolveEntityDirtyUpdate(
+            AnnotationMetadata annotationMetadata,
+            Class<?> repositoryType,
+            @NonNull RuntimePersistentEntity<T> persistentEntity,
+            @NonNull T entity,
+            @NonNull EntitySnapshots snapshots,
+            @NonNull DBOperation entityUpdate) {
+        if (annotationMetadata.stringValue(Query.class, DataMethod.META_MEMBER_RAW_QUERY).isPresent()) {
+            return entityUpdate;
+        }
+        BitSet modified = snapshots.findModifiedProperties(persistentEntity, entity);
+        if (modified == null) {
+            return entityUpdate;
+        }
+        if (modified.isEmpty()) {
+            return null;
+        }
+        Class<T> rootEntity = persistentEntity.getIntrospection().getBeanType();
+        return entityPartialUpdates.computeIfAbsent(new QueryKey(repositoryType, rootEntity), key -> new ConcurrentHashMap<>(10))
+                .computeIfAbsent(modified, properties -> {
+                    final SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
+                    final PersistentProperty identity = persistentEntity.getIdentity();
+                    final QueryModel queryModel = QueryModel.from(persistentEntity)
+                            .idEq(new QueryParameter(identity.getName()));
+                    RuntimePersistentProperty<?>[] trackedProperties = snapshots.getTrackedProperties(persistentEntity);
+                    List<String> updateProperties = new ArrayList<>(properties.cardinality() + 1);
+                    for (int i = properties.nextSetBit(0); i >= 0; i = properties.nextSetBit(i + 1)) {
+                        updateProperties.add(trackedProperties[i].getName());
+                    }
+                    for (RuntimePersistentProperty<T> property : persistentEntity.getPersistentProperties()) {
+                        if (property.getAnnotationMetadata().booleanValue(AutoPopulated.class, AutoPopulated.UPDATEABLE).orElse(false)) {
+                            updateProperties.add(property.getName());
+                        }
+                    }
+                    final QueryResult queryResult = queryBuilder.buildUpdate(
+                            annotationMetadata,
+                            queryModel,
+                            updateProperties
+                    );
+                    if (QUERY_LOG.isDebugEnabled()) {
+                        QUERY_LOG.debug("Created partial update of entity [{}] for the modified properties {}", persistentEntity.getName(), updateProperties);
+                    }
+                    return new QueryResultSqlOperation(queryBuilder, queryResult);
+                });
+    }
+
+    /**
+     * Resolves the delete of a set of entity instances by their ids, {@code DELETE ... WHERE id IN (...)}, that replaces
+     * the batch of single row deletes of a stored query. The entities with a version are not supported, the optimistic
+     * lock requires the count of the deleted rows of every instance.
+     *
+     * @param annotationMetadata The repository method annotation metadata
+     * @param repositoryType     The repository type
+     * @param persistentEntity   The persistent entity
+     * @param storedQuery        The stored delete of a single instance
+     * @param <T>                The entity type
+     * @return The parts of the delete around the expanded ids or null if the instances have to be deleted one by one
+     */
+    @Nullable
+    protected <T> String[] resolveEntitySetDelete(
+            AnnotationMetadata annotationMetadata,
+            Class<?> repositoryType,
+            @NonNull RuntimePersistentEntity<T> persistentEntity,
+            @NonNull StoredQuery<?, ?> storedQuery) {
+        RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
+        if (identity == null || identity instanceof Embedded || persistentEntity.getVersion() != null
+                || annotationMetadata.stringValue(Query.class, DataMethod.META_MEMBER_RAW_QUERY).isPresent()) {
+            return null;
+        }
+        for (QueryParameterBinding binding : storedQuery.getQueryBindings()) {
+            String[] propertyPath = binding.getPropertyPath();
+            if (propertyPath == null || propertyPath.length != 1 || !propertyPath[0].equals(identity.getName())) {
+                // The stored delete has a criteria that isn't the id
+                return null;
+            }
+        }
+        Class<T> rootEntity = persistentEntity.getIntrospection().getBeanType();
+        return entitySetDeletes.computeIfAbsent(new QueryKey(repositoryType, rootEntity), key -> {
+            final SqlQueryBuilder queryBuilder = queryBuilders.getOrDefault(repositoryType, DEFAULT_SQL_BUILDER);
+            final QueryModel queryModel = QueryModel.from(persistentEntity)
+                    .inList(identity.getName(), new QueryParameter(identity.getName()));
+            final QueryResult queryResult = queryBuilder.buildDelete(annotationMetadata, queryModel);
+            List<String> queryParts = queryResult.getQueryParts();
+            if (queryResult.getParameterBindings().size() != 1 || queryParts.size() != 2
+                    || StoredSqlOperation.toArrayComparison(queryParts.get(0), queryParts.get(1)) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(queryParts.toArray(new String[0]));
+        }).orElse(null);
+    }
+
+    /**
+     * Builds the delete of the given number of entity instances from the parts resolved by
+     * {@link #resolveEntitySetDelete(AnnotationMetadata, Class, RuntimePersistentEntity, StoredQuery)}. The ids are
+     * compared with {@code = ANY(?)} if they are bound as an array, see {@link #isArrayExpandedParameters(Dialect)}.
+     *
+     * @param queryBuilder     The query builder
+     * @param persistentEntity The persistent entity
+     * @param queryParts       The parts of the delete
+     * @param size             The number of instances
+     * @return The delete
+     */
+    protected String buildEntitySetDelete(SqlQueryBuilder queryBuilder,
+                                          @NonNull RuntimePersistentEntity<?> persistentEntity,
+                                          String[] queryParts,
+                                          int size) {
+        String positionalParameterFormat = queryBuilder.positionalParameterFormat();
+        if (findIdArrayDataType(queryBuilder.dialect(), persistentEntity) != null) {
+            return StoredSqlOperation.toArrayComparison(queryParts[0], queryParts[1])
+                    + String.format(positionalParameterFormat, 1)
+                    + queryParts[1];
+        }
+        StringBuilder query = new StringBuilder(queryParts[0].length() + queryParts[1].length() + size * 4);
+        query.append(queryParts[0]);
+        for (int i = 1; i <= size; i++) {
+            query.append(String.format(positionalParameterFormat, i));
+            if (i != size) {
+                query.append(",");
+            }
+        }
+        return query.append(queryParts[1]).toString();
+    }
+
+    /**
+     * Binds the ids of the entity instances to a delete built by
+     * {@link #buildEntitySetDelete(SqlQueryBuilder, RuntimePersistentEntity, String[], int)}.
+     *
+     * @param connection       The connection
+     * @param stmt             The statement
+     * @param persistentEntity The persistent entity
+     * @param entities         The instances
+     * @param dialect          The dialect
+     * @param <T>              The entity type
+     */
+    protected <T> void setEntityIdParameters(Cnt connection,
+                                             PS stmt,
+                                             @NonNull RuntimePersistentEntity<T> persistentEntity,
+                                             @NonNull Collection<T> entities,
+                                             Dialect dialect) {
+        RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
+        BeanProperty<T, Object> idReader = (BeanProperty<T, Object>) identity.getProperty();
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            Object id = idReader.get(entity);
+            if (id == null) {
+                throw new DataAccessException("Supplied entity is a transient instance: " + entity);
+            }
+            ids.add(convert(connection, id, identity));
+        }
+        DataType arrayDataType = findIdArrayDataType(dialect, persistentEntity);
+        if (arrayDataType != null) {
+            // The ids are converted to the array of the data type when bound
+            setStatementParameter(stmt, shiftIndex(0), arrayDataType, ids, dialect);
+            return;
+        }
+        int index = shiftIndex(0);
+        for (Object id : ids) {
+            setStatementParameter(stmt, index++, identity.getDataType(), id, dialect);
+        }
+    }
+
+    @Nullable
+    private DataType findIdArrayDataType(Dialect dialect, RuntimePersistentEntity<?> persistentEntity) {
+        if (!isArrayExpandedParameters(dialect)) {
+            return null;
+        }
+        return StoredSqlOperation.findArrayDataType(persistentEntity.getIdentity().getDataType());
+    }
+
+    /**
+     * Records the values bound to a statement in the query events.
+     */
+    private final class ValueRecordingContext implements OpContext<Cnt, PS> {
+
+        private final QueryEvents events;
+
+        ValueRecordingContext(QueryEvents events) {
+            this.events = events;
+        }
+
+        @Override
+        public RuntimeEntityRegistry getRuntimeEntityRegistry() {
+            return AbstractSqlRepositoryOperations.this.getRuntimeEntityRegistry();
+        }
+
+        @Override
+        public <T> RuntimePersistentEntity<T> getEntity(@NonNull Class<T> type) {
+            return AbstractSqlRepositoryOperations.this.getEntity(type);
+        }
+
+        @Override
+        public int shiftIndex(int index) {
+            return AbstractSqlRepositoryOperations.this.shiftIndex(index);
+        }
+
+        @Override
+        public void setStatementParameter(PS preparedStatement, int index, DataType dataType, Object value, Dialect dialect) {
+            events.bound(index, dataType, value);
+            AbstractSqlRepositoryOperations.this.setStatementParameter(preparedStatement, index, dataType, value, dialect);
+        }
+
+        @Override
+        public Object convert(Cnt connection, Object value, RuntimePersistentProperty<?> property) {
+            return AbstractSqlRepositoryOperations.this.convert(connection, value, property);
+        }
+
+        @Override
+        public Object convert(Class<?> converterClass, Cnt connection, Object value, @Nullable Argument<?> argument) {
+            return AbstractSqlRepositoryOperations.this.convert(converterClass, connection, value, argument);
+        }
+    }
+
     /**
      * Used to cache queries for entities.
      */
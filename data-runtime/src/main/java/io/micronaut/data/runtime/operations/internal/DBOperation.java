@@ -73,6 +73,17 @@ public abstract class DBOperation {
         return false;
     }
 
+    /**
+     * Return true if the insert binds the generated identity of the entity, which is assigned before the insert
+     * instead of being generated by the database and read back.
+     *
+     * @return true if the identity is assigned by the client
+     * @since 3.3
+     */
+    public boolean isIdentityAssigned() {
+        return false;
+    }
+
     /**
      * Collect auto-populated property values before pre-actions are triggered and property values are modified.
      *
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.operations.internal;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.intercept.annotation.DataMethod;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.model.runtime.QueryParameterBinding;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A transaction scoped identity map (first level cache) of the entities loaded or written in a transaction, keyed
+ * by the entity type and the identity.
+ *
+ * @since 3.3
+ */
+@Internal
+public final class EntityIdentityMap {
+
+    private final Map<Class<?>, Map<Object, Object>> entities = new ConcurrentHashMap<>(5);
+
+    /**
+     * Finds an entity instance.
+     *
+     * @param persistentEntity The persistent entity
+     * @param id               The identity
+     * @param <T>              The entity type
+     * @return The instance or null if the entity is not present
+     */
+    @Nullable
+    public <T> T get(@NonNull RuntimePersistentEntity<T> persistentEntity, @NonNull Object id) {
+        Map<Object, Object> instances = entities.get(persistentEntity.getIntrospection().getBeanType());
+        if (instances == null) {
+            return null;
+        }
+        return (T) instances.get(id);
+    }
+
+    /**
+     * Stores an entity instance.
+     *
+     * @param persistentEntity The persistent entity
+     * @param id               The identity
+     * @param entity           The instance
+     * @param <T>              The entity type
+     */
+    public <T> void put(@NonNull RuntimePersistentEntity<T> persistentEntity, @NonNull Object id, @NonNull T entity) {
+        entities.computeIfAbsent(persistentEntity.getIntrospection().getBeanType(), type -> new ConcurrentHashMap<>(10))
+                .put(id, entity);
+    }
+
+    /**
+     * Stores an entity instance using its identity.
+     *
+     * @param persistentEntity The persistent entity
+     * @param entity           The instance
+     * @param <T>              The entity type
+     */
+    public <T> void put(@NonNull RuntimePersistentEntity<T> persistentEntity, @Nullable T entity) {
+        Object id = getId(persistentEntity, entity);
+        if (id != null) {
+            put(persistentEntity, id, entity);
+        }
+    }
+
+    /**
+     * Removes an entity instance.
+     *
+     * @param persistentEntity The persistent entity
+     * @param entity           The instance
+     * @param <T>              The entity type
+     */
+    public <T> void remove(@NonNull RuntimePersistentEntity<T> persistentEntity, @Nullable T entity) {
+        Object id = getId(persistentEntity, entity);
+        if (id != null) {
+            Map<Object, Object> instances = entities.get(persistentEntity.getIntrospection().getBeanType());
+            if (instances != null) {
+                instances.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Removes all the instances of the entity, used when a bulk operation modifies an unknown set of rows.
+     *
+     * @param persistentEntity The persistent entity
+     */
+    public void clear(@NonNull RuntimePersistentEntity<?> persistentEntity) {
+        entities.remove(persistentEntity.getIntrospection().getBeanType());
+    }
+
+    /**
+     * Removes all the instances.
+     */
+    public void clear() {
+        entities.clear();
+    }
+
+    /**
+     * Resolves the identity the query loads the entity by if the query can be served from the identity map.
+     * That is the case for single entity queries restricted only by the identity without any join fetches or
+     * pessimistic locks.
+     *
+     * @param preparedQuery The prepared query
+     * @return The identity or null if the query cannot be served from the identity map
+     */
+    @Nullable
+    public static Object findLookupId(@NonNull PreparedQuery<?, ?> preparedQuery) {
+        if (preparedQuery.getResultDataType() != DataType.ENTITY
+                || !preparedQuery.getRootEntity().equals(preparedQuery.getResultType())
+                || !preparedQuery.getJoinFetchPaths().isEmpty()
+                || !preparedQuery.getAnnotationMetadata().isTrue(DataMethod.class, DataMethod.META_MEMBER_ID_LOOKUP)
+                || preparedQuery.getAnnotationMetadata().isPresent(DataMethod.class, DataMethod.META_MEMBER_LOCK_MODE)) {
+            return null;
+        }
+        List<QueryParameterBinding> bindings = preparedQuery.getQueryBindings();
+        if (bindings.size() != 1) {
+            return null;
+        }
+        int index = bindings.get(0).getParameterIndex();
+        Object[] parameters = preparedQuery.getParameterArray();
+        if (index < 0 || index >= parameters.length) {
+            return null;
+        }
+        return parameters[index];
+    }
+
+    @Nullable
+    private static <T> Object getId(RuntimePersistentEntity<T> persistentEntity, @Nullable T entity) {
+        RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
+        if (entity == null || identity == null) {
+            return null;
+        }
+        return identity.getProperty().get(entity);
+    }
+}
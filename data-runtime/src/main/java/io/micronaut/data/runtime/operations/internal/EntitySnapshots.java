@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.operations.internal;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.AutoPopulated;
+import io.micronaut.data.model.Association;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.Embedded;
+import io.micronaut.data.model.runtime.RuntimeAssociation;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a snapshot of the column values of the loaded entities, so that an entity update can set only the modified
+ * columns. The snapshots are weakly keyed by the entity instance and don't prevent it from being garbage collected.
+ *
+ * <p>Only the properties an entity update writes from the entity values are tracked, that is the properties that are
+ * not mapped by the other side of an association and are not auto-populated. The values of embedded properties and the
+ * ids of the associated entities are recorded. Entities without an identity or with a version are not tracked.</p>
+ *
+ * @since 3.3
+ */
+@Internal
+public final class EntitySnapshots {
+
+    private static final Object ALWAYS_DIRTY = new Object();
+
+    private final Map<InstanceKey, Object[]> snapshots = new ConcurrentHashMap<>(100);
+    private final Map<Class<?>, RuntimePersistentProperty<?>[]> trackedProperties = new ConcurrentHashMap<>(10);
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * Records the snapshot of an entity instance, replacing the previous one.
+     *
+     * @param persistentEntity The persistent entity
+     * @param entity           The instance
+     * @param <T>              The entity type
+     */
+    public <T> void record(@NonNull RuntimePersistentEntity<T> persistentEntity, @Nullable T entity) {
+        if (entity == null || !isTracked(persistentEntity)) {
+            return;
+        }
+        expungeCollected();
+        RuntimePersistentProperty<?>[] properties = getTrackedProperties(persistentEntity);
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            values[i] = snapshotValue(properties[i], entity);
+        }
+        snapshots.put(new InstanceKey(entity, collected), values);
+    }
+
+    /**
+     * Records the snapshots of entity instances.
+     *
+     * @param persistentEntity The persistent entity
+     * @param entities         The instances
+     * @param <T>              The entity type
+     */
+    public <T> void recordAll(@NonNull RuntimePersistentEntity<T> persistentEntity, @NonNull Iterable<T> entities) {
+        if (isTracked(persistentEntity)) {
+            for (T entity : entities) {
+                record(persistentEntity, entity);
+            }
+        }
+    }
+
+    /**
+     * Removes the snapshot of an entity instance.
+     *
+     * @param entity The instance
+     */
+    public void remove(@Nullable Object entity) {
+        if (entity != null) {
+            snapshots.remove(new InstanceKey(entity, null));
+        }
+    }
+
+    /**
+     * Resolves the properties of the entity instance modified since its snapshot was recorded.
+     *
+     * @param persistentEntity The persistent entity
+     * @param entity           The instance
+     * @param <T>              The entity type
+     * @return The indexes of the modified properties in {@link #getTrackedProperties(RuntimePersistentEntity)} or null
+     * if the entity doesn't have a snapshot
+     */
+    @Nullable
+    public <T> BitSet findModifiedProperties(@NonNull RuntimePersistentEntity<T> persistentEntity, @NonNull T entity) {
+        if (!isTracked(persistentEntity)) {
+            return null;
+        }
+        Object[] values = snapshots.get(new InstanceKey(entity, null));
+        if (values == null) {
+            return null;
+        }
+        RuntimePersistentProperty<?>[] properties = getTrackedProperties(persistentEntity);
+        BitSet modified = new BitSet(properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            Object previous = values[i];
+            if (previous == ALWAYS_DIRTY || !Objects.deepEquals(previous, snapshotValue(properties[i], entity))) {
+                modified.set(i);
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * The properties tracked for the entity in a stable order.
+     *
+     * @param persistentEntity The persistent entity
+     * @return The tracked properties
+     */
+    @NonNull
+    public RuntimePersistentProperty<?>[] getTrackedProperties(@NonNull RuntimePersistentEntity<?> persistentEntity) {
+        return trackedProperties.computeIfAbsent(persistentEntity.getIntrospection().getBeanType(), type -> {
+            List<RuntimePersistentProperty<?>> properties = new ArrayList<>();
+            for (RuntimePersistentProperty<?> property : persistentEntity.getPersistentProperties()) {
+                if (property instanceof Association && ((Association) property).isForeignKey()) {
+                    continue;
+                }
+                if (property.getAnnotationMetadata().hasStereotype(AutoPopulated.class)) {
+                    continue;
+                }
+                properties.add(property);
+            }
+            return properties.toArray(new RuntimePersistentProperty[0]);
+        });
+    }
+
+    /**
+     * Whether the instances of the entity can be tracked.
+     *
+     * @param persistentEntity The persistent entity
+     * @return True if they can
+     */
+    public static boolean isTracked(@NonNull RuntimePersistentEntity<?> persistentEntity) {
+        return persistentEntity.getIdentity() != null && persistentEntity.getVersion() == null;
+    }
+
+    private void expungeCollected() {
+        Object key;
+        while ((key = collected.poll()) != null) {
+            snapshots.remove(key);
+        }
+    }
+
+    @Nullable
+    private static Object snapshotValue(RuntimePersistentProperty<?> property, Object entity) {
+        Object value = ((RuntimePersistentProperty<Object>) property).getProperty().get(entity);
+        if (value == null) {
+            return null;
+        }
+        if (property instanceof Embedded) {
+            RuntimePersistentEntity<?> embeddedEntity = ((RuntimeAssociation<?>) property).getAssociatedEntity();
+            Collection<? extends RuntimePersistentProperty<?>> embeddedProperties = embeddedEntity.getPersistentProperties();
+            Object[] values = new Object[embeddedProperties.size()];
+            int i = 0;
+            for (RuntimePersistentProperty<?> embeddedProperty : embeddedProperties) {
+                values[i++] = snapshotValue(embeddedProperty, value);
+            }
+            return values;
+        }
+        if (property instanceof Association) {
+            RuntimePersistentProperty<?> identity = ((RuntimeAssociation<?>) property).getAssociatedEntity().getIdentity();
+            return identity == null ? ALWAYS_DIRTY : ((RuntimePersistentProperty<Object>) identity).getProperty().get(value);
+        }
+        DataType dataType = property.getDataType();
+        if (dataType == DataType.JSON || dataType == DataType.OBJECT) {
+            // Values that can be modified in place cannot be compared reliably
+            return ALWAYS_DIRTY;
+        }
+        return copy(value);
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) value);
+        }
+        if (value instanceof List) {
+            return new ArrayList<>((List<?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * Compares the instances by identity.
+     */
+    private static final class InstanceKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        InstanceKey(Object instance, @Nullable ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            this.hashCode = System.identityHashCode(instance);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InstanceKey)) {
+                return false;
+            }
+            Object instance = get();
+            return instance != null && instance == ((InstanceKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
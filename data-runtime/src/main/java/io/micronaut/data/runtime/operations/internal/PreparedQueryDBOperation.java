@@ -32,8 +32,11 @@ import io.micronaut.data.model.runtime.QueryParameterBinding;
 import io.micronaut.data.model.runtime.RuntimePersistentEntity;
 import io.micronaut.data.model.runtime.RuntimePersistentProperty;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of the DB operation based on {@link PreparedQuery}.
@@ -42,10 +45,95 @@ import java.util.Map;
 public final class PreparedQueryDBOperation extends StoredSqlOperation {
 
     private final PreparedQuery<?, ?> preparedQuery;
+    private final boolean padExpandedValues;
+    private final boolean arrayExpandedValues;
+    private Set<QueryParameterBinding> arrayBindings;
 
     protected PreparedQueryDBOperation(@NonNull PreparedQuery<?, ?> preparedQuery, SqlQueryBuilder queryBuilder) {
+        this(preparedQuery, queryBuilder, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param preparedQuery     The prepared query
+     * @param queryBuilder      The query builder
+     * @param padExpandedValues Whether the expanded values should be padded to the next power of two,
+     *                          which limits the number of distinct SQL statements produced by the query
+     */
+    protected PreparedQueryDBOperation(@NonNull PreparedQuery<?, ?> preparedQuery, SqlQueryBuilder queryBuilder, boolean padExpandedValues) {
+        this(preparedQuery, queryBuilder, padExpandedValues, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param preparedQuery       The prepared query
+     * @param queryBuilder        The query builder
+     * @param padExpandedValues   Whether the expanded values should be padded to the next power of two,
+     *                            which limits the number of distinct SQL statements produced by the query
+     * @param arrayExpandedValues Whether the values of {@code IN} expressions should be bound as a single array compared
+     *                            with {@code = ANY(?)}, which keeps the SQL statement the same for any number of values
+     * @since 3.3
+     */
+    protected PreparedQueryDBOperation(@NonNull PreparedQuery<?, ?> preparedQuery,
+                                       SqlQueryBuilder queryBuilder,
+                                       boolean padExpandedValues,
+                                       boolean arrayExpandedValues) {
         super(queryBuilder, preparedQuery.getQuery(), preparedQuery.getExpandableQueryParts(), preparedQuery.getQueryBindings(), false);
         this.preparedQuery = preparedQuery;
+        this.padExpandedValues = padExpandedValues;
+        this.arrayExpandedValues = arrayExpandedValues;
+    }
+
+    @Override
+    public <T> void checkForParameterToBeExpanded(RuntimePersistentEntity<T> persistentEntity, T entity) {
+        if (!expandableQuery || !arrayExpandedValues) {
+            super.checkForParameterToBeExpanded(persistentEntity, entity);
+            return;
+        }
+        String positionalParameterFormat = queryBuilder.positionalParameterFormat();
+        StringBuilder q = new StringBuilder();
+        int inx = 1;
+        for (int i = 0; i < queryParameterBindings.size(); i++) {
+            QueryParameterBinding parameter = queryParameterBindings.get(i);
+            String queryPart = expandableQueryParts[i];
+            if (!parameter.isExpandable()) {
+                q.append(queryPart).append(String.format(positionalParameterFormat, inx++));
+                continue;
+            }
+            String arrayComparison = isArrayValue(parameter) ? toArrayComparison(queryPart, expandableQueryParts[i + 1]) : null;
+            if (arrayComparison != null) {
+                if (arrayBindings == null) {
+                    arrayBindings = new HashSet<>(4);
+                }
+                arrayBindings.add(parameter);
+                q.append(arrayComparison).append(String.format(positionalParameterFormat, inx++));
+                continue;
+            }
+            q.append(queryPart);
+            int size = Math.max(1, getQueryParameterValueSize(parameter, persistentEntity, entity));
+            for (int k = 0; k < size; k++) {
+                q.append(String.format(positionalParameterFormat, inx++));
+                if (k + 1 != size) {
+                    q.append(",");
+                }
+            }
+        }
+        q.append(expandableQueryParts[queryParameterBindings.size()]);
+        this.query = q.toString();
+    }
+
+    /**
+     * Whether the value of the parameter is a collection or an array of a type that can be bound as an SQL array.
+     */
+    private boolean isArrayValue(QueryParameterBinding parameter) {
+        if (parameter.getParameterIndex() == -1 || parameter.getParameterConverterClass() != null
+                || findArrayDataType(parameter.getDataType()) == null) {
+            return false;
+        }
+        Object value = resolveParameterValue(parameter, preparedQuery.getParameterArray());
+        return value instanceof Iterable || value != null && value.getClass().isArray() && !(value instanceof byte[]);
     }
 
     @Override
@@ -54,7 +142,30 @@ public final class PreparedQueryDBOperation extends StoredSqlOperation {
         if (parameterIndex == -1) {
             return 1;
         }
-        return sizeOf(preparedQuery.getParameterArray()[parameterIndex]);
+        int size = sizeOf(preparedQuery.getParameterArray()[parameterIndex]);
+        return padExpandedValues ? paddedSize(size) : size;
+    }
+
+    private static int paddedSize(int size) {
+        if (size <= 1) {
+            return size;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static List<Object> pad(List<Object> values) {
+        int paddedSize = paddedSize(values.size());
+        if (paddedSize == values.size()) {
+            return values;
+        }
+        List<Object> padded = new ArrayList<>(paddedSize);
+        padded.addAll(values);
+        // Repeating the last value doesn't change the result of the IN expression
+        Object last = values.get(values.size() - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+        return padded;
     }
 
     public <K> void attachPageable(Pageable pageable,
@@ -62,6 +173,11 @@ public final class PreparedQueryDBOperation extends StoredSqlOperation {
                                    RuntimePersistentEntity<K> persistentEntity,
                                    SqlQueryBuilder queryBuilder) {
         if (pageable != Pageable.UNPAGED) {
+            // The lock clause has to follow the order by and the pagination
+            String lockClause = queryBuilder.findTrailingLockClause(query);
+            if (lockClause != null) {
+                query = query.substring(0, query.length() - lockClause.length());
+            }
             Sort sort = pageable.getSort();
             if (sort.isSorted()) {
                 query += queryBuilder.buildOrderBy(persistentEntity, sort).getQuery();
@@ -74,6 +190,9 @@ public final class PreparedQueryDBOperation extends StoredSqlOperation {
                 pageable = Pageable.from(pageable.getNumber(), 1);
             }
             query += queryBuilder.buildPagination(pageable).getQuery();
+            if (lockClause != null) {
+                query += lockClause;
+            }
         }
     }
 
@@ -140,12 +259,20 @@ public final class PreparedQueryDBOperation extends StoredSqlOperation {
             }
 
             DataType dataType = queryParameterBinding.getDataType();
+            if (arrayBindings != null && arrayBindings.contains(queryParameterBinding)) {
+                // The values are converted to the array of the data type when bound
+                context.setStatementParameter(stmt, index++, findArrayDataType(dataType), expandValue(value, dataType), dialect);
+                continue;
+            }
             List<Object> values = expandValue(value, dataType);
             if (values != null && values.isEmpty()) {
                 // Empty collections / array should always set at least one value
                 value = null;
                 values = null;
             }
+            if (values != null && padExpandedValues) {
+                values = pad(values);
+            }
             if (values == null) {
                 if (parameterConverter != null) {
                     int parameterIndex = queryParameterBinding.getParameterIndex();
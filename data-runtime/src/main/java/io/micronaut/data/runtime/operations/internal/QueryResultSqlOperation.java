@@ -30,6 +30,8 @@ import java.util.stream.Collectors;
 @Internal
 public class QueryResultSqlOperation extends StoredSqlOperation {
 
+    private final boolean identityAssigned;
+
     /**
      * Creates a new instance.
      *
@@ -37,11 +39,29 @@ public class QueryResultSqlOperation extends StoredSqlOperation {
      * @param queryResult        The query result
      */
     public QueryResultSqlOperation(SqlQueryBuilder queryBuilder, QueryResult queryResult) {
+        this(queryBuilder, queryResult, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param queryBuilder       The queryBuilder
+     * @param queryResult        The query result
+     * @param identityAssigned   Whether the query is an insert binding the identity assigned by the client
+     * @since 3.3
+     */
+    public QueryResultSqlOperation(SqlQueryBuilder queryBuilder, QueryResult queryResult, boolean identityAssigned) {
         super(queryBuilder,
                 queryResult.getQuery(),
                 queryResult.getParameterBindings().stream().anyMatch(io.micronaut.data.model.query.builder.QueryParameterBinding::isExpandable) ? queryResult.getQueryParts().toArray(new String[0]) : null,
                 queryResult.getParameterBindings().stream().map(QueryResultSqlOperation::map).collect(Collectors.toList()),
                 false);
+        this.identityAssigned = identityAssigned;
+    }
+
+    @Override
+    public boolean isIdentityAssigned() {
+        return identityAssigned;
     }
 
     private static QueryParameterBinding map(io.micronaut.data.model.query.builder.QueryParameterBinding binding) {
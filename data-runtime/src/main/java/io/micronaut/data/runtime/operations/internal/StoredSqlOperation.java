@@ -39,6 +39,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +49,8 @@ import java.util.stream.Collectors;
 @Internal
 public class StoredSqlOperation extends DBOperation {
 
+    private static final Pattern IN_EXPRESSION_END = Pattern.compile("(?i)(?<!\\bNOT)\\s+IN\\s*\\($");
+
     protected final List<QueryParameterBinding> queryParameterBindings;
     protected final boolean isOptimisticLock;
     protected final String[] expandableQueryParts;
@@ -73,12 +77,22 @@ public class StoredSqlOperation extends DBOperation {
         this.queryParameterBindings = queryParameterBindings;
         this.isOptimisticLock = isOptimisticLock;
         this.expandableQueryParts = expandableQueryParts;
-        this.expandableQuery = expandableQueryParts != null && expandableQueryParts.length > 1 && queryParameterBindings.stream().anyMatch(QueryParameterBinding::isExpandable);
+        this.expandableQuery = expandableQueryParts != null && expandableQueryParts.length > 1 && hasExpandableParameter(queryParameterBindings);
         if (expandableQuery && expandableQueryParts.length != queryParameterBindings.size() + 1) {
             throw new IllegalStateException("Expandable query parts size should be the same as parameters size + 1. " + expandableQueryParts.length + " != 1 + " + queryParameterBindings.size() + " " + query + " " + Arrays.toString(expandableQueryParts));
         }
     }
 
+    private static boolean hasExpandableParameter(List<QueryParameterBinding> queryParameterBindings) {
+        // Invoked for every prepared query, avoid allocating a stream
+        for (QueryParameterBinding binding : queryParameterBindings) {
+            if (binding.isExpandable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean isOptimisticLock() {
         return isOptimisticLock;
@@ -296,4 +310,47 @@ public class StoredSqlOperation extends DBOperation {
         return 1;
     }
 
+    /**
+     * Resolves the array data type the values of an expanded parameter are bound as, when the values are compared with
+     * {@code = ANY(?)} instead of being expanded.
+     *
+     * @param dataType The data type of the values
+     * @return The array data type or null if the values cannot be bound as an array
+     */
+    @Nullable
+    static DataType findArrayDataType(DataType dataType) {
+        switch (dataType) {
+            case LONG:
+                return DataType.LONG_ARRAY;
+            case INTEGER:
+                return DataType.INTEGER_ARRAY;
+            case SHORT:
+                return DataType.SHORT_ARRAY;
+            case STRING:
+                return DataType.STRING_ARRAY;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Replaces the {@code IN (} the query part preceding an expanded parameter ends with by {@code = ANY(}, so that the
+     * values can be bound as a single array.
+     *
+     * @param queryPart     The query part preceding the parameter
+     * @param nextQueryPart The query part following the parameter
+     * @return The query part or null if the parameter isn't the only value of an {@code IN} expression
+     */
+    @Nullable
+    static String toArrayComparison(String queryPart, String nextQueryPart) {
+        if (!nextQueryPart.startsWith(")")) {
+            return null;
+        }
+        Matcher matcher = IN_EXPRESSION_END.matcher(queryPart);
+        if (!matcher.find()) {
+            return null;
+        }
+        return queryPart.substring(0, matcher.start()) + " = ANY(";
+    }
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.sharding;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Maps the value of the {@link io.micronaut.data.annotation.ShardKey} of an entity to the shard storing it. A bean
+ * named after the sharding configuration replaces the default hash based function.
+ *
+ * @since 3.3
+ */
+@FunctionalInterface
+public interface ShardFunction {
+
+    /**
+     * Selects the shard of the given shard key.
+     *
+     * @param shardKey   The shard key value
+     * @param shardCount The number of shards
+     * @return The index of the shard, between 0 and {@code shardCount - 1}
+     */
+    int shard(@NonNull Object shardKey, int shardCount);
+
+    /**
+     * The default function distributing the keys by their hash code. The keys must have a hash code stable across
+     * JVM instances, like strings, numbers and UUIDs.
+     *
+     * @return The shard function
+     */
+    @NonNull
+    static ShardFunction hash() {
+        return (shardKey, shardCount) -> Math.floorMod(shardKey.hashCode(), shardCount);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.sharding;
+
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.value.ConvertibleValues;
+import io.micronaut.core.type.Argument;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.query.JoinPath;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.model.runtime.QueryParameterBinding;
+import io.micronaut.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Executes a prepared query on one shard with the pageable pushed down to the shard.
+ *
+ * @param <E> The entity type
+ * @param <R> The result type
+ * @since 3.3
+ */
+final class ShardPreparedQuery<E, R> implements PreparedQuery<E, R> {
+
+    private final PreparedQuery<E, R> preparedQuery;
+    private final Pageable pageable;
+
+    /**
+     * @param preparedQuery The prepared query
+     * @param pageable      The pageable to execute the query with
+     */
+    ShardPreparedQuery(PreparedQuery<E, R> preparedQuery, Pageable pageable) {
+        this.preparedQuery = preparedQuery;
+        this.pageable = pageable;
+    }
+
+    @NonNull
+    @Override
+    public Pageable getPageable() {
+        return pageable;
+    }
+
+    @Override
+    public Class<?> getRepositoryType() {
+        return preparedQuery.getRepositoryType();
+    }
+
+    @NonNull
+    @Override
+    @Deprecated
+    public Map<String, Object> getParameterValues() {
+        return preparedQuery.getParameterValues();
+    }
+
+    @Override
+    public Object[] getParameterArray() {
+        return preparedQuery.getParameterArray();
+    }
+
+    @Override
+    public Argument[] getArguments() {
+        return preparedQuery.getArguments();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> getQueryHints() {
+        return preparedQuery.getQueryHints();
+    }
+
+    @NonNull
+    @Override
+    public Class<E> getRootEntity() {
+        return preparedQuery.getRootEntity();
+    }
+
+    @Override
+    @Deprecated
+    public boolean hasInExpression() {
+        return preparedQuery.hasInExpression();
+    }
+
+    @Override
+    public boolean hasPageable() {
+        return preparedQuery.hasPageable();
+    }
+
+    @NonNull
+    @Override
+    public String getQuery() {
+        return preparedQuery.getQuery();
+    }
+
+    @NonNull
+    @Override
+    public String[] getExpandableQueryParts() {
+        return preparedQuery.getExpandableQueryParts();
+    }
+
+    @Override
+    public List<QueryParameterBinding> getQueryBindings() {
+        return preparedQuery.getQueryBindings();
+    }
+
+    @NonNull
+    @Override
+    public Class<R> getResultType() {
+        return preparedQuery.getResultType();
+    }
+
+    @NonNull
+    @Override
+    public Argument<R> getResultArgument() {
+        return preparedQuery.getResultArgument();
+    }
+
+    @NonNull
+    @Override
+    public DataType getResultDataType() {
+        return preparedQuery.getResultDataType();
+    }
+
+    @Override
+    public boolean isNative() {
+        return preparedQuery.isNative();
+    }
+
+    @Override
+    public boolean useNumericPlaceholders() {
+        return preparedQuery.useNumericPlaceholders();
+    }
+
+    @Override
+    public boolean isDtoProjection() {
+        return preparedQuery.isDtoProjection();
+    }
+
+    @Override
+    public Optional<Class<?>> getEntityIdentifierType() {
+        return preparedQuery.getEntityIdentifierType();
+    }
+
+    @NonNull
+    @Override
+    public Class<?>[] getArgumentTypes() {
+        return preparedQuery.getArgumentTypes();
+    }
+
+    @NonNull
+    @Override
+    @Deprecated
+    public Map<String, String> getParameterBinding() {
+        return preparedQuery.getParameterBinding();
+    }
+
+    @Override
+    public boolean isCount() {
+        return preparedQuery.isCount();
+    }
+
+    @NonNull
+    @Override
+    @Deprecated
+    public DataType[] getIndexedParameterTypes() {
+        return preparedQuery.getIndexedParameterTypes();
+    }
+
+    @NonNull
+    @Override
+    @Deprecated
+    public int[] getIndexedParameterBinding() {
+        return preparedQuery.getIndexedParameterBinding();
+    }
+
+    @Override
+    @Deprecated
+    public String[] getParameterNames() {
+        return preparedQuery.getParameterNames();
+    }
+
+    @Override
+    @Deprecated
+    public String[] getIndexedParameterPaths() {
+        return preparedQuery.getIndexedParameterPaths();
+    }
+
+    @Nullable
+    @Override
+    @Deprecated
+    public String getLastUpdatedProperty() {
+        return preparedQuery.getLastUpdatedProperty();
+    }
+
+    @Override
+    @Deprecated
+    public String[] getIndexedParameterAutoPopulatedPropertyPaths() {
+        return preparedQuery.getIndexedParameterAutoPopulatedPropertyPaths();
+    }
+
+    @Override
+    @Deprecated
+    public String[] getIndexedParameterAutoPopulatedPreviousPropertyPaths() {
+        return preparedQuery.getIndexedParameterAutoPopulatedPreviousPropertyPaths();
+    }
+
+    @Override
+    @Deprecated
+    public int[] getIndexedParameterAutoPopulatedPreviousPropertyIndexes() {
+        return preparedQuery.getIndexedParameterAutoPopulatedPreviousPropertyIndexes();
+    }
+
+    @NonNull
+    @Override
+    public Set<JoinPath> getJoinFetchPaths() {
+        return preparedQuery.getJoinFetchPaths();
+    }
+
+    @Override
+    public boolean isSingleResult() {
+        return preparedQuery.isSingleResult();
+    }
+
+    @Override
+    public boolean hasResultConsumer() {
+        return preparedQuery.hasResultConsumer();
+    }
+
+    @Override
+    public boolean isOptimisticLock() {
+        return preparedQuery.isOptimisticLock();
+    }
+
+    @NonNull
+    @Override
+    public Optional<TransactionDefinition> getTransactionDefinition() {
+        return preparedQuery.getTransactionDefinition();
+    }
+
+    @Override
+    public <RT> Optional<RT> getParameterInRole(@NonNull String role, @NonNull Class<RT> type) {
+        return preparedQuery.getParameterInRole(role, type);
+    }
+
+    @NonNull
+    @Override
+    public ConvertibleValues<Object> getAttributes() {
+        return preparedQuery.getAttributes();
+    }
+
+    @NonNull
+    @Override
+    public Optional<Object> getAttribute(CharSequence name) {
+        return preparedQuery.getAttribute(name);
+    }
+
+    @NonNull
+    @Override
+    public <T> Optional<T> getAttribute(CharSequence name, Class<T> type) {
+        return preparedQuery.getAttribute(name, type);
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return preparedQuery.getName();
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return preparedQuery.getAnnotationMetadata();
+    }
+}
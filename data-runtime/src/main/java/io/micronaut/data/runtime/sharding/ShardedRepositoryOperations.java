@@ -0,0 +1,659 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.sharding;
+
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanWrapper;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.util.ArgumentUtils;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.data.annotation.ShardKey;
+import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.intercept.annotation.DataMethod;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import io.micronaut.data.model.runtime.DeleteBatchOperation;
+import io.micronaut.data.model.runtime.DeleteOperation;
+import io.micronaut.data.model.runtime.InsertBatchOperation;
+import io.micronaut.data.model.runtime.InsertOperation;
+import io.micronaut.data.model.runtime.PagedQuery;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.model.runtime.QueryParameterBinding;
+import io.micronaut.data.model.runtime.RuntimePersistentEntity;
+import io.micronaut.data.model.runtime.RuntimePersistentProperty;
+import io.micronaut.data.model.runtime.StoredQuery;
+import io.micronaut.data.model.runtime.UpdateBatchOperation;
+import io.micronaut.data.model.runtime.UpdateOperation;
+import io.micronaut.data.operations.RepositoryOperations;
+import io.micronaut.data.operations.RoutingRepositoryOperations;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repository operations sharding the entities across several data sources by the value of their {@link ShardKey}
+ * property.
+ *
+ * <p>The operations on a single entity, the lookups by id when the identity is the shard key and the queries whose
+ * criteria restrict the shard key by an equality predicate of their top-level conjunction are routed to a single shard.
+ * The other queries, including the raw queries, are executed on all the shards in parallel and their results are
+ * merged: counts are summed, the results sorted by the pageable or by the order by clause of the query are merged in
+ * order and the pageable is pushed down to the shards as a limit of its offset plus its size. The single results are
+ * reduced to the first one by the order by clause of the query. Other aggregates than counts aren't merged, a query
+ * returning a value on several shards without an order by clause is rejected. The criteria and the order by clause are resolved from the metadata of the repository method,
+ * see {@link DataMethod#META_MEMBER_EQUALS_PROPERTY_PATHS} and {@link DataMethod#META_MEMBER_SORT}.</p>
+ *
+ * <p>The update of an entity whose shard key was changed is rejected, as it is stored on another shard.</p>
+ *
+ * <p>The shards don't share a transaction, the operations routed to a single shard run on the calling thread and join
+ * the transaction of its data source.</p>
+ *
+ * @since 3.3
+ */
+public class ShardedRepositoryOperations implements RoutingRepositoryOperations {
+
+    private final List<? extends RepositoryOperations> shards;
+    private final ShardFunction shardFunction;
+    private final ExecutorService executorService;
+    private final Map<Class<?>, Optional<RuntimePersistentProperty<Object>>> shardKeys = new ConcurrentHashMap<>(10);
+
+    /**
+     * @param shards          The operations of the shards
+     * @param shardFunction   The shard function
+     * @param executorService The executor running the queries on all the shards or null to run them sequentially
+     */
+    public ShardedRepositoryOperations(@NonNull List<? extends RepositoryOperations> shards,
+                                       @NonNull ShardFunction shardFunction,
+                                       @Nullable ExecutorService executorService) {
+        ArgumentUtils.requireNonNull("shards", shards);
+        ArgumentUtils.requireNonNull("shardFunction", shardFunction);
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = shards;
+        this.shardFunction = shardFunction;
+        this.executorService = executorService;
+    }
+
+    /**
+     * @return The operations of the shards
+     */
+    @NonNull
+    public List<? extends RepositoryOperations> getShards() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    @NonNull
+    @Override
+    public List<? extends RepositoryOperations> getRoutedOperations() {
+        return getShards();
+    }
+
+    /**
+     * Resolves the shard storing the entities with the given shard key.
+     *
+     * @param shardKey The shard key value
+     * @return The operations of the shard
+     */
+    @NonNull
+    public RepositoryOperations getShard(@NonNull Object shardKey) {
+        int shard = shardFunction.shard(shardKey, shards.size());
+        if (shard < 0 || shard >= shards.size()) {
+            throw new DataAccessException("Shard function returned shard " + shard + " out of the " + shards.size() + " shards for key: " + shardKey);
+        }
+        return shards.get(shard);
+    }
+
+    @NonNull
+    @Override
+    public <T> RuntimePersistentEntity<T> getEntity(@NonNull Class<T> type) {
+        return shards.get(0).getEntity(type);
+    }
+
+    @Override
+    public ConversionService<?> getConversionService() {
+        return shards.get(0).getConversionService();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> getQueryHints(@NonNull StoredQuery<?, ?> storedQuery) {
+        return shards.get(0).getQueryHints(storedQuery);
+    }
+
+    @Nullable
+    @Override
+    public <T> T findOne(@NonNull Class<T> type, @NonNull Serializable id) {
+        RuntimePersistentProperty<Object> shardKey = findShardKey(type);
+        if (shardKey != null && shardKey == getEntity(type).getIdentity()) {
+            return getShard(id).findOne(type, id);
+        }
+        return firstResult(scatter(shard -> shard.findOne(type, id)));
+    }
+
+    @Nullable
+    @Override
+    public <T, R> R findOne(@NonNull PreparedQuery<T, R> preparedQuery) {
+        RepositoryOperations shard = findQueryShard(preparedQuery);
+        if (shard != null) {
+            return shard.findOne(preparedQuery);
+        }
+        List<R> results = scatter(s -> s.findOne(preparedQuery));
+        if (preparedQuery.isCount()) {
+            long count = 0;
+            for (R result : results) {
+                if (result != null) {
+                    count += ((Number) result).longValue();
+                }
+            }
+            return getConversionService().convertRequired(count, preparedQuery.getResultType());
+        }
+        List<R> found = new ArrayList<>(results.size());
+        for (R result : results) {
+            if (result != null) {
+                found.add(result);
+            }
+        }
+        if (found.size() < 2) {
+            return found.isEmpty() ? null : found.get(0);
+        }
+        Sort sort = findQuerySort(preparedQuery);
+        if (sort.isSorted()) {
+            return Collections.min(found, comparator(sort));
+        }
+        if (isScalar(preparedQuery)) {
+            // An aggregate or a projection of several rows, the values of the shards can't be combined
+            throw new DataAccessException("Query [" + preparedQuery.getName() + "] returns a value on several shards that cannot be merged: " + found);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public <T> boolean exists(@NonNull PreparedQuery<T, Boolean> preparedQuery) {
+        RepositoryOperations shard = findQueryShard(preparedQuery);
+        if (shard != null) {
+            return shard.exists(preparedQuery);
+        }
+        return scatter(s -> s.exists(preparedQuery)).contains(true);
+    }
+
+    @NonNull
+    @Override
+    public <T> Iterable<T> findAll(@NonNull PagedQuery<T> query) {
+        Pageable pageable = query.getPageable();
+        Pageable shardPageable = pushDown(pageable);
+        PagedQuery<T> shardQuery = shardPageable == pageable ? query : new ShardPagedQuery<>(query, shardPageable);
+        return merge(scatter(s -> s.findAll(shardQuery)), pageable, pageable.getSort());
+    }
+
+    @Override
+    public <T> long count(PagedQuery<T> pagedQuery) {
+        long count = 0;
+        for (Long result : scatter(s -> s.count(pagedQuery))) {
+            count += result;
+        }
+        return count;
+    }
+
+    @NonNull
+    @Override
+    public <T, R> Iterable<R> findAll(@NonNull PreparedQuery<T, R> preparedQuery) {
+        RepositoryOperations shard = findQueryShard(preparedQuery);
+        if (shard != null) {
+            return shard.findAll(preparedQuery);
+        }
+        Pageable pageable = preparedQuery.getPageable();
+        Pageable shardPageable = pushDown(pageable);
+        PreparedQuery<T, R> shardQuery = shardPageable == pageable ? preparedQuery : new ShardPreparedQuery<>(preparedQuery, shardPageable);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : findQuerySort(preparedQuery);
+        return merge(scatter(s -> s.findAll(shardQuery)), pageable, sort);
+    }
+
+    @NonNull
+    @Override
+    public <T, R> Stream<R> findStream(@NonNull PreparedQuery<T, R> preparedQuery) {
+        RepositoryOperations shard = findQueryShard(preparedQuery);
+        if (shard != null) {
+            return shard.findStream(preparedQuery);
+        }
+        return StreamSupport.stream(findAll(preparedQuery).spliterator(), false);
+    }
+
+    @NonNull
+    @Override
+    public <T> Stream<T> findStream(@NonNull PagedQuery<T> query) {
+        return StreamSupport.stream(findAll(query).spliterator(), false);
+    }
+
+    @Override
+    public <R> Page<R> findPage(@NonNull PagedQuery<R> query) {
+        List<R> content = CollectionUtils.iterableToList(findAll(query));
+        return Page.of(content, query.getPageable(), count(query));
+    }
+
+    @NonNull
+    @Override
+    public <T> T persist(@NonNull InsertOperation<T> operation) {
+        return getEntityShard(operation.getRootEntity(), operation.getEntity()).persist(operation);
+    }
+
+    @NonNull
+    @Override
+    public <T> T update(@NonNull UpdateOperation<T> operation) {
+        Class<T> type = operation.getRootEntity();
+        RepositoryOperations shard = getEntityShard(type, operation.getEntity());
+        checkShardKeyUnchanged(type, operation.getEntity(), shard);
+        return shard.update(operation);
+    }
+
+    @NonNull
+    @Override
+    public <T> Iterable<T> updateAll(@NonNull UpdateBatchOperation<T> operation) {
+        List<T> results = new ArrayList<>();
+        for (UpdateOperation<T> entityOperation : operation.split()) {
+            results.add(update(entityOperation));
+        }
+        return results;
+    }
+
+    @NonNull
+    @Override
+    public <T> Iterable<T> persistAll(@NonNull InsertBatchOperation<T> operation) {
+        List<T> results = new ArrayList<>();
+        for (InsertOperation<T> entityOperation : operation.split()) {
+            results.add(persist(entityOperation));
+        }
+        return results;
+    }
+
+    @NonNull
+    @Override
+    public Optional<Number> executeUpdate(@NonNull PreparedQuery<?, Number> preparedQuery) {
+        RepositoryOperations shard = findQueryShard(preparedQuery);
+        if (shard != null) {
+            return shard.executeUpdate(preparedQuery);
+        }
+        return sum(scatter(s -> s.executeUpdate(preparedQuery)));
+    }
+
+    @Override
+    public <T> int delete(@NonNull DeleteOperation<T> operation) {
+        return getEntityShard(operation.getRootEntity(), operation.getEntity()).delete(operation);
+    }
+
+    @Override
+    public <T> Optional<Number> deleteAll(@NonNull DeleteBatchOperation<T> operation) {
+        if (operation.all()) {
+            return sum(scatter(s -> s.deleteAll(operation)));
+        }
+        int deleted = 0;
+        for (DeleteOperation<T> entityOperation : operation.split()) {
+            deleted += delete(entityOperation);
+        }
+        return Optional.of(deleted);
+    }
+
+    private <T> RepositoryOperations getEntityShard(Class<T> type, T entity) {
+        RuntimePersistentProperty<Object> shardKey = findShardKey(type);
+        if (shardKey == null) {
+            throw new DataAccessException("Entity " + type.getName() + " sharded across data sources doesn't declare a @ShardKey property");
+        }
+        Object value = shardKey.getProperty().get(entity);
+        if (value == null) {
+            throw new DataAccessException("Shard key " + shardKey.getName() + " of entity " + type.getName() + " is null");
+        }
+        return getShard(value);
+    }
+
+    /**
+     * Rejects the update of an entity stored on another shard than the one of its shard key: its shard key was changed.
+     * The entity is looked up by id on its shard first, the other shards are only queried when it isn't found there.
+     */
+    private <T> void checkShardKeyUnchanged(Class<T> type, T entity, RepositoryOperations shard) {
+        RuntimePersistentEntity<T> persistentEntity = getEntity(type);
+        RuntimePersistentProperty<T> identity = persistentEntity.getIdentity();
+        if (shards.size() == 1 || identity == null || identity == findShardKey(type)) {
+            return;
+        }
+        Object id = identity.getProperty().get(entity);
+        if (!(id instanceof Serializable) || shard.findOne(type, (Serializable) id) != null) {
+            return;
+        }
+        for (RepositoryOperations other : shards) {
+            if (other != shard && other.findOne(type, (Serializable) id) != null) {
+                throw new DataAccessException("Cannot update entity " + type.getName() + " with id " + id
+                        + ", the value of its shard key " + findShardKey(type).getName() + " was changed and it is stored on another shard. Delete it and save it again instead.");
+            }
+        }
+    }
+
+    @Nullable
+    private RuntimePersistentProperty<Object> findShardKey(Class<?> type) {
+        return shardKeys.computeIfAbsent(type, t -> {
+            RuntimePersistentEntity<?> entity = getEntity(t);
+            List<RuntimePersistentProperty<?>> properties = new ArrayList<>(entity.getPersistentProperties());
+            if (entity.getIdentity() != null) {
+                properties.add(entity.getIdentity());
+            }
+            return properties.stream()
+                    .filter(property -> property.getAnnotationMetadata().hasAnnotation(ShardKey.class))
+                    .map(property -> (RuntimePersistentProperty<Object>) property)
+                    .findFirst();
+        }).orElse(null);
+    }
+
+    /**
+     * Resolves the shard of a query restricting the shard key to the value of a parameter by an equality predicate that
+     * all its results satisfy.
+     */
+    @Nullable
+    private RepositoryOperations findQueryShard(PreparedQuery<?, ?> preparedQuery) {
+        RuntimePersistentProperty<Object> shardKey = findShardKey(preparedQuery.getRootEntity());
+        if (shardKey == null) {
+            return null;
+        }
+        String[] equalsPropertyPaths = preparedQuery.getAnnotationMetadata()
+                .stringValues(DataMethod.class, DataMethod.META_MEMBER_EQUALS_PROPERTY_PATHS);
+        if (!Arrays.asList(equalsPropertyPaths).contains(shardKey.getName())) {
+            return null;
+        }
+        QueryParameterBinding shardKeyBinding = null;
+        for (QueryParameterBinding binding : preparedQuery.getQueryBindings()) {
+            String[] propertyPath = binding.getPropertyPath();
+            if (propertyPath != null && propertyPath.length == 1 && propertyPath[0].equals(shardKey.getName())) {
+                if (shardKeyBinding != null) {
+                    // Can't tell which of the bindings is the equality
+                    return null;
+                }
+                shardKeyBinding = binding;
+            }
+        }
+        if (shardKeyBinding == null || shardKeyBinding.getParameterIndex() < 0 || shardKeyBinding.getParameterBindingPath() != null) {
+            return null;
+        }
+        Object value = preparedQuery.getParameterArray()[shardKeyBinding.getParameterIndex()];
+        return value == null ? null : getShard(value);
+    }
+
+    /**
+     * Resolves the sort of the order by clause of the query, so that the results of the shards can be merged in order.
+     */
+    @NonNull
+    private Sort findQuerySort(PreparedQuery<?, ?> preparedQuery) {
+        AnnotationMetadata annotationMetadata = preparedQuery.getAnnotationMetadata();
+        String[] properties = annotationMetadata.stringValues(DataMethod.class, DataMethod.META_MEMBER_SORT);
+        if (properties.length == 0) {
+            return Sort.unsorted();
+        }
+        String[] directions = annotationMetadata.stringValues(DataMethod.class, DataMethod.META_MEMBER_SORT_DIRECTIONS);
+        List<Sort.Order> orders = new ArrayList<>(properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            Sort.Order.Direction direction = i < directions.length ? Sort.Order.Direction.valueOf(directions[i]) : Sort.Order.Direction.ASC;
+            orders.add(new Sort.Order(properties[i], direction, false));
+        }
+        return Sort.of(orders);
+    }
+
+    /**
+     * Whether the query returns a single value instead of an entity or a DTO.
+     */
+    private static boolean isScalar(PreparedQuery<?, ?> preparedQuery) {
+        DataType resultDataType = preparedQuery.getResultDataType();
+        return preparedQuery.getResultType() != preparedQuery.getRootEntity()
+                && !preparedQuery.isDtoProjection()
+                && resultDataType != DataType.ENTITY
+                && resultDataType != DataType.OBJECT;
+    }
+
+    /**
+     * Pushes the pageable down to the shards, each of them returning up to the offset plus the size of the page.
+     */
+    private Pageable pushDown(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getOffset() == 0) {
+            return pageable;
+        }
+        int size = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getSize());
+        return Pageable.from(0, size, pageable.getSort());
+    }
+
+    private <R> List<R> merge(List<? extends Iterable<R>> shardResults, Pageable pageable, Sort sort) {
+        long skip = pageable.isUnpaged() ? 0 : pageable.getOffset();
+        long limit = pageable.isUnpaged() ? Long.MAX_VALUE : pageable.getSize();
+        List<R> results = new ArrayList<>();
+        Iterator<R> iterator = sort.isSorted() ? new MergeIterator<>(shardResults, comparator(sort)) : concat(shardResults);
+        while (iterator.hasNext() && results.size() < limit) {
+            R result = iterator.next();
+            if (skip > 0) {
+                skip--;
+            } else {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static <R> Iterator<R> concat(List<? extends Iterable<R>> shardResults) {
+        List<R> results = new ArrayList<>();
+        for (Iterable<R> shardResult : shardResults) {
+            shardResult.forEach(results::add);
+        }
+        return results.iterator();
+    }
+
+    private static Comparator<Object> comparator(Sort sort) {
+        Comparator<Object> comparator = null;
+        for (Sort.Order order : sort.getOrderBy()) {
+            String[] path = StringUtils.splitOmitEmptyStringsList(order.getProperty(), '.').toArray(new String[0]);
+            Comparator<Object> orderComparator = (a, b) -> compare(propertyValue(a, path), propertyValue(b, path), order.isIgnoreCase());
+            if (!order.isAscending()) {
+                orderComparator = orderComparator.reversed();
+            }
+            comparator = comparator == null ? orderComparator : comparator.thenComparing(orderComparator);
+        }
+        return comparator;
+    }
+
+    @Nullable
+    private static Object propertyValue(Object result, String[] path) {
+        Object value = result;
+        for (String property : path) {
+            if (value == null) {
+                return null;
+            }
+            Optional<BeanWrapper<Object>> wrapper = BeanWrapper.findWrapper(value);
+            if (!wrapper.isPresent()) {
+                // A projection of the sorted property
+                return value;
+            }
+            value = wrapper.get().getProperty(property, Object.class).orElse(null);
+        }
+        return value;
+    }
+
+    private static int compare(@Nullable Object a, @Nullable Object b, boolean ignoreCase) {
+        if (a == null || b == null) {
+            return a == b ? 0 : (a == null ? -1 : 1);
+        }
+        if (ignoreCase && a instanceof String && b instanceof String) {
+            return ((String) a).compareToIgnoreCase((String) b);
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private <R> List<R> scatter(Function<RepositoryOperations, R> operation) {
+        List<R> results = new ArrayList<>(shards.size());
+        if (executorService == null || shards.size() == 1) {
+            for (RepositoryOperations shard : shards) {
+                results.add(operation.apply(shard));
+            }
+            return results;
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (RepositoryOperations shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> operation.apply(shard), executorService));
+        }
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new DataAccessException("Error executing the operation on a shard: " + cause.getMessage(), cause);
+            }
+        }
+        return results;
+    }
+
+    @Nullable
+    private static <R> R firstResult(List<R> results) {
+        return results.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    private static Optional<Number> sum(List<Optional<Number>> results) {
+        long sum = 0;
+        boolean present = false;
+        for (Optional<Number> result : results) {
+            if (result.isPresent()) {
+                sum += result.get().longValue();
+                present = true;
+            }
+        }
+        return present ? Optional.of(sum) : Optional.empty();
+    }
+
+    /**
+     * Merges the sorted results of the shards.
+     *
+     * @param <R> The result type
+     */
+    private static final class MergeIterator<R> implements Iterator<R> {
+
+        private final PriorityQueue<ShardCursor<R>> cursors;
+
+        MergeIterator(List<? extends Iterable<R>> shardResults, Comparator<Object> comparator) {
+            Comparator<ShardCursor<R>> cursorComparator = (a, b) -> comparator.compare(a.head, b.head);
+            this.cursors = new PriorityQueue<>(shardResults.size(), cursorComparator.thenComparingInt(cursor -> cursor.shard));
+            for (int i = 0; i < shardResults.size(); i++) {
+                Iterator<R> iterator = shardResults.get(i).iterator();
+                if (iterator.hasNext()) {
+                    cursors.add(new ShardCursor<>(i, iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            ShardCursor<R> cursor = cursors.remove();
+            R result = cursor.head;
+            if (cursor.iterator.hasNext()) {
+                cursor.head = cursor.iterator.next();
+                cursors.add(cursor);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The next result of a shard.
+     *
+     * @param <R> The result type
+     */
+    private static final class ShardCursor<R> {
+
+        private final int shard;
+        private final Iterator<R> iterator;
+        private R head;
+
+        ShardCursor(int shard, Iterator<R> iterator) {
+            this.shard = shard;
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+    }
+
+    /**
+     * Executes a paged query on one shard with the pageable pushed down to the shard.
+     *
+     * @param <E> The entity type
+     */
+    private static final class ShardPagedQuery<E> implements PagedQuery<E> {
+
+        private final PagedQuery<E> pagedQuery;
+        private final Pageable pageable;
+
+        ShardPagedQuery(PagedQuery<E> pagedQuery, Pageable pageable) {
+            this.pagedQuery = pagedQuery;
+            this.pageable = pageable;
+        }
+
+        @NonNull
+        @Override
+        public Class<E> getRootEntity() {
+            return pagedQuery.getRootEntity();
+        }
+
+        @NonNull
+        @Override
+        public Pageable getPageable() {
+            return pageable;
+        }
+
+        @NonNull
+        @Override
+        public Map<String, Object> getQueryHints() {
+            return pagedQuery.getQueryHints();
+        }
+
+        @NonNull
+        @Override
+        public String getName() {
+            return pagedQuery.getName();
+        }
+
+        @Override
+        public AnnotationMetadata getAnnotationMetadata() {
+            return pagedQuery.getAnnotationMetadata();
+        }
+    }
+}
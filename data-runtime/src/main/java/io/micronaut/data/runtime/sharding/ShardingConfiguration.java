@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.sharding;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.naming.Named;
+import io.micronaut.data.runtime.config.DataSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configures a group of data sources the operations of a repository named after the group are sharded across.
+ *
+ * <pre>
+ * micronaut.data.sharding.orders.data-sources: [orders1, orders2]
+ * </pre>
+ *
+ * <p>The order of the data sources defines the shard indexes returned by the {@link ShardFunction}, changing it
+ * remaps the stored entities.</p>
+ *
+ * @since 3.3
+ */
+@EachProperty(ShardingConfiguration.PREFIX)
+public class ShardingConfiguration implements Named {
+
+    /**
+     * The prefix to use.
+     */
+    public static final String PREFIX = DataSettings.PREFIX + ".sharding";
+
+    private final String name;
+    private List<String> dataSources = new ArrayList<>(3);
+
+    /**
+     * The configuration.
+     *
+     * @param name The name of the shard group
+     */
+    public ShardingConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The names of the data sources storing the shards
+     */
+    public List<String> getDataSources() {
+        return dataSources;
+    }
+
+    /**
+     * @param dataSources The names of the data sources storing the shards
+     */
+    public void setDataSources(List<String> dataSources) {
+        if (dataSources != null) {
+            this.dataSources = dataSources;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.support;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.exceptions.DataAccessException;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.runtime.config.DataConfiguration.RepeatedQueryDetectionConfiguration;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import io.micronaut.transaction.support.TransactionSynchronizationManager;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Detects the same query executed repeatedly in one transaction, which usually means a repository method is called in
+ * a loop where a single query fetching all the rows would do.
+ *
+ * <p>The executions are counted per query string before the parameters are bound, so the executions of a finder with
+ * different arguments share the same count. Once a query is executed more than the configured threshold, the repository
+ * method and the code calling it are reported according to the configured {@link RepeatedQueryDetectionConfiguration.Mode}.
+ * Every query is reported at most once per transaction. The queries of an inner transaction that suspends the current
+ * one, for example with {@code REQUIRES_NEW}, are counted separately.</p>
+ *
+ * <p>Queries executed outside of a transaction with active synchronization are not tracked.</p>
+ *
+ * @since 3.3
+ */
+@Singleton
+@Requires(property = RepeatedQueryDetectionConfiguration.MODE_PROPERTY)
+public class RepeatedQueryDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RepeatedQueryDetector.class);
+    private static final String INTERCEPTED_SUFFIX = "$Intercepted";
+    private static final String[] IGNORED_CALLER_PREFIXES = {"java.", "jdk.", "sun.", "groovy.", "org.codehaus.groovy."};
+
+    private final RepeatedQueryDetectionConfiguration.Mode mode;
+    private final int threshold;
+    private final double sampleRate;
+
+    /**
+     * Default constructor.
+     *
+     * @param configuration The configuration
+     */
+    public RepeatedQueryDetector(RepeatedQueryDetectionConfiguration configuration) {
+        this.mode = configuration.getMode();
+        this.threshold = configuration.getThreshold();
+        this.sampleRate = mode == RepeatedQueryDetectionConfiguration.Mode.SAMPLED ? configuration.getSampleRate() : 1;
+    }
+
+    /**
+     * @return Whether the executed queries are tracked
+     */
+    public boolean isEnabled() {
+        return mode != RepeatedQueryDetectionConfiguration.Mode.NONE;
+    }
+
+    /**
+     * Records the execution of a query in the current transaction.
+     *
+     * @param preparedQuery The prepared query
+     * @throws DataAccessException if the query is repeated and the mode is {@link RepeatedQueryDetectionConfiguration.Mode#FAIL}
+     */
+    public void record(@NonNull PreparedQuery<?, ?> preparedQuery) {
+        if (!isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        UnitOfWork unitOfWork = (UnitOfWork) TransactionSynchronizationManager.getResource(this);
+        if (unitOfWork == null) {
+            boolean sampled = sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+            unitOfWork = new UnitOfWork(sampled);
+            TransactionSynchronizationManager.bindResource(this, unitOfWork);
+            TransactionSynchronizationManager.registerSynchronization(unitOfWork);
+        }
+        if (unitOfWork.counts == null) {
+            return;
+        }
+        String query = preparedQuery.getQuery();
+        int count = unitOfWork.counts.merge(query, 1, Integer::sum);
+        if (count == threshold + 1) {
+            report(preparedQuery, query);
+        }
+    }
+
+    private void report(PreparedQuery<?, ?> preparedQuery, String query) {
+        String method = preparedQuery.getRepositoryType().getSimpleName() + "." + preparedQuery.getName();
+        StackTraceElement caller = findCaller(new Throwable().getStackTrace());
+        String message = "Query executed more than " + threshold + " times in one transaction by the repository method "
+                + method + (caller != null ? " called from " + caller : "") + ": " + query;
+        if (mode == RepeatedQueryDetectionConfiguration.Mode.FAIL) {
+            throw new DataAccessException(message);
+        }
+        if (LOG.isWarnEnabled()) {
+            LOG.warn(message);
+        }
+    }
+
+    /**
+     * Finds the frame calling the repository, that is the first frame after the innermost frame of an intercepted
+     * repository implementation that doesn't belong to the JDK or to the Groovy runtime.
+     *
+     * @param stackTrace The stack trace
+     * @return The frame or null if not found
+     */
+    @Nullable
+    private static StackTraceElement findCaller(StackTraceElement[] stackTrace) {
+        int repositoryFrame = -1;
+        for (int i = 0; i < stackTrace.length; i++) {
+            if (stackTrace[i].getClassName().endsWith(INTERCEPTED_SUFFIX)) {
+                repositoryFrame = i;
+                break;
+            }
+        }
+        if (repositoryFrame == -1) {
+            return null;
+        }
+        for (int i = repositoryFrame + 1; i < stackTrace.length; i++) {
+            StackTraceElement element = stackTrace[i];
+            if (!isIgnoredCaller(element.getClassName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIgnoredCaller(String className) {
+        if (className.endsWith(INTERCEPTED_SUFFIX)) {
+            return true;
+        }
+        for (String prefix : IGNORED_CALLER_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The query counts of a transaction, unbound while it is suspended and discarded once it completes.
+     */
+    private final class UnitOfWork implements TransactionSynchronization {
+        @Nullable
+        final Map<String, Integer> counts;
+
+        UnitOfWork(boolean sampled) {
+            this.counts = sampled ? new HashMap<>(20) : null;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RepeatedQueryDetector.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(RepeatedQueryDetector.this, this);
+        }
+
+        @Override
+        public void afterCompletion(@NonNull Status status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RepeatedQueryDetector.this);
+        }
+    }
+}
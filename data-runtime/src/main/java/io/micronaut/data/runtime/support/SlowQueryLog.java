@@ -0,0 +1,341 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.support;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.data.model.DataType;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.model.runtime.PreparedQuery;
+import io.micronaut.data.model.runtime.QueryParameterBinding;
+import io.micronaut.data.runtime.config.DataConfiguration.SlowQueryLogConfiguration;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the queries whose execution exceeds the configured threshold, with the repository method, the bound parameter
+ * values, the row count and the time spent preparing the statement, executing it and reading the results.
+ *
+ * <p>The values of the parameters whose name matches a redacted name are replaced with {@code ****}. If enabled and
+ * supported by the dialect, the execution plan of the query is captured with {@code EXPLAIN} on a separate connection
+ * and the query is logged once the plan is available. The plan is captured on the I/O executor so that the slow query
+ * itself is not delayed.</p>
+ *
+ * <p>Only the queries of the repository finders and of the update and delete queries are logged, the entity
+ * operations and the batches are not.</p>
+ *
+ * @since 3.3
+ */
+@Singleton
+@Requires(property = SlowQueryLogConfiguration.THRESHOLD_PROPERTY)
+public class SlowQueryLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String REDACTED = "****";
+
+    private final long thresholdNanos;
+    private final List<String> redactedParameters;
+    private final int maxValueLength;
+    private final boolean explainEnabled;
+    private final Executor executor;
+
+    /**
+     * Default constructor.
+     *
+     * @param configuration The configuration
+     * @param executor      The executor capturing the execution plans
+     */
+    public SlowQueryLog(SlowQueryLogConfiguration configuration, @Named("io") @Nullable ExecutorService executor) {
+        Duration threshold = configuration.getThreshold();
+        this.thresholdNanos = threshold != null ? threshold.toNanos() : 0;
+        this.redactedParameters = new ArrayList<>(configuration.getRedactedParameters().size());
+        for (String name : configuration.getRedactedParameters()) {
+            redactedParameters.add(name.toLowerCase(Locale.ENGLISH));
+        }
+        this.maxValueLength = configuration.getMaxValueLength();
+        this.explainEnabled = configuration.isExplainEnabled();
+        this.executor = executor != null ? executor : CompletableFuture::runAsync;
+    }
+
+    /**
+     * @return Whether the queries are timed
+     */
+    public boolean isEnabled() {
+        return thresholdNanos > 0;
+    }
+
+    /**
+     * Starts timing the execution of a query.
+     *
+     * @param preparedQuery The prepared query
+     * @param dialect       The dialect
+     * @param explainer     Runs the {@code EXPLAIN} of the query on a separate connection
+     * @return The trace
+     */
+    @NonNull
+    public Trace start(@NonNull PreparedQuery<?, ?> preparedQuery, @NonNull Dialect dialect, @NonNull Explainer explainer) {
+        return new Trace(preparedQuery, dialect, explainer, System.nanoTime());
+    }
+
+    /**
+     * Resolves the statement capturing the execution plan of a query.
+     *
+     * @param dialect The dialect
+     * @param query   The query
+     * @return The statement or null if the dialect isn't supported
+     */
+    @Nullable
+    static String explainQuery(@NonNull Dialect dialect, @NonNull String query) {
+        switch (dialect) {
+            case H2:
+            case POSTGRES:
+            case MYSQL:
+                return "EXPLAIN " + query;
+            default:
+                return null;
+        }
+    }
+
+    private void report(Trace trace, long rowCount, long finishedNanos) {
+        String message = "Slow query executed in " + toMillis(finishedNanos - trace.startNanos) + "ms (prepare: "
+                + toMillis(trace.preparedNanos - trace.startNanos) + "ms, execute: "
+                + toMillis(trace.executedNanos - trace.preparedNanos) + "ms, fetch: "
+                + toMillis(finishedNanos - trace.executedNanos) + "ms) by the repository method "
+                + trace.preparedQuery.getRepositoryType().getSimpleName() + "." + trace.preparedQuery.getName()
+                + " returning " + rowCount + " rows: " + trace.query
+                + System.lineSeparator() + "Parameters: " + describeParameters(trace.preparedQuery);
+        String explainQuery = explainEnabled && trace.query != null ? explainQuery(trace.dialect, trace.query) : null;
+        if (explainQuery == null) {
+            log(message);
+            return;
+        }
+        List<BoundValue> values = trace.values;
+        executor.execute(() -> {
+            String plan;
+            try {
+                plan = trace.explainer.explain(explainQuery, values);
+            } catch (Exception e) {
+                plan = "unavailable: " + e.getMessage();
+            }
+            log(message + System.lineSeparator() + "Plan: " + plan);
+        });
+    }
+
+    /**
+     * Logs the report of a slow query as a warning.
+     *
+     * @param message The report
+     */
+    protected void log(@NonNull String message) {
+        LOG.warn(message);
+    }
+
+    private String describeParameters(PreparedQuery<?, ?> preparedQuery) {
+        Object[] parameterArray = preparedQuery.getParameterArray();
+        Argument<?>[] arguments = preparedQuery.getArguments();
+        StringBuilder builder = new StringBuilder("[");
+        for (QueryParameterBinding binding : preparedQuery.getQueryBindings()) {
+            int parameterIndex = binding.getParameterIndex();
+            if (parameterIndex == -1) {
+                continue;
+            }
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            String[] propertyPath = binding.getPropertyPath();
+            String path = propertyPath != null ? String.join(".", propertyPath) : null;
+            // The parameters of the raw queries have no binding name
+            String argumentName = parameterIndex < arguments.length ? arguments[parameterIndex].getName() : null;
+            String name = binding.getName();
+            if (name == null) {
+                name = path != null ? path : argumentName != null ? argumentName : String.valueOf(parameterIndex);
+            }
+            boolean redacted = isRedacted(name) || (path != null && isRedacted(path)) || (argumentName != null && isRedacted(argumentName));
+            builder.append(name).append('=').append(redacted ? REDACTED : describeValue(parameterArray[parameterIndex]));
+        }
+        return builder.append(']').toString();
+    }
+
+    private boolean isRedacted(String name) {
+        String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+        for (String redacted : redactedParameters) {
+            if (lowerCaseName.contains(redacted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String describeValue(Object value) {
+        String string = String.valueOf(value);
+        return string.length() > maxValueLength ? string.substring(0, maxValueLength) + "..." : string;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Runs the {@code EXPLAIN} statement of a query on a separate connection.
+     */
+    @FunctionalInterface
+    public interface Explainer {
+
+        /**
+         * Captures the execution plan.
+         *
+         * @param explainQuery The {@code EXPLAIN} statement
+         * @param values       The values bound to the statement
+         * @return The plan
+         * @throws Exception if the plan cannot be captured
+         */
+        @Nullable
+        String explain(@NonNull String explainQuery, @NonNull List<BoundValue> values) throws Exception;
+    }
+
+    /**
+     * A value bound to a statement.
+     */
+    public static final class BoundValue {
+
+        private final int index;
+        private final DataType dataType;
+        private final Object value;
+
+        BoundValue(int index, DataType dataType, @Nullable Object value) {
+            this.index = index;
+            this.dataType = dataType;
+            this.value = value;
+        }
+
+        /**
+         * @return The index of the parameter
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The data type
+         */
+        @NonNull
+        public DataType getDataType() {
+            return dataType;
+        }
+
+        /**
+         * @return The value
+         */
+        @Nullable
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Times the execution of a query. Not thread-safe, a query is executed by one thread at a time.
+     */
+    public final class Trace {
+
+        private final PreparedQuery<?, ?> preparedQuery;
+        private final Dialect dialect;
+        private final Explainer explainer;
+        private final long startNanos;
+        private long preparedNanos;
+        private long executedNanos;
+        private String query;
+        private List<BoundValue> values = Collections.emptyList();
+        private boolean finished;
+
+        private Trace(PreparedQuery<?, ?> preparedQuery, Dialect dialect, Explainer explainer, long startNanos) {
+            this.preparedQuery = preparedQuery;
+            this.dialect = dialect;
+            this.explainer = explainer;
+            this.startNanos = startNanos;
+            this.preparedNanos = startNanos;
+            this.executedNanos = startNanos;
+        }
+
+        /**
+         * @return Whether the bound values have to be recorded with {@link #bound(int, DataType, Object)}
+         */
+        public boolean isRecordingValues() {
+            return explainEnabled && explainQuery(dialect, "") != null;
+        }
+
+        /**
+         * Records a value bound to the statement.
+         *
+         * @param index    The index of the parameter
+         * @param dataType The data type
+         * @param value    The value
+         */
+        public void bound(int index, @NonNull DataType dataType, @Nullable Object value) {
+            if (values.isEmpty()) {
+                values = new ArrayList<>();
+            }
+            values.add(new BoundValue(index, dataType, value));
+        }
+
+        /**
+         * Marks the statement as prepared and its parameters as bound.
+         *
+         * @param query The executed query
+         */
+        public void prepared(@NonNull String query) {
+            this.query = query;
+            this.preparedNanos = System.nanoTime();
+            this.executedNanos = preparedNanos;
+        }
+
+        /**
+         * Marks the statement as executed, the results are read next.
+         */
+        public void executed() {
+            this.executedNanos = System.nanoTime();
+        }
+
+        /**
+         * Completes the trace and logs the query if it is slow. Subsequent invocations have no effect.
+         *
+         * @param rowCount The number of rows read or updated
+         */
+        public void finish(long rowCount) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            long finishedNanos = System.nanoTime();
+            if (finishedNanos - startNanos > thresholdNanos && query != null) {
+                report(this, rowCount, finishedNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.data.runtime.support;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs: 48 bits of Unix time in milliseconds, the version, a 12 bit counter that
+ * orders the values generated within the same millisecond, the variant and 62 random bits.
+ *
+ * <p>The values are increasing without locking. When the counter of a millisecond is exhausted or the clock goes back,
+ * the time of the values advances ahead of the clock until the clock catches up. The random bits are not generated by
+ * a cryptographically strong generator, the values must not be used as unguessable tokens.</p>
+ *
+ * @since 3.3
+ */
+@Internal
+public final class TimeOrderedUUIDGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The time in milliseconds and the counter of the last generated value.
+     */
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    /**
+     * @return The next UUID
+     */
+    @NonNull
+    public UUID generate() {
+        long timestamp = nextTimestamp();
+        long millis = timestamp >>> COUNTER_BITS;
+        long counter = timestamp & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (millis << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long nextTimestamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = now > last ? now : last + 1;
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.micronaut.data.runtime.event.listeners
+
+import io.micronaut.data.annotation.AutoPopulated
+import io.micronaut.data.annotation.Id
+import io.micronaut.data.annotation.MappedEntity
+import io.micronaut.data.annotation.UUIDGeneration
+import io.micronaut.data.annotation.event.PrePersist
+import io.micronaut.data.model.runtime.RuntimePersistentEntity
+import io.micronaut.data.runtime.config.DataConfiguration
+import io.micronaut.data.runtime.event.DefaultEntityEventContext
+import io.micronaut.data.runtime.support.TimeOrderedUUIDGenerator
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class UUIDGeneratingEntityEventListenerSpec extends Specification {
+
+    void "test time-ordered UUIDs are version 7 and increasing"() {
+        given:
+        def generator = new TimeOrderedUUIDGenerator()
+        long before = System.currentTimeMillis()
+
+        when:
+        List<UUID> uuids = (1..10000).collect { generator.generate() }
+
+        then:
+        uuids.every { it.version() == 7 && it.variant() == 2 }
+        uuids == uuids.toSorted()
+        uuids.toSet().size() == 10000
+        uuids*.toString() == uuids*.toString().toSorted()
+        (uuids[0].mostSignificantBits >>> 16) >= before
+    }
+
+    void "test time-ordered UUIDs generated concurrently are unique"() {
+        given:
+        def generator = new TimeOrderedUUIDGenerator()
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        List<UUID> uuids = executor.invokeAll((1..4).collect {
+            (Callable<List<UUID>>) { (1..10000).collect { generator.generate() } }
+        })*.get().flatten()
+
+        then:
+        uuids.toSet().size() == 40000
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    void "test the generation is selected globally or by the property"() {
+        given:
+        def configuration = new DataConfiguration.UUIDConfiguration(generation: UUIDGeneration.Type.TIME_ORDERED)
+        def listener = new UUIDGeneratingEntityEventListener(configuration)
+        def persistentEntity = RuntimePersistentEntity.of(UUIDEntity)
+        def entity = new UUIDEntity()
+
+        when:
+        listener.supports(persistentEntity, PrePersist)
+        listener.prePersist(new DefaultEntityEventContext(persistentEntity, entity))
+
+        then:
+        entity.uuid.version() == 7
+        entity.random.version() == 4
+    }
+}
+
+@MappedEntity
+class UUIDEntity {
+    @Id
+    @AutoPopulated
+    UUID uuid
+
+    @AutoPopulated
+    @UUIDGeneration(UUIDGeneration.Type.RANDOM)
+    UUID random
+}
@@ -0,0 +1,135 @@
+package io.micronaut.data.runtime.support
+
+import io.micronaut.data.model.DataType
+import io.micronaut.data.model.query.builder.sql.Dialect
+import io.micronaut.data.model.runtime.PreparedQuery
+import io.micronaut.data.model.runtime.QueryParameterBinding
+import io.micronaut.data.runtime.config.DataConfiguration
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class SlowQueryLogSpec extends Specification {
+
+    ExecutorService executor = Executors.newSingleThreadExecutor()
+
+    def cleanup() {
+        executor.shutdown()
+    }
+
+    void "test fast queries are not logged"() {
+        given:
+        RecordingSlowQueryLog log = new RecordingSlowQueryLog(configuration(Duration.ofHours(1)), executor)
+
+        when:
+        def trace = log.start(preparedQuery(), Dialect.H2, { q, v -> "" } as SlowQueryLog.Explainer)
+        trace.prepared("SELECT 1")
+        trace.executed()
+        trace.finish(1)
+
+        then:
+        log.messages.isEmpty()
+    }
+
+    void "test slow queries are logged with redacted parameters"() {
+        given:
+        RecordingSlowQueryLog log = new RecordingSlowQueryLog(configuration(Duration.ofNanos(1)), executor)
+
+        when:
+        def trace = log.start(preparedQuery(), Dialect.H2, { q, v -> "" } as SlowQueryLog.Explainer)
+        trace.prepared("SELECT * FROM person WHERE name = ? AND password = ?")
+        trace.executed()
+        trace.finish(3)
+
+        then:
+        log.messages.size() == 1
+        log.messages[0].contains("PersonRepository.findByNameAndPassword returning 3 rows: SELECT * FROM person WHERE name = ? AND password = ?")
+        log.messages[0].contains("Parameters: [name=Fred, password=****]")
+        !log.messages[0].contains("Plan:")
+    }
+
+    void "test the plan of slow queries is captured with the bound values"() {
+        given:
+        def configuration = configuration(Duration.ofNanos(1))
+        configuration.explainEnabled = true
+        RecordingSlowQueryLog log = new RecordingSlowQueryLog(configuration, executor)
+        List<SlowQueryLog.BoundValue> explainedValues = null
+        String explainedQuery = null
+
+        when:
+        def trace = log.start(preparedQuery(), Dialect.H2, { q, v ->
+            explainedQuery = q
+            explainedValues = v
+            "SCAN person"
+        } as SlowQueryLog.Explainer)
+        trace.bound(1, DataType.STRING, "Fred")
+        trace.bound(2, DataType.STRING, "secret")
+        trace.prepared("SELECT * FROM person WHERE name = ? AND password = ?")
+        trace.executed()
+        trace.finish(3)
+
+        then:
+        trace.isRecordingValues()
+        new PollingConditions(timeout: 5).eventually {
+            assert log.messages.size() == 1
+        }
+        log.messages[0].endsWith("Plan: SCAN person")
+        explainedQuery == "EXPLAIN SELECT * FROM person WHERE name = ? AND password = ?"
+        explainedValues*.value == ["Fred", "secret"]
+    }
+
+    void "test the plan is only captured for the supported dialects"() {
+        expect:
+        SlowQueryLog.explainQuery(dialect, "SELECT 1") == explain
+
+        where:
+        dialect           | explain
+        Dialect.H2        | "EXPLAIN SELECT 1"
+        Dialect.POSTGRES  | "EXPLAIN SELECT 1"
+        Dialect.MYSQL     | "EXPLAIN SELECT 1"
+        Dialect.ORACLE    | null
+        Dialect.SQL_SERVER | null
+    }
+
+    private static DataConfiguration.SlowQueryLogConfiguration configuration(Duration threshold) {
+        def configuration = new DataConfiguration.SlowQueryLogConfiguration()
+        configuration.threshold = threshold
+        return configuration
+    }
+
+    private PreparedQuery preparedQuery() {
+        def name = Stub(QueryParameterBinding) {
+            getName() >> "name"
+            getParameterIndex() >> 0
+        }
+        def password = Stub(QueryParameterBinding) {
+            getName() >> "password"
+            getParameterIndex() >> 1
+        }
+        return Stub(PreparedQuery) {
+            getRepositoryType() >> PersonRepository
+            getName() >> "findByNameAndPassword"
+            getParameterArray() >> (["Fred", "secret"] as Object[])
+            getQueryBindings() >> [name, password]
+        }
+    }
+
+    static class RecordingSlowQueryLog extends SlowQueryLog {
+        final List<String> messages = Collections.synchronizedList([])
+
+        RecordingSlowQueryLog(DataConfiguration.SlowQueryLogConfiguration configuration, ExecutorService executor) {
+            super(configuration, executor)
+        }
+
+        @Override
+        protected void log(String message) {
+            messages.add(message)
+        }
+    }
+
+    interface PersonRepository {
+    }
+}
@@ -166,6 +166,41 @@ abstract class AbstractPageSpec extends Specification {
 
     }
 
+    void "test slice knows whether a next slice follows without counting"() {
+        when: "The first slice of the 50 matching people is retrieved"
+        Slice<Person> slice = personRepository.queryByNameLike("A%", Pageable.from(0, 20))
+
+        then: "it holds the requested number of people"
+        slice.content.size() == 20
+        slice.size == 20
+        slice.hasNext()
+
+        when: "The last slice is retrieved"
+        slice = personRepository.queryByNameLike("A%", slice.nextPageable().next())
+
+        then: "no slice follows it"
+        slice.offset == 40
+        slice.content.size() == 10
+        !slice.hasNext()
+
+        when: "A full last slice is retrieved"
+        slice = personRepository.queryByNameLike("A%", Pageable.from(4, 10))
+
+        then: "no slice follows it"
+        slice.content.size() == 10
+        !slice.hasNext()
+
+        when: "The slices of all the people are retrieved"
+        Slice<Person> first = personRepository.find(Pageable.from(0, 10))
+        Slice<Person> last = personRepository.find(Pageable.from(129, 10))
+
+        then: "they are correct"
+        first.content.size() == 10
+        first.hasNext()
+        last.content.size() == 10
+        !last.hasNext()
+    }
+
     void "test total size of find with left join"() {
         given:
         def books = bookRepository.saveAll([
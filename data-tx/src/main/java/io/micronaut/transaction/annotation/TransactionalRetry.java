@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries a transactional method whose transaction failed because of a concurrent modification, that is an optimistic
+ * locking failure or a deadlock or serialization failure reported by the database. Every attempt runs in a new
+ * transaction. Used together with a transactional annotation, for both synchronous and reactive methods.
+ *
+ * <p>A failure is retried if the exception or one of its causes is an instance of one of the {@link #includes()}
+ * types, is named {@code OptimisticLockException}, like the exceptions of Micronaut Data and JPA, or is a
+ * {@link java.sql.SQLException} with one of the {@link #sqlStates()}.</p>
+ *
+ * <p>A method that joins an existing transaction is not retried, the failure is left to the method that started the
+ * transaction.</p>
+ *
+ * @since 3.3
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TransactionalRetry {
+
+    /**
+     * @return The maximum number of attempts, including the first one
+     */
+    int attempts() default 3;
+
+    /**
+     * @return The delay before the first retry
+     */
+    String delay() default "50ms";
+
+    /**
+     * @return The maximum delay between two attempts
+     */
+    String maxDelay() default "1s";
+
+    /**
+     * @return The multiplier applied to the delay after each attempt
+     */
+    double multiplier() default 2;
+
+    /**
+     * The random fraction of the delay added or removed, so that the transactions failing together are not retried
+     * together.
+     *
+     * @return The jitter between 0 and 1
+     */
+    double jitter() default 0.5;
+
+    /**
+     * The SQL states of the retried {@link java.sql.SQLException}. Defaults to {@code 40001}, the standard serialization
+     * failure also used by MySQL and Oracle for deadlocks, and {@code 40P01}, the Postgres deadlock.
+     *
+     * @return The SQL states
+     */
+    String[] sqlStates() default {"40001", "40P01"};
+
+    /**
+     * @return Additional exception types to retry
+     */
+    Class<? extends Throwable>[] includes() default {};
+}
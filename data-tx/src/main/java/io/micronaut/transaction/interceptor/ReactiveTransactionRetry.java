@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.interceptor;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries the reactive transactions with Reactor. Only loaded for the reactive methods with a retry policy, so that
+ * Reactor is not required otherwise.
+ *
+ * @since 3.3
+ */
+@Internal
+final class ReactiveTransactionRetry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveTransactionRetry.class);
+
+    private ReactiveTransactionRetry() {
+    }
+
+    /**
+     * Resubscribes to the transaction until it succeeds or the policy gives up.
+     *
+     * @param policy      The policy
+     * @param name        The name of the transaction
+     * @param transaction Supplies the publisher running a new attempt
+     * @param retryable   Whether the failure of the last attempt can be retried
+     * @param <T>         The result type
+     * @return The publisher
+     */
+    @NonNull
+    static <T> Publisher<T> retry(TransactionRetryPolicy policy,
+                                  String name,
+                                  Supplier<Publisher<T>> transaction,
+                                  Predicate<Throwable> retryable) {
+        return Flux.defer(transaction).retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            int attempt = (int) signal.totalRetries() + 1;
+            if (!policy.canRetry(attempt) || !retryable.test(failure)) {
+                return Mono.error(failure);
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Retrying transaction [{}] after attempt {} failed: {}", name, attempt, failure.getMessage());
+            }
+            return Mono.delay(policy.delay(attempt));
+        })));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.interceptor;
+
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.TransactionalRetry;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The retry policy of a transactional method resolved from {@link TransactionalRetry}.
+ *
+ * @since 3.3
+ */
+@Internal
+final class TransactionRetryPolicy {
+
+    private static final String OPTIMISTIC_LOCK_EXCEPTION = "OptimisticLockException";
+    private static final int MAX_CAUSE_DEPTH = 20;
+
+    private final int attempts;
+    private final long delayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Set<String> sqlStates;
+    private final Class<?>[] includes;
+
+    private TransactionRetryPolicy(int attempts, Duration delay, Duration maxDelay, double multiplier, double jitter,
+                                   Set<String> sqlStates, Class<?>[] includes) {
+        this.attempts = attempts;
+        this.delayNanos = delay.toNanos();
+        this.maxDelayNanos = Math.max(maxDelay.toNanos(), delayNanos);
+        this.multiplier = Math.max(multiplier, 1);
+        this.jitter = Math.min(Math.max(jitter, 0), 1);
+        this.sqlStates = sqlStates;
+        this.includes = includes;
+    }
+
+    /**
+     * Resolves the policy of the annotation.
+     *
+     * @param annotation The annotation or null if the method is not retried
+     * @return The policy or null if the method is not retried
+     */
+    @Nullable
+    static TransactionRetryPolicy of(@Nullable AnnotationValue<TransactionalRetry> annotation) {
+        if (annotation == null) {
+            return null;
+        }
+        int attempts = annotation.intValue("attempts").orElse(3);
+        if (attempts <= 1) {
+            return null;
+        }
+        return new TransactionRetryPolicy(
+                attempts,
+                annotation.get("delay", Duration.class).orElse(Duration.ofMillis(50)),
+                annotation.get("maxDelay", Duration.class).orElse(Duration.ofSeconds(1)),
+                annotation.doubleValue("multiplier").orElse(2),
+                annotation.doubleValue("jitter").orElse(0.5),
+                new HashSet<>(Arrays.asList(annotation.stringValues("sqlStates").length > 0
+                        ? annotation.stringValues("sqlStates") : new String[]{"40001", "40P01"})),
+                annotation.classValues("includes")
+        );
+    }
+
+    /**
+     * @param attempt The attempt that failed, starting at 1
+     * @return Whether another attempt can be made
+     */
+    boolean canRetry(int attempt) {
+        return attempt < attempts;
+    }
+
+    /**
+     * Whether the failure is caused by a concurrent modification and the transaction can be retried.
+     *
+     * @param failure The failure
+     * @return True if it can be retried
+     */
+    boolean isRetryable(@NonNull Throwable failure) {
+        Throwable throwable = failure;
+        for (int depth = 0; throwable != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            for (Class<?> include : includes) {
+                if (include.isInstance(throwable)) {
+                    return true;
+                }
+            }
+            if (throwable.getClass().getSimpleName().equals(OPTIMISTIC_LOCK_EXCEPTION)) {
+                return true;
+            }
+            if (throwable instanceof SQLException && sqlStates.contains(((SQLException) throwable).getSQLState())) {
+                return true;
+            }
+            Throwable cause = throwable.getCause();
+            throwable = cause != throwable ? cause : null;
+        }
+        return false;
+    }
+
+    /**
+     * The jittered delay before the next attempt.
+     *
+     * @param attempt The attempt that failed, starting at 1
+     * @return The delay
+     */
+    @NonNull
+    Duration delay(int attempt) {
+        double delay = Math.min(delayNanos * Math.pow(multiplier, attempt - 1), maxDelayNanos);
+        if (jitter > 0) {
+            delay += delay * jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        }
+        return Duration.ofNanos((long) Math.min(delay, maxDelayNanos));
+    }
+}
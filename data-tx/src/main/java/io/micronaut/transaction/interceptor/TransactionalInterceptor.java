@@ -31,6 +31,7 @@ import io.micronaut.transaction.SynchronousTransactionManager;
 import io.micronaut.transaction.TransactionDefinition;
 import io.micronaut.transaction.TransactionStatus;
 import io.micronaut.transaction.annotation.TransactionalAdvice;
+import io.micronaut.transaction.annotation.TransactionalRetry;
 import io.micronaut.transaction.exceptions.NoTransactionException;
 import io.micronaut.transaction.exceptions.TransactionSystemException;
 import io.micronaut.transaction.reactive.ReactiveTransactionOperations;
@@ -43,10 +44,15 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Default implementation of {@link TransactionalAdvice}. Forked from the reflection based code in Spring.
  *
+ * <p>The methods annotated with {@link TransactionalRetry} are invoked again in a new transaction when the transaction
+ * they started failed because of a concurrent modification and was rolled back. The failures that are declared not
+ * to roll back the transaction are not retried, since the work of the failed attempt was committed.</p>
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stéphane Nicoll
@@ -107,7 +113,8 @@ public class TransactionalInterceptor implements MethodInterceptor<Object, Objec
                                 throw new ConfigurationException("No reactive transaction management has been configured. Ensure you have correctly configured a reactive capable transaction manager");
                             } else {
                                 final TransactionAttribute transactionAttribute = resolveTransactionDefinition(executableMethod);
-                                return new TransactionInvocation(null, reactiveTransactionOperations, transactionAttribute);
+                                return new TransactionInvocation(null, reactiveTransactionOperations, transactionAttribute,
+                                        TransactionRetryPolicy.of(executableMethod.getAnnotation(TransactionalRetry.class)));
                             }
                         } else {
 
@@ -115,13 +122,31 @@ public class TransactionalInterceptor implements MethodInterceptor<Object, Objec
                                     beanLocator.getBean(SynchronousTransactionManager.class, qualifier != null ? Qualifiers.byName(qualifier) : null);
                             final TransactionAttribute transactionAttribute = resolveTransactionDefinition(executableMethod);
 
-                            return new TransactionInvocation<>(transactionManager, null, transactionAttribute);
+                            return new TransactionInvocation<>(transactionManager, null, transactionAttribute,
+                                    TransactionRetryPolicy.of(executableMethod.getAnnotation(TransactionalRetry.class)));
                         }
                     });
 
             final TransactionAttribute definition = transactionInvocation.definition;
+            final TransactionRetryPolicy retryPolicy = transactionInvocation.retryPolicy;
             switch (interceptedMethod.resultType()) {
                 case PUBLISHER:
+                    if (retryPolicy != null) {
+                        AtomicBoolean newTransaction = new AtomicBoolean();
+                        AtomicBoolean retried = new AtomicBoolean();
+                        return interceptedMethod.handleResult(ReactiveTransactionRetry.retry(
+                                retryPolicy,
+                                definition.getName(),
+                                () -> transactionInvocation.reactiveTransactionOperations.withTransaction(definition, (status) -> {
+                                    newTransaction.set(status.isNewTransaction());
+                                    context.setAttribute(ReactiveTransactionStatus.STATUS, status);
+                                    context.setAttribute(ReactiveTransactionStatus.ATTRIBUTE, definition);
+                                    Object result = retried.getAndSet(true) ? context.proceed(this) : context.proceed();
+                                    return Publishers.convertPublisher(result, Publisher.class);
+                                }),
+                                failure -> newTransaction.get() && definition.rollbackOn(failure) && retryPolicy.isRetryable(failure)
+                        ));
+                    }
                     return interceptedMethod.handleResult(
                             transactionInvocation.reactiveTransactionOperations.withTransaction(definition, (status) -> {
                                 context.setAttribute(ReactiveTransactionStatus.STATUS, status);
@@ -137,22 +162,34 @@ public class TransactionalInterceptor implements MethodInterceptor<Object, Objec
                     }
                 case SYNCHRONOUS:
                     final SynchronousTransactionManager<?> transactionManager = transactionInvocation.transactionManager;
-                    final TransactionInfo transactionInfo = createTransactionIfNecessary(
-                            transactionManager,
-                            definition,
-                            context.getExecutableMethod()
-                    );
-                    Object retVal;
-                    try {
-                        retVal = context.proceed();
-                    } catch (Throwable ex) {
-                        completeTransactionAfterThrowing(transactionInfo, ex);
-                        throw ex;
-                    } finally {
-                        cleanupTransactionInfo(transactionInfo);
+                    for (int attempt = 1; ; attempt++) {
+                        final TransactionInfo transactionInfo = createTransactionIfNecessary(
+                                transactionManager,
+                                definition,
+                                context.getExecutableMethod()
+                        );
+                        Object retVal;
+                        boolean committed = false;
+                        try {
+                            try {
+                                retVal = attempt == 1 ? context.proceed() : context.proceed(this);
+                            } catch (Throwable ex) {
+                                completeTransactionAfterThrowing(transactionInfo, ex);
+                                // Only reached if the completion succeeded, it committed unless the failure rolls back
+                                committed = !definition.rollbackOn(ex);
+                                throw ex;
+                            } finally {
+                                cleanupTransactionInfo(transactionInfo);
+                            }
+                            commitTransactionAfterReturning(transactionInfo);
+                        } catch (Throwable ex) {
+                            if (retryPolicy != null && !committed && shouldRetry(retryPolicy, transactionInfo, attempt, ex)) {
+                                continue;
+                            }
+                            throw ex;
+                        }
+                        return retVal;
                     }
-                    commitTransactionAfterReturning(transactionInfo);
-                    return retVal;
                 default:
                     return interceptedMethod.unsupported();
 
@@ -162,6 +199,33 @@ public class TransactionalInterceptor implements MethodInterceptor<Object, Objec
         }
     }
 
+    /**
+     * Whether a synchronous transaction that failed and was rolled back is retried, waiting for the delay of the policy
+     * if it is.
+     *
+     * @param retryPolicy The retry policy
+     * @param txInfo      The failed transaction, rolled back
+     * @param attempt     The failed attempt, starting at 1
+     * @param failure     The failure
+     * @return True if the method should be invoked again
+     */
+    private boolean shouldRetry(TransactionRetryPolicy retryPolicy, TransactionInfo<?> txInfo, int attempt, Throwable failure) {
+        TransactionStatus<?> status = txInfo.getTransactionStatus();
+        if (!status.isNewTransaction() || !retryPolicy.canRetry(attempt) || !retryPolicy.isRetryable(failure)) {
+            return false;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Retrying transaction [{}] after attempt {} failed: {}", txInfo.getJoinpointIdentification(), attempt, failure.getMessage());
+        }
+        try {
+            Thread.sleep(retryPolicy.delay(attempt).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
     @Nullable
     private static TransactionInfo currentTransactionInfo() throws NoTransactionException {
         return TRANSACTION_INFO_HOLDER.get();
@@ -334,14 +398,17 @@ public class TransactionalInterceptor implements MethodInterceptor<Object, Objec
         final @Nullable SynchronousTransactionManager<C> transactionManager;
         final @Nullable ReactiveTransactionOperations<C> reactiveTransactionOperations;
         final TransactionAttribute definition;
+        final @Nullable TransactionRetryPolicy retryPolicy;
 
         TransactionInvocation(
                 SynchronousTransactionManager<C> transactionManager,
                 ReactiveTransactionOperations<C> reactiveTransactionOperations,
-                TransactionAttribute definition) {
+                TransactionAttribute definition,
+                @Nullable TransactionRetryPolicy retryPolicy) {
             this.transactionManager = transactionManager;
             this.reactiveTransactionOperations = reactiveTransactionOperations;
             this.definition = definition;
+            this.retryPolicy = retryPolicy;
         }
 
         boolean isReactive() {
@@ -43,5 +43,15 @@ public interface ConnectionHandle {
     default void releaseConnection(Connection con) {
     }
 
+    /**
+     * Whether the JDBC Connection has been acquired. A handle acquiring the Connection
+     * when it is first fetched returns {@code false} until then.
+     * @return True if the Connection has been acquired
+     * @since 3.3
+     */
+    default boolean isConnectionAcquired() {
+        return true;
+    }
+
 }
 
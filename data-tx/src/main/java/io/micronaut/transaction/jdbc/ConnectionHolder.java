@@ -58,6 +58,9 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
     private int savepointCounter = 0;
 
+    @Nullable
+    private ConnectionState connectionState;
+
     /**
      * Create a new ConnectionHolder for the given ConnectionHandle.
      * @param connectionHandle the ConnectionHandle to hold
@@ -107,6 +110,14 @@ public class ConnectionHolder extends ResourceHolderSupport {
         return (this.connectionHandle != null);
     }
 
+    /**
+     * @return Return whether the Connection of this holder has been acquired, see {@link ConnectionHandle#isConnectionAcquired()}.
+     * @since 3.3
+     */
+    public boolean isConnectionAcquired() {
+        return this.connectionHandle != null && (this.currentConnection != null || this.connectionHandle.isConnectionAcquired());
+    }
+
     /**
      * Set whether this holder represents an active, JDBC-managed transaction.
      * @see DataSourceTransactionManager
@@ -161,6 +172,26 @@ public class ConnectionHolder extends ResourceHolderSupport {
         return this.currentConnection;
     }
 
+    /**
+     * @return Return the known state of the held Connection, see {@link ConnectionState}.
+     * @since 3.3
+     */
+    public ConnectionState getConnectionState() {
+        if (this.connectionState == null) {
+            this.connectionState = new ConnectionState();
+        }
+        return this.connectionState;
+    }
+
+    /**
+     * Sets the known state of the held Connection, shared with other holders of the same physical Connection.
+     * @param connectionState The state
+     * @since 3.3
+     */
+    public void setConnectionState(@Nullable ConnectionState connectionState) {
+        this.connectionState = connectionState;
+    }
+
     /**
      * Return whether JDBC 3.0 Savepoints are supported.
      * Caches the flag for the lifetime of this ConnectionHolder.
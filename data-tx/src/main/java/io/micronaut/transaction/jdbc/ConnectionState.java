@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jdbc;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The known auto-commit mode, read-only flag and isolation level of a JDBC {@link Connection}. The values are read from
+ * the Connection the first time they are requested and recorded when they are changed, so that a change is only
+ * issued to the driver, typically as a round trip to the database, when the value actually differs.
+ *
+ * <p>The state is only accurate as long as the Connection is not changed by other means, it has to be
+ * {@link #clear() cleared} when unsure, for example after a failure.</p>
+ *
+ * <p>Note: This is an SPI class, not intended to be used by applications.</p>
+ *
+ * @since 3.3
+ * @see DataSourceUtils#prepareConnectionForTransaction(Connection, io.micronaut.transaction.TransactionDefinition, ConnectionState)
+ */
+public final class ConnectionState {
+
+    @Nullable
+    private Boolean autoCommit;
+    @Nullable
+    private Boolean readOnly;
+    @Nullable
+    private Integer transactionIsolation;
+
+    /**
+     * @param con The connection
+     * @return The auto-commit mode
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public boolean getAutoCommit(Connection con) throws SQLException {
+        if (autoCommit == null) {
+            autoCommit = con.getAutoCommit();
+        }
+        return autoCommit;
+    }
+
+    /**
+     * Sets the auto-commit mode if it differs.
+     * @param con The connection
+     * @param autoCommit The auto-commit mode
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void setAutoCommit(Connection con, boolean autoCommit) throws SQLException {
+        if (this.autoCommit == null || this.autoCommit != autoCommit) {
+            this.autoCommit = null;
+            con.setAutoCommit(autoCommit);
+            this.autoCommit = autoCommit;
+        }
+    }
+
+    /**
+     * @param con The connection
+     * @return The read-only flag
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public boolean isReadOnly(Connection con) throws SQLException {
+        if (readOnly == null) {
+            readOnly = con.isReadOnly();
+        }
+        return readOnly;
+    }
+
+    /**
+     * Sets the read-only flag if it differs.
+     * @param con The connection
+     * @param readOnly The read-only flag
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void setReadOnly(Connection con, boolean readOnly) throws SQLException {
+        if (this.readOnly == null || this.readOnly != readOnly) {
+            this.readOnly = null;
+            con.setReadOnly(readOnly);
+            this.readOnly = readOnly;
+        }
+    }
+
+    /**
+     * @param con The connection
+     * @return The isolation level code
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public int getTransactionIsolation(Connection con) throws SQLException {
+        if (transactionIsolation == null) {
+            transactionIsolation = con.getTransactionIsolation();
+        }
+        return transactionIsolation;
+    }
+
+    /**
+     * Sets the isolation level if it differs.
+     * @param con The connection
+     * @param transactionIsolation The isolation level code
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void setTransactionIsolation(Connection con, int transactionIsolation) throws SQLException {
+        if (this.transactionIsolation == null || this.transactionIsolation != transactionIsolation) {
+            this.transactionIsolation = null;
+            con.setTransactionIsolation(transactionIsolation);
+            this.transactionIsolation = transactionIsolation;
+        }
+    }
+
+    /**
+     * Forgets the known state, the values are read from the Connection again when requested.
+     */
+    public void clear() {
+        autoCommit = null;
+        readOnly = null;
+        transactionIsolation = null;
+    }
+}
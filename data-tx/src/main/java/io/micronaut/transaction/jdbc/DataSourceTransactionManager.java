@@ -15,26 +15,35 @@
  */
 package io.micronaut.transaction.jdbc;
 
+import io.micronaut.context.BeanLocator;
 import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.annotation.TypeHint;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.transaction.TransactionDefinition;
 import io.micronaut.transaction.exceptions.CannotCreateTransactionException;
 import io.micronaut.transaction.exceptions.TransactionSystemException;
 import io.micronaut.transaction.jdbc.exceptions.CannotGetJdbcConnectionException;
 import io.micronaut.transaction.support.AbstractSynchronousTransactionManager;
+import io.micronaut.transaction.support.ConnectionHoldMonitor;
+import io.micronaut.transaction.support.ConnectionUsage;
 import io.micronaut.transaction.support.DefaultTransactionStatus;
 import io.micronaut.transaction.support.ResourceTransactionManager;
 import io.micronaut.transaction.support.TransactionSynchronizationManager;
 import io.micronaut.transaction.support.TransactionSynchronizationUtils;
+import jakarta.inject.Inject;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 
 /**
@@ -79,6 +88,14 @@ import java.util.Objects;
  * setup analogous to {@code JtaTransactionManager}, in particular with respect to
  * lazily registered ORM resources (e.g. a Hibernate {@code Session}).
  *
+ * <p>With the {@link #setLazyConnectionAcquisition "lazyConnectionAcquisition"} flag
+ * the Connection of a transaction is only acquired when it is first requested, so that
+ * a transaction that doesn't execute any SQL statement doesn't hold a pooled Connection.
+ *
+ * <p>With a {@link #setConnectionHoldMonitor "connectionHoldMonitor"} the time each transaction
+ * holds its Connection, the statements it executes and the time the Connection stays idle
+ * between them are measured, and the transactions exceeding the configured thresholds are reported.
+ *
  * @author Juergen Hoeller
  * @author graemerocher
  * @since 02.05.2003
@@ -97,6 +114,15 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
 
     private boolean enforceReadOnly = false;
 
+    private boolean lazyConnectionAcquisition = false;
+
+    private boolean connectionStateCacheEnabled = false;
+
+    private final Map<Connection, ConnectionState> connectionStates = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Nullable
+    private ConnectionHoldMonitor connectionHoldMonitor;
+
     /**
      * Create a new DataSourceTransactionManager instance.
      * @param dataSource the JDBC DataSource to manage transactions for
@@ -108,6 +134,33 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
         this.dataSource = dataSource;
     }
 
+    /**
+     * Create a new DataSourceTransactionManager instance configured by the
+     * {@link DataSourceTransactionManagerConfiguration} of the data source.
+     * @param dataSourceName the name of the DataSource
+     * @param dataSource the JDBC DataSource to manage transactions for
+     * @param beanLocator the bean locator
+     * @since 3.3
+     */
+    @Inject
+    public DataSourceTransactionManager(@Parameter String dataSourceName,
+                                        @NonNull DataSource dataSource,
+                                        BeanLocator beanLocator) {
+        this(dataSource);
+        beanLocator.findBean(DataSourceTransactionManagerConfiguration.class, Qualifiers.byName(dataSourceName))
+                .ifPresent(configuration -> {
+                    setLazyConnectionAcquisition(configuration.isLazyConnectionAcquisition());
+                    setConnectionStateCacheEnabled(configuration.isConnectionStateCacheEnabled());
+                    ConnectionHoldMonitor monitor = new ConnectionHoldMonitor(dataSourceName,
+                            configuration.getHoldTimeThreshold(),
+                            configuration.getIdleTimeThreshold(),
+                            configuration.getStatementThreshold());
+                    if (monitor.isEnabled()) {
+                        setConnectionHoldMonitor(monitor);
+                    }
+                });
+    }
+
     /**
      * @return Return the JDBC DataSource that this instance manages transactions for.
      */
@@ -149,6 +202,76 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
         return this.enforceReadOnly;
     }
 
+    /**
+     * Specify whether the Connection of a new transaction is acquired when it is first
+     * requested instead of when the transaction begins. The isolation level, the read-only
+     * flag and the manual commit mode are applied when the Connection is acquired. The commit
+     * and the rollback of a transaction that never requested its Connection do nothing.
+     * <p>Defaults to {@code false}.
+     * @param lazyConnectionAcquisition True if the Connection is acquired lazily
+     * @since 3.3
+     * @see DataSourceTransactionManagerConfiguration#setLazyConnectionAcquisition
+     */
+    public void setLazyConnectionAcquisition(boolean lazyConnectionAcquisition) {
+        this.lazyConnectionAcquisition = lazyConnectionAcquisition;
+    }
+
+    /**
+     * @return Return whether the Connection of a new transaction is acquired when it is first requested.
+     * @since 3.3
+     * @see #setLazyConnectionAcquisition
+     */
+    public boolean isLazyConnectionAcquisition() {
+        return this.lazyConnectionAcquisition;
+    }
+
+    /**
+     * Specify whether the known auto-commit mode, read-only flag and isolation level of the
+     * physical Connections are kept from one transaction to the next, so that only the changes
+     * that differ are issued to the driver. The state of a Connection is always tracked within
+     * a transaction, see {@link ConnectionState}.
+     * <p>The state is only accurate if the Connections are not changed by other means than the
+     * transactions of this transaction manager, such as a pool configured to reset them to other
+     * values. Defaults to {@code false}.
+     * @param connectionStateCacheEnabled True if the state is kept
+     * @since 3.3
+     * @see DataSourceTransactionManagerConfiguration#setConnectionStateCacheEnabled
+     */
+    public void setConnectionStateCacheEnabled(boolean connectionStateCacheEnabled) {
+        this.connectionStateCacheEnabled = connectionStateCacheEnabled;
+    }
+
+    /**
+     * @return Return whether the known state of the physical Connections is kept from one transaction to the next.
+     * @since 3.3
+     * @see #setConnectionStateCacheEnabled
+     */
+    public boolean isConnectionStateCacheEnabled() {
+        return this.connectionStateCacheEnabled;
+    }
+
+    /**
+     * Specify the monitor measuring the usage of the Connections by the transactions.
+     * The statements are recorded through a proxy of the transactional Connection.
+     * <p>Defaults to {@code null}, the Connections are not monitored.
+     * @param connectionHoldMonitor the monitor or null
+     * @since 3.3
+     * @see DataSourceTransactionManagerConfiguration#setHoldTimeThreshold
+     */
+    public void setConnectionHoldMonitor(@Nullable ConnectionHoldMonitor connectionHoldMonitor) {
+        this.connectionHoldMonitor = connectionHoldMonitor;
+    }
+
+    /**
+     * @return Return the monitor measuring the usage of the Connections by the transactions, if any.
+     * @since 3.3
+     * @see #setConnectionHoldMonitor
+     */
+    @Nullable
+    public ConnectionHoldMonitor getConnectionHoldMonitor() {
+        return this.connectionHoldMonitor;
+    }
+
     @Override
     public DataSource getResourceFactory() {
         return getDataSource();
@@ -184,33 +307,29 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
         Connection con = null;
 
         try {
+            boolean lazy = false;
             if (!txObject.hasConnectionHolder() ||
                     txObject.getConnectionHolder().isSynchronizedWithTransaction()) {
-                Connection newCon = dataSource.getConnection();
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
+                if (lazyConnectionAcquisition) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Deferring the acquisition of the Connection for JDBC transaction until it is requested");
+                    }
+                    txObject.setConnectionHolder(new ConnectionHolder(new LazyConnectionHandle(txObject, definition)), true);
+                    lazy = true;
+                } else {
+                    Connection newCon = monitorConnection(txObject, dataSource.getConnection(), definition);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
+                    }
+                    txObject.setConnectionHolder(new ConnectionHolder(newCon), true);
                 }
-                txObject.setConnectionHolder(new ConnectionHolder(newCon), true);
             }
 
             txObject.getConnectionHolder().setSynchronizedWithTransaction(true);
-            con = txObject.getConnectionHolder().getConnection();
-
-            TransactionDefinition.Isolation previousIsolationLevel = DataSourceUtils.prepareConnectionForTransaction(con, definition);
-            txObject.setPreviousIsolationLevel(previousIsolationLevel);
-
-            // Switch to manual commit if necessary. This is very expensive in some JDBC drivers,
-            // so we don't want to do it unnecessarily (for example if we've explicitly
-            // configured the connection pool to set it already).
-            if (con.getAutoCommit()) {
-                txObject.setMustRestoreAutoCommit(true);
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Switching JDBC Connection [" + con + "] to manual commit");
-                }
-                con.setAutoCommit(false);
+            if (!lazy) {
+                con = txObject.getConnectionHolder().getConnection();
+                prepareConnection(txObject, con, definition);
             }
-
-            prepareTransactionalConnection(con, definition);
             txObject.getConnectionHolder().setTransactionActive(true);
 
             Duration timeout = determineTimeout(definition);
@@ -232,6 +351,75 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
         }
     }
 
+    /**
+     * Starts measuring the usage of a Connection acquired for a transaction if a monitor is configured.
+     * @param txObject the transaction object
+     * @param con the acquired JDBC Connection
+     * @param definition the current transaction definition
+     * @return the Connection to use for the transaction
+     */
+    private Connection monitorConnection(DataSourceTransactionObject txObject, Connection con, TransactionDefinition definition) {
+        ConnectionHoldMonitor monitor = connectionHoldMonitor;
+        if (monitor == null) {
+            return con;
+        }
+        ConnectionUsage usage = monitor.acquired(definition.getName());
+        txObject.setConnectionUsage(usage);
+        return MonitoredConnection.wrap(con, usage);
+    }
+
+    /**
+     * Applies the transaction definition to the Connection of the transaction and switches it to manual commit.
+     * @param txObject the transaction object
+     * @param con the transactional JDBC Connection
+     * @param definition the current transaction definition
+     * @throws SQLException if thrown by JDBC API
+     */
+    private void prepareConnection(DataSourceTransactionObject txObject, Connection con, TransactionDefinition definition)
+            throws SQLException {
+        ConnectionState state = resolveConnectionState(con);
+        txObject.getConnectionHolder().setConnectionState(state);
+        try {
+            TransactionDefinition.Isolation previousIsolationLevel = DataSourceUtils.prepareConnectionForTransaction(con, definition, state);
+            txObject.setPreviousIsolationLevel(previousIsolationLevel);
+
+            // Switch to manual commit if necessary. This is very expensive in some JDBC drivers,
+            // so we don't want to do it unnecessarily (for example if we've explicitly
+            // configured the connection pool to set it already).
+            if (state.getAutoCommit(con)) {
+                txObject.setMustRestoreAutoCommit(true);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Switching JDBC Connection [" + con + "] to manual commit");
+                }
+                state.setAutoCommit(con, false);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            state.clear();
+            throw ex;
+        }
+
+        prepareTransactionalConnection(con, definition);
+    }
+
+    /**
+     * Resolves the known state of the given Connection, shared by the transactions using
+     * the same physical Connection if {@link #setConnectionStateCacheEnabled enabled}.
+     * @param con the transactional JDBC Connection
+     * @return the state
+     */
+    private ConnectionState resolveConnectionState(Connection con) {
+        if (!connectionStateCacheEnabled) {
+            return new ConnectionState();
+        }
+        Connection target = null;
+        try {
+            target = con.unwrap(Connection.class);
+        } catch (SQLException | RuntimeException ex) {
+            logger.debug("Could not unwrap JDBC Connection", ex);
+        }
+        return connectionStates.computeIfAbsent(target != null ? target : con, c -> new ConnectionState());
+    }
+
     @Override
     protected Object doSuspend(Object transaction) {
         DataSourceTransactionObject txObject = (DataSourceTransactionObject) transaction;
@@ -247,6 +435,12 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
     @Override
     protected void doCommit(DefaultTransactionStatus status) {
         DataSourceTransactionObject txObject = (DataSourceTransactionObject) status.getTransaction();
+        if (!txObject.isConnectionAcquired()) {
+            if (status.isDebug()) {
+                logger.debug("Skipping commit of JDBC transaction that didn't acquire a Connection");
+            }
+            return;
+        }
         Connection con = txObject.getConnectionHolder().getConnection();
         if (status.isDebug()) {
             logger.debug("Committing JDBC transaction on Connection [" + con + "]");
@@ -261,6 +455,12 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
     @Override
     protected void doRollback(DefaultTransactionStatus status) {
         DataSourceTransactionObject txObject = (DataSourceTransactionObject) status.getTransaction();
+        if (!txObject.isConnectionAcquired()) {
+            if (status.isDebug()) {
+                logger.debug("Skipping rollback of JDBC transaction that didn't acquire a Connection");
+            }
+            return;
+        }
         Connection con = txObject.getConnectionHolder().getConnection();
         if (status.isDebug()) {
             logger.debug("Rolling back JDBC transaction on Connection [" + con + "]");
@@ -276,8 +476,12 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
     protected void doSetRollbackOnly(DefaultTransactionStatus status) {
         DataSourceTransactionObject txObject = (DataSourceTransactionObject) status.getTransaction();
         if (status.isDebug()) {
-            logger.debug("Setting JDBC transaction [" + txObject.getConnectionHolder().getConnection() +
-                    "] rollback-only");
+            if (txObject.isConnectionAcquired()) {
+                logger.debug("Setting JDBC transaction [" + txObject.getConnectionHolder().getConnection() +
+                        "] rollback-only");
+            } else {
+                logger.debug("Setting JDBC transaction rollback-only");
+            }
         }
         txObject.setRollbackOnly();
     }
@@ -291,18 +495,30 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
             TransactionSynchronizationManager.unbindResource(dataSource);
         }
 
+        if (!txObject.isConnectionAcquired()) {
+            txObject.getConnectionHolder().clear();
+            return;
+        }
+
         // Reset connection.
         Connection con = txObject.getConnectionHolder().getConnection();
+        ConnectionState state = txObject.getConnectionHolder().getConnectionState();
         try {
             if (txObject.isMustRestoreAutoCommit()) {
-                con.setAutoCommit(true);
+                state.setAutoCommit(con, true);
             }
-            DataSourceUtils.resetConnectionAfterTransaction(con, txObject.getPreviousIsolationLevel());
+            DataSourceUtils.resetConnectionAfterTransaction(con, txObject.getPreviousIsolationLevel(), state);
         } catch (Throwable ex) {
+            state.clear();
             logger.debug("Could not reset JDBC Connection after transaction", ex);
         }
 
         if (txObject.isNewConnectionHolder()) {
+            ConnectionUsage usage = txObject.getConnectionUsage();
+            if (usage != null && connectionHoldMonitor != null) {
+                txObject.setConnectionUsage(null);
+                connectionHoldMonitor.released(usage);
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("Releasing JDBC Connection [" + con + "] after transaction");
             }
@@ -353,6 +569,9 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
 
         private boolean mustRestoreAutoCommit;
 
+        @Nullable
+        private ConnectionUsage connectionUsage;
+
         public DataSourceTransactionObject(ConnectionHolder connectionHolder, boolean newConnectionHolder) {
             this.newConnectionHolder = newConnectionHolder;
             setConnectionHolder(connectionHolder);
@@ -375,6 +594,23 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
             return this.mustRestoreAutoCommit;
         }
 
+        public void setConnectionUsage(@Nullable ConnectionUsage connectionUsage) {
+            this.connectionUsage = connectionUsage;
+        }
+
+        @Nullable
+        public ConnectionUsage getConnectionUsage() {
+            return this.connectionUsage;
+        }
+
+        /**
+         * @return Whether the Connection of the transaction has been acquired
+         */
+        public boolean isConnectionAcquired() {
+            ConnectionHolder connectionHolder = getConnectionHolder();
+            return connectionHolder != null && connectionHolder.isConnectionAcquired();
+        }
+
         public void setRollbackOnly() {
             getConnectionHolder().setRollbackOnly();
         }
@@ -401,4 +637,61 @@ public class DataSourceTransactionManager extends AbstractSynchronousTransaction
         }
     }
 
+    /**
+     * Handle acquiring the Connection of a transaction when it is first requested.
+     */
+    private final class LazyConnectionHandle implements ConnectionHandle {
+
+        private final DataSourceTransactionObject txObject;
+        private final TransactionDefinition definition;
+        @Nullable
+        private Connection connection;
+
+        LazyConnectionHandle(DataSourceTransactionObject txObject, TransactionDefinition definition) {
+            this.txObject = txObject;
+            this.definition = definition;
+        }
+
+        @Override
+        public Connection getConnection() {
+            if (connection == null) {
+                Connection con = null;
+                try {
+                    con = dataSource.getConnection();
+                    con = monitorConnection(txObject, con, definition);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Acquired Connection [" + con + "] for JDBC transaction on first use");
+                    }
+                    prepareConnection(txObject, con, definition);
+                    connection = con;
+                } catch (SQLException | RuntimeException ex) {
+                    // The Connection isn't acquired yet, so the cleanup after completion doesn't release it
+                    ConnectionUsage usage = txObject.getConnectionUsage();
+                    if (usage != null && connectionHoldMonitor != null) {
+                        txObject.setConnectionUsage(null);
+                        connectionHoldMonitor.released(usage);
+                    }
+                    if (con != null) {
+                        try {
+                            DataSourceUtils.doCloseConnection(con, dataSource);
+                        } catch (SQLException closeEx) {
+                            logger.debug("Could not close JDBC Connection", closeEx);
+                        }
+                    }
+                    throw new CannotGetJdbcConnectionException("Could not open JDBC Connection for transaction", ex);
+                }
+            }
+            return connection;
+        }
+
+        @Override
+        public boolean isConnectionAcquired() {
+            return connection != null;
+        }
+
+        @Override
+        public String toString() {
+            return "LazyConnectionHandle: " + connection;
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jdbc;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.naming.Named;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link DataSourceTransactionManager} of a data source.
+ *
+ * @since 3.3
+ */
+@EachProperty(value = DataSourceTransactionManagerConfiguration.PREFIX, primary = "default")
+public class DataSourceTransactionManagerConfiguration implements Named {
+
+    /**
+     * The prefix to use.
+     */
+    public static final String PREFIX = "datasources";
+
+    private final String name;
+    private boolean lazyConnectionAcquisition = false;
+    private boolean connectionStateCacheEnabled = false;
+    private Duration holdTimeThreshold;
+    private Duration idleTimeThreshold;
+    private int statementThreshold;
+
+    /**
+     * The configuration.
+     *
+     * @param name The data source name
+     */
+    public DataSourceTransactionManagerConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Whether the connection of a transaction is acquired when first used.
+     */
+    public boolean isLazyConnectionAcquisition() {
+        return lazyConnectionAcquisition;
+    }
+
+    /**
+     * Sets whether the connection of a transaction is acquired when first used instead of when the transaction
+     * begins. The isolation level, the read-only flag and the manual commit are applied to the connection when it is
+     * acquired. A transaction that doesn't execute any SQL statement never acquires a connection. Defaults to
+     * {@code false}.
+     *
+     * @param lazyConnectionAcquisition True if enabled
+     */
+    public void setLazyConnectionAcquisition(boolean lazyConnectionAcquisition) {
+        this.lazyConnectionAcquisition = lazyConnectionAcquisition;
+    }
+
+    /**
+     * @return Whether the known state of the connections is kept from one transaction to the next.
+     */
+    public boolean isConnectionStateCacheEnabled() {
+        return connectionStateCacheEnabled;
+    }
+
+    /**
+     * Sets whether the known auto-commit mode, read-only flag and isolation level of the physical connections are
+     * kept from one transaction to the next, so that a transaction only issues the changes that differ. The connections
+     * must not be changed by other means, such as a pool resetting them to other values. Defaults to {@code false}.
+     *
+     * @param connectionStateCacheEnabled True if enabled
+     */
+    public void setConnectionStateCacheEnabled(boolean connectionStateCacheEnabled) {
+        this.connectionStateCacheEnabled = connectionStateCacheEnabled;
+    }
+
+    /**
+     * @return The time a transaction can hold its connection before it is reported.
+     */
+    @Nullable
+    public Duration getHoldTimeThreshold() {
+        return holdTimeThreshold;
+    }
+
+    /**
+     * Sets the time a transaction can hold its connection before it is reported as a warning, with the stack trace of
+     * its completion, and as a Java Flight Recorder event. Defaults to {@code null}, the hold time is not checked.
+     *
+     * @param holdTimeThreshold The threshold
+     */
+    public void setHoldTimeThreshold(@Nullable Duration holdTimeThreshold) {
+        this.holdTimeThreshold = holdTimeThreshold;
+    }
+
+    /**
+     * @return The time the connection of a transaction can stay idle between two statements before it is reported.
+     */
+    @Nullable
+    public Duration getIdleTimeThreshold() {
+        return idleTimeThreshold;
+    }
+
+    /**
+     * Sets the time the connection of a transaction can stay idle between two statements, or before the first and
+     * after the last statement, before the transaction is reported. A long idle time usually means the transaction
+     * waits for something else, such as a remote call, while holding the connection. Defaults to {@code null}, the idle
+     * time is not checked.
+     *
+     * @param idleTimeThreshold The threshold
+     */
+    public void setIdleTimeThreshold(@Nullable Duration idleTimeThreshold) {
+        this.idleTimeThreshold = idleTimeThreshold;
+    }
+
+    /**
+     * @return The number of statements a transaction can execute before it is reported.
+     */
+    public int getStatementThreshold() {
+        return statementThreshold;
+    }
+
+    /**
+     * Sets the number of statements a transaction can execute before it is reported. Defaults to {@code 0}, the number
+     * of statements is not checked.
+     *
+     * @param statementThreshold The threshold
+     */
+    public void setStatementThreshold(int statementThreshold) {
+        this.statementThreshold = statementThreshold;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return name;
+    }
+}
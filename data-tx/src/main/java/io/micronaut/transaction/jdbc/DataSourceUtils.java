@@ -194,8 +194,28 @@ public abstract class DataSourceUtils {
     @Nullable
     public static TransactionDefinition.Isolation prepareConnectionForTransaction(Connection con, @Nullable TransactionDefinition definition)
             throws SQLException {
+        return prepareConnectionForTransaction(con, definition, new ConnectionState());
+    }
+
+    /**
+     * Prepare the given Connection with the given transaction semantics, only issuing the
+     * changes that differ from the known state of the Connection.
+     * @param con the Connection to prepare
+     * @param definition the transaction definition to apply
+     * @param state the known state of the Connection
+     * @return the previous isolation level, if any
+     * @throws SQLException if thrown by JDBC methods
+     * @since 3.3
+     * @see #resetConnectionAfterTransaction(Connection, TransactionDefinition.Isolation, ConnectionState)
+     */
+    @Nullable
+    public static TransactionDefinition.Isolation prepareConnectionForTransaction(Connection con,
+                                                                                  @Nullable TransactionDefinition definition,
+                                                                                  ConnectionState state)
+            throws SQLException {
 
         Objects.requireNonNull(con, "No Connection specified");
+        Objects.requireNonNull(state, "No ConnectionState specified");
 
         // Set read-only flag.
         if (definition != null && definition.isReadOnly()) {
@@ -203,7 +223,7 @@ public abstract class DataSourceUtils {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Setting JDBC Connection [" + con + "] read-only");
                 }
-                con.setReadOnly(true);
+                state.setReadOnly(con, true);
             } catch (SQLException | RuntimeException ex) {
                 Throwable exToCheck = ex;
                 while (exToCheck != null) {
@@ -227,10 +247,10 @@ public abstract class DataSourceUtils {
                     LOGGER.debug("Changing isolation level of JDBC Connection [" + con + "] to " +
                             isolationLevel);
                 }
-                int currentIsolation = con.getTransactionIsolation();
+                int currentIsolation = state.getTransactionIsolation(con);
                 if (currentIsolation != isolationLevel.getCode()) {
                     previousIsolationLevel = TransactionDefinition.Isolation.valueOf(currentIsolation);
-                    con.setTransactionIsolation(isolationLevel.getCode());
+                    state.setTransactionIsolation(con, isolationLevel.getCode());
                 }
             }
         }
@@ -246,7 +266,24 @@ public abstract class DataSourceUtils {
      * @see #prepareConnectionForTransaction
      */
     public static void resetConnectionAfterTransaction(Connection con, @Nullable TransactionDefinition.Isolation previousIsolationLevel) {
+        resetConnectionAfterTransaction(con, previousIsolationLevel, new ConnectionState());
+    }
+
+    /**
+     * Reset the given Connection after a transaction, regarding read-only flag and
+     * isolation level, only issuing the changes that differ from the known state of the
+     * Connection. The state is cleared if the Connection cannot be reset.
+     * @param con the Connection to reset
+     * @param previousIsolationLevel the isolation level to restore, if any
+     * @param state the known state of the Connection
+     * @since 3.3
+     * @see #prepareConnectionForTransaction(Connection, TransactionDefinition, ConnectionState)
+     */
+    public static void resetConnectionAfterTransaction(Connection con,
+                                                       @Nullable TransactionDefinition.Isolation previousIsolationLevel,
+                                                       ConnectionState state) {
         Objects.requireNonNull(con, "No Connection specified");
+        Objects.requireNonNull(state, "No ConnectionState specified");
         try {
             // Reset transaction isolation to previous value, if changed for the transaction.
             if (previousIsolationLevel != null) {
@@ -254,17 +291,18 @@ public abstract class DataSourceUtils {
                     LOGGER.debug("Resetting isolation level of JDBC Connection [" +
                             con + "] to " + previousIsolationLevel);
                 }
-                con.setTransactionIsolation(previousIsolationLevel.getCode());
+                state.setTransactionIsolation(con, previousIsolationLevel.getCode());
             }
 
             // Reset read-only flag.
-            if (con.isReadOnly()) {
+            if (state.isReadOnly(con)) {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Resetting read-only flag of JDBC Connection [" + con + "]");
                 }
-                con.setReadOnly(false);
+                state.setReadOnly(con, false);
             }
         } catch (Throwable ex) {
+            state.clear();
             LOGGER.debug("Could not reset JDBC Connection after transaction", ex);
         }
     }
@@ -387,7 +425,7 @@ public abstract class DataSourceUtils {
      * @see #getTargetConnection
      */
     private static boolean connectionEquals(ConnectionHolder conHolder, Connection passedInCon) {
-        if (!conHolder.hasConnection()) {
+        if (!conHolder.hasConnection() || !conHolder.isConnectionAcquired()) {
             return false;
         }
         Connection heldCon = conHolder.getConnection();
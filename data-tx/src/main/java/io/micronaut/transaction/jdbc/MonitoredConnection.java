@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jdbc;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.transaction.support.ConnectionUsage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Proxies a {@link Connection} to record the statements created with it in a {@link ConnectionUsage}. A statement is
+ * active from its creation until it is closed. All the other methods are delegated to the target connection.
+ *
+ * @since 3.3
+ */
+@Internal
+final class MonitoredConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final ConnectionUsage usage;
+
+    private MonitoredConnection(Connection target, ConnectionUsage usage) {
+        this.target = target;
+        this.usage = usage;
+    }
+
+    /**
+     * Wraps the connection.
+     *
+     * @param target The target connection
+     * @param usage  The usage to record the statements in
+     * @return The proxy
+     */
+    static Connection wrap(Connection target, ConnectionUsage usage) {
+        return (Connection) Proxy.newProxyInstance(
+                MonitoredConnection.class.getClassLoader(),
+                new Class[]{Connection.class},
+                new MonitoredConnection(target, usage)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        Object result = invokeTarget(target, method, args);
+        if (result instanceof Statement && isStatementFactory(method.getName())) {
+            usage.statementStarted();
+            Class<?> statementType = method.getReturnType();
+            return Proxy.newProxyInstance(
+                    MonitoredConnection.class.getClassLoader(),
+                    new Class[]{statementType},
+                    new MonitoredStatement((Statement) result)
+            );
+        }
+        return result;
+    }
+
+    private static boolean isStatementFactory(String methodName) {
+        return methodName.equals("prepareStatement") || methodName.equals("createStatement") || methodName.equals("prepareCall");
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * Records the completion of the statement when it is closed.
+     */
+    private final class MonitoredStatement implements InvocationHandler {
+
+        private final Statement statement;
+        private boolean closed;
+
+        MonitoredStatement(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close") && !closed) {
+                closed = true;
+                usage.statementCompleted();
+            }
+            return invokeTarget(statement, method, args);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted when a transaction exceeds a threshold of a {@link io.micronaut.transaction.support.ConnectionHoldMonitor}.
+ * The stack trace is the one of the completion of the transaction.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.ConnectionHold")
+@Label("Long Connection Hold")
+@Description("A transaction held a connection longer, stayed idle longer or executed more statements than configured")
+@Category({FlightRecorderSupport.CATEGORY, "Transaction"})
+public final class ConnectionHoldEvent extends Event {
+
+    @Label("Data Source")
+    String dataSource;
+
+    @Label("Transaction Name")
+    String transactionName;
+
+    @Label("Hold Time")
+    @Timespan
+    long holdTime;
+
+    @Label("Max Idle Time")
+    @Timespan
+    long maxIdleTime;
+
+    @Label("Statement Count")
+    int statementCount;
+
+    /**
+     * Emits the event if it is enabled.
+     *
+     * @param dataSource      The data source name
+     * @param transactionName The transaction name
+     * @param holdTime        The time the connection was held in nanoseconds
+     * @param maxIdleTime     The longest time the connection stayed idle in nanoseconds
+     * @param statementCount  The number of statements
+     */
+    public static void emit(@NonNull String dataSource, @Nullable String transactionName, long holdTime, long maxIdleTime, int statementCount) {
+        ConnectionHoldEvent event = new ConnectionHoldEvent();
+        if (event.isEnabled()) {
+            event.dataSource = dataSource;
+            event.transactionName = transactionName;
+            event.holdTime = holdTime;
+            event.maxIdleTime = maxIdleTime;
+            event.statementCount = statementCount;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.reflect.ClassUtils;
+
+/**
+ * Checks whether the Java Flight Recorder API is available, so that the event classes extending {@code jdk.jfr.Event}
+ * are never loaded on a JVM without it.
+ *
+ * @since 3.3
+ */
+@Internal
+public final class FlightRecorderSupport {
+
+    /**
+     * The name of the category of the Micronaut Data events.
+     */
+    public static final String CATEGORY = "Micronaut Data";
+
+    private static final boolean AVAILABLE = ClassUtils.isPresent("jdk.jfr.Event", FlightRecorderSupport.class.getClassLoader());
+
+    private FlightRecorderSupport() {
+    }
+
+    /**
+     * @return Whether the Java Flight Recorder events can be emitted
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.TransactionDefinition;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a new transaction is begun. The duration includes acquiring the connection, unless it is acquired lazily.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.TransactionBegin")
+@Label("Transaction Begin")
+@Description("A new transaction is begun")
+public final class TransactionBeginEvent extends TransactionEvent {
+
+    @Label("Propagation")
+    String propagation;
+
+    @Label("Isolation")
+    String isolation;
+
+    /**
+     * Starts the event if it is enabled.
+     *
+     * @param definition The transaction definition
+     * @return The started event or null if it is not enabled
+     */
+    @Nullable
+    public static TransactionBeginEvent start(@NonNull TransactionDefinition definition) {
+        TransactionBeginEvent event = new TransactionBeginEvent();
+        if (event.start(definition.getName(), definition.isReadOnly()) == null) {
+            return null;
+        }
+        event.propagation = definition.getPropagationBehavior().name();
+        event.isolation = definition.getIsolationLevel().name();
+        return event;
+    }
+}
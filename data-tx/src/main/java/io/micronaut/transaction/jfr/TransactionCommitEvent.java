@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a transaction is committed.
+ *
+ * @since 3.3
+ */
+@Internal
+@Name("io.micronaut.data.TransactionCommit")
+@Label("Transaction Commit")
+@Description("A transaction is committed")
+public final class TransactionCommitEvent extends TransactionEvent {
+
+    /**
+     * Starts the event if it is enabled.
+     *
+     * @param transactionName The transaction name
+     * @param readOnly        Whether the transaction is read-only
+     * @return The started event or null if it is not enabled
+     */
+    @Nullable
+    public static TransactionCommitEvent start(@Nullable String transactionName, boolean readOnly) {
+        TransactionCommitEvent event = new TransactionCommitEvent();
+        return event.start(transactionName, readOnly) == null ? null : event;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jfr;
+
+import io.micronaut.core.annotation.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the Java Flight Recorder events of the transaction lifecycle.
+ *
+ * @since 3.3
+ */
+@Internal
+@Category({FlightRecorderSupport.CATEGORY, "Transaction"})
+@StackTrace(false)
+public abstract class TransactionEvent extends Event {
+
+    @Label("Transaction Name")
+    String transactionName;
+
+    @Label("Read Only")
+    boolean readOnly;
+
+    /**
+     * Starts the timing of the event.
+     *
+     * @param transactionName The transaction name
+     * @param readOnly        Whether the transaction is read-only
+     * @return This event or null if it is not enabled
+     */
+    final TransactionEvent start(String transactionName, boolean readOnly) {
+        if (!isEnabled()) {
+            return null;
+        }
+        this.transactionName = transactionName;
+        this.readOnly = readOnly;
+        begin();
+        return this;
+    }
+}
@@ -30,6 +30,10 @@ import io.micronaut.transaction.TransactionCallback;
 import io.micronaut.transaction.TransactionDefinition;
 import io.micronaut.transaction.TransactionStatus;
 import io.micronaut.transaction.exceptions.*;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import io.micronaut.transaction.jfr.TransactionBeginEvent;
+import io.micronaut.transaction.jfr.TransactionCommitEvent;
+import io.micronaut.transaction.jfr.TransactionRollbackEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -430,7 +434,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                     boolean newSynchronization = (getTransactionSynchronization() != Synchronization.NEVER);
                     DefaultTransactionStatus status = newTransactionStatus(
                             definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-                    doBegin(transaction, definition);
+                    beginTransaction(transaction, definition);
                     prepareSynchronization(status, definition);
                     return status;
                 } catch (RuntimeException | Error ex) {
@@ -484,7 +488,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                     boolean requiresNewIsNewSynchronization = (getTransactionSynchronization() != Synchronization.NEVER);
                     DefaultTransactionStatus status = newTransactionStatus(
                             definition, transaction, true, requiresNewIsNewSynchronization, debugEnabled, requiresNewSuspendedResources);
-                    doBegin(transaction, definition);
+                    beginTransaction(transaction, definition);
                     prepareSynchronization(status, definition);
                     return status;
                 } catch (RuntimeException | Error beginEx) {
@@ -515,7 +519,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                     boolean nestedNewSynchronization = (getTransactionSynchronization() != Synchronization.NEVER);
                     DefaultTransactionStatus status = newTransactionStatus(
                             definition, transaction, true, nestedNewSynchronization, debugEnabled, null);
-                    doBegin(transaction, definition);
+                    beginTransaction(transaction, definition);
                     prepareSynchronization(status, definition);
                     return status;
                 }
@@ -827,7 +831,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                         logger.debug("Initiating transaction commit");
                     }
                     unexpectedRollback = status.isGlobalRollbackOnly();
-                    doCommit(status);
+                    commitTransaction(status);
                 } else if (isFailEarlyOnGlobalRollbackOnly()) {
                     unexpectedRollback = status.isGlobalRollbackOnly();
                 }
@@ -911,7 +915,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                     if (status.isDebug()) {
                         logger.debug("Initiating transaction rollback");
                     }
-                    doRollback(status);
+                    rollbackTransaction(status);
                 } else {
                     // Participating in larger transaction
                     if (status.hasTransaction()) {
@@ -950,6 +954,48 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
         }
     }
 
+    /**
+     * Invokes {@code doBegin}, emitting a {@link TransactionBeginEvent} when it is enabled.
+     * @param transaction the transaction object returned by {@code doGetTransaction}
+     * @param definition the transaction definition
+     * @throws TransactionException in case of creation or system errors
+     */
+    private void beginTransaction(Object transaction, TransactionDefinition definition) throws TransactionException {
+        TransactionBeginEvent event = FlightRecorderSupport.isAvailable() ? TransactionBeginEvent.start(definition) : null;
+        doBegin(transaction, definition);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * Invokes {@code doCommit}, emitting a {@link TransactionCommitEvent} when it is enabled.
+     * @param status the status representation of the transaction
+     * @throws TransactionException in case of commit or system errors
+     */
+    private void commitTransaction(DefaultTransactionStatus status) throws TransactionException {
+        TransactionCommitEvent event = FlightRecorderSupport.isAvailable()
+                ? TransactionCommitEvent.start(TransactionSynchronizationManager.getCurrentTransactionName(), status.isReadOnly()) : null;
+        doCommit(status);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * Invokes {@code doRollback}, emitting a {@link TransactionRollbackEvent} when it is enabled.
+     * @param status the status representation of the transaction
+     * @throws TransactionException in case of system errors
+     */
+    private void rollbackTransaction(DefaultTransactionStatus status) throws TransactionException {
+        TransactionRollbackEvent event = FlightRecorderSupport.isAvailable()
+                ? TransactionRollbackEvent.start(TransactionSynchronizationManager.getCurrentTransactionName(), status.isReadOnly()) : null;
+        doRollback(status);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
     /**
      * Invoke {@code doRollback}, handling rollback exceptions properly.
      * @param status object representing the transaction
@@ -963,7 +1009,7 @@ public abstract class AbstractSynchronousTransactionManager<T> implements Synchr
                 if (status.isDebug()) {
                     logger.debug("Initiating transaction rollback after commit exception", ex);
                 }
-                doRollback(status);
+                rollbackTransaction(status);
             } else if (status.hasTransaction() && isGlobalRollbackOnParticipationFailure()) {
                 if (status.isDebug()) {
                     logger.debug("Marking existing transaction as rollback-only after commit exception", ex);
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.support;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.jfr.ConnectionHoldEvent;
+import io.micronaut.transaction.jfr.FlightRecorderSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Detects the transactions holding a connection too long, staying idle too long between two statements or executing
+ * too many statements. The offending transactions are logged as a warning with the stack trace of their completion,
+ * which includes the method that started the transaction, and emitted as a {@link ConnectionHoldEvent} while a Java
+ * Flight Recorder recording is running.
+ *
+ * <p>When a hold time or an idle time threshold is configured, the connections still held are also scanned
+ * periodically, at the interval of the smallest of these thresholds, so that a transaction that never completes, or
+ * completes long after, is reported while it holds its connection. Each connection is reported at most once by the
+ * scan, with the name of the thread that acquired it, and again on release.</p>
+ *
+ * @since 3.3
+ */
+@Internal
+public final class ConnectionHoldMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionHoldMonitor.class);
+
+    private final String dataSourceName;
+    private final long holdTimeThresholdNanos;
+    private final long idleTimeThresholdNanos;
+    private final int statementThreshold;
+    private final long scanIntervalNanos;
+    private final Set<ConnectionUsage> activeUsages = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    /**
+     * @param dataSourceName     The data source name
+     * @param holdTimeThreshold  The maximum time a connection is held or null if not checked
+     * @param idleTimeThreshold  The maximum time a connection stays idle or null if not checked
+     * @param statementThreshold The maximum number of statements or zero if not checked
+     */
+    public ConnectionHoldMonitor(@NonNull String dataSourceName,
+                                 @Nullable Duration holdTimeThreshold,
+                                 @Nullable Duration idleTimeThreshold,
+                                 int statementThreshold) {
+        this.dataSourceName = dataSourceName;
+        this.holdTimeThresholdNanos = holdTimeThreshold != null ? holdTimeThreshold.toNanos() : 0;
+        this.idleTimeThresholdNanos = idleTimeThreshold != null ? idleTimeThreshold.toNanos() : 0;
+        this.statementThreshold = Math.max(statementThreshold, 0);
+        if (holdTimeThresholdNanos > 0 && idleTimeThresholdNanos > 0) {
+            this.scanIntervalNanos = Math.min(holdTimeThresholdNanos, idleTimeThresholdNanos);
+        } else {
+            this.scanIntervalNanos = Math.max(holdTimeThresholdNanos, idleTimeThresholdNanos);
+        }
+    }
+
+    /**
+     * @return Whether any threshold is configured
+     */
+    public boolean isEnabled() {
+        return holdTimeThresholdNanos > 0 || idleTimeThresholdNanos > 0 || statementThreshold > 0;
+    }
+
+    /**
+     * Starts recording the usage of a connection that was just acquired.
+     *
+     * @param transactionName The name of the transaction, usually the {@code @Transactional} method
+     * @return The usage
+     */
+    @NonNull
+    public ConnectionUsage acquired(@Nullable String transactionName) {
+        ConnectionUsage usage = new ConnectionUsage(transactionName, System.nanoTime());
+        if (scanIntervalNanos > 0) {
+            activeUsages.add(usage);
+            if (!scanning.get() && scanning.compareAndSet(false, true)) {
+                Scan.schedule(this, scanIntervalNanos);
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Completes the usage of a connection that is about to be released and reports it if a threshold is exceeded.
+     *
+     * @param usage The usage
+     */
+    public void released(@NonNull ConnectionUsage usage) {
+        if (scanIntervalNanos > 0) {
+            activeUsages.remove(usage);
+        }
+        long holdNanos = usage.release(System.nanoTime());
+        long maxIdleNanos = usage.getMaxIdleNanos();
+        int statementCount = usage.getStatementCount();
+        boolean exceeded = (holdTimeThresholdNanos > 0 && holdNanos > holdTimeThresholdNanos)
+                || (idleTimeThresholdNanos > 0 && maxIdleNanos > idleTimeThresholdNanos)
+                || (statementThreshold > 0 && statementCount > statementThreshold);
+        if (!exceeded) {
+            return;
+        }
+        if (LOG.isWarnEnabled()) {
+            LOG.warn("Connection of data source [" + dataSourceName + "] held for " + TimeUnit.NANOSECONDS.toMillis(holdNanos)
+                            + "ms by transaction [" + usage.getTransactionName() + "] executing " + statementCount
+                            + " statements, idle for up to " + TimeUnit.NANOSECONDS.toMillis(maxIdleNanos) + "ms between statements",
+                    new Exception("Transaction completion"));
+        }
+        if (FlightRecorderSupport.isAvailable()) {
+            ConnectionHoldEvent.emit(dataSourceName, usage.getTransactionName(), holdNanos, maxIdleNanos, statementCount);
+        }
+    }
+
+    /**
+     * Reports the connections still held that exceed the hold time or the idle time threshold, and were not reported yet.
+     */
+    void scan() {
+        long nowNanos = System.nanoTime();
+        for (ConnectionUsage usage : activeUsages) {
+            long holdNanos = usage.getHoldNanos(nowNanos);
+            long maxIdleNanos = usage.getMaxIdleNanos(nowNanos);
+            boolean exceeded = (holdTimeThresholdNanos > 0 && holdNanos > holdTimeThresholdNanos)
+                    || (idleTimeThresholdNanos > 0 && maxIdleNanos > idleTimeThresholdNanos);
+            if (exceeded && usage.markReported() && LOG.isWarnEnabled()) {
+                LOG.warn("Connection of data source [" + dataSourceName + "] still held after " + TimeUnit.NANOSECONDS.toMillis(holdNanos)
+                        + "ms by transaction [" + usage.getTransactionName() + "] started by thread [" + usage.getThreadName()
+                        + "] executing " + usage.getStatementCount() + " statements, idle for up to "
+                        + TimeUnit.NANOSECONDS.toMillis(maxIdleNanos) + "ms between statements");
+            }
+        }
+    }
+
+    /**
+     * The periodic scan of a monitor, run by a single daemon thread shared by all the monitors. The monitor is only
+     * weakly referenced, the scan is cancelled once it is collected.
+     */
+    private static final class Scan implements Runnable {
+
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-hold-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final WeakReference<ConnectionHoldMonitor> monitor;
+        private volatile ScheduledFuture<?> future;
+
+        private Scan(ConnectionHoldMonitor monitor) {
+            this.monitor = new WeakReference<>(monitor);
+        }
+
+        static void schedule(ConnectionHoldMonitor monitor, long intervalNanos) {
+            Scan scan = new Scan(monitor);
+            scan.future = SCHEDULER.scheduleWithFixedDelay(scan, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            ConnectionHoldMonitor monitor = this.monitor.get();
+            if (monitor == null) {
+                ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            try {
+                monitor.scan();
+            } catch (Exception e) {
+                LOG.debug("Error scanning the connections of data source [" + monitor.dataSourceName + "]", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.support;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * The usage of a connection by a transaction, recorded by a {@link ConnectionHoldMonitor}: the time the connection is
+ * held, the number of statements executed and the longest time the connection stayed idle between two statements,
+ * including the time before the first and after the last statement.
+ *
+ * @since 3.3
+ */
+@Internal
+public final class ConnectionUsage {
+
+    @Nullable
+    private final String transactionName;
+    private final long acquiredNanos;
+    private final String threadName;
+    private long lastActivityNanos;
+    private long maxIdleNanos;
+    private int statementCount;
+    private int openStatements;
+    private boolean reported;
+
+    /**
+     * @param transactionName The name of the transaction
+     * @param acquiredNanos   The time the connection was acquired, see {@link System#nanoTime()}
+     */
+    ConnectionUsage(@Nullable String transactionName, long acquiredNanos) {
+        this.transactionName = transactionName;
+        this.acquiredNanos = acquiredNanos;
+        this.lastActivityNanos = acquiredNanos;
+        this.threadName = Thread.currentThread().getName();
+    }
+
+    /**
+     * Records the start of a statement.
+     */
+    public synchronized void statementStarted() {
+        if (openStatements++ == 0) {
+            recordIdle(System.nanoTime());
+        }
+        statementCount++;
+    }
+
+    /**
+     * Records the completion of a statement.
+     */
+    public synchronized void statementCompleted() {
+        if (openStatements > 0 && --openStatements == 0) {
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Records the release of the connection.
+     *
+     * @param releasedNanos The time the connection is released
+     * @return The time the connection was held in nanoseconds
+     */
+    synchronized long release(long releasedNanos) {
+        if (openStatements == 0) {
+            recordIdle(releasedNanos);
+        }
+        return releasedNanos - acquiredNanos;
+    }
+
+    /**
+     * Marks the connection as reported while it is still held.
+     *
+     * @return False if it was already reported
+     */
+    synchronized boolean markReported() {
+        if (reported) {
+            return false;
+        }
+        reported = true;
+        return true;
+    }
+
+    /**
+     * @return Whether the connection was reported while it was still held
+     */
+    synchronized boolean isReported() {
+        return reported;
+    }
+
+    /**
+     * @param nowNanos The current time
+     * @return The time the connection is held so far in nanoseconds
+     */
+    long getHoldNanos(long nowNanos) {
+        return nowNanos - acquiredNanos;
+    }
+
+    /**
+     * @param nowNanos The current time
+     * @return The longest time in nanoseconds the connection stayed idle so far, including the current idle time
+     */
+    synchronized long getMaxIdleNanos(long nowNanos) {
+        return openStatements == 0 ? Math.max(maxIdleNanos, nowNanos - lastActivityNanos) : maxIdleNanos;
+    }
+
+    /**
+     * @return The name of the thread that acquired the connection
+     */
+    String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return The name of the transaction
+     */
+    @Nullable
+    public String getTransactionName() {
+        return transactionName;
+    }
+
+    /**
+     * @return The number of statements executed
+     */
+    public synchronized int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return The longest time in nanoseconds the connection stayed idle
+     */
+    public synchronized long getMaxIdleNanos() {
+        return maxIdleNanos;
+    }
+
+    private void recordIdle(long nowNanos) {
+        maxIdleNanos = Math.max(maxIdleNanos, nowNanos - lastActivityNanos);
+    }
+}
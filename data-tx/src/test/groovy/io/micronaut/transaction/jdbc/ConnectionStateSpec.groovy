@@ -0,0 +1,78 @@
+package io.micronaut.transaction.jdbc
+
+import io.micronaut.transaction.TransactionDefinition
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+
+class ConnectionStateSpec extends Specification {
+
+    void "test only the changes that differ are issued to the connection"() {
+        given:
+        Connection connection = Mock(Connection)
+        ConnectionState state = new ConnectionState()
+
+        when:
+        def previous = DataSourceUtils.prepareConnectionForTransaction(connection, TransactionDefinition.READ_ONLY, state)
+        DataSourceUtils.resetConnectionAfterTransaction(connection, previous, state)
+
+        then:
+        1 * connection.setReadOnly(true)
+        1 * connection.setReadOnly(false)
+        0 * connection.isReadOnly()
+    }
+
+    void "test the state is cleared when the connection fails"() {
+        given:
+        Connection connection = Mock(Connection)
+        ConnectionState state = new ConnectionState()
+
+        when:
+        state.setAutoCommit(connection, false)
+        state.setAutoCommit(connection, false)
+
+        then:
+        1 * connection.setAutoCommit(false)
+
+        when:
+        state.setAutoCommit(connection, true)
+
+        then:
+        1 * connection.setAutoCommit(true) >> { throw new SQLException("Broken") }
+        thrown(SQLException)
+
+        when:
+        state.getAutoCommit(connection)
+
+        then:
+        1 * connection.getAutoCommit() >> false
+    }
+
+    void "test the state of the connections is kept across transactions"() {
+        given:
+        Connection connection = Mock(Connection)
+        connection.unwrap(Connection) >> connection
+        DataSource dataSource = Mock(DataSource) {
+            getConnection() >> connection
+        }
+        def transactionManager = new DataSourceTransactionManager(dataSource)
+        transactionManager.connectionStateCacheEnabled = cached
+
+        when:
+        2.times { transactionManager.executeWrite { status -> status.connection } }
+
+        then:
+        getAutoCommitCalls * connection.getAutoCommit() >> true
+        isReadOnlyCalls * connection.isReadOnly() >> false
+        2 * connection.setAutoCommit(false)
+        2 * connection.setAutoCommit(true)
+        2 * connection.commit()
+
+        where:
+        cached | getAutoCommitCalls | isReadOnlyCalls
+        false  | 2                  | 2
+        true   | 1                  | 1
+    }
+}
@@ -0,0 +1,96 @@
+package io.micronaut.transaction.jdbc
+
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.transaction.SynchronousTransactionManager
+import io.micronaut.transaction.TransactionDefinition
+import io.micronaut.transaction.jdbc.exceptions.CannotGetJdbcConnectionException
+import spock.lang.Specification
+
+import jakarta.inject.Inject
+import javax.sql.DataSource
+import java.sql.Connection
+
+@MicronautTest(transactional = false)
+@Property(name = "datasources.default.name", value = "lazydb")
+@Property(name = "datasources.default.lazy-connection-acquisition", value = "true")
+class LazyConnectionAcquisitionSpec extends Specification {
+
+    @Inject
+    DataSource dataSource
+
+    @Inject
+    DataSourceTransactionManager transactionManager
+
+    @Inject
+    Connection connection
+
+    void "test lazy connection acquisition is configurable"() {
+        expect:
+        transactionManager.lazyConnectionAcquisition
+    }
+
+    void "test a transaction without SQL doesn't acquire a connection"() {
+        when:
+        def active = transactionManager.executeWrite {
+            targetDataSource().numActive
+        }
+
+        then:
+        active == 0
+        targetDataSource().numActive == 0
+    }
+
+    void "test the connection is acquired on first use and prepared for the transaction"() {
+        when:
+        def result = transactionManager.execute(TransactionDefinition.READ_ONLY) { status ->
+            int before = targetDataSource().numActive
+            def ps = connection.prepareStatement("select 1")
+            int value = ps.withCloseable {
+                def rs = it.executeQuery()
+                rs.next()
+                rs.getInt(1)
+            }
+            [before, targetDataSource().numActive, value, connection.autoCommit, connection.readOnly]
+        }
+
+        then:
+        result == [0, 1, 1, false, true]
+        targetDataSource().numActive == 0
+    }
+
+    void "test a rolled back transaction without SQL doesn't acquire a connection"() {
+        when:
+        transactionManager.executeWrite { status ->
+            status.setRollbackOnly()
+        }
+
+        then:
+        targetDataSource().numActive == 0
+    }
+
+    void "test the connection is released when it cannot be prepared for the transaction"() {
+        given:
+        def failingTransactionManager = new DataSourceTransactionManager(dataSource) {
+            @Override
+            protected void prepareTransactionalConnection(Connection con, TransactionDefinition definition) {
+                throw new IllegalStateException("Bad connection")
+            }
+        }
+        failingTransactionManager.lazyConnectionAcquisition = true
+
+        when:
+        failingTransactionManager.executeWrite { status ->
+            status.connection.prepareStatement("select 1")
+        }
+
+        then:
+        def e = thrown(CannotGetJdbcConnectionException)
+        e.cause instanceof IllegalStateException
+        targetDataSource().numActive == 0
+    }
+
+    private def targetDataSource() {
+        DelegatingDataSource.unwrapDataSource(dataSource)
+    }
+}
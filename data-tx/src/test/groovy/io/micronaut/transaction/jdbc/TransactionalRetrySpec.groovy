@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.transaction.jdbc
+
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.transaction.annotation.TransactionalRetry
+import spock.lang.Specification
+
+import jakarta.inject.Inject
+import jakarta.inject.Provider
+import jakarta.inject.Singleton
+import javax.transaction.Transactional
+import java.sql.Connection
+import java.sql.SQLException
+
+@MicronautTest(transactional = false)
+@Property(name = "datasources.default.name", value = "retrydb")
+class TransactionalRetrySpec extends Specification {
+
+    @Inject RetryService retryService
+
+    def setup() {
+        retryService.init()
+    }
+
+    void "test a serialization failure is retried in a new transaction"() {
+        when:
+        retryService.insertAndFail(2, new SQLException("could not serialize access", "40001"))
+
+        then:
+        retryService.invocations == 3
+        retryService.count() == 1
+    }
+
+    void "test an optimistic lock failure is retried"() {
+        when:
+        retryService.insertAndFail(1, new IllegalStateException("Update failed", new OptimisticLockException()))
+
+        then:
+        retryService.invocations == 2
+        retryService.count() == 1
+    }
+
+    void "test the failure is rethrown once the attempts are exhausted"() {
+        when:
+        retryService.insertAndFail(5, new SQLException("deadlock detected", "40P01"))
+
+        then:
+        def e = thrown(SQLException)
+        e.SQLState == "40P01"
+        retryService.invocations == 3
+        retryService.count() == 0
+    }
+
+    void "test other failures are not retried"() {
+        when:
+        retryService.insertAndFail(1, new SQLException("syntax error", "42000"))
+
+        then:
+        thrown(SQLException)
+        retryService.invocations == 1
+        retryService.count() == 0
+    }
+
+    void "test a method joining an existing transaction is not retried"() {
+        when:
+        retryService.insertAndFailInTransaction(1, new SQLException("could not serialize access", "40001"))
+
+        then:
+        thrown(SQLException)
+        retryService.invocations == 1
+        retryService.count() == 0
+    }
+
+    void "test a failure that doesn't roll back the transaction is not retried"() {
+        when:
+        retryService.insertAndFailWithoutRollback(1, new SQLException("could not serialize access", "40001"))
+
+        then:
+        thrown(SQLException)
+        retryService.invocations == 1
+        retryService.count() == 1
+    }
+
+    @Singleton
+    static class RetryService {
+        @Inject Connection connection
+        @Inject Provider<RetryService> self
+        int invocations
+
+        @Transactional
+        void init() {
+            invocations = 0
+            connection.prepareStatement("drop table book if exists").execute()
+            connection.prepareStatement("create table book (id bigint not null auto_increment, title varchar(255), primary key (id))").execute()
+        }
+
+        @Transactional
+        @TransactionalRetry(delay = "1ms", maxDelay = "5ms")
+        void insertAndFail(int failures, Exception failure) {
+            def ps = connection.prepareStatement("insert into book (title) values('The Stand')")
+            ps.execute()
+            ps.close()
+            if (invocations++ < failures) {
+                throw failure
+            }
+        }
+
+        @Transactional(dontRollbackOn = SQLException)
+        @TransactionalRetry(delay = "1ms", maxDelay = "5ms")
+        void insertAndFailWithoutRollback(int failures, Exception failure) {
+            insertAndFail(failures, failure)
+        }
+
+        @Transactional
+        void insertAndFailInTransaction(int failures, Exception failure) {
+            self.get().insertAndFail(failures, failure)
+        }
+
+        @Transactional
+        int count() {
+            def ps = connection.prepareStatement("select count(*) from book")
+            def rs = ps.executeQuery()
+            try {
+                rs.next()
+                rs.getInt(1)
+            } finally {
+                rs.close()
+                ps.close()
+            }
+        }
+    }
+
+    static class OptimisticLockException extends RuntimeException {
+    }
+}
@@ -0,0 +1,57 @@
+package io.micronaut.transaction.support
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+class ConnectionHoldMonitorSpec extends Specification {
+
+    void "test connections held past the threshold are reported while they are held"() {
+        given:
+        ConnectionHoldMonitor monitor = new ConnectionHoldMonitor("default", Duration.ofMillis(50), null, 0)
+
+        when:
+        ConnectionUsage usage = monitor.acquired("test")
+
+        then:
+        new PollingConditions(timeout: 2).eventually {
+            assert usage.reported
+        }
+
+        cleanup:
+        monitor.released(usage)
+    }
+
+    void "test connections running a statement are not idle"() {
+        given:
+        ConnectionHoldMonitor monitor = new ConnectionHoldMonitor("default", null, Duration.ofMillis(50), 0)
+
+        when:
+        ConnectionUsage usage = monitor.acquired("test")
+        usage.statementStarted()
+        sleep(150)
+        monitor.scan()
+
+        then:
+        !usage.reported
+
+        cleanup:
+        usage.statementCompleted()
+        monitor.released(usage)
+    }
+
+    void "test connections released in time are not reported by the scan"() {
+        given:
+        ConnectionHoldMonitor monitor = new ConnectionHoldMonitor("default", Duration.ofMillis(50), null, 0)
+
+        when:
+        ConnectionUsage usage = monitor.acquired("test")
+        monitor.released(usage)
+        sleep(150)
+        monitor.scan()
+
+        then:
+        !usage.reported
+    }
+}